@@ -0,0 +1,67 @@
+package org.delcom.app.configs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-your-writes untuk routing replica: setelah user menulis, bacaan user itu diarahkan ke primary
+ * selama sticky-window-ms, sehingga user tidak melihat data lamanya sendiri akibat lag replica.
+ *
+ * User yang sedang dilayani disimpan per thread (bind/clear oleh ReadYourWritesFilter dan
+ * AuthInterceptor); ReplicaRoutingDataSource membacanya saat memilih koneksi. Tanpa replica
+ * terkonfigurasi kelas ini tetap aktif tetapi tidak berpengaruh apa-apa.
+ */
+@Component
+public class ReadYourWrites {
+    // Di atas ukuran ini entri yang sudah lewat window dibersihkan saat ada tulis baru
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final ThreadLocal<UUID> currentUser = new ThreadLocal<>();
+    private final Map<UUID, Long> lastWriteAt = new ConcurrentHashMap<>();
+    private final long stickyWindowMs;
+    private final LongSupplier clock;
+
+    @Autowired
+    public ReadYourWrites(@Value("${app.datasource.replica.sticky-window-ms:5000}") long stickyWindowMs) {
+        this(stickyWindowMs, System::currentTimeMillis);
+    }
+
+    ReadYourWrites(long stickyWindowMs, LongSupplier clock) {
+        this.stickyWindowMs = stickyWindowMs;
+        this.clock = clock;
+    }
+
+    public void bind(UUID userId) {
+        currentUser.set(userId);
+    }
+
+    public void clear() {
+        currentUser.remove();
+    }
+
+    public UUID currentUser() {
+        return currentUser.get();
+    }
+
+    public void recordWrite(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        lastWriteAt.put(userId, now);
+        if (lastWriteAt.size() > PRUNE_THRESHOLD) {
+            lastWriteAt.values().removeIf(at -> now - at >= stickyWindowMs);
+        }
+    }
+
+    public boolean isSticky(UUID userId) {
+        Long at = userId == null ? null : lastWriteAt.get(userId);
+        return at != null && clock.getAsLong() - at < stickyWindowMs;
+    }
+}
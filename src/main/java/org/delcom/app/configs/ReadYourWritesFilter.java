@@ -0,0 +1,42 @@
+package org.delcom.app.configs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.delcom.app.modules.authentication.User;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Ikat user yang login (sesi Spring Security) ke thread request untuk ReadYourWrites, lalu lepas
+ * setelah request selesai. Request API (JWT) diikat oleh AuthInterceptor; pelepasannya tetap di sini.
+ * Berjalan setelah filter Spring Security (urutan default filter @Component).
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final ReadYourWrites readYourWrites;
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof User user && user.getId() != null) {
+            readYourWrites.bind(user.getId());
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.clear();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.delcom.app.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Dua pool Hikari (primary dari spring.datasource.*, replica dari app.datasource.replica.*) di balik
+ * ReplicaRoutingDataSource. Aktif hanya jika app.datasource.replica.url diisi; tanpa itu Spring Boot
+ * membuat satu DataSource biasa seperti sebelumnya.
+ *
+ * Untuk uji lokal, replica-url boleh menunjuk ke database yang sama (stand-in): query lag bawaan
+ * menganggap server yang bukan standby tidak tertinggal.
+ */
+@Configuration
+// Tidak aktif bersama sharding; ShardingConfig menolak kombinasi itu saat startup
+@ConditionalOnExpression("'${app.datasource.replica.url:}' != '' and !${app.sharding.enabled:false}")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primary,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password) {
+        // Kredensial replica default sama dengan primary
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).url(url)
+                .username(username.isEmpty() ? primary.determineUsername() : username)
+                .password(password.isEmpty() ? primary.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.lag-query:" + ReplicaLagMonitor.DEFAULT_LAG_QUERY + "}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag-ms:2000}") long maxLagMs,
+            @Value("${app.datasource.replica.lag-check-interval-ms:1000}") long checkIntervalMs) {
+        return new ReplicaLagMonitor(new JdbcTemplate(replica), lagQuery, maxLagMs, checkIntervalMs);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor lagMonitor,
+            ReadYourWrites readYourWrites) {
+        return new ReplicaRoutingDataSource(primary, replica, lagMonitor, readYourWrites);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Bawaan Spring menahan koneksi sampai EntityManager ditutup. Dengan open-in-view, atau EntityManager lain
+    // yang melintasi beberapa transaksi, koneksi replica dari bacaan pertama ikut dipakai transaksi tulis
+    // berikutnya. Dilepas setiap akhir transaksi agar setiap transaksi dirutekan sendiri.
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,80 @@
+package org.delcom.app.configs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Mengukur lag replica secara berkala. Replica hanya dipakai selama lag terakhir tidak melebihi
+ * max-lag-ms dan hasil pengukuran itu masih baru; jika query gagal, semua bacaan kembali ke primary.
+ */
+public class ReplicaLagMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /**
+     * Lag dalam milidetik. Standby yang sudah memutar ulang semua WAL yang diterima dianggap 0
+     * (pg_last_xact_replay_timestamp tetap tua saat primary sepi). Server yang bukan standby
+     * (mis. stand-in lokal yang menunjuk ke primary) juga 0.
+     */
+    public static final String DEFAULT_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)::bigint END";
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagMs;
+    private final long staleAfterMs;
+    private final LongSupplier clock;
+
+    private volatile long lastLagMs = -1;
+    private volatile long checkedAt;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, String lagQuery, long maxLagMs, long checkIntervalMs) {
+        this(replica, lagQuery, maxLagMs, checkIntervalMs, System::currentTimeMillis);
+    }
+
+    ReplicaLagMonitor(JdbcTemplate replica, String lagQuery, long maxLagMs, long checkIntervalMs,
+            LongSupplier clock) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+        // Beberapa interval terlewat (scheduler macet) = hasil terakhir tidak bisa dipercaya
+        this.staleAfterMs = checkIntervalMs * 3;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Long lag = replica.queryForObject(lagQuery, Long.class);
+            lastLagMs = lag == null ? -1 : lag;
+            usable = lag != null && lag <= maxLagMs;
+        } catch (DataAccessException e) {
+            lastLagMs = -1;
+            usable = false;
+            if (wasUsable) {
+                logger.warn("Cek lag replica gagal, bacaan dialihkan ke primary: {}", e.getMostSpecificCause().getMessage());
+            }
+        }
+        checkedAt = clock.getAsLong();
+        if (wasUsable && !usable) {
+            logger.warn("Replica tidak dipakai (lag {} ms, batas {} ms)", lastLagMs, maxLagMs);
+        } else if (!wasUsable && usable) {
+            logger.info("Replica dipakai kembali (lag {} ms)", lastLagMs);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return usable && clock.getAsLong() - checkedAt <= staleAfterMs;
+    }
+
+    public long getLastLagMs() {
+        return lastLagMs;
+    }
+}
@@ -0,0 +1,55 @@
+package org.delcom.app.configs;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Memilih primary atau replica per koneksi. Transaksi @Transactional(readOnly = true) ke replica,
+ * kecuali replica sedang tertinggal (ReplicaLagMonitor) atau user yang dilayani baru saja menulis
+ * (ReadYourWrites). Semua yang lain, termasuk JdbcTemplate di luar transaksi, ke primary.
+ *
+ * Harus dibungkus LazyConnectionDataSourceProxy: koneksi baru diambil pada statement pertama,
+ * setelah status readOnly transaksi diketahui. Didaftarkan sebagai bean agar afterPropertiesSet
+ * dipanggil Spring.
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+            ReadYourWrites readYourWrites) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        UUID userId = readYourWrites.currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Transaksi tulis user ini: setelah commit, bacaannya menempel ke primary sementara
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWrites.recordWrite(userId);
+                    }
+                });
+            }
+            return Target.PRIMARY;
+        }
+        if (readYourWrites.isSticky(userId) || !lagMonitor.isReplicaUsable()) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+}
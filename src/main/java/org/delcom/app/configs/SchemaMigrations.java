@@ -0,0 +1,42 @@
+package org.delcom.app.configs;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migrasi skema berversi (Flyway, classpath:db/migration) untuk hal yang tidak bisa diatur lewat ddl-auto
+ * (index ekspresi, index unik, pengisian kolom baru, dsb).
+ *
+ * Spring Boot menjalankan Flyway sebelum Hibernate, padahal script di sini mengandaikan tabel sudah dibuat /
+ * diperbarui ddl-auto. Karena itu migrasi bawaan Boot dikosongkan dan Flyway dijalankan di sini, setelah
+ * entityManagerFactory dan sebelum web server menerima request. Checksum script yang sudah dijalankan
+ * divalidasi Flyway (file yang berubah menggagalkan startup), dan migrasi berisi CREATE INDEX CONCURRENTLY
+ * dijalankan di luar transaksi.
+ *
+ * Tanpa Flyway (spring.flyway.enabled=false, mis. test H2) tidak melakukan apa-apa.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaMigrations implements InitializingBean {
+    private final ObjectProvider<Flyway> flyway;
+
+    public SchemaMigrations(ObjectProvider<Flyway> flyway) {
+        this.flyway = flyway;
+    }
+
+    // Dipakai FlywayMigrationInitializer milik Boot (sebelum Hibernate): jangan migrasi di sana
+    @Bean
+    public static FlywayMigrationStrategy deferUntilHibernate() {
+        return flyway -> { };
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        flyway.ifAvailable(Flyway::migrate);
+    }
+}
@@ -1,5 +1,6 @@
 package org.delcom.app.configs;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -32,8 +33,9 @@ SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
     return http.build();
 }
 
+        // Cost BCrypt; hash lama dengan cost berbeda di-hash ulang saat login (lihat PasswordHasher)
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+        public PasswordEncoder passwordEncoder(@Value("${app.auth.bcrypt.strength:10}") int strength) {
+                return new BCryptPasswordEncoder(strength);
         }
 }
\ No newline at end of file
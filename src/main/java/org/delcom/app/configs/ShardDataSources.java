@@ -0,0 +1,59 @@
+package org.delcom.app.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pool koneksi per shard (nama shard -> DataSource). Pool shard tambahan dimiliki objek ini dan
+ * ditutup bersamanya; pool home adalah bean tersendiri.
+ */
+public class ShardDataSources implements AutoCloseable {
+    private final String home;
+    private final Map<String, DataSource> dataSources;
+
+    public ShardDataSources(String home, Map<String, DataSource> dataSources) {
+        if (!dataSources.containsKey(home)) {
+            throw new IllegalArgumentException("Shard home tidak terdaftar: " + home);
+        }
+        this.home = home;
+        this.dataSources = Collections.unmodifiableMap(new LinkedHashMap<>(dataSources));
+    }
+
+    public String getHome() {
+        return home;
+    }
+
+    public DataSource get(String shard) {
+        DataSource dataSource = dataSources.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Shard tidak dikenal: " + shard);
+        }
+        return dataSource;
+    }
+
+    public boolean contains(String shard) {
+        return dataSources.containsKey(shard);
+    }
+
+    public Set<String> names() {
+        return dataSources.keySet();
+    }
+
+    Map<String, DataSource> asMap() {
+        return dataSources;
+    }
+
+    @Override
+    public void close() {
+        dataSources.forEach((name, dataSource) -> {
+            if (!name.equals(home) && dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        });
+    }
+}
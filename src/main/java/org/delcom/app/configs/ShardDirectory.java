@@ -0,0 +1,165 @@
+package org.delcom.app.configs;
+
+import org.delcom.app.utils.ConsistentHashRing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Direktori tenant -> shard (tabel tenant_shards di shard home).
+ *
+ * Tenant baru ditempatkan dengan consistent hashing, lalu penempatan itu langsung dicatat di tabel
+ * sehingga menambah shard ke ring tidak diam-diam memindahkan tenant lama. Baris tabel adalah sumber
+ * kebenaran; pemindahan tenant (TenantShardMover) cukup mengubah barisnya.
+ *
+ * Hasil lookup di-cache directory-ttl-ms. Mover menunggu lebih lama dari TTL di setiap perubahan state,
+ * jadi semua instance sudah melihat state baru sebelum langkah berikutnya.
+ */
+public class ShardDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(ShardDirectory.class);
+
+    static final String SQL_TABLE_EXISTS = "SELECT count(*) FROM information_schema.tables "
+            + "WHERE table_schema = current_schema() AND table_name = ?";
+    static final String SQL_CREATE = "CREATE TABLE IF NOT EXISTS tenant_shards ("
+            + "user_id uuid PRIMARY KEY, shard varchar(64) NOT NULL, "
+            + "state varchar(16) NOT NULL DEFAULT 'ACTIVE', moving_to varchar(64), "
+            + "updated_at timestamp NOT NULL DEFAULT now())";
+    // Saat sharding pertama kali diaktifkan, semua data user lama masih di home
+    static final String SQL_ADOPT_EXISTING = "INSERT INTO tenant_shards (user_id, shard) "
+            + "SELECT id, ? FROM users ON CONFLICT (user_id) DO NOTHING";
+    static final String SQL_FIND = "SELECT shard, state, moving_to FROM tenant_shards WHERE user_id = ?";
+    static final String SQL_ASSIGN = "INSERT INTO tenant_shards (user_id, shard) VALUES (?, ?) "
+            + "ON CONFLICT (user_id) DO NOTHING";
+    static final String SQL_SET_STATE = "UPDATE tenant_shards SET state = ?, moving_to = ?, updated_at = now() "
+            + "WHERE user_id = ? AND shard = ?";
+    static final String SQL_SWITCH = "UPDATE tenant_shards SET shard = ?, state = 'ACTIVE', moving_to = NULL, "
+            + "updated_at = now() WHERE user_id = ? AND shard = ? AND state = 'FROZEN'";
+
+    public enum State {
+        ACTIVE,
+        // Data sedang disalin ke moving_to; baca & tulis tetap di shard lama
+        MOVING,
+        // Sinkronisasi akhir: tulis ditolak (TenantMovingException), baca tetap di shard lama
+        FROZEN
+    }
+
+    private final JdbcTemplate home;
+    private final String homeShard;
+    private final ConsistentHashRing ring;
+    private final ApplicationEventPublisher events;
+    private final long ttlMs;
+    private final LongSupplier clock;
+    private final Map<UUID, Placement> cache = new ConcurrentHashMap<>();
+
+    public ShardDirectory(JdbcTemplate home, String homeShard, ConsistentHashRing ring,
+            ApplicationEventPublisher events, long ttlMs) {
+        this(home, homeShard, ring, events, ttlMs, System::currentTimeMillis);
+    }
+
+    ShardDirectory(JdbcTemplate home, String homeShard, ConsistentHashRing ring, ApplicationEventPublisher events,
+            long ttlMs, LongSupplier clock) {
+        this.home = home;
+        this.homeShard = homeShard;
+        this.ring = ring;
+        this.events = events;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Buat tabel direktori jika belum ada. Pada aktivasi pertama semua user yang sudah ada dicatat di home.
+     */
+    public void initialize() {
+        if (count(SQL_TABLE_EXISTS, "tenant_shards") > 0) {
+            return;
+        }
+        home.execute(SQL_CREATE);
+        if (count(SQL_TABLE_EXISTS, "users") > 0) {
+            int adopted = home.update(SQL_ADOPT_EXISTING, homeShard);
+            logger.info("Direktori shard dibuat, {} user lama ditempatkan di shard {}", adopted, homeShard);
+        }
+    }
+
+    /**
+     * Shard pemilik data tenant. Tenant yang belum punya baris ditempatkan lewat ring dan dicatat.
+     *
+     * @param write true jika pemanggil akan menulis; ditolak selama tenant FROZEN
+     */
+    public String resolve(UUID userId, boolean write) {
+        Placement placement = cache.get(userId);
+        if (placement == null || clock.getAsLong() - placement.loadedAt >= ttlMs) {
+            Placement fresh = load(userId);
+            if (placement != null && !placement.shard.equals(fresh.shard)) {
+                logger.info("Tenant {} pindah dari shard {} ke {}", userId, placement.shard, fresh.shard);
+                events.publishEvent(new TenantMovedEvent(userId, placement.shard, fresh.shard));
+            }
+            cache.put(userId, fresh);
+            placement = fresh;
+        }
+        if (write && placement.state == State.FROZEN) {
+            throw new TenantMovingException("Data sedang dipindahkan ke shard lain, coba lagi sebentar lagi");
+        }
+        return placement.shard;
+    }
+
+    /**
+     * Baris direktori terbaru tanpa cache (untuk mover), atau null jika tenant belum ditempatkan.
+     */
+    public Placement find(UUID userId) {
+        List<Placement> rows = home.query(SQL_FIND, (rs, rowNum) -> new Placement(rs.getString("shard"),
+                State.valueOf(rs.getString("state")), rs.getString("moving_to"), clock.getAsLong()), userId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public boolean setState(UUID userId, String shard, State state, String movingTo) {
+        return home.update(SQL_SET_STATE, state.name(), movingTo, userId, shard) == 1;
+    }
+
+    public boolean switchShard(UUID userId, String from, String to) {
+        return home.update(SQL_SWITCH, to, userId, from) == 1;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    private Placement load(UUID userId) {
+        Placement placement = find(userId);
+        if (placement == null) {
+            home.update(SQL_ASSIGN, userId, ring.locate(userId));
+            // Baca ulang: instance lain mungkin menempatkan tenant yang sama lebih dulu
+            placement = find(userId);
+        }
+        return placement;
+    }
+
+    private long count(String sql, Object... args) {
+        Long count = home.queryForObject(sql, Long.class, args);
+        return count == null ? 0 : count;
+    }
+
+    public static class Placement {
+        private final String shard;
+        private final State state;
+        private final String movingTo;
+        private final long loadedAt;
+
+        Placement(String shard, State state, String movingTo, long loadedAt) {
+            this.shard = shard;
+            this.state = state;
+            this.movingTo = movingTo;
+            this.loadedAt = loadedAt;
+        }
+
+        public String getShard() { return shard; }
+        public State getState() { return state; }
+        public String getMovingTo() { return movingTo; }
+    }
+}
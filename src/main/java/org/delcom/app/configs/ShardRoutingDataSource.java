@@ -0,0 +1,28 @@
+package org.delcom.app.configs;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+
+/**
+ * Memilih pool shard berdasarkan TenantShards; tanpa pengikatan ke shard home. Harus dibungkus
+ * LazyConnectionDataSourceProxy agar koneksi baru dipilih pada statement pertama, setelah
+ * shard tenant diikat (TenantShardInterceptor atau TenantShards.call). Didaftarkan sebagai bean agar
+ * afterPropertiesSet dipanggil Spring.
+ */
+public final class ShardRoutingDataSource extends AbstractRoutingDataSource {
+    private final TenantShards tenantShards;
+
+    public ShardRoutingDataSource(ShardDataSources shards, TenantShards tenantShards) {
+        this.tenantShards = tenantShards;
+        setTargetDataSources(new HashMap<>(shards.asMap()));
+        setDefaultTargetDataSource(shards.get(shards.getHome()));
+        // Shard yang tidak dikenal adalah bug konfigurasi, jangan diam-diam jatuh ke home
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return tenantShards.currentShard();
+    }
+}
@@ -0,0 +1,124 @@
+package org.delcom.app.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.delcom.app.utils.ConsistentHashRing;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sharding tenant (app.sharding.enabled=true): data inventory setiap user berada di satu shard,
+ * dipilih lewat ShardDirectory. spring.datasource adalah shard home. Method service memilih shard lewat
+ * parameter {@link TenantId}.
+ *
+ * Setiap shard disiapkan seperti database biasa: jalankan aplikasi sekali dengan spring.datasource.url
+ * menunjuk ke shard tersebut (ddl-auto + SchemaMigrations), baru daftarkan di app.sharding.shards.
+ *
+ * Belum bisa digabung dengan read replica (app.datasource.replica.url) maupun hot stock engine,
+ * yang flush-nya berjalan di thread scheduler tanpa konteks tenant (selalu ke database home).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    public ShardingConfig(@Value("${app.datasource.replica.url:}") String replicaUrl,
+            @Value("${app.inventory.hot-stock.enabled:false}") boolean hotStockEnabled) {
+        if (!replicaUrl.isEmpty()) {
+            throw new IllegalStateException("app.sharding.enabled tidak bisa digabung dengan app.datasource.replica.url");
+        }
+        if (hotStockEnabled) {
+            throw new IllegalStateException("app.sharding.enabled tidak bisa digabung dengan app.inventory.hot-stock.enabled");
+        }
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource homeDataSource(DataSourceProperties properties, ShardingProperties sharding) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(sharding.getHome());
+        return dataSource;
+    }
+
+    @Bean
+    public ShardDataSources shardDataSources(@Qualifier("homeDataSource") DataSource home, ShardingProperties sharding) {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        dataSources.put(sharding.getHome(), home);
+        sharding.getShards().forEach((name, shard) -> {
+            HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                    .url(shard.getUrl()).username(shard.getUsername()).password(shard.getPassword()).build();
+            dataSource.setPoolName(name);
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSources.put(name, dataSource);
+        });
+        ShardDataSources shards = new ShardDataSources(sharding.getHome(), dataSources);
+        for (String member : sharding.ringMembers()) {
+            if (!shards.contains(member)) {
+                throw new IllegalStateException("app.sharding.ring menyebut shard yang tidak terdaftar: " + member);
+            }
+        }
+        return shards;
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(@Qualifier("homeDataSource") DataSource home, ShardingProperties sharding,
+            ApplicationEventPublisher events) {
+        ShardDirectory directory = new ShardDirectory(new JdbcTemplate(home), sharding.getHome(),
+                new ConsistentHashRing(sharding.ringMembers(), sharding.getVirtualNodes()), events,
+                sharding.getDirectoryTtlMs());
+        directory.initialize();
+        return directory;
+    }
+
+    // Order paling awal: shard diikat sebelum TransactionInterceptor membuka transaksi
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor tenantShardAdvisor(ObjectProvider<TenantShards> tenantShards) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(TenantShardInterceptor.POINTCUT,
+                new TenantShardInterceptor(tenantShards::getObject));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardDataSources shards, TenantShards tenantShards) {
+        return new ShardRoutingDataSource(shards, tenantShards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Seperti ReplicaDataSourceConfig: koneksi dilepas setiap akhir transaksi. Jika ditahan sampai
+    // EntityManager ditutup, koneksi shard home (mis. getUserById) ikut dipakai transaksi tenant berikutnya.
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
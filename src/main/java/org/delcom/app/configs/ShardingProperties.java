@@ -0,0 +1,62 @@
+package org.delcom.app.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Konfigurasi app.sharding.*. Shard "home" adalah spring.datasource (berisi users, auth_tokens dan
+ * direktori tenant_shards); shard lain didaftarkan di app.sharding.shards.<nama>.url dst.
+ */
+@ConfigurationProperties("app.sharding")
+public class ShardingProperties {
+    private boolean enabled;
+    private String home = "primary";
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+    // Shard yang menerima tenant baru; kosong = semua shard termasuk home
+    private List<String> ring = new ArrayList<>();
+    private int virtualNodes = 128;
+    private long directoryTtlMs = 5000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getHome() { return home; }
+    public void setHome(String home) { this.home = home; }
+    public Map<String, Shard> getShards() { return shards; }
+    public void setShards(Map<String, Shard> shards) { this.shards = shards; }
+    public List<String> getRing() { return ring; }
+    public void setRing(List<String> ring) { this.ring = ring; }
+    public int getVirtualNodes() { return virtualNodes; }
+    public void setVirtualNodes(int virtualNodes) { this.virtualNodes = virtualNodes; }
+    public long getDirectoryTtlMs() { return directoryTtlMs; }
+    public void setDirectoryTtlMs(long directoryTtlMs) { this.directoryTtlMs = directoryTtlMs; }
+
+    public List<String> ringMembers() {
+        if (!ring.isEmpty()) {
+            return ring;
+        }
+        List<String> all = new ArrayList<>();
+        all.add(home);
+        all.addAll(shards.keySet());
+        return all;
+    }
+
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    }
+}
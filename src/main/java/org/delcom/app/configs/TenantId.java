@@ -0,0 +1,19 @@
+package org.delcom.app.configs;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Menandai parameter pemilik data pada method public bean Spring: UUID user, atau objek TenantOwned.
+ * Dengan app.sharding.enabled, TenantShardInterceptor mengikat shard user itu selama method berjalan,
+ * sebelum transaksinya dibuka. Tulis ditolak untuk tenant yang sedang dibekukan kecuali method-nya
+ * {@code @Transactional(readOnly = true)}.
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TenantId {
+}
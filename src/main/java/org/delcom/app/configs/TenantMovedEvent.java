@@ -0,0 +1,23 @@
+package org.delcom.app.configs;
+
+import java.util.UUID;
+
+/**
+ * Dipublikasikan ShardDirectory saat instance ini melihat tenant sudah pindah shard, sebelum query
+ * pertama ke shard baru. Cache per tenant yang memuat id lokal database (mis. id kategori) harus dibuang.
+ */
+public class TenantMovedEvent {
+    private final UUID userId;
+    private final String fromShard;
+    private final String toShard;
+
+    public TenantMovedEvent(UUID userId, String fromShard, String toShard) {
+        this.userId = userId;
+        this.fromShard = fromShard;
+        this.toShard = toShard;
+    }
+
+    public UUID getUserId() { return userId; }
+    public String getFromShard() { return fromShard; }
+    public String getToShard() { return toShard; }
+}
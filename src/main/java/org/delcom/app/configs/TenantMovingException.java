@@ -0,0 +1,17 @@
+package org.delcom.app.configs;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Penulisan ditolak sementara karena data tenant sedang dipindahkan ke shard lain (fase akhir
+ * TenantShardMover, biasanya beberapa detik). Pembacaan tetap dilayani.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TenantMovingException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TenantMovingException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package org.delcom.app.configs;
+
+import java.util.UUID;
+
+/**
+ * Data milik satu tenant; boleh menjadi parameter {@link TenantId}.
+ */
+public interface TenantOwned {
+    UUID getUserId();
+}
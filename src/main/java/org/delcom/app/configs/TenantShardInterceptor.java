@@ -0,0 +1,84 @@
+package org.delcom.app.configs;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Mengikat shard tenant untuk method yang punya parameter {@link TenantId}, menggantikan pengikatan
+ * manual di awal setiap method. Harus dijalankan di luar TransactionInterceptor (order lebih kecil):
+ * transaksi, termasuk flush saat commit, berjalan seluruhnya di dalam pengikatan ini.
+ */
+public class TenantShardInterceptor implements MethodInterceptor {
+
+    public static final Pointcut POINTCUT = new StaticMethodMatcherPointcut() {
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return tenantIdIndex(AopUtils.getMostSpecificMethod(method, targetClass)) >= 0;
+        }
+    };
+
+    // Diambil saat pemanggilan pertama agar advisor tidak memaksa DataSource dibuat lebih awal
+    private final Supplier<TenantShards> tenantShards;
+    private final Map<Method, Binding> bindings = new ConcurrentHashMap<>();
+
+    public TenantShardInterceptor(Supplier<TenantShards> tenantShards) {
+        this.tenantShards = tenantShards;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Binding binding = bindings.computeIfAbsent(invocation.getMethod(),
+                method -> Binding.of(method, invocation.getThis()));
+        Object owner = invocation.getArguments()[binding.index];
+        UUID userId = owner instanceof TenantOwned owned ? owned.getUserId() : (UUID) owner;
+        if (userId == null) {
+            throw new IllegalArgumentException("Parameter @TenantId " + invocation.getMethod().getName() + " null");
+        }
+        return tenantShards.get().invoke(userId, binding.write, invocation);
+    }
+
+    static int tenantIdIndex(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof TenantId) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static final class Binding {
+        private final int index;
+        private final boolean write;
+
+        private Binding(int index, boolean write) {
+            this.index = index;
+            this.write = write;
+        }
+
+        private static Binding of(Method method, Object target) {
+            Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+            Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+            Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(specific, Transactional.class);
+            if (transactional == null) {
+                transactional = AnnotatedElementUtils.findMergedAnnotation(targetClass, Transactional.class);
+            }
+            // Tanpa @Transactional (mis. TransactionTemplate di dalam method) dianggap menulis
+            return new Binding(tenantIdIndex(specific), transactional == null || !transactional.readOnly());
+        }
+    }
+}
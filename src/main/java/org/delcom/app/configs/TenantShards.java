@@ -0,0 +1,97 @@
+package org.delcom.app.configs;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Mengikat shard tenant ke thread agar ShardRoutingDataSource memilih database yang benar.
+ * Tanpa app.sharding.enabled semua method di sini tidak melakukan apa-apa (satu database).
+ *
+ * Koneksi diambil lazy pada statement pertama, jadi pengikatan cukup dilakukan sebelum query pertama:
+ * - parameter {@link TenantId} pada method service: diikat TenantShardInterceptor di luar transaksinya
+ * - call/run untuk kode lain, mis. job di thread sendiri yang membuka transaksinya dengan TransactionTemplate
+ *
+ * Data di luar inventory (users, auth_tokens) ada di shard home dan diakses tanpa pengikatan.
+ */
+@Component
+public class TenantShards {
+    private final ThreadLocal<String> current = new ThreadLocal<>();
+    private final ShardDirectory directory;
+
+    public TenantShards(Optional<ShardDirectory> directory) {
+        this.directory = directory.orElse(null);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public <T> T call(UUID userId, boolean write, Supplier<T> work) {
+        if (directory == null) {
+            return work.get();
+        }
+        return onShard(directory.resolve(userId, write), work);
+    }
+
+    public void run(UUID userId, boolean write, Runnable work) {
+        call(userId, write, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Seperti call, untuk TenantShardInterceptor (method yang dipanggil boleh melempar exception apa pun)
+    Object invoke(UUID userId, boolean write, MethodInvocation invocation) throws Throwable {
+        if (directory == null) {
+            return invocation.proceed();
+        }
+        String shard = directory.resolve(userId, write);
+        if (bindCompatible(shard)) {
+            return invocation.proceed();
+        }
+        current.set(shard);
+        try {
+            return invocation.proceed();
+        } finally {
+            current.remove();
+        }
+    }
+
+    /**
+     * Jalankan work di shard tertentu (tool / startup). Transaksi di dalam work memakai shard ini.
+     */
+    public <T> T onShard(String shard, Supplier<T> work) {
+        if (bindCompatible(shard)) {
+            return work.get();
+        }
+        current.set(shard);
+        try {
+            return work.get();
+        } finally {
+            current.remove();
+        }
+    }
+
+    /**
+     * Shard yang sedang terikat, atau null (shard home).
+     */
+    public String currentShard() {
+        return current.get();
+    }
+
+    // true jika thread sudah terikat ke shard yang sama; satu transaksi tidak boleh menyeberang shard
+    private boolean bindCompatible(String shard) {
+        String bound = current.get();
+        if (bound == null) {
+            return false;
+        }
+        if (!bound.equals(shard)) {
+            throw new IllegalStateException("Thread sudah terikat ke shard " + bound + ", bukan " + shard);
+        }
+        return true;
+    }
+}
@@ -1,11 +1,15 @@
 package org.delcom.app.interceptors;
 
 import org.delcom.app.configs.AuthContext;
+import org.delcom.app.configs.ReadYourWrites;
 import org.delcom.app.modules.authentication.AccountService;
 import org.delcom.app.modules.authentication.AuthToken;
 import org.delcom.app.modules.authentication.AuthTokenService;
+import org.delcom.app.modules.authentication.JwtTokenService;
+import org.delcom.app.modules.authentication.TokenRevocations;
 import org.delcom.app.modules.authentication.User;
-import org.delcom.app.utils.JwtUtil;
+import org.delcom.app.modules.authentication.VerifiedToken;
+import org.delcom.app.modules.authentication.VerifiedTokenCache;
 import org.springframework.lang.NonNull; // 1. Import NonNull
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
@@ -14,6 +18,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.UUID;
 
 @Component
@@ -22,12 +27,22 @@ public class AuthInterceptor implements HandlerInterceptor {
     protected AuthContext authContext;
     protected AuthTokenService authTokenService;
     protected AccountService userService;
+    protected ReadYourWrites readYourWrites;
+    protected VerifiedTokenCache verifiedTokenCache;
+    protected JwtTokenService jwtTokenService;
+    protected TokenRevocations tokenRevocations;
 
     // Constructor Injection tidak memerlukan @Autowired
-    public AuthInterceptor(AuthContext authContext, AuthTokenService authTokenService, AccountService userService) {
+    public AuthInterceptor(AuthContext authContext, AuthTokenService authTokenService, AccountService userService,
+            ReadYourWrites readYourWrites, VerifiedTokenCache verifiedTokenCache, JwtTokenService jwtTokenService,
+            TokenRevocations tokenRevocations) {
         this.authContext = authContext;
         this.authTokenService = authTokenService;
         this.userService = userService;
+        this.readYourWrites = readYourWrites;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.jwtTokenService = jwtTokenService;
+        this.tokenRevocations = tokenRevocations;
     }
 
     @Override
@@ -52,38 +67,62 @@ public class AuthInterceptor implements HandlerInterceptor {
             return false;
         }
 
-        // Validasi format token JWT
-        if (!JwtUtil.validateToken(token, true)) {
+        // Token yang sama sudah diverifikasi sebelumnya: tanpa parse JWT dan tanpa query database
+        User cachedUser = verifiedTokenCache.get(token);
+        if (cachedUser != null) {
+            readYourWrites.bind(cachedUser.getId());
+            authContext.setAuthUser(cachedUser);
+            return true;
+        }
+
+        // Validasi tanda tangan dan masa berlaku token JWT (satu kali parse)
+        VerifiedToken verifiedToken = jwtTokenService.verify(token);
+        if (verifiedToken == null) {
             sendErrorResponse(response, 401, "Token autentikasi tidak valid");
             return false;
         }
 
         // Ekstrak userId dari token
-        UUID userId = JwtUtil.extractUserId(token);
+        UUID userId = verifiedToken.getUserId();
         if (userId == null) {
             sendErrorResponse(response, 401, "Format token autentikasi tidak valid");
             return false;
         }
+        // Routing replica: bacaan user ini menempel ke primary setelah ia menulis
+        readYourWrites.bind(userId);
+        long cacheVersion = verifiedTokenCache.version(userId);
 
-        // Cari token di database
-        AuthToken authToken = authTokenService.findUserToken(userId, token);
-        if (authToken == null) {
+        // Cek token masih berlaku (belum logout)
+        if (!isTokenLive(userId, token, verifiedToken)) {
             sendErrorResponse(response, 401, "Token autentikasi sudah expired");
             return false;
         }
 
         // Ambil data user
-        User authUser = userService.getUserById(authToken.getUserId());
+        User authUser = userService.getUserById(userId);
         if (authUser == null) {
             sendErrorResponse(response, 404, "User tidak ditemukan");
             return false;
         }
 
+        Instant expiresAt = verifiedToken.getExpiresAt();
+        verifiedTokenCache.put(token, authUser,
+                expiresAt != null ? expiresAt.toEpochMilli() : Long.MAX_VALUE, cacheVersion);
+
         // Set user ke auth context
         authContext.setAuthUser(authUser);
         return true;
     }
 
+    private boolean isTokenLive(UUID userId, String token, VerifiedToken verifiedToken) {
+        if (tokenRevocations.isActive()) {
+            // Model revocations: probe memori, tanpa query
+            return !tokenRevocations.isRevoked(userId, verifiedToken.getIssuedAt());
+        }
+        AuthToken authToken = authTokenService.findUserToken(userId, token);
+        return authToken != null;
+    }
+
     private String extractToken(String rawAuthToken) {
         if (rawAuthToken != null && rawAuthToken.startsWith("Bearer ")) {
             return rawAuthToken.substring(7); // hapus "Bearer "
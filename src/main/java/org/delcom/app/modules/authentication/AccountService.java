@@ -8,9 +8,11 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class AccountService {
     private final UserRepository userRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public AccountService(UserRepository userRepository) {
+    public AccountService(UserRepository userRepository, VerifiedTokenCache verifiedTokenCache) {
         this.userRepository = userRepository;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @Transactional
@@ -19,10 +21,12 @@ public class AccountService {
         return userRepository.save(user);
     }
 
+    // Sengaja tanpa readOnly (tetap di primary): login harus melihat user yang baru saja register
     public User getUserByEmail(String email) {
         return userRepository.findFirstByEmail(email).orElse(null);
     }
 
+    @Transactional(readOnly = true)
     public User getUserById(UUID id) {
         return userRepository.findById(id).orElse(null);
     }
@@ -35,6 +39,8 @@ public class AccountService {
         }
         user.setName(name);
         user.setEmail(email);
+        // Snapshot user di cache token sudah basi
+        verifiedTokenCache.evictUser(id);
         return userRepository.save(user);
     }
 
@@ -45,6 +51,7 @@ public class AccountService {
             return null;
         }
         user.setPassword(newPassword);
+        verifiedTokenCache.evictUser(id);
         return userRepository.save(user);
     }
 
@@ -8,7 +8,6 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,15 +23,18 @@ import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 
 import java.util.List;
+import java.util.UUID;
 
 @Controller
 @RequestMapping("/auth")
 public class AuthController {
 
   private final AccountService accountService;
+  private final PasswordHasher passwordHasher;
 
-  public AuthController(AccountService accountService) {
+  public AuthController(AccountService accountService, PasswordHasher passwordHasher) {
     this.accountService = accountService;
+    this.passwordHasher = passwordHasher;
   }
 
   @GetMapping("/login")
@@ -65,13 +67,14 @@ public class AuthController {
       return ConstUtil.TEMPLATE_PAGES_AUTH_LOGIN;
     }
 
-    boolean isPasswordMatch = new BCryptPasswordEncoder()
-        .matches(signInRequest.getPassword(), existingUser.getPassword());
+    boolean isPasswordMatch = passwordHasher.matches(signInRequest.getPassword(), existingUser.getPassword());
     if (!isPasswordMatch) {
       bindingResult.rejectValue("email", "error.loginForm", "Email atau kata sandi salah");
       return ConstUtil.TEMPLATE_PAGES_AUTH_LOGIN;
     }
 
+    rehashIfCostChanged(existingUser, signInRequest.getPassword());
+
     List<GrantedAuthority> authorities = List.of(
         new SimpleGrantedAuthority("ROLE_USER"));
 
@@ -122,7 +125,7 @@ public class AuthController {
       return ConstUtil.TEMPLATE_PAGES_AUTH_REGISTER;
     }
 
-    String hashPassword = new BCryptPasswordEncoder().encode(registerForm.getPassword());
+    String hashPassword = passwordHasher.encode(registerForm.getPassword());
 
     User createdUser = accountService.createUser(
         registerForm.getName(),
@@ -139,6 +142,16 @@ public class AuthController {
     return "redirect:/auth/login";
   }
 
+  // Password mentah hanya tersedia saat login, jadi di sinilah hash lama dibawa ke cost yang baru.
+  // Tidak ditunggu: login tidak membayar BCrypt kedua, dan jika executor penuh hash diperbarui pada login berikutnya
+  private void rehashIfCostChanged(User user, String rawPassword) {
+    if (!passwordHasher.needsRehash(user.getPassword())) {
+      return;
+    }
+    UUID userId = user.getId();
+    passwordHasher.encodeInBackground(rawPassword, hash -> accountService.updatePassword(userId, hash));
+  }
+
   @GetMapping("/logout")
   public String logout(HttpSession session) {
     session.invalidate();
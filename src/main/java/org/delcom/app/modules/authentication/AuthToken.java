@@ -1,39 +1,72 @@
 package org.delcom.app.modules.authentication;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import jakarta.persistence.*;
+import org.delcom.app.utils.UuidV7Id;
 
 @Entity
 @Table(name = "auth_tokens")
-@JsonPropertyOrder({ "id", "token", "userId", "createdAt" })
+@JsonPropertyOrder({ "id", "token", "userId", "createdAt", "expiresAt" })
 public class AuthToken {
     @Id
-    @GeneratedValue(generator = "UUID")
+    @UuidV7Id
     @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
     private UUID id;
 
-    @Column(name = "token", nullable = false, columnDefinition = "TEXT")
+    // Token mentah tidak disimpan: hanya ada di objek yang baru dibuat (untuk dikirim ke client)
+    @Transient
     private String token;
 
+    // SHA-256 hex dari token; panjang tetap dan unik (lihat db/migration V2)
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Sama dengan exp JWT; baris yang lewat waktu ini dihapus AuthTokenPurger
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
     public AuthToken() {
     }
 
     public AuthToken(UUID userId, String token) {
         this.userId = userId;
         this.token = token;
+        this.tokenHash = token != null ? hashToken(token) : null;
         this.createdAt = LocalDateTime.now();
     }
 
+    public AuthToken(UUID userId, String token, LocalDateTime expiresAt) {
+        this(userId, token);
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * SHA-256 hex token, kunci pencarian di kolom token_hash.
+     */
+    public static String hashToken(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 tidak tersedia", e);
+        }
+    }
+
     public UUID getId() {
         return id;
     }
@@ -48,6 +81,12 @@ public class AuthToken {
 
     public void setToken(String token) {
         this.token = token;
+        this.tokenHash = token != null ? hashToken(token) : null;
+    }
+
+    @JsonIgnore
+    public String getTokenHash() {
+        return tokenHash;
     }
 
     public UUID getUserId() {
@@ -62,6 +101,14 @@ public class AuthToken {
         return createdAt;
     }
 
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
     // ======= @PrePersist & @PreUpdate =======
     @PrePersist
     protected void onCreate() {
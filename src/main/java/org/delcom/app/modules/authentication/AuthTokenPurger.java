@@ -0,0 +1,58 @@
+package org.delcom.app.modules.authentication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Membuang baris auth_tokens yang sudah expired secara berkala, dalam batch kecil (satu transaksi per
+ * batch) agar lock dan WAL per transaksi tetap kecil meskipun login sangat sering. Satu putaran dibatasi
+ * max-batches-per-run; sisanya dilanjutkan putaran berikutnya.
+ */
+@Component
+public class AuthTokenPurger {
+    private static final Logger logger = LoggerFactory.getLogger(AuthTokenPurger.class);
+
+    private final AuthTokenRepository authTokenRepository;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public AuthTokenPurger(AuthTokenRepository authTokenRepository,
+            @Value("${app.auth.token-purge.batch-size:1000}") int batchSize,
+            @Value("${app.auth.token-purge.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.authTokenRepository = authTokenRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+    }
+
+    /**
+     * @return jumlah baris yang dihapus pada putaran ini
+     */
+    @Scheduled(fixedDelayString = "${app.auth.token-purge.interval-ms:300000}")
+    public int purge() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int deleted;
+            try {
+                deleted = authTokenRepository.deleteExpiredBatch(now, batchSize);
+            } catch (DataAccessException e) {
+                logger.warn("Gagal menghapus auth_tokens yang expired: {}", e.getMessage());
+                break;
+            }
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("{} auth_tokens expired dihapus", total);
+        }
+        return total;
+    }
+}
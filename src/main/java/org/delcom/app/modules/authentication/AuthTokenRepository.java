@@ -1,5 +1,6 @@
 package org.delcom.app.modules.authentication;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,11 +11,24 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface AuthTokenRepository extends JpaRepository<AuthToken, UUID> {
-    @Query("SELECT at FROM AuthToken at WHERE at.userId = ?1 AND at.token = ?2")
-    AuthToken findUserToken(UUID userId, String token);
+    String SQL_DELETE_EXPIRED_BATCH = "DELETE FROM auth_tokens WHERE id IN (SELECT id FROM auth_tokens "
+            + "WHERE expires_at < ?1 ORDER BY expires_at LIMIT ?2 FOR UPDATE SKIP LOCKED)";
+
+    // tokenHash = AuthToken.hashToken(token); dicari lewat index unik uk_auth_tokens_token_hash
+    @Query("SELECT at FROM AuthToken at WHERE at.userId = ?1 AND at.tokenHash = ?2")
+    AuthToken findUserToken(UUID userId, String tokenHash);
 
     @Modifying
     @Transactional
     @Query("DELETE FROM AuthToken at WHERE at.userId = ?1")
     void deleteByUserId(UUID userId);
+
+    /**
+     * Hapus paling banyak limit token yang sudah expired. Baris yang sedang dihapus instance lain
+     * dilewati (SKIP LOCKED), jadi beberapa purger bisa berjalan bersamaan tanpa saling menunggu.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = SQL_DELETE_EXPIRED_BATCH, nativeQuery = true)
+    int deleteExpiredBatch(LocalDateTime now, int limit);
 }
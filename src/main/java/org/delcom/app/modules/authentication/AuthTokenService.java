@@ -1,30 +1,56 @@
 package org.delcom.app.modules.authentication;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.UUID;
 
+import org.delcom.app.configs.ReadYourWrites;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthTokenService {
     private final AuthTokenRepository authTokenRepository;
+    private final ReadYourWrites readYourWrites;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocations tokenRevocations;
+    private final JwtTokenService jwtTokenService;
 
-    public AuthTokenService(AuthTokenRepository authTokenRepository) {
+    public AuthTokenService(AuthTokenRepository authTokenRepository, ReadYourWrites readYourWrites,
+            VerifiedTokenCache verifiedTokenCache, TokenRevocations tokenRevocations,
+            JwtTokenService jwtTokenService) {
         this.authTokenRepository = authTokenRepository;
+        this.readYourWrites = readYourWrites;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocations = tokenRevocations;
+        this.jwtTokenService = jwtTokenService;
     }
 
     @Transactional(readOnly = true)
     public AuthToken findUserToken(UUID userId, String token) {
-        return authTokenRepository.findUserToken(userId, token);
+        return authTokenRepository.findUserToken(userId, AuthToken.hashToken(token));
     }
 
     @Transactional
     public AuthToken createAuthToken(AuthToken authToken) {
+        if (authToken.getExpiresAt() == null) {
+            // expires_at mengikuti exp JWT agar AuthTokenPurger bisa membuang barisnya tepat waktu
+            VerifiedToken verified = jwtTokenService.verify(authToken.getToken());
+            if (verified == null || verified.getExpiresAt() == null) {
+                throw new IllegalArgumentException("Token tidak valid atau tidak punya masa berlaku");
+            }
+            authToken.setExpiresAt(LocalDateTime.ofInstant(verified.getExpiresAt(), ZoneId.systemDefault()));
+        }
+        // Login belum punya user terikat; tandai manual agar token baru langsung dicari di primary
+        readYourWrites.recordWrite(authToken.getUserId());
         return authTokenRepository.save(authToken);
     }
 
     @Transactional
     public void deleteAuthToken(UUID userId) {
         authTokenRepository.deleteByUserId(userId);
+        // Dicatat pada kedua model token-store: node lain membuang cache token user ini saat refresh
+        tokenRevocations.revoke(userId);
+        verifiedTokenCache.evictUser(userId);
     }
 }
@@ -0,0 +1,185 @@
+package org.delcom.app.modules.authentication;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import org.delcom.app.utils.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Kumpulan kunci HMAC untuk JWT, dipilih lewat header "kid". Token baru ditandatangani dengan
+ * kunci aktif; kunci lama tetap bisa memverifikasi token yang sudah terbit sampai dihapus dari file.
+ *
+ * Format file app.auth.jwt.keys-file (properties, secret dalam Base64, minimal 256 bit):
+ * <pre>
+ * active-key-id=2026-10
+ * 2026-10=...
+ * 2026-07=...
+ * </pre>
+ * File dibaca ulang saat berubah, jadi rotasi tidak memerlukan restart. Tanpa file, kunci bawaan
+ * JwtUtil dipakai dengan id "default".
+ *
+ * Kunci bawaan ada di source code, jadi siapa pun bisa menandatangani token dengannya. Model database
+ * masih menolak token seperti itu (tidak ada di auth_tokens), model revocations tidak: mode itu hanya
+ * boleh jalan dengan file kunci dan tanpa token lama tanpa kid.
+ */
+@Component
+public class JwtKeyRing extends LocatorAdapter<Key> {
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    static final String ACTIVE_KEY_ID = "active-key-id";
+    static final String DEFAULT_KEY_ID = "default";
+
+    private final Path keysFile;
+    private final boolean acceptUnversionedTokens;
+
+    private volatile Snapshot snapshot;
+    private volatile FileTime loadedModifiedTime;
+
+    /**
+     * accept-unversioned-tokens yang tidak diisi berarti true tanpa file kunci dan false dengan file kunci.
+     */
+    @Autowired
+    public JwtKeyRing(@Value("${app.auth.jwt.keys-file:}") String keysFile,
+            @Value("${app.auth.jwt.accept-unversioned-tokens:#{null}}") Boolean acceptUnversionedTokens,
+            @Value("${app.auth.token-store:database}") String tokenStore) {
+        this(keysFile, acceptUnversionedTokens(keysFile, acceptUnversionedTokens, tokenStore));
+    }
+
+    public JwtKeyRing(String keysFile, boolean acceptUnversionedTokens) {
+        this.keysFile = keysFile == null || keysFile.isBlank() ? null : Path.of(keysFile);
+        this.acceptUnversionedTokens = acceptUnversionedTokens;
+        if (this.keysFile == null) {
+            this.snapshot = new Snapshot(DEFAULT_KEY_ID, Map.of(DEFAULT_KEY_ID, JwtUtil.getKey()));
+        } else {
+            // Gagal di startup lebih baik daripada menerbitkan token dengan kunci yang salah
+            try {
+                load();
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IllegalStateException("Gagal membaca app.auth.jwt.keys-file " + this.keysFile, e);
+            }
+        }
+    }
+
+    static boolean acceptUnversionedTokens(String keysFile, Boolean configured, String tokenStore) {
+        boolean hasKeysFile = keysFile != null && !keysFile.isBlank();
+        boolean accept = configured != null ? configured : !hasKeysFile;
+        if (TokenRevocations.STORE_REVOCATIONS.equals(tokenStore)) {
+            if (!hasKeysFile) {
+                throw new IllegalStateException(
+                        "app.auth.token-store=revocations membutuhkan app.auth.jwt.keys-file (kunci bawaan bisa dipalsukan)");
+            }
+            if (accept) {
+                throw new IllegalStateException(
+                        "app.auth.token-store=revocations membutuhkan app.auth.jwt.accept-unversioned-tokens=false");
+            }
+        }
+        return accept;
+    }
+
+    /**
+     * Baca ulang file kunci jika berubah. File yang rusak diabaikan (kunci sebelumnya tetap dipakai).
+     */
+    @Scheduled(fixedDelayString = "${app.auth.jwt.reload-interval-ms:30000}")
+    public void reload() {
+        if (keysFile == null) {
+            return;
+        }
+        try {
+            if (!Files.getLastModifiedTime(keysFile).equals(loadedModifiedTime)) {
+                load();
+                logger.info("Kunci JWT dimuat ulang dari {} (aktif: {})", keysFile, snapshot.activeKeyId);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Gagal memuat ulang kunci JWT dari {}, kunci sebelumnya tetap dipakai: {}",
+                    keysFile, e.getMessage());
+        }
+    }
+
+    public String getActiveKeyId() {
+        return snapshot.activeKeyId;
+    }
+
+    /**
+     * Tanda tangani dengan kunci aktif dan cantumkan kid-nya; keduanya diambil dari snapshot yang
+     * sama agar tidak tertukar saat reload berjalan bersamaan.
+     */
+    JwtBuilder signWithActiveKey(JwtBuilder builder) {
+        Snapshot current = snapshot;
+        return builder.header().keyId(current.activeKeyId).and()
+                .signWith(current.keys.get(current.activeKeyId));
+    }
+
+    /**
+     * Dipanggil JwtParser saat verifikasi; null berarti token ditolak.
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            // Token lama dari JwtUtil.generateToken tidak punya kid
+            return acceptUnversionedTokens ? JwtUtil.getKey() : null;
+        }
+        return snapshot.keys.get(keyId);
+    }
+
+    private void load() throws IOException {
+        FileTime modifiedTime = Files.getLastModifiedTime(keysFile);
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(keysFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        snapshot = parse(properties);
+        loadedModifiedTime = modifiedTime;
+    }
+
+    static Snapshot parse(Properties properties) {
+        String activeKeyId = properties.getProperty(ACTIVE_KEY_ID, "").strip();
+        Map<String, SecretKey> keys = new HashMap<>();
+        for (String keyId : properties.stringPropertyNames()) {
+            if (keyId.equals(ACTIVE_KEY_ID)) {
+                continue;
+            }
+            try {
+                byte[] secret = Base64.getDecoder().decode(properties.getProperty(keyId).strip());
+                keys.put(keyId, Keys.hmacShaKeyFor(secret));
+            } catch (RuntimeException e) {
+                // Base64 rusak atau secret kurang dari 256 bit (WeakKeyException)
+                throw new IllegalArgumentException("Secret kunci '" + keyId + "' tidak valid: " + e.getMessage(), e);
+            }
+        }
+        if (!keys.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException("Kunci aktif '" + activeKeyId + "' tidak ada di file kunci");
+        }
+        return new Snapshot(activeKeyId, Map.copyOf(keys));
+    }
+
+    static final class Snapshot {
+        private final String activeKeyId;
+        private final Map<String, SecretKey> keys;
+
+        private Snapshot(String activeKeyId, Map<String, SecretKey> keys) {
+            this.activeKeyId = activeKeyId;
+            this.keys = keys;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.delcom.app.modules.authentication;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Penerbitan dan verifikasi JWT. Parser dibangun sekali (JwtParser immutable dan thread-safe) dan
+ * kunci dipilih per token lewat JwtKeyRing, sehingga satu token cukup di-parse dan diverifikasi sekali.
+ */
+@Service
+public class JwtTokenService {
+    private final JwtKeyRing keyRing;
+    private final long expirationMs;
+    private final JwtParser parser;
+
+    public JwtTokenService(JwtKeyRing keyRing,
+            @Value("${app.auth.jwt.expiration-ms:7200000}") long expirationMs) {
+        this.keyRing = keyRing;
+        this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().keyLocator(keyRing).build();
+    }
+
+    public String generateToken(UUID userId) {
+        long now = System.currentTimeMillis();
+        return keyRing.signWithActiveKey(Jwts.builder()
+                // jti acak: dua login pada detik yang sama tetap menghasilkan token (dan token_hash) berbeda
+                .id(UUID.randomUUID().toString())
+                .subject(userId.toString())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expirationMs)))
+                .compact();
+    }
+
+    /**
+     * @return token terverifikasi, atau null jika tanda tangan tidak valid, kid tidak dikenal,
+     *         atau token sudah expired
+     */
+    public VerifiedToken verify(String token) {
+        Jws<Claims> jws;
+        try {
+            jws = parser.parseSignedClaims(token);
+        } catch (Exception e) {
+            return null;
+        }
+        Claims claims = jws.getPayload();
+        String subject = claims.getSubject();
+        return new VerifiedToken(subject, parseUserId(subject), jws.getHeader().getKeyId(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    private static UUID parseUserId(String subject) {
+        try {
+            return subject != null ? UUID.fromString(subject) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
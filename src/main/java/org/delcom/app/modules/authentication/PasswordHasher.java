@@ -0,0 +1,157 @@
+package org.delcom.app.modules.authentication;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hashing dan verifikasi password (BCrypt, mahal secara CPU) di executor sendiri yang dibatasi: paling
+ * banyak threads hash berjalan bersamaan dan queue-capacity menunggu. Di luar itu permintaan langsung
+ * ditolak dengan PasswordHashingBusyException (503), sehingga lonjakan login tidak menghabiskan CPU
+ * dan thread request yang melayani trafik produk.
+ *
+ * timeout-ms membatasi waktu tunggu di antrean. Tugas yang kedaluwarsa sebelum sempat berjalan dibatalkan
+ * tanpa menjalankan BCrypt; tugas yang sudah berjalan tidak bisa dihentikan, jadi hasilnya ditunggu.
+ */
+@Component
+public class PasswordHasher {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+    // $2a$10$... -> cost 10
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+            @Value("${app.auth.bcrypt.strength:10}") int strength,
+            @Value("${app.auth.password-hashing.threads:0}") int threads,
+            @Value("${app.auth.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${app.auth.password-hashing.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.timeoutMs = timeoutMs;
+        // 0 = separuh core, sisanya tetap untuk trafik lain
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash di latar belakang tanpa ditunggu pemanggil (mis. hash ulang setelah login). Jika executor
+     * penuh tugas ini dilewati; onEncoded dijalankan di thread hashing.
+     */
+    public void encodeInBackground(String rawPassword, Consumer<String> onEncoded) {
+        try {
+            executor.execute(() -> {
+                try {
+                    onEncoded.accept(passwordEncoder.encode(rawPassword));
+                } catch (RuntimeException e) {
+                    logger.warn("Hash password di latar belakang gagal", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Tidak ada kapasitas; login berikutnya mencoba lagi
+        }
+    }
+
+    /**
+     * @return true jika hash dibuat dengan cost berbeda dari app.auth.bcrypt.strength (naik atau turun),
+     *         sehingga perlu di-hash ulang setelah login berhasil
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    private <T> T run(Callable<T> task) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        FutureTask<T> future = new FutureTask<>(() -> {
+            // Pemanggil sudah menyerah saat tugas baru keluar dari antrean: jangan buang CPU untuk BCrypt
+            if (System.nanoTime() - deadline > 0) {
+                throw new PasswordHashingBusyException("Server sedang sibuk, silakan coba lagi");
+            }
+            return task.call();
+        });
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Server sedang sibuk, silakan coba lagi");
+        }
+        try {
+            try {
+                return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (abandon(future)) {
+                    throw new PasswordHashingBusyException("Server sedang sibuk, silakan coba lagi");
+                }
+                // Sudah berjalan: BCrypt tidak bisa diinterupsi dan selesai dalam waktu yang dibatasi cost-nya
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Permintaan dibatalkan");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // Keluarkan tugas dari antrean; false jika sudah diambil thread hashing (FutureTask.cancel tidak bisa
+    // membedakannya, karena statusnya tetap NEW sampai selesai)
+    private boolean abandon(FutureTask<?> future) {
+        return executor.remove(future);
+    }
+}
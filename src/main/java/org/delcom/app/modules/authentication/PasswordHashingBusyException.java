@@ -0,0 +1,17 @@
+package org.delcom.app.modules.authentication;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Antrian hashing password penuh (lonjakan login / registrasi). Ditolak cepat dengan 503 agar thread
+ * request tidak ikut menunggu dan trafik lain tetap terlayani; klien boleh mencoba lagi.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,41 @@
+package org.delcom.app.modules.authentication;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+/**
+ * Semua token milik user yang terbit sebelum (atau pada detik yang sama dengan) revokedAt dicabut.
+ * Baris lebih tua dari masa berlaku JWT tidak lagi berarti dan dibersihkan oleh TokenRevocations.
+ */
+@Entity
+@Table(name = "token_revocations")
+public class TokenRevocation {
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false, columnDefinition = "uuid")
+    private UUID userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    public TokenRevocation() {
+    }
+
+    public TokenRevocation(UUID userId, Instant revokedAt) {
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(Instant revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
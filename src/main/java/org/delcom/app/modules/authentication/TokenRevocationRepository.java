@@ -0,0 +1,22 @@
+package org.delcom.app.modules.authentication;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, UUID> {
+    @Query("SELECT r FROM TokenRevocation r WHERE r.revokedAt >= ?1")
+    List<TokenRevocation> findRevokedSince(Instant since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TokenRevocation r WHERE r.revokedAt < ?1")
+    int deleteRevokedBefore(Instant before);
+}
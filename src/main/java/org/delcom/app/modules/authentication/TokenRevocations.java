@@ -0,0 +1,195 @@
+package org.delcom.app.modules.authentication;
+
+import org.delcom.app.utils.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Model "token berlaku kecuali dicabut" (app.auth.token-store=revocations): pencabutan dari tabel
+ * token_revocations disalin ke memori dengan Bloom filter di depannya, sehingga cek token di
+ * AuthInterceptor cukup probe memori alih-alih query auth_tokens per request.
+ *
+ * Tabel dimuat saat startup dan di-refresh setiap refresh-interval-ms; logout di node lain berlaku
+ * paling lambat satu interval kemudian (di node ini segera setelah commit). Tabel tetap kecil karena
+ * pencabutan yang lebih tua dari masa berlaku JWT dibersihkan. Jika refresh macet, isActive false dan
+ * AuthInterceptor kembali ke cek auth_tokens.
+ *
+ * Refresh juga berjalan pada model database: perubahan pencabutan membuang entri VerifiedTokenCache
+ * user tersebut di semua node.
+ */
+@Component
+public class TokenRevocations {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocations.class);
+
+    static final String STORE_DATABASE = "database";
+    static final String STORE_REVOCATIONS = "revocations";
+
+    private static final int MIN_FILTER_CAPACITY = 1024;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final TokenRevocationRepository repository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final boolean enabled;
+    private final long tokenLifetimeMs;
+    private final long staleAfterMs;
+    private final LongSupplier clock;
+
+    // null = belum pernah dimuat
+    private volatile Snapshot snapshot;
+    private volatile long refreshedAt;
+
+    @Autowired
+    public TokenRevocations(TokenRevocationRepository repository, VerifiedTokenCache verifiedTokenCache,
+            @Value("${app.auth.token-store:database}") String tokenStore,
+            @Value("${app.auth.jwt.expiration-ms:7200000}") long tokenLifetimeMs,
+            @Value("${app.auth.revocations.refresh-interval-ms:5000}") long refreshIntervalMs) {
+        this(repository, verifiedTokenCache, tokenStore, tokenLifetimeMs, refreshIntervalMs,
+                System::currentTimeMillis);
+    }
+
+    TokenRevocations(TokenRevocationRepository repository, VerifiedTokenCache verifiedTokenCache,
+            String tokenStore, long tokenLifetimeMs, long refreshIntervalMs, LongSupplier clock) {
+        if (!STORE_DATABASE.equals(tokenStore) && !STORE_REVOCATIONS.equals(tokenStore)) {
+            throw new IllegalArgumentException("app.auth.token-store harus '" + STORE_DATABASE + "' atau '"
+                    + STORE_REVOCATIONS + "', bukan '" + tokenStore + "'");
+        }
+        this.repository = repository;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.enabled = STORE_REVOCATIONS.equals(tokenStore);
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        // Beberapa refresh terlewat = pencabutan dari node lain mungkin belum terlihat
+        this.staleAfterMs = refreshIntervalMs * 3;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true jika cek token boleh memakai isRevoked (model revocations aktif dan data masih baru)
+     */
+    public boolean isActive() {
+        return enabled && snapshot != null && clock.getAsLong() - refreshedAt <= staleAfterMs;
+    }
+
+    /**
+     * Probe memori: tanpa query. Resolusi iat JWT satu detik, jadi token yang terbit pada detik yang
+     * sama dengan pencabutan ikut dicabut (lebih aman daripada meloloskan token lama).
+     */
+    public boolean isRevoked(UUID userId, Instant issuedAt) {
+        Snapshot current = snapshot;
+        if (current == null || !current.filter.mightContain(userId)) {
+            return false;
+        }
+        Instant revokedAt = current.revokedAt.get(userId);
+        if (revokedAt == null) {
+            return false; // positif palsu Bloom filter
+        }
+        return issuedAt == null || issuedAt.getEpochSecond() <= revokedAt.getEpochSecond();
+    }
+
+    /**
+     * Cabut semua token user yang sudah terbit. Dipanggil di dalam transaksi deleteAuthToken;
+     * snapshot lokal diperbarui setelah commit.
+     */
+    public void revoke(UUID userId) {
+        Instant now = Instant.ofEpochMilli(clock.getAsLong());
+        repository.save(new TokenRevocation(userId, now));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyLocally(userId, now);
+                }
+            });
+        } else {
+            applyLocally(userId, now);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.auth.revocations.refresh-interval-ms:5000}")
+    public void refresh() {
+        long startedAt = clock.getAsLong();
+        Instant cutoff = Instant.ofEpochMilli(startedAt - tokenLifetimeMs);
+        List<TokenRevocation> rows;
+        try {
+            // Token yang terbit sebelum cutoff sudah expired, jadi pencabutannya tidak diperlukan lagi
+            repository.deleteRevokedBefore(cutoff);
+            rows = repository.findRevokedSince(cutoff);
+        } catch (DataAccessException e) {
+            logger.warn("Gagal memuat token_revocations: {}", e.getMessage());
+            return;
+        }
+
+        List<UUID> changed = new ArrayList<>();
+        synchronized (this) {
+            Snapshot previous = snapshot;
+            Map<UUID, Instant> revokedAt = new HashMap<>(Math.max(16, rows.size() * 2));
+            for (TokenRevocation row : rows) {
+                revokedAt.put(row.getUserId(), row.getRevokedAt());
+                if (previous == null || !row.getRevokedAt().equals(previous.revokedAt.get(row.getUserId()))) {
+                    changed.add(row.getUserId());
+                }
+            }
+            if (previous != null) {
+                // Pencabutan lokal yang commit setelah query di atas belum ada di rows; jangan hilangkan
+                previous.revokedAt.forEach((userId, at) -> {
+                    if (!at.isBefore(cutoff)) {
+                        revokedAt.merge(userId, at, (loaded, local) -> loaded.isAfter(local) ? loaded : local);
+                    }
+                });
+            }
+            BloomFilter filter = new BloomFilter(Math.max(MIN_FILTER_CAPACITY, revokedAt.size() * 2),
+                    FALSE_POSITIVE_RATE);
+            revokedAt.keySet().forEach(filter::add);
+            snapshot = new Snapshot(filter, revokedAt);
+            refreshedAt = startedAt;
+        }
+        changed.forEach(verifiedTokenCache::evictUser);
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.revokedAt.size();
+    }
+
+    private void applyLocally(UUID userId, Instant revokedAt) {
+        synchronized (this) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return; // refresh pertama akan memuatnya dari tabel
+            }
+            // Copy-on-write: pembaca di hot path tidak pernah melihat snapshot yang sedang diubah
+            Map<UUID, Instant> updated = new HashMap<>(current.revokedAt);
+            updated.put(userId, revokedAt);
+            BloomFilter filter = current.filter.copy();
+            filter.add(userId);
+            snapshot = new Snapshot(filter, updated);
+        }
+    }
+
+    private static final class Snapshot {
+        private final BloomFilter filter;
+        private final Map<UUID, Instant> revokedAt;
+
+        private Snapshot(BloomFilter filter, Map<UUID, Instant> revokedAt) {
+            this.filter = filter;
+            this.revokedAt = revokedAt;
+        }
+    }
+}
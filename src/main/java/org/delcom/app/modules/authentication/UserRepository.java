@@ -4,9 +4,13 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+    // LOWER(email) harus sama persis dengan index idx_users_email_lower (lihat db/migration). Index itu tidak
+    // unik, jadi jika ada email ganda yang dipakai adalah akun terlama
+    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(?1) ORDER BY u.createdAt, u.id LIMIT 1")
     Optional<User> findFirstByEmail(String email);
 }
@@ -0,0 +1,49 @@
+package org.delcom.app.modules.authentication;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Hasil verifikasi JWT oleh JwtTokenService: tanda tangan dan masa berlaku sudah diperiksa.
+ */
+public class VerifiedToken {
+    private final String subject;
+    private final UUID userId;
+    private final String keyId;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public VerifiedToken(String subject, UUID userId, String keyId, Instant issuedAt, Instant expiresAt) {
+        this.subject = subject;
+        this.userId = userId;
+        this.keyId = keyId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * @return subject sebagai UUID, atau null jika subject bukan UUID
+     */
+    public UUID getUserId() {
+        return userId;
+    }
+
+    /**
+     * @return id kunci penanda tangan, atau null untuk token lama tanpa header kid
+     */
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
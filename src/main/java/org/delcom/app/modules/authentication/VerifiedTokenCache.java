@@ -0,0 +1,183 @@
+package org.delcom.app.modules.authentication;
+
+import org.delcom.app.utils.UserVersions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache token bearer yang sudah diverifikasi (tanda tangan JWT + baris auth_tokens + data user),
+ * dengan kapasitas terbatas dan TTL. Kunci adalah SHA-256 token, jadi token mentah tidak disimpan di
+ * memori dan cache hit berarti token yang persis sama sudah lolos verifikasi penuh.
+ *
+ * Yang disimpan hanya klaim yang tidak berubah (id, nama, email user), bukan entity User: setiap hit
+ * mendapat objek User baru, sehingga request tidak berbagi entity JPA yang bisa diubah. Baca dan tulis
+ * tanpa lock global (ConcurrentHashMap); kapasitas dijaga dengan pembersihan oleh satu thread saat penuh.
+ *
+ * Entri milik user di-invalidate oleh AuthTokenService (token dihapus), AccountService (data user
+ * berubah) dan TokenRevocations (pencabutan dari node lain).
+ */
+@Component
+public class VerifiedTokenCache {
+    private final int maxEntries;
+    private final long ttlMs;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Invalidasi satu user tidak membatalkan pengisian cache user lain
+    private final UserVersions versions = new UserVersions(256);
+    private final ReentrantLock pruneLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${app.auth.token-cache.max-entries:10000}") int maxEntries,
+            @Value("${app.auth.token-cache.ttl-ms:60000}") long ttlMs) {
+        this(maxEntries, ttlMs, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(int maxEntries, long ttlMs, LongSupplier clock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+    }
+
+    /**
+     * @return salinan user pemilik token, atau null jika token belum diverifikasi / entrinya kedaluwarsa
+     */
+    public User get(String token) {
+        if (ttlMs <= 0) {
+            return null;
+        }
+        String key = AuthToken.hashToken(token);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt > clock.getAsLong()) {
+                hits.increment();
+                return entry.toUser();
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Versi invalidasi user; ambil sebelum token dan user dicek ke database lalu serahkan ke put.
+     */
+    public long version(UUID userId) {
+        return versions.version(userId);
+    }
+
+    /**
+     * Simpan hasil verifikasi. Entri tidak pernah hidup melewati masa berlaku JWT-nya.
+     *
+     * @param tokenExpiresAt waktu expired JWT (epoch ms)
+     * @param versionBeforeVerify nilai version(userId) sebelum token dicari di database
+     */
+    public void put(String token, User user, long tokenExpiresAt, long versionBeforeVerify) {
+        if (ttlMs <= 0 || user == null || user.getId() == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        String key = AuthToken.hashToken(token);
+        Entry entry = new Entry(user.getId(), user.getName(), user.getEmail(), Math.min(now + ttlMs, tokenExpiresAt));
+        entries.put(key, entry);
+        // Dicek setelah put: invalidasi yang menaikkan versi sebelum pindaiannya melewati entri ini
+        // terlihat di sini, jadi entri dari verifikasi yang "kalah balapan" tidak tertinggal
+        if (versions.version(user.getId()) != versionBeforeVerify) {
+            entries.remove(key, entry);
+            return;
+        }
+        if (entries.size() > maxEntries) {
+            prune(now);
+        }
+    }
+
+    /**
+     * Buang semua token milik user: segera (agar request lain tidak lagi mendapat hit) dan sekali
+     * lagi setelah commit (membuang entri yang sempat diisi dari data sebelum commit).
+     */
+    public void evictUser(UUID userId) {
+        removeUser(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeUser(userId);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        versions.incrementAll();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+
+    private void removeUser(UUID userId) {
+        versions.increment(userId);
+        // Jumlah entri dibatasi maxEntries dan invalidasi jarang terjadi, jadi pindai linear cukup
+        entries.values().removeIf(entry -> entry.userId.equals(userId));
+    }
+
+    // Hanya satu thread yang membersihkan; thread lain tidak menunggu dan langsung lanjut
+    private void prune(long now) {
+        if (!pruneLock.tryLock()) {
+            return;
+        }
+        try {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+            // Masih penuh: buang entri sembarang sampai tersisa 90% agar pembersihan tidak terjadi tiap put
+            int target = maxEntries - maxEntries / 10;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            pruneLock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final UUID userId;
+        private final String name;
+        private final String email;
+        private final long expiresAt;
+
+        private Entry(UUID userId, String name, String email, long expiresAt) {
+            this.userId = userId;
+            this.name = name;
+            this.email = email;
+            this.expiresAt = expiresAt;
+        }
+
+        // Tanpa hash password; entity baru per request
+        private User toUser() {
+            User user = new User(name, email, null);
+            user.setId(userId);
+            return user;
+        }
+    }
+}
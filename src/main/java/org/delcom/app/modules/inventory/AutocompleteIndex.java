@@ -0,0 +1,139 @@
+package org.delcom.app.modules.inventory;
+
+import org.delcom.app.utils.PrefixTrie;
+import org.delcom.app.utils.UserVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indeks autocomplete nama & kategori produk per user (PrefixTrie di memori).
+ *
+ * Dibangun dari database saat pertama kali diminta, lalu diperbarui oleh ItemService setiap
+ * save/delete (setelah commit). Indeks user yang tidak dipakai selama idle-minutes dibuang.
+ */
+@Component
+public class AutocompleteIndex {
+    public enum Field { NAME, CATEGORY }
+
+    public static final int DEFAULT_LIMIT = 8;
+    public static final int MAX_LIMIT = 20;
+
+    private final ItemRepository productRepository;
+    private final long idleMillis;
+    private final Map<UUID, UserIndex> entries = new ConcurrentHashMap<>();
+    // Naik setiap penulisan user; indeks yang dibangun bersamaan dengan penulisan user itu tidak disimpan,
+    // penulisan user lain tidak membatalkan pengisiannya
+    private final UserVersions versions = new UserVersions(256);
+
+    public AutocompleteIndex(ItemRepository productRepository,
+            @Value("${app.inventory.autocomplete.idle-minutes:30}") long idleMinutes) {
+        this.productRepository = productRepository;
+        this.idleMillis = Duration.ofMinutes(idleMinutes).toMillis();
+    }
+
+    public List<String> suggest(UUID userId, Field field, String prefix, Integer limit) {
+        int k = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        UserIndex index = load(userId);
+        synchronized (index) {
+            index.lastAccess = System.currentTimeMillis();
+            PrefixTrie trie = field == Field.NAME ? index.names : index.categories;
+            return trie.suggest(prefix, k);
+        }
+    }
+
+    /**
+     * Catat produk yang disimpan. oldName / oldCategory null untuk produk baru.
+     */
+    public void recordSaved(UUID userId, String oldName, String oldCategory, String newName, String newCategory) {
+        InventorySummaryService.afterCommit(() -> {
+            UserIndex index = markWritten(userId);
+            if (index == null) {
+                return; // Belum pernah dibaca, akan dibangun dari DB saat dibutuhkan
+            }
+            synchronized (index) {
+                if (oldName != null) {
+                    index.names.remove(oldName);
+                }
+                if (oldCategory != null) {
+                    index.categories.remove(oldCategory);
+                }
+                index.names.add(newName);
+                index.categories.add(newCategory);
+            }
+        });
+    }
+
+    public void recordDeleted(UUID userId, String name, String category) {
+        InventorySummaryService.afterCommit(() -> {
+            UserIndex index = markWritten(userId);
+            if (index != null) {
+                synchronized (index) {
+                    index.names.remove(name);
+                    index.categories.remove(category);
+                }
+            }
+        });
+    }
+
+    // Untuk penulisan yang nilai lamanya tidak diketahui (mis. import batch)
+    public void evict(UUID userId) {
+        InventorySummaryService.afterCommit(() -> {
+            synchronized (entries) {
+                versions.increment(userId);
+                entries.remove(userId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.autocomplete.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleMillis;
+        entries.values().removeIf(index -> index.lastAccess <= threshold);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private UserIndex load(UUID userId) {
+        UserIndex cached = entries.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long versionBeforeLoad = versions.version(userId);
+        UserIndex built = new UserIndex();
+        for (ItemLabel label : productRepository.findLabelsByUserId(userId)) {
+            built.names.add(label.getName());
+            built.categories.add(label.getCategory());
+        }
+        synchronized (entries) {
+            if (versions.version(userId) != versionBeforeLoad) {
+                return built; // Kalah balapan dengan penulisan: pakai sekali, jangan disimpan
+            }
+            UserIndex existing = entries.putIfAbsent(userId, built);
+            return existing != null ? existing : built;
+        }
+    }
+
+    // Naikkan versi user dan ambil indeks user dalam satu lock dengan load(), agar tidak ada
+    // indeks yang tersimpan tanpa menerima perubahan ini
+    private UserIndex markWritten(UUID userId) {
+        synchronized (entries) {
+            versions.increment(userId);
+            return entries.get(userId);
+        }
+    }
+
+    private static class UserIndex {
+        private final PrefixTrie names = new PrefixTrie();
+        private final PrefixTrie categories = new PrefixTrie();
+        private volatile long lastAccess = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,15 @@
+package org.delcom.app.modules.inventory;
+
+// Jumlah produk per kategori (facet pada daftar produk)
+public class CategoryCount {
+    private final String category;
+    private final long count;
+
+    public CategoryCount(String category, Long count) {
+        this.category = category;
+        this.count = count != null ? count : 0;
+    }
+
+    public String getCategory() { return category; }
+    public long getCount() { return count; }
+}
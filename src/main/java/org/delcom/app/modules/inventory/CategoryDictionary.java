@@ -0,0 +1,138 @@
+package org.delcom.app.modules.inventory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Intern cache nama kategori -> id (tabel categories).
+ *
+ * Kamus satu user dimuat utuh saat pertama dibutuhkan. Nama baru disisipkan di transaksi pemanggil
+ * (INSERT ... ON CONFLICT DO NOTHING), jadi tidak ada koneksi kedua dari pool selama pemanggil masih
+ * memegang koneksinya; id baru masuk cache setelah transaksi itu commit, sehingga id di cache selalu
+ * sudah ter-commit. Nama kategori tidak pernah berubah, jadi cache tidak perlu invalidasi, kecuali saat
+ * user pindah shard: id kategori hanya unik per database (lihat evict). Kamus user yang tidak dipakai
+ * selama idle-minutes dibuang.
+ */
+@Service
+public class CategoryDictionary {
+    private final ItemCategoryRepository categoryRepository;
+    // Propagation REQUIRED: ikut transaksi pemanggil (saveProduct), atau transaksi sendiri jika tidak ada (import)
+    private final TransactionTemplate transactionTemplate;
+    private final long idleMillis;
+    private final Map<UUID, UserDictionary> byUser = new ConcurrentHashMap<>();
+
+    public CategoryDictionary(ItemCategoryRepository categoryRepository, PlatformTransactionManager transactionManager,
+            @Value("${app.inventory.category-dictionary.idle-minutes:30}") long idleMinutes) {
+        this.categoryRepository = categoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idleMillis = Duration.ofMinutes(idleMinutes).toMillis();
+    }
+
+    /**
+     * Id kategori untuk nama ini, dibuat jika belum ada.
+     */
+    public Integer intern(UUID userId, String name) {
+        UserDictionary dictionary = dictionaryOf(userId);
+        Integer id = dictionary.ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        return transactionTemplate.execute(status -> insertOrFind(dictionary, userId, name));
+    }
+
+    /**
+     * Id kategori tanpa membuat baris baru, atau null jika user belum pernah memakai nama ini.
+     */
+    public Integer findId(UUID userId, String name) {
+        return name == null ? null : dictionaryOf(userId).ids.get(name);
+    }
+
+    /**
+     * Nama kategori milik user ini. Id dicari per user karena dengan sharding id yang sama bisa
+     * dipakai user lain di shard lain.
+     */
+    public String nameOf(UUID userId, Integer id) {
+        if (id == null) {
+            return null;
+        }
+        UserDictionary dictionary = dictionaryOf(userId);
+        String name = dictionary.names.get(id);
+        if (name != null) {
+            return name;
+        }
+        // Dibuat instance aplikasi lain setelah kamus user ini dimuat
+        return categoryRepository.findById(id)
+                .filter(category -> category.getUserId().equals(userId))
+                .map(category -> {
+                    dictionary.put(id, category.getName());
+                    return category.getName();
+                }).orElse(null);
+    }
+
+    public int size() {
+        return byUser.values().stream().mapToInt(dictionary -> dictionary.names.size()).sum();
+    }
+
+    /**
+     * Buang kamus user (dipanggil saat user pindah shard); dimuat ulang dari shard baru saat dibutuhkan.
+     */
+    public void evict(UUID userId) {
+        byUser.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.category-dictionary.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleMillis;
+        byUser.values().removeIf(dictionary -> dictionary.lastAccess <= threshold);
+    }
+
+    private UserDictionary dictionaryOf(UUID userId) {
+        UserDictionary cached = byUser.get(userId);
+        if (cached != null) {
+            cached.lastAccess = System.currentTimeMillis();
+            return cached;
+        }
+        return byUser.computeIfAbsent(userId, key -> {
+            UserDictionary dictionary = new UserDictionary();
+            for (ItemCategory category : categoryRepository.findByUserId(key)) {
+                dictionary.put(category.getId(), category.getName());
+            }
+            return dictionary;
+        });
+    }
+
+    private Integer insertOrFind(UserDictionary dictionary, UUID userId, String name) {
+        // Transaksi lain yang sedang menyisipkan nama yang sama (instance lain, atau request lain di JVM ini)
+        // ditangani unique constraint: INSERT menunggu transaksi itu selesai lalu tidak melakukan apa-apa
+        boolean inserted = categoryRepository.insertIfAbsent(userId, name) > 0;
+        Integer id = categoryRepository.findByUserIdAndName(userId, name)
+                .map(ItemCategory::getId)
+                .orElseThrow(() -> new IllegalStateException("Kategori '" + name + "' tidak ditemukan setelah insert"));
+        if (inserted) {
+            // Baris belum ter-commit: jika transaksi pemanggil rollback, id ini tidak boleh tertinggal di cache
+            InventorySummaryService.afterCommit(() -> dictionary.put(id, name));
+        } else {
+            dictionary.put(id, name);
+        }
+        return id;
+    }
+
+    private static class UserDictionary {
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final Map<Integer, String> names = new ConcurrentHashMap<>();
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        void put(Integer id, String name) {
+            ids.put(name, id);
+            names.put(id, name);
+        }
+    }
+}
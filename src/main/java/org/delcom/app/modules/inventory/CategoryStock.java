@@ -0,0 +1,9 @@
+package org.delcom.app.modules.inventory;
+
+/**
+ * Proyeksi total stok per kategori untuk chart.
+ */
+public interface CategoryStock {
+    String getCategory();
+    Long getTotalStock();
+}
@@ -0,0 +1,9 @@
+package org.delcom.app.modules.inventory;
+
+/**
+ * Proyeksi total stok per id kategori; ItemService mengubahnya menjadi CategoryStock bernama.
+ */
+public interface CategoryStockRow {
+    Integer getCategoryId();
+    Long getTotalStock();
+}
@@ -0,0 +1,11 @@
+package org.delcom.app.modules.inventory;
+
+/**
+ * Proyeksi jumlah produk & nilai aset per id kategori, dipakai untuk membangun ringkasan dashboard.
+ */
+public interface CategoryTotals {
+    Integer getCategoryId();
+    Long getTotalProducts();
+    // Dalam satuan minor (sen), dijumlahkan sebagai bigint di database
+    Long getTotalAssetValueMinor();
+}
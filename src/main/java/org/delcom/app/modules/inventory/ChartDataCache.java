@@ -0,0 +1,90 @@
+package org.delcom.app.modules.inventory;
+
+import org.delcom.app.utils.UserVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache data chart (stok per kategori) per user dengan kapasitas terbatas dan eviksi LRU.
+ * Di-invalidate oleh ItemService setiap kali produk milik user tersebut berubah.
+ */
+@Component
+public class ChartDataCache {
+    private final int maxUsers;
+    private final Map<UUID, List<CategoryStock>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    // Naik setiap invalidasi user; hasil load yang "kalah balapan" dengan penulisan user itu tidak disimpan
+    private final UserVersions versions = new UserVersions(1024);
+
+    public ChartDataCache(@Value("${app.inventory.chart-cache.max-users:1000}") int maxUsers) {
+        this.maxUsers = Math.max(1, maxUsers);
+        // accessOrder = true -> urutan LRU
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, List<CategoryStock>> eldest) {
+                boolean evict = size() > ChartDataCache.this.maxUsers;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    public List<CategoryStock> get(UUID userId, Supplier<List<CategoryStock>> loader) {
+        synchronized (entries) {
+            List<CategoryStock> cached = entries.get(userId);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+
+        long versionBeforeLoad = versions.version(userId);
+        List<CategoryStock> loaded = List.copyOf(loader.get());
+        synchronized (entries) {
+            if (versions.version(userId) == versionBeforeLoad) {
+                entries.put(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // Dipanggil setelah commit agar pembaca tidak meng-cache data sebelum perubahan terlihat
+    public void invalidate(UUID userId) {
+        InventorySummaryService.afterCommit(() -> {
+            synchronized (entries) {
+                versions.increment(userId);
+                entries.remove(userId);
+            }
+        });
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            versions.incrementAll();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+}
@@ -0,0 +1,18 @@
+package org.delcom.app.modules.inventory;
+
+import java.util.List;
+
+/**
+ * Halaman daftar produk dengan filter, beserta facet kategori di bawah filter yang sama.
+ */
+public class FilteredItemPage extends ItemPage<ItemSummary> {
+    private final List<CategoryCount> facets;
+
+    public FilteredItemPage(List<ItemSummary> items, int size, String nextCursor, String prevCursor,
+            List<CategoryCount> facets) {
+        super(items, size, nextCursor, prevCursor);
+        this.facets = facets;
+    }
+
+    public List<CategoryCount> getFacets() { return facets; }
+}
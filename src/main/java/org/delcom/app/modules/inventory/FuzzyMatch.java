@@ -0,0 +1,28 @@
+package org.delcom.app.modules.inventory;
+
+import java.util.UUID;
+
+/**
+ * Satu hasil pencarian nama produk yang toleran salah ketik, beserta skor kemiripannya (0..1).
+ */
+public class FuzzyMatch {
+    private final UUID id;
+    private final String name;
+    private final String category;
+    private final Integer stock;
+    private final double score;
+
+    public FuzzyMatch(UUID id, String name, String category, Integer stock, double score) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.stock = stock;
+        this.score = score;
+    }
+
+    public UUID getId() { return id; }
+    public String getName() { return name; }
+    public String getCategory() { return category; }
+    public Integer getStock() { return stock; }
+    public double getScore() { return score; }
+}
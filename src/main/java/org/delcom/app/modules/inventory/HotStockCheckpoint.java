@@ -0,0 +1,25 @@
+package org.delcom.app.modules.inventory;
+
+import jakarta.persistence.*;
+
+/**
+ * Nomor segmen journal HotStockEngine terakhir yang sudah diterapkan ke tabel products.
+ * Hanya ada satu baris (id = 1); diperbarui dalam transaksi yang sama dengan flush.
+ */
+@Entity
+@Table(name = "hot_stock_checkpoint")
+public class HotStockCheckpoint {
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "last_segment", nullable = false)
+    private Long lastSegment;
+
+    public HotStockCheckpoint() {}
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public Long getLastSegment() { return lastSegment; }
+    public void setLastSegment(Long lastSegment) { this.lastSegment = lastSegment; }
+}
@@ -0,0 +1,360 @@
+package org.delcom.app.modules.inventory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesin stok untuk produk "hot" (opt-in, app.inventory.hot-stock.enabled=true).
+ *
+ * Stok produk hot dipegang di memori (StripedStockCounter) sehingga ribuan pengurangan
+ * tidak saling menunggu row lock di Postgres. Setiap perubahan dicatat ke journal lalu
+ * net delta-nya di-flush ke tabel products dengan batch UPDATE setiap flush-interval-ms.
+ * Nomor segmen journal yang sudah di-flush disimpan di hot_stock_checkpoint dalam transaksi
+ * yang sama, sehingga saat startup segmen yang belum diterapkan bisa diputar ulang tepat sekali.
+ *
+ * Catatan: counter bersifat per-JVM, jadi fitur ini hanya untuk deployment satu instance.
+ */
+@Component
+public class HotStockEngine {
+    private static final Logger logger = LoggerFactory.getLogger(HotStockEngine.class);
+
+    // Stok tidak pernah dibuat negatif; baris yang ditolak dicatat di log (lihat applySegment)
+    private static final String SQL_APPLY_DELTA = "UPDATE products SET stock = stock + ?, updated_at = ?, "
+            + "version = version + 1 WHERE id = ? AND user_id = ? AND stock + ? >= 0";
+    // Kolom products.stock bertipe INTEGER; flush yang melewatinya akan gagal terus-menerus
+    private static final long MAX_STOCK = Integer.MAX_VALUE;
+    private static final String SQL_SAVE_CHECKPOINT =
+            "UPDATE hot_stock_checkpoint SET last_segment = ? WHERE id = 1";
+
+    private final boolean enabled;
+    private final Path journalDirectory;
+    private final ItemRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InventorySummaryService summaryService;
+    private final ChartDataCache chartDataCache;
+    private final StockHolds stockHolds;
+
+    private final Map<UUID, HotItem> hotItems = new ConcurrentHashMap<>();
+    // Segmen yang gagal di-flush, dicoba lagi (berurutan) pada flush berikutnya
+    private final Deque<HotStockJournal.Segment> unflushed = new ArrayDeque<>();
+    private final Object flushLock = new Object();
+    private volatile HotStockJournal journal;
+
+    public HotStockEngine(@Value("${app.inventory.hot-stock.enabled:false}") boolean enabled,
+            @Value("${app.inventory.hot-stock.journal-dir:./data/hot-stock}") String journalDirectory,
+            ItemRepository productRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, InventorySummaryService summaryService,
+            ChartDataCache chartDataCache, StockHolds stockHolds) {
+        this.enabled = enabled;
+        this.journalDirectory = Paths.get(journalDirectory).toAbsolutePath().normalize();
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Flush selalu di transaksi sendiri: checkpoint tidak boleh ikut rollback transaksi pemanggil
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.summaryService = summaryService;
+        this.chartDataCache = chartDataCache;
+        this.stockHolds = stockHolds;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        long checkpoint = recover();
+        journal = new HotStockJournal(journalDirectory, checkpoint + 1);
+        logger.info("Hot stock engine aktif, journal di {}", journalDirectory);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        flush();
+        journal.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isHot(UUID itemId) {
+        return !hotItems.isEmpty() && hotItems.containsKey(itemId);
+    }
+
+    public boolean hasHotItems() {
+        return !hotItems.isEmpty();
+    }
+
+    // Stok terkini di memori, atau null jika produk tidak hot
+    public Integer liveStock(UUID itemId) {
+        HotItem item = hotItems.get(itemId);
+        return item == null ? null : (int) item.counter.get();
+    }
+
+    /**
+     * Jadikan produk hot: stok awal dibaca sekali dari database dengan FOR UPDATE. Lock baris dipegang
+     * sampai produk terdaftar hot, jadi penyesuaian lewat database yang sedang berjalan sudah commit dan
+     * terbaca, dan yang datang sesudahnya melihat produk ini hot.
+     *
+     * @return false jika fitur tidak aktif atau produk bukan milik user
+     */
+    public boolean promote(UUID itemId, UUID userId) {
+        if (journal == null) {
+            return false;
+        }
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Integer stock = productRepository.lockStock(itemId, userId);
+            if (stock == null) {
+                return false;
+            }
+            hotItems.putIfAbsent(itemId, new HotItem(userId, new StripedStockCounter(stock)));
+            return true;
+        }));
+    }
+
+    /**
+     * Kembalikan produk ke jalur database biasa. Penyesuaian baru ditahan dan yang sedang berjalan
+     * ditunggu selesai, baru delta tertunda di-flush; penyesuaian yang ditahan lalu memakai jalur
+     * database dan melihat stok hasil flush.
+     */
+    public void demote(UUID itemId, UUID userId) {
+        HotItem item = hotItems.get(itemId);
+        if (item == null || !item.userId.equals(userId)) {
+            return;
+        }
+        try {
+            item.retire();
+            flush();
+        } finally {
+            hotItems.remove(itemId, item);
+            item.demoted.countDown();
+        }
+        summaryService.evict(userId);
+        chartDataCache.invalidate(userId);
+    }
+
+    /**
+     * Hasil tryAdjust. NOT_HOT berarti pemanggil harus memakai jalur database biasa.
+     */
+    public enum AdjustResult { NOT_HOT, APPLIED, REJECTED }
+
+    /**
+     * Terapkan delta stok untuk produk hot. Pengurangan tidak boleh memakai stok yang ditahan
+     * reservasi, kecuali penahanan milik pemanggil sendiri (heldByCaller, lihat StockHolds).
+     *
+     * @return NOT_HOT jika produk tidak (lagi) hot, APPLIED jika berhasil,
+     *         REJECTED jika stok tidak cukup / bukan pemilik
+     */
+    public AdjustResult tryAdjust(UUID itemId, UUID userId, int delta, int heldByCaller) {
+        HotItem item = hotItems.get(itemId);
+        if (item == null) {
+            return AdjustResult.NOT_HOT;
+        }
+        if (!item.userId.equals(userId)) {
+            return AdjustResult.REJECTED;
+        }
+        if (!item.enter()) {
+            // Sedang di-demote: tunggu flush terakhir, lalu pemanggil memakai jalur database
+            item.awaitDemoted();
+            return AdjustResult.NOT_HOT;
+        }
+        try {
+            return adjust(item, itemId, userId, delta, heldByCaller);
+        } finally {
+            item.exit();
+        }
+    }
+
+    private AdjustResult adjust(HotItem item, UUID itemId, UUID userId, int delta, int heldByCaller) {
+        if (delta >= 0) {
+            // Penambahan diserialkan per produk: pengurangan yang berjalan bersamaan hanya bisa
+            // menurunkan total, jadi cek batas lalu tambah tidak pernah melewati MAX_STOCK.
+            // Dicatat ke journal dulu: jika gagal tidak ada yang perlu dibatalkan
+            synchronized (item) {
+                if (item.counter.get() > MAX_STOCK - delta) {
+                    return AdjustResult.REJECTED;
+                }
+                appendToJournal(itemId, userId, delta);
+                item.counter.tryAdd(delta);
+            }
+            return AdjustResult.APPLIED;
+        }
+        if (!item.counter.tryAdd(delta)) {
+            return AdjustResult.REJECTED;
+        }
+        // Stok sudah diambil baru penahanan dibaca; reservasi melakukan kebalikannya
+        long heldByOthers = stockHolds.held(itemId) - heldByCaller;
+        if (heldByOthers > 0 && item.counter.get() < heldByOthers) {
+            item.counter.release(-(long) delta);
+            return AdjustResult.REJECTED;
+        }
+        try {
+            appendToJournal(itemId, userId, delta);
+        } catch (IllegalStateException e) {
+            item.counter.release(-(long) delta);
+            throw e;
+        }
+        return AdjustResult.APPLIED;
+    }
+
+    private void appendToJournal(UUID itemId, UUID userId, int delta) {
+        try {
+            journal.append(itemId, userId, delta);
+        } catch (IOException e) {
+            throw new IllegalStateException("Gagal mencatat perubahan stok ke journal", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.hot-stock.flush-interval-ms:200}")
+    public void flush() {
+        if (journal == null) {
+            return;
+        }
+        synchronized (flushLock) {
+            try {
+                HotStockJournal.Segment segment = journal.rotateIfDirty();
+                if (segment != null) {
+                    unflushed.addLast(segment);
+                }
+                while (!unflushed.isEmpty()) {
+                    HotStockJournal.Segment next = unflushed.peekFirst();
+                    applySegment(next);
+                    unflushed.removeFirst();
+                    Files.deleteIfExists(next.getFile());
+                    invalidateOwners(next);
+                }
+            } catch (IOException | RuntimeException e) {
+                // Segmen tetap di antrean & di disk, dicoba lagi pada interval berikutnya
+                logger.warn("Flush hot stock gagal, akan dicoba lagi: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Putar ulang segmen journal yang belum tercatat di checkpoint (setelah crash / restart)
+    private long recover() throws IOException {
+        jdbcTemplate.update("INSERT INTO hot_stock_checkpoint (id, last_segment) "
+                + "SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM hot_stock_checkpoint WHERE id = 1)");
+        Long stored = jdbcTemplate.queryForObject(
+                "SELECT last_segment FROM hot_stock_checkpoint WHERE id = 1", Long.class);
+        long checkpoint = stored != null ? stored : 0;
+
+        for (long number : HotStockJournal.listSegments(journalDirectory)) {
+            Path file = HotStockJournal.segmentPath(journalDirectory, number);
+            if (number > checkpoint) {
+                HotStockJournal.Segment segment = HotStockJournal.readSegment(number, file);
+                applySegment(segment);
+                logger.info("Memulihkan segmen journal hot stock {} ({} produk)", number, segment.getDeltas().size());
+            }
+            checkpoint = Math.max(checkpoint, number);
+            Files.deleteIfExists(file);
+        }
+        return checkpoint;
+    }
+
+    private void applySegment(HotStockJournal.Segment segment) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long number = segment.getNumber();
+        List<Object[]> batch = new ArrayList<>(segment.getDeltas().size());
+        for (Map.Entry<UUID, Long> entry : segment.getDeltas().entrySet()) {
+            if (entry.getValue() != 0) {
+                batch.add(new Object[] { entry.getValue(), now, entry.getKey(), segment.getOwners().get(entry.getKey()),
+                        entry.getValue() });
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!batch.isEmpty()) {
+                int[] updated = jdbcTemplate.batchUpdate(SQL_APPLY_DELTA, batch);
+                for (int i = 0; i < updated.length; i++) {
+                    // Produk sudah dihapus, atau stok di database diubah di luar engine sehingga delta
+                    // ini akan membuatnya negatif. Tidak dicoba ulang: segmen berikutnya tidak boleh tertahan
+                    if (updated[i] == 0) {
+                        logger.warn("Delta hot stock {} untuk produk {} tidak diterapkan (segmen {})",
+                                batch.get(i)[0], batch.get(i)[2], number);
+                    }
+                }
+            }
+            jdbcTemplate.update(SQL_SAVE_CHECKPOINT, number);
+        });
+    }
+
+    private void invalidateOwners(HotStockJournal.Segment segment) {
+        for (UUID owner : new HashSet<>(segment.getOwners().values())) {
+            summaryService.evict(owner);
+            chartDataCache.invalidate(owner);
+        }
+    }
+
+    private static class HotItem {
+        private final UUID userId;
+        private final StripedStockCounter counter;
+        // Penyesuaian yang sedang berjalan; LongAdder agar pemanggil tidak berebut satu counter
+        private final LongAdder inFlight = new LongAdder();
+        private final CountDownLatch demoted = new CountDownLatch(1);
+        private volatile boolean retired;
+
+        HotItem(UUID userId, StripedStockCounter counter) {
+            this.userId = userId;
+            this.counter = counter;
+        }
+
+        // Naikkan dulu baru cek retired (retire melakukan kebalikannya): salah satunya pasti melihat yang lain
+        boolean enter() {
+            inFlight.increment();
+            if (retired) {
+                inFlight.decrement();
+                return false;
+            }
+            return true;
+        }
+
+        void exit() {
+            inFlight.decrement();
+        }
+
+        // Tolak penyesuaian baru lalu tunggu yang sedang berjalan selesai menulis journal
+        void retire() {
+            retired = true;
+            while (inFlight.sum() != 0) {
+                Thread.yield();
+            }
+        }
+
+        void awaitDemoted() {
+            try {
+                demoted.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package org.delcom.app.modules.inventory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * Write-ahead log untuk HotStockEngine. Setiap perubahan stok ditulis ke segmen aktif
+ * sebelum dianggap berhasil, sehingga delta yang belum di-flush ke database bisa diputar
+ * ulang setelah crash. Segmen ditutup (rotate) setiap kali flush.
+ *
+ * Semua operasi file dijalankan satu thread writer; pemanggil hanya memasukkan request ke antrean
+ * lalu menunggu hasilnya.
+ *
+ * Batch yang gagal ditulis dipotong lagi dari file (record-nya tidak pernah di-ack, jadi tidak boleh ikut
+ * diputar ulang). Jika pemotongan juga gagal, append ditolak sampai rotate berikutnya menutup segmen itu.
+ */
+class HotStockJournal {
+    // uuid item (16 byte) + uuid user (16 byte) + delta (8 byte); user_id ikut dicatat agar UPDATE saat
+    // flush / pemulihan memfilter partisi dan tidak pernah menyentuh baris milik user lain
+    static final int RECORD_SIZE = 40;
+    // Record maksimum per write(): 4096 x 40 byte = 160 KiB
+    private static final int MAX_BATCH = 4096;
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final SegmentOpener opener;
+    private final BlockingQueue<Request> requests = new ArrayBlockingQueue<>(MAX_BATCH * 4);
+    private volatile boolean closed;
+
+    // Hanya disentuh oleh thread writer
+    private final ByteBuffer buffer = ByteBuffer.allocate(MAX_BATCH * RECORD_SIZE);
+    private long segment;
+    private FileChannel channel;
+    private Map<UUID, Long> pending = new HashMap<>();
+    private Map<UUID, UUID> pendingOwners = new HashMap<>();
+    // Segmen aktif berisi potongan batch yang gagal dan tidak bisa dibuang; null jika sehat
+    private IOException failure;
+
+    HotStockJournal(Path directory, long firstSegment) throws IOException {
+        this(directory, firstSegment, file -> FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    HotStockJournal(Path directory, long firstSegment, SegmentOpener opener) throws IOException {
+        this.directory = directory;
+        this.opener = opener;
+        Files.createDirectories(directory);
+        open(firstSegment);
+        Thread writer = new Thread(this::writeLoop, "hot-stock-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Catat satu perubahan stok. Kembali setelah record-nya ditulis ke file; record dari banyak
+     * thread yang datang bersamaan ditulis oleh satu thread writer dengan satu write() (group commit),
+     * jadi pemanggil tidak saling menunggu lock maupun syscall masing-masing.
+     */
+    void append(UUID itemId, UUID userId, long delta) throws IOException {
+        await(submit(new Request(Kind.APPEND, itemId, userId, delta)));
+    }
+
+    /**
+     * Tutup segmen aktif dan kembalikan total delta per item di dalamnya.
+     * Mengembalikan null jika tidak ada perubahan sejak rotate terakhir.
+     */
+    Segment rotateIfDirty() throws IOException {
+        return await(submit(new Request(Kind.ROTATE, null, null, 0)));
+    }
+
+    void close() throws IOException {
+        if (!closed) {
+            await(submit(new Request(Kind.CLOSE, null, null, 0)));
+        }
+    }
+
+    private Request submit(Request request) throws IOException {
+        if (closed) {
+            throw new IOException("Journal hot stock sudah ditutup");
+        }
+        try {
+            requests.put(request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Menunggu antrean journal hot stock");
+        }
+        // Ditutup saat request masuk antrean: jika writer belum mengambilnya, request tidak akan diproses
+        if (closed && requests.remove(request)) {
+            throw new IOException("Journal hot stock sudah ditutup");
+        }
+        return request;
+    }
+
+    // join() tidak bisa diinterupsi: pemanggil selalu tahu apakah record-nya benar-benar tertulis
+    private static Segment await(Request request) throws IOException {
+        try {
+            return request.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Journal hot stock gagal", e.getCause());
+        }
+    }
+
+    private void writeLoop() {
+        List<Request> drained = new ArrayList<>(MAX_BATCH);
+        List<Request> appends = new ArrayList<>(MAX_BATCH);
+        while (!closed) {
+            try {
+                drained.add(requests.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            requests.drainTo(drained, MAX_BATCH - 1);
+            for (Request request : drained) {
+                if (closed) {
+                    request.completeExceptionally(new IOException("Journal hot stock sudah ditutup"));
+                } else if (request.kind == Kind.APPEND) {
+                    appends.add(request);
+                } else {
+                    // Urutan dijaga: record sebelum rotate/close masuk ke segmen yang lama
+                    writeBatch(appends);
+                    control(request);
+                }
+            }
+            writeBatch(appends);
+            drained.clear();
+        }
+        Request leftover;
+        while ((leftover = requests.poll()) != null) {
+            leftover.completeExceptionally(new IOException("Journal hot stock sudah ditutup"));
+        }
+    }
+
+    private void writeBatch(List<Request> appends) {
+        if (appends.isEmpty()) {
+            return;
+        }
+        if (failure != null) {
+            for (Request request : appends) {
+                request.completeExceptionally(failure);
+            }
+            appends.clear();
+            return;
+        }
+        buffer.clear();
+        for (Request request : appends) {
+            buffer.putLong(request.itemId.getMostSignificantBits());
+            buffer.putLong(request.itemId.getLeastSignificantBits());
+            buffer.putLong(request.userId.getMostSignificantBits());
+            buffer.putLong(request.userId.getLeastSignificantBits());
+            buffer.putLong(request.delta);
+        }
+        buffer.flip();
+        long goodSize = -1;
+        try {
+            goodSize = channel.size();
+            // write() sudah aman terhadap crash proses (masuk page cache OS); fsync dilakukan saat rotate
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            for (Request request : appends) {
+                pending.merge(request.itemId, request.delta, Long::sum);
+                pendingOwners.put(request.itemId, request.userId);
+                request.complete(null);
+            }
+        } catch (IOException e) {
+            if (goodSize >= 0) {
+                discardTornBatch(goodSize, e);
+            }
+            for (Request request : appends) {
+                request.completeExceptionally(e);
+            }
+        }
+        appends.clear();
+    }
+
+    // write() yang gagal di tengah bisa meninggalkan sebagian batch (termasuk record utuh) di file
+    private void discardTornBatch(long goodSize, IOException cause) {
+        try {
+            channel.truncate(goodSize);
+        } catch (IOException e) {
+            failure = new IOException("Segmen journal hot stock " + segment + " berisi batch yang gagal ditulis", cause);
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void control(Request request) {
+        try {
+            if (request.kind == Kind.ROTATE) {
+                request.complete(rotate());
+            } else {
+                channel.force(false);
+                channel.close();
+                closed = true;
+                request.complete(null);
+            }
+        } catch (IOException e) {
+            request.completeExceptionally(e);
+        }
+    }
+
+    // Segmen rusak tetap di-rotate walau kosong: flush berikutnya menghapus filenya
+    private Segment rotate() throws IOException {
+        if (pending.isEmpty() && failure == null) {
+            return null;
+        }
+        channel.force(false);
+        channel.close();
+        Segment closedSegment = new Segment(segment, segmentPath(directory, segment), pending, pendingOwners);
+        pending = new HashMap<>();
+        pendingOwners = new HashMap<>();
+        open(segment + 1);
+        failure = null;
+        return closedSegment;
+    }
+
+    private void open(long number) throws IOException {
+        this.segment = number;
+        this.channel = opener.open(segmentPath(directory, number));
+    }
+
+    static Path segmentPath(Path directory, long number) {
+        return directory.resolve(PREFIX + String.format("%019d", number) + SUFFIX);
+    }
+
+    // Nomor segmen yang ada di disk, terurut naik
+    static List<Long> listSegments(Path directory) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return numbers;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .forEach(name -> numbers.add(Long.parseLong(
+                            name.substring(PREFIX.length(), name.length() - SUFFIX.length()))));
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+
+    // Record terakhir yang terpotong (crash saat menulis) diabaikan karena belum pernah di-ack
+    static Segment readSegment(long number, Path file) throws IOException {
+        Map<UUID, Long> deltas = new HashMap<>();
+        Map<UUID, UUID> owners = new HashMap<>();
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        while (data.remaining() >= RECORD_SIZE) {
+            UUID itemId = new UUID(data.getLong(), data.getLong());
+            owners.put(itemId, new UUID(data.getLong(), data.getLong()));
+            deltas.merge(itemId, data.getLong(), Long::sum);
+        }
+        return new Segment(number, file, deltas, owners);
+    }
+
+    static class Segment {
+        private final long number;
+        private final Path file;
+        private final Map<UUID, Long> deltas;
+        private final Map<UUID, UUID> owners;
+
+        Segment(long number, Path file, Map<UUID, Long> deltas, Map<UUID, UUID> owners) {
+            this.number = number;
+            this.file = file;
+            this.deltas = deltas;
+            this.owners = owners;
+        }
+
+        long getNumber() { return number; }
+        Path getFile() { return file; }
+        Map<UUID, Long> getDeltas() { return deltas; }
+        // user_id pemilik setiap item di segmen ini
+        Map<UUID, UUID> getOwners() { return owners; }
+    }
+
+    // Membuka file segmen (mode append); test memakai channel yang bisa gagal di tengah write
+    interface SegmentOpener {
+        FileChannel open(Path file) throws IOException;
+    }
+
+    private enum Kind { APPEND, ROTATE, CLOSE }
+
+    // Selesai (complete) setelah diproses thread writer; hasilnya hanya dipakai oleh ROTATE
+    private static final class Request extends CompletableFuture<Segment> {
+        private final Kind kind;
+        private final UUID itemId;
+        private final UUID userId;
+        private final long delta;
+
+        Request(Kind kind, UUID itemId, UUID userId, long delta) {
+            this.kind = kind;
+            this.itemId = itemId;
+            this.userId = userId;
+            this.delta = delta;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.delcom.app.modules.inventory;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Status & progres satu proses import CSV. Diperbarui oleh thread import,
+ * dibaca (polling) oleh halaman import.
+ */
+public class ImportJob {
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    // Batas jumlah error yang disimpan agar file yang seluruhnya salah tidak menghabiskan memori
+    static final int MAX_ERRORS = 1000;
+
+    private final UUID id;
+    private final UUID userId;
+    private final String filename;
+    private final long totalBytes;
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong processedRows = new AtomicLong();
+    private final AtomicLong importedRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final List<ImportRowError> errors = new ArrayList<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile String message;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public ImportJob(UUID id, UUID userId, String filename, long totalBytes) {
+        this.id = id;
+        this.userId = userId;
+        this.filename = filename;
+        this.totalBytes = totalBytes;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        bytesRead.set(totalBytes);
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String reason) {
+        message = reason;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    void updateBytesRead(long bytes) {
+        bytesRead.set(Math.min(bytes, totalBytes));
+    }
+
+    void addProcessed(long rows) {
+        processedRows.addAndGet(rows);
+    }
+
+    void addImported(long rows) {
+        importedRows.addAndGet(rows);
+    }
+
+    void addError(ImportRowError error) {
+        failedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    // Perkiraan progres berdasarkan byte file yang sudah dibaca
+    public int getPercent() {
+        if (isFinished()) {
+            return 100;
+        }
+        return totalBytes == 0 ? 0 : (int) (bytesRead.get() * 100 / totalBytes);
+    }
+
+    public UUID getId() { return id; }
+    @JsonIgnore
+    public UUID getUserId() { return userId; }
+    public String getFilename() { return filename; }
+    public long getTotalBytes() { return totalBytes; }
+    public long getBytesRead() { return bytesRead.get(); }
+    public long getProcessedRows() { return processedRows.get(); }
+    public long getImportedRows() { return importedRows.get(); }
+    public long getFailedRows() { return failedRows.get(); }
+    public Status getStatus() { return status; }
+    public String getMessage() { return message; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+
+    public List<ImportRowError> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.delcom.app.modules.inventory;
+
+public class ImportRowError {
+    private final long line;
+    private final String message;
+
+    public ImportRowError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() { return line; }
+    public String getMessage() { return message; }
+}
@@ -2,17 +2,29 @@ package org.delcom.app.modules.inventory;
 
 import org.delcom.app.modules.authentication.User;
 import org.delcom.app.modules.authentication.AccountService;
+import org.delcom.app.configs.ApiResponse;
 import org.delcom.app.services.FileStorageService;
+import org.delcom.app.utils.Money;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
 import java.util.UUID;
 
 @Controller
@@ -22,12 +34,24 @@ public class InventoryController {
     private final ItemService productService;
     private final FileStorageService fileStorageService;
     private final AccountService userService;
+    private final HotStockEngine hotStockEngine;
+    private final StockReservationService reservationService;
+    private final ItemExportService exportService;
+    private final ItemImportService importService;
+    private final ItemFuzzySearchService fuzzySearchService;
 
     public InventoryController(ItemService productService, FileStorageService fileStorageService,
-            AccountService userService) {
+            AccountService userService, HotStockEngine hotStockEngine,
+            StockReservationService reservationService, ItemExportService exportService,
+            ItemImportService importService, ItemFuzzySearchService fuzzySearchService) {
         this.productService = productService;
         this.fileStorageService = fileStorageService;
         this.userService = userService;
+        this.hotStockEngine = hotStockEngine;
+        this.reservationService = reservationService;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.fuzzySearchService = fuzzySearchService;
     }
 
     // --- HELPER: AMBIL USER DARI SESSION ---
@@ -45,12 +69,31 @@ public class InventoryController {
 
     // 1. LIST DATA
     @GetMapping
-    public String listProducts(Model model) {
+    public String listProducts(@RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String q,
+            @RequestParam(name = "page", required = false) Integer pageNumber,
+            // BindingResult: angka filter yang tidak valid diabaikan (tetap null), bukan error 400
+            @ModelAttribute("filter") ItemFilter filter, BindingResult filterErrors,
+            Model model) {
         User user = getAuthenticatedUser();
         if (user == null)
             return "redirect:/auth/login";
 
-        model.addAttribute("products", productService.getAllProducts(user.getId()));
+        ItemPage<ItemSummary> page;
+        if (q != null && !q.isBlank()) {
+            // Pencarian full-text, diurutkan berdasarkan relevansi
+            page = productService.searchProducts(user.getId(), q, pageNumber, size);
+            model.addAttribute("q", q.strip());
+        } else {
+            // Paginasi keyset dengan filter & urutan, beserta facet kategori
+            FilteredItemPage filtered = productService.getFilteredPage(user.getId(), filter, after, before, size);
+            model.addAttribute("facets", filtered.getFacets());
+            page = filtered;
+        }
+        model.addAttribute("products", page.getItems());
+        model.addAttribute("page", page);
         return "pages/products/list";
     }
 
@@ -81,7 +124,7 @@ public class InventoryController {
         product.setUserId(user.getId());
         product.setName(form.getName());
         product.setCategory(form.getCategory());
-        product.setPrice(form.getPrice());
+        product.setPriceMinor(Money.toMinor(form.getPrice()));
         product.setStock(form.getStock());
         product.setDescription(form.getDescription());
 
@@ -134,6 +177,7 @@ public class InventoryController {
         form.setPrice(product.getPrice());
         form.setStock(product.getStock());
         form.setDescription(product.getDescription());
+        form.setVersion(product.getVersion());
 
         model.addAttribute("productForm", form);
         model.addAttribute("productId", product.getId()); // Penting untuk logika Form HTML
@@ -158,9 +202,15 @@ public class InventoryController {
 
         Item product = productService.getProductById(id, user.getId());
         if (product != null) {
+            // Produk sudah diubah orang lain sejak form dibuka
+            if (form.getVersion() != null && !form.getVersion().equals(product.getVersion())) {
+                redirectAttributes.addFlashAttribute("error",
+                        "Produk telah diubah oleh pengguna lain. Silakan periksa data terbaru.");
+                return "redirect:/products/edit/" + id;
+            }
             product.setName(form.getName());
             product.setCategory(form.getCategory());
-            product.setPrice(form.getPrice());
+            product.setPriceMinor(Money.toMinor(form.getPrice()));
             product.setStock(form.getStock());
             product.setDescription(form.getDescription());
 
@@ -174,7 +224,16 @@ public class InventoryController {
                 String filename = fileStorageService.storeFile(form.getImageFile(), product.getId());
                 product.setImage(filename);
             }
-            productService.saveProduct(product);
+            try {
+                productService.saveProduct(product);
+            } catch (OptimisticLockingFailureException e) {
+                redirectAttributes.addFlashAttribute("error",
+                        "Produk telah diubah oleh pengguna lain. Silakan periksa data terbaru.");
+                return "redirect:/products/edit/" + id;
+            } catch (StockHeldException e) {
+                redirectAttributes.addFlashAttribute("error", e.getMessage());
+                return "redirect:/products/edit/" + id;
+            }
             redirectAttributes.addFlashAttribute("success", "Produk berhasil diperbarui!");
         }
 
@@ -195,7 +254,7 @@ public class InventoryController {
                 fileStorageService.deleteFile(p.getImage());
             }
             // Hapus data di database
-            productService.deleteProduct(id);
+            productService.deleteProduct(id, user.getId());
             redirectAttributes.addFlashAttribute("success", "Produk berhasil dihapus!");
         }
         return "redirect:/products";
@@ -220,10 +279,236 @@ public class InventoryController {
     // 10. API DATA CHART
     @GetMapping("/api/chart-data")
     @ResponseBody
-    public java.util.List<Object[]> getChartData() {
+    public java.util.List<CategoryStock> getChartData() {
         User user = getAuthenticatedUser();
         if (user == null)
             return null;
         return productService.getChartData(user.getId());
     }
-}
\ No newline at end of file
+
+    // 11. API REBUILD RINGKASAN DASHBOARD (rekonsiliasi drift)
+    @PostMapping("/api/summary/rebuild")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<InventoryStats>> rebuildSummary() {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("fail", "Silakan login terlebih dahulu", null));
+        InventoryStats stats = productService.rebuildDashboardStats(user.getId());
+        return ResponseEntity.ok(new ApiResponse<>("success", "Ringkasan inventaris berhasil dihitung ulang", stats));
+    }
+
+    // 12. API PENYESUAIAN STOK (delta atomik, tanpa membaca baris)
+    @PostMapping("/api/{id}/stock")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<Map<String, Object>>> adjustStock(@PathVariable UUID id,
+            @Valid @RequestBody StockAdjustRequest request) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("fail", "Silakan login terlebih dahulu", null));
+
+        if (productService.adjustStock(id, user.getId(), request.getDelta())) {
+            return ResponseEntity.ok(new ApiResponse<>("success", "Stok berhasil diperbarui",
+                    Map.of("id", id, "delta", request.getDelta())));
+        }
+        // Jalur gagal saja yang perlu cek keberadaan produk
+        if (!productService.isOwnedBy(id, user.getId())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>("fail", "Produk tidak ditemukan", null));
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiResponse<>("fail", "Stok tidak mencukupi atau melebihi batas", null));
+    }
+
+    // 13. API PRODUK HOT (stok dikelola di memori, di-flush berkala ke DB)
+    @PostMapping("/api/{id}/hot")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<Void>> promoteHotProduct(@PathVariable UUID id) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("fail", "Silakan login terlebih dahulu", null));
+        if (!hotStockEngine.isEnabled())
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse<>("fail", "Fitur hot stock tidak aktif", null));
+        if (!hotStockEngine.promote(id, user.getId()))
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>("fail", "Produk tidak ditemukan", null));
+        return ResponseEntity.ok(new ApiResponse<>("success", "Produk ditandai sebagai hot", null));
+    }
+
+    @DeleteMapping("/api/{id}/hot")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<Void>> demoteHotProduct(@PathVariable UUID id) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("fail", "Silakan login terlebih dahulu", null));
+        hotStockEngine.demote(id, user.getId());
+        return ResponseEntity.ok(new ApiResponse<>("success", "Produk kembali ke mode normal", null));
+    }
+
+    // 14. API RESERVASI STOK (penahanan berbatas waktu, kedaluwarsa otomatis)
+    @PostMapping("/api/{id}/reservations")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<StockReservation>> reserveStock(@PathVariable UUID id,
+            @Valid @RequestBody ReservationRequest request) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("fail", "Silakan login terlebih dahulu", null));
+
+        StockReservation reservation;
+        try {
+            reservation = reservationService.reserve(id, user.getId(), request.getQuantity(),
+                    Duration.ofSeconds(request.getTtlSeconds()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse<>("fail", e.getMessage(), null));
+        }
+        if (reservation == null)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>("fail", "Produk tidak ditemukan", null));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ApiResponse<>("success", "Stok berhasil ditahan", reservation));
+    }
+
+    @PostMapping("/api/reservations/{reservationId}/confirm")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<Void>> confirmReservation(@PathVariable UUID reservationId) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("fail", "Silakan login terlebih dahulu", null));
+        if (!reservationService.confirm(reservationId, user.getId()))
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse<>("fail", "Reservasi tidak ditemukan atau sudah kedaluwarsa", null));
+        return ResponseEntity.ok(new ApiResponse<>("success", "Reservasi berhasil dikonfirmasi", null));
+    }
+
+    @DeleteMapping("/api/reservations/{reservationId}")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<Void>> releaseReservation(@PathVariable UUID reservationId) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("fail", "Silakan login terlebih dahulu", null));
+        if (!reservationService.release(reservationId, user.getId()))
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>("fail", "Reservasi tidak ditemukan", null));
+        return ResponseEntity.ok(new ApiResponse<>("success", "Reservasi dibatalkan", null));
+    }
+
+    @GetMapping("/api/{id}/availability")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getAvailability(@PathVariable UUID id) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("fail", "Silakan login terlebih dahulu", null));
+        Long available = reservationService.getAvailableStock(id, user.getId());
+        if (available == null)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>("fail", "Produk tidak ditemukan", null));
+        return ResponseEntity.ok(new ApiResponse<>("success", "Stok tersedia",
+                Map.of("id", id, "reserved", reservationService.getHeldQuantity(id), "available", available)));
+    }
+
+    // 15. EXPORT PRODUK (CSV / NDJSON, di-stream langsung dari cursor database)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "csv") String format) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        ExportFormat exportFormat = ExportFormat.from(format);
+        if (exportFormat == null)
+            return ResponseEntity.badRequest().build();
+
+        UUID userId = user.getId();
+        String filename = "produk-" + LocalDate.now() + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> exportService.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+
+    // 16. HALAMAN IMPORT CSV
+    @GetMapping("/import")
+    public String importPage(@RequestParam(required = false) UUID job, Model model) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return "redirect:/auth/login";
+        if (job != null && importService.getJob(job, user.getId()) != null) {
+            model.addAttribute("jobId", job);
+        }
+        return "pages/products/import";
+    }
+
+    @PostMapping("/import")
+    public String importProducts(@RequestParam("file") MultipartFile file, RedirectAttributes redirectAttributes)
+            throws IOException {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return "redirect:/auth/login";
+        if (file == null || file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("error", "Pilih file CSV terlebih dahulu");
+            return "redirect:/products/import";
+        }
+        ImportJob job = importService.submit(user.getId(), file);
+        return "redirect:/products/import?job=" + job.getId();
+    }
+
+    // 17. API PROGRES IMPORT
+    @GetMapping("/api/import/{jobId}")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<ImportJob>> getImportStatus(@PathVariable UUID jobId) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("fail", "Silakan login terlebih dahulu", null));
+        ImportJob job = importService.getJob(jobId, user.getId());
+        if (job == null)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>("fail", "Proses import tidak ditemukan", null));
+        return ResponseEntity.ok(new ApiResponse<>("success", "Status import", job));
+    }
+
+    // 18. API PENCARIAN NAMA FUZZY (toleran salah ketik)
+    @GetMapping("/api/fuzzy")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<java.util.List<FuzzyMatch>>> fuzzySearch(@RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("fail", "Silakan login terlebih dahulu", null));
+        return ResponseEntity.ok(new ApiResponse<>("success", "Produk dengan nama paling mirip",
+                fuzzySearchService.findClosest(user.getId(), q, limit)));
+    }
+
+    // 19. API AUTOCOMPLETE NAMA / KATEGORI (trie di memori, tanpa query database)
+    @GetMapping("/api/autocomplete")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<java.util.List<String>>> autocomplete(
+            @RequestParam(defaultValue = "name") String field,
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(required = false) Integer limit) {
+        User user = getAuthenticatedUser();
+        if (user == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("fail", "Silakan login terlebih dahulu", null));
+        AutocompleteIndex.Field target;
+        if ("name".equalsIgnoreCase(field)) {
+            target = AutocompleteIndex.Field.NAME;
+        } else if ("category".equalsIgnoreCase(field)) {
+            target = AutocompleteIndex.Field.CATEGORY;
+        } else {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>("fail", "Field harus 'name' atau 'category'", null));
+        }
+        return ResponseEntity.ok(new ApiResponse<>("success", "Saran autocomplete",
+                productService.suggest(user.getId(), target, prefix, limit)));
+    }
+}
@@ -0,0 +1,19 @@
+package org.delcom.app.modules.inventory;
+
+import org.delcom.app.utils.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyeksi agregat statistik toko untuk dashboard (dihitung di database).
+ */
+public interface InventoryStats {
+    Long getTotalProducts();
+    Long getTotalCategories();
+    // Dalam satuan minor (sen)
+    long getTotalAssetValueMinor();
+
+    default BigDecimal getTotalAssetValue() {
+        return Money.toMajor(getTotalAssetValueMinor());
+    }
+}
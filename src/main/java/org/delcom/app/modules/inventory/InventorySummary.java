@@ -0,0 +1,82 @@
+package org.delcom.app.modules.inventory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Ringkasan inventaris satu user yang diperbarui secara inkremental setiap ada penulisan.
+ * Menyimpan jumlah produk per kategori supaya jumlah kategori unik tetap O(1).
+ */
+public class InventorySummary implements InventoryStats {
+    private long totalProducts;
+    private long totalAssetValueMinor;
+    private final Map<String, Long> productsPerCategory = new HashMap<>();
+
+    // Baris dikelompokkan per id kategori; categoryNames memetakan id ke nama
+    public static InventorySummary of(Iterable<CategoryTotals> rows, Function<Integer, String> categoryNames) {
+        InventorySummary summary = new InventorySummary();
+        for (CategoryTotals row : rows) {
+            long count = row.getTotalProducts() != null ? row.getTotalProducts() : 0;
+            if (count <= 0) {
+                continue;
+            }
+            summary.totalProducts += count;
+            summary.totalAssetValueMinor += row.getTotalAssetValueMinor() != null ? row.getTotalAssetValueMinor() : 0;
+            summary.productsPerCategory.merge(categoryNames.apply(row.getCategoryId()), count, Long::sum);
+        }
+        return summary;
+    }
+
+    public synchronized void add(String category, Long priceMinor, Integer stock) {
+        totalProducts++;
+        totalAssetValueMinor += assetValue(priceMinor, stock);
+        productsPerCategory.merge(category, 1L, Long::sum);
+    }
+
+    public synchronized void remove(String category, Long priceMinor, Integer stock) {
+        totalProducts = Math.max(0, totalProducts - 1);
+        totalAssetValueMinor -= assetValue(priceMinor, stock);
+        productsPerCategory.computeIfPresent(category, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    // Perubahan stok hanya menggeser nilai aset; jumlah produk dan kategori tetap
+    public synchronized void adjustStock(Long priceMinor, int delta) {
+        totalAssetValueMinor += assetValue(priceMinor, delta);
+    }
+
+    // Salinan konsisten untuk dibaca tanpa lock
+    public synchronized InventorySummary snapshot() {
+        InventorySummary copy = new InventorySummary();
+        copy.totalProducts = totalProducts;
+        copy.totalAssetValueMinor = totalAssetValueMinor;
+        copy.productsPerCategory.putAll(productsPerCategory);
+        return copy;
+    }
+
+    private static long assetValue(Long priceMinor, Integer stock) {
+        if (priceMinor == null || stock == null) {
+            return 0;
+        }
+        return priceMinor * stock;
+    }
+
+    @Override
+    public synchronized Long getTotalProducts() { return totalProducts; }
+
+    @Override
+    public synchronized Long getTotalCategories() { return (long) productsPerCategory.size(); }
+
+    @Override
+    public synchronized long getTotalAssetValueMinor() { return totalAssetValueMinor; }
+
+    // Facet kategori tanpa filter, terurut nama kategori
+    public synchronized List<CategoryCount> getCategoryCounts() {
+        List<CategoryCount> counts = new ArrayList<>(productsPerCategory.size());
+        productsPerCategory.forEach((category, count) -> counts.add(new CategoryCount(category, count)));
+        counts.sort((a, b) -> a.getCategory().compareTo(b.getCategory()));
+        return counts;
+    }
+}
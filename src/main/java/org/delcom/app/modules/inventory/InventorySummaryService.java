@@ -0,0 +1,167 @@
+package org.delcom.app.modules.inventory;
+
+import org.delcom.app.utils.UserVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Menyimpan ringkasan dashboard per user di memori.
+ * Dibangun sekali (lazy) dari satu query GROUP BY, lalu diperbarui oleh ItemService
+ * setiap save/delete/penyesuaian stok sehingga halaman dashboard cukup membaca O(1).
+ * Jika terjadi drift (mis. data diubah di luar aplikasi), panggil rebuild().
+ *
+ * Jumlah user dibatasi max-users (LRU); ringkasan yang terbuang dibangun ulang saat dibaca lagi.
+ */
+@Service
+public class InventorySummaryService {
+    private final ItemRepository productRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final int maxUsers;
+    private final Map<UUID, InventorySummary> summaries;
+    // Naik setiap penulisan user; ringkasan yang dibangun bersamaan dengan penulisan user itu tidak disimpan
+    // (query tidak melihat perubahannya, record* tidak menemukan ringkasannya)
+    private final UserVersions versions = new UserVersions(1024);
+
+    public InventorySummaryService(ItemRepository productRepository, CategoryDictionary categoryDictionary,
+            @Value("${app.inventory.summary.max-users:10000}") int maxUsers) {
+        this.productRepository = productRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.maxUsers = Math.max(1, maxUsers);
+        // accessOrder = true -> urutan LRU
+        this.summaries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, InventorySummary> eldest) {
+                return size() > InventorySummaryService.this.maxUsers;
+            }
+        };
+    }
+
+    public InventoryStats getSummary(UUID userId) {
+        return summary(userId).snapshot();
+    }
+
+    public List<CategoryCount> getCategoryCounts(UUID userId) {
+        return summary(userId).getCategoryCounts();
+    }
+
+    // Hitung ulang dari database untuk merekonsiliasi drift
+    public InventoryStats rebuild(UUID userId) {
+        synchronized (summaries) {
+            versions.increment(userId);
+            summaries.remove(userId);
+        }
+        return summary(userId).snapshot();
+    }
+
+    // Buang semua ringkasan, akan dibangun ulang saat dibaca
+    public void invalidateAll() {
+        synchronized (summaries) {
+            versions.incrementAll();
+            summaries.clear();
+        }
+    }
+
+    public void evict(UUID userId) {
+        afterCommit(() -> {
+            synchronized (summaries) {
+                versions.increment(userId);
+                summaries.remove(userId);
+            }
+        });
+    }
+
+    /**
+     * Catat perubahan satu produk. Nilai "before" diambil dari snapshot Item yang
+     * terakhir tersimpan (null jika produk baru).
+     */
+    public void recordSaved(UUID userId, boolean existed, String oldCategory, Long oldPriceMinor, Integer oldStock,
+            String newCategory, Long newPriceMinor, Integer newStock) {
+        afterCommit(() -> {
+            InventorySummary summary = markWritten(userId);
+            if (summary == null) {
+                return; // Belum pernah dibaca, akan dibangun dari DB saat dibutuhkan
+            }
+            synchronized (summary) {
+                if (existed) {
+                    summary.remove(oldCategory, oldPriceMinor, oldStock);
+                }
+                summary.add(newCategory, newPriceMinor, newStock);
+            }
+        });
+    }
+
+    public void recordDeleted(UUID userId, String category, Long priceMinor, Integer stock) {
+        afterCommit(() -> {
+            InventorySummary summary = markWritten(userId);
+            if (summary != null) {
+                summary.remove(category, priceMinor, stock);
+            }
+        });
+    }
+
+    // Penyesuaian stok tanpa membangun ulang ringkasan: cukup harga produk dan delta-nya
+    public void recordStockAdjusted(UUID userId, Long priceMinor, int delta) {
+        afterCommit(() -> {
+            InventorySummary summary = markWritten(userId);
+            if (summary != null) {
+                summary.adjustStock(priceMinor, delta);
+            }
+        });
+    }
+
+    public int size() {
+        synchronized (summaries) {
+            return summaries.size();
+        }
+    }
+
+    // Query GROUP BY berjalan di luar lock; hasilnya disimpan hanya jika user tidak menulis selama query
+    private InventorySummary summary(UUID userId) {
+        synchronized (summaries) {
+            InventorySummary cached = summaries.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long versionBeforeLoad = versions.version(userId);
+        InventorySummary loaded = InventorySummary.of(productRepository.sumByCategory(userId),
+                id -> categoryDictionary.nameOf(userId, id));
+        synchronized (summaries) {
+            if (versions.version(userId) != versionBeforeLoad) {
+                return loaded; // Kalah balapan dengan penulisan: pakai sekali, jangan disimpan
+            }
+            InventorySummary existing = summaries.putIfAbsent(userId, loaded);
+            return existing != null ? existing : loaded;
+        }
+    }
+
+    // Naikkan versi user dan ambil ringkasannya dalam satu lock dengan summary(), agar tidak ada
+    // ringkasan yang tersimpan tanpa menerima perubahan ini
+    private InventorySummary markWritten(UUID userId) {
+        synchronized (summaries) {
+            versions.increment(userId);
+            return summaries.get(userId);
+        }
+    }
+
+    // Terapkan setelah commit agar rollback tidak membuat ringkasan salah
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
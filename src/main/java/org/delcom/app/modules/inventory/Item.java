@@ -1,28 +1,57 @@
 package org.delcom.app.modules.inventory;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.PartitionKey;
+import org.delcom.app.configs.TenantOwned;
+import org.delcom.app.utils.Money;
+import org.delcom.app.utils.UuidV7Id;
+
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "products")
-public class Item {
+@Table(name = "products", indexes = {
+        // Mendukung paginasi keyset pada daftar produk
+        @Index(name = "idx_products_user_created_id", columnList = "user_id, created_at, id"),
+        // Filter & urutan daftar produk (ItemFilterRepository); urutan nilai aset memakai index ekspresi
+        // dari db/migration V5 karena JPA tidak bisa mendeklarasikannya. Index kategori untuk urutan selain
+        // created_at ada di V10 (dibuat CONCURRENTLY)
+        @Index(name = "idx_products_user_category_created_id", columnList = "user_id, category_id, created_at, id"),
+        @Index(name = "idx_products_user_name_id", columnList = "user_id, name, id"),
+        @Index(name = "idx_products_user_price_id", columnList = "user_id, price_minor, id"),
+        @Index(name = "idx_products_user_stock_id", columnList = "user_id, stock, id"),
+        @Index(name = "idx_products_user_updated_id", columnList = "user_id, updated_at, id")
+})
+public class Item implements TenantOwned {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID) // UBAH JADI INI
+    @UuidV7Id
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
+    // Kunci partisi (lihat ProductPartitionMigrator): Hibernate ikut menulis user_id di WHERE
+    // UPDATE/DELETE entity, sehingga Postgres hanya menyentuh satu partisi
+    @PartitionKey
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false)
+    // Kategori disimpan sebagai id ke kamus per user (tabel categories), bukan teks di setiap baris
+    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @JoinColumn(name = "category_id", nullable = false,
+            foreignKey = @ForeignKey(name = "fk_products_category"))
+    private ItemCategory categoryRef;
+
+    // Nama kategori: dari form sebelum disimpan, atau dari categoryRef setelah dimuat.
+    // ItemService me-resolve nama ke categoryRef lewat CategoryDictionary.
+    @Transient
     private String category;
 
-    @Column(nullable = false)
-    private Double price;
+    // Harga fixed-point dalam satuan minor (sen), lihat Money
+    @Column(name = "price_minor", nullable = false)
+    private Long priceMinor;
 
     @Column(nullable = false)
     private Integer stock;
@@ -38,6 +67,23 @@ public class Item {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Optimistic locking untuk alur form edit (read-modify-write)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // Snapshot nilai yang terakhir tersimpan di DB, dipakai untuk menghitung delta ringkasan dashboard & autocomplete
+    @Transient
+    private boolean stored;
+    @Transient
+    private String storedName;
+    @Transient
+    private String storedCategory;
+    @Transient
+    private Long storedPriceMinor;
+    @Transient
+    private Integer storedStock;
+
     // Constructor
     public Item() {}
 
@@ -50,8 +96,12 @@ public class Item {
     public void setName(String name) { this.name = name; }
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
-    public Double getPrice() { return price; }
-    public void setPrice(Double price) { this.price = price; }
+    public ItemCategory getCategoryRef() { return categoryRef; }
+    public void setCategoryRef(ItemCategory categoryRef) { this.categoryRef = categoryRef; }
+    public Long getPriceMinor() { return priceMinor; }
+    public void setPriceMinor(Long priceMinor) { this.priceMinor = priceMinor; }
+    // Harga dalam rupiah untuk tampilan
+    public BigDecimal getPrice() { return priceMinor != null ? Money.toMajor(priceMinor) : null; }
     public Integer getStock() { return stock; }
     public void setStock(Integer stock) { this.stock = stock; }
     public String getDescription() { return description; }
@@ -60,9 +110,29 @@ public class Item {
     public void setImage(String image) { this.image = image; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    public boolean isStored() { return stored; }
+    public String getStoredName() { return storedName; }
+    public String getStoredCategory() { return storedCategory; }
+    public Long getStoredPriceMinor() { return storedPriceMinor; }
+    public Integer getStoredStock() { return storedStock; }
 
     @PrePersist
     protected void onCreate() { createdAt = LocalDateTime.now(); updatedAt = LocalDateTime.now(); }
     @PreUpdate
     protected void onUpdate() { updatedAt = LocalDateTime.now(); }
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    protected void captureStoredState() {
+        if (category == null && categoryRef != null) {
+            category = categoryRef.getName();
+        }
+        stored = true;
+        storedName = name;
+        storedCategory = category;
+        storedPriceMinor = priceMinor;
+        storedStock = stock;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.delcom.app.modules.inventory;
+
+import jakarta.persistence.*;
+import java.util.UUID;
+
+/**
+ * Kamus kategori per user. Produk hanya menyimpan id integer kecil (products.category_id),
+ * jadi nama kategori tidak diulang di setiap baris dan GROUP BY / filter berjalan di atas integer.
+ * Baris kamus tidak pernah dihapus; nama yang tidak dipakai lagi tetap ada (jumlahnya kecil).
+ */
+@Entity
+@Table(name = "categories", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_categories_user_name", columnNames = { "user_id", "name" })
+})
+public class ItemCategory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(nullable = false, updatable = false)
+    private String name;
+
+    public ItemCategory() {}
+
+    public ItemCategory(UUID userId, String name) {
+        this.userId = userId;
+        this.name = name;
+    }
+
+    public Integer getId() { return id; }
+    public UUID getUserId() { return userId; }
+    public String getName() { return name; }
+}
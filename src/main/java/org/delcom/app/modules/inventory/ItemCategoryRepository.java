@@ -0,0 +1,22 @@
+package org.delcom.app.modules.inventory;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ItemCategoryRepository extends JpaRepository<ItemCategory, Integer> {
+    List<ItemCategory> findByUserId(UUID userId);
+
+    Optional<ItemCategory> findByUserIdAndName(UUID userId, String name);
+
+    // Dipanggil di dalam transaksi CategoryDictionary; 0 jika nama sudah ada (uk_categories_user_name)
+    @Modifying
+    @Query(value = "INSERT INTO categories (user_id, name) VALUES (?1, ?2) "
+            + "ON CONFLICT (user_id, name) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(UUID userId, String name);
+}
@@ -0,0 +1,51 @@
+package org.delcom.app.modules.inventory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posisi keyset (created_at, id) untuk paginasi daftar produk.
+ * Dikirim ke browser sebagai string Base64 URL-safe yang opaque.
+ */
+public class ItemCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final UUID id;
+
+    public ItemCursor(LocalDateTime createdAt, UUID id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static ItemCursor of(ItemSummary item) {
+        return new ItemCursor(item.getCreatedAt(), item.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id.toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Cursor rusak / dimanipulasi dianggap tidak ada (kembali ke halaman pertama)
+    public static ItemCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep <= 0) {
+                return null;
+            }
+            return new ItemCursor(LocalDateTime.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public UUID getId() { return id; }
+}
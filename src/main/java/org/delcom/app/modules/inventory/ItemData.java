@@ -1,10 +1,14 @@
 package org.delcom.app.modules.inventory;
 
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.math.BigDecimal;
+
 public class ItemData {
     @NotBlank(message = "Nama produk wajib diisi")
     private String name;
@@ -12,9 +16,11 @@ public class ItemData {
     @NotBlank(message = "Kategori wajib diisi")
     private String category;
 
+    // Harga dalam rupiah, maksimal 2 desimal; disimpan sebagai satuan minor (Money)
     @NotNull(message = "Harga wajib diisi")
-    @Min(value = 0)
-    private Double price;
+    @DecimalMin(value = "0")
+    @Digits(integer = 15, fraction = 2, message = "Harga maksimal 2 angka desimal")
+    private BigDecimal price;
 
     @NotNull(message = "Stok wajib diisi")
     @Min(value = 0)
@@ -23,17 +29,22 @@ public class ItemData {
     private String description;
     private MultipartFile imageFile;
 
+    // Versi entity saat form dibuka, untuk mendeteksi perubahan bersamaan
+    private Long version;
+
     // Getters Setters
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
-    public Double getPrice() { return price; }
-    public void setPrice(Double price) { this.price = price; }
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
     public Integer getStock() { return stock; }
     public void setStock(Integer stock) { this.stock = stock; }
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
     public MultipartFile getImageFile() { return imageFile; }
     public void setImageFile(MultipartFile imageFile) { this.imageFile = imageFile; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
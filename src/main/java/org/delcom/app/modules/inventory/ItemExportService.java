@@ -0,0 +1,178 @@
+package org.delcom.app.modules.inventory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.delcom.app.configs.TenantShards;
+import org.delcom.app.utils.Money;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Export seluruh produk milik user ke CSV / NDJSON tanpa memuat semuanya ke memori.
+ * Baris dibaca lewat cursor JDBC (ItemRepository.streamByUserId) dan persistence context
+ * dikosongkan setiap CLEAR_INTERVAL baris, sehingga heap tetap datar berapa pun jumlah produk.
+ */
+@Service
+public class ItemExportService {
+    static final String[] COLUMNS = {
+            "id", "name", "category", "price", "stock", "description", "image", "createdAt", "updatedAt"
+    };
+    // Disamakan dengan fetch size query export
+    static final int CLEAR_INTERVAL = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ItemRepository productRepository;
+    private final EntityManager entityManager;
+    private final HotStockEngine hotStockEngine;
+    private final JsonFactory jsonFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantShards tenantShards;
+
+    public ItemExportService(ItemRepository productRepository, EntityManager entityManager,
+            HotStockEngine hotStockEngine, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            TenantShards tenantShards) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.hotStockEngine = hotStockEngine;
+        this.jsonFactory = objectMapper.getFactory();
+        // Cursor Postgres hanya aktif di dalam transaksi (autocommit off)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.tenantShards = tenantShards;
+    }
+
+    /**
+     * Tulis semua produk user ke out. Stream tidak ditutup, hanya di-flush.
+     */
+    public void export(UUID userId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            // Dijalankan di thread async StreamingResponseBody, jadi shard diikat di sini
+            tenantShards.run(userId, false, () -> transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Item> products = productRepository.streamByUserId(userId)) {
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(products.iterator(), writer);
+                    } else {
+                        writeNdjson(products.iterator(), writer);
+                    }
+                } catch (IOException e) {
+                    // Biasanya klien memutus download; transaksi read-only cukup di-rollback
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Iterator<Item> products, Writer writer) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+        long rows = 0;
+        while (products.hasNext()) {
+            Item p = products.next();
+            writer.write(csv(p.getId()));
+            writer.write(',');
+            writer.write(csv(p.getName()));
+            writer.write(',');
+            writer.write(csv(p.getCategory()));
+            writer.write(',');
+            writer.write(p.getPriceMinor() != null ? Money.format(p.getPriceMinor()) : "");
+            writer.write(',');
+            writer.write(csv(stockOf(p)));
+            writer.write(',');
+            writer.write(csv(p.getDescription()));
+            writer.write(',');
+            writer.write(csv(p.getImage()));
+            writer.write(',');
+            writer.write(csv(p.getCreatedAt()));
+            writer.write(',');
+            writer.write(csv(p.getUpdatedAt()));
+            writer.write('\n');
+            clearEvery(++rows);
+        }
+    }
+
+    private void writeNdjson(Iterator<Item> products, Writer writer) throws IOException {
+        JsonGenerator json = jsonFactory.createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long rows = 0;
+        while (products.hasNext()) {
+            Item p = products.next();
+            json.writeStartObject();
+            json.writeStringField("id", String.valueOf(p.getId()));
+            json.writeStringField("name", p.getName());
+            json.writeStringField("category", p.getCategory());
+            if (p.getPriceMinor() != null) {
+                // Angka desimal persis (mis. 12500.50), tanpa konversi lewat double
+                json.writeFieldName("price");
+                json.writeNumber(Money.format(p.getPriceMinor()));
+            } else {
+                json.writeNullField("price");
+            }
+            Integer stock = stockOf(p);
+            if (stock != null) {
+                json.writeNumberField("stock", stock);
+            } else {
+                json.writeNullField("stock");
+            }
+            json.writeStringField("description", p.getDescription());
+            json.writeStringField("image", p.getImage());
+            json.writeStringField("createdAt", p.getCreatedAt() != null ? p.getCreatedAt().toString() : null);
+            json.writeStringField("updatedAt", p.getUpdatedAt() != null ? p.getUpdatedAt().toString() : null);
+            json.writeEndObject();
+            json.writeRaw('\n');
+            clearEvery(++rows);
+        }
+        json.flush();
+    }
+
+    // Produk hot: stok terkini ada di memori, bukan di baris DB
+    private Integer stockOf(Item p) {
+        if (hotStockEngine.hasHotItems()) {
+            Integer live = hotStockEngine.liveStock(p.getId());
+            if (live != null) {
+                return live;
+            }
+        }
+        return p.getStock();
+    }
+
+    private void clearEvery(long rows) {
+        if (rows % CLEAR_INTERVAL == 0) {
+            entityManager.clear();
+        }
+    }
+
+    // RFC 4180: kutip jika mengandung koma, kutip ganda, atau baris baru
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
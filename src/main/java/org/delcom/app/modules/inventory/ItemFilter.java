@@ -0,0 +1,88 @@
+package org.delcom.app.modules.inventory;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+
+/**
+ * Filter dan urutan daftar produk, di-bind dari query string /products
+ * (category, minPrice, maxPrice, minStock, maxStock, lowStock, sort, dir).
+ */
+public class ItemFilter {
+    private String category;
+    // Batas harga dalam rupiah (seperti yang diketik user); dikonversi ke satuan minor saat query
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minStock;
+    private Integer maxStock;
+    private boolean lowStock;
+    private String sort;
+    private String dir;
+
+    public ItemSort getSortOrder() {
+        return ItemSort.from(sort);
+    }
+
+    // Arah default mengikuti urutan (mis. terbaru/nilai aset menurun, nama menaik)
+    public boolean isDescending() {
+        if ("asc".equalsIgnoreCase(dir)) {
+            return false;
+        }
+        if ("desc".equalsIgnoreCase(dir)) {
+            return true;
+        }
+        return getSortOrder().isDescendingByDefault();
+    }
+
+    public boolean hasCategory() {
+        return category != null && !category.isBlank();
+    }
+
+    // Filter selain kategori; facet kategori dihitung di dalam filter ini
+    public boolean hasRangeFilters() {
+        return minPrice != null || maxPrice != null || minStock != null || maxStock != null || lowStock;
+    }
+
+    // Tanpa filter dan dengan urutan bawaan: bisa memakai paginasi keyset (created_at, id) yang sudah ada
+    public boolean isDefault() {
+        return !hasCategory() && !hasRangeFilters()
+                && getSortOrder() == ItemSort.NEWEST && isDescending();
+    }
+
+    // URL /products dengan filter ini, dasar link paginasi (Thymeleaf menambahkan cursor di belakangnya)
+    public String toListUrl() {
+        return toListUrl(hasCategory() ? category.strip() : null);
+    }
+
+    // URL untuk facet: filter yang sama dengan kategori lain (null = semua kategori)
+    public String toListUrl(String withCategory) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/products");
+        if (withCategory != null && !withCategory.isBlank()) builder.queryParam("category", withCategory);
+        if (minPrice != null) builder.queryParam("minPrice", minPrice.toPlainString());
+        if (maxPrice != null) builder.queryParam("maxPrice", maxPrice.toPlainString());
+        if (minStock != null) builder.queryParam("minStock", minStock);
+        if (maxStock != null) builder.queryParam("maxStock", maxStock);
+        if (lowStock) builder.queryParam("lowStock", true);
+        ItemSort order = getSortOrder();
+        if (order != ItemSort.NEWEST) builder.queryParam("sort", order.getParam());
+        if (isDescending() != order.isDescendingByDefault()) builder.queryParam("dir", isDescending() ? "desc" : "asc");
+        return builder.encode().build().toUriString();
+    }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+    public Integer getMinStock() { return minStock; }
+    public void setMinStock(Integer minStock) { this.minStock = minStock; }
+    public Integer getMaxStock() { return maxStock; }
+    public void setMaxStock(Integer maxStock) { this.maxStock = maxStock; }
+    public boolean isLowStock() { return lowStock; }
+    public void setLowStock(boolean lowStock) { this.lowStock = lowStock; }
+    public String getSort() { return sort; }
+    public void setSort(String sort) { this.sort = sort; }
+    public String getDir() { return dir; }
+    public void setDir(String dir) { this.dir = dir; }
+}
@@ -0,0 +1,197 @@
+package org.delcom.app.modules.inventory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.delcom.app.utils.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Query daftar produk dengan filter & urutan dinamis (JPQL dirangkai dari ItemFilter).
+ * Semua query diawali p.userId = :userId dan diurutkan (kunci, id) sehingga cocok dengan index
+ * komposit products(user_id, kolom, id); paginasi memakai keyset, bukan OFFSET.
+ */
+@Repository
+public class ItemFilterRepository {
+    private static final String SELECT_ROWS = "SELECT new org.delcom.app.modules.inventory.ItemSummaryRow("
+            + "p.id, p.name, c.name, p.priceMinor, p.stock, p.image, p.createdAt, p.updatedAt) "
+            + "FROM Item p JOIN p.categoryRef c ";
+    // Halaman + facet dalam satu query: dihitung di atas semua baris yang lolos filter rentang;
+    // baris halaman diberi peringkat (yang cocok kategori & cursor lebih dulu), facet dibawa baris
+    // pertama tiap kategori
+    private static final String SELECT_PAGE_WITH_FACETS = "SELECT f.rowId, f.rowName, f.categoryName, "
+            + "f.priceMinor, f.stock, f.image, f.createdAt, f.updatedAt, f.categoryCount, f.categoryRow, "
+            + "f.pageRank, f.outside FROM (SELECT p.id AS rowId, p.name AS rowName, c.name AS categoryName, "
+            + "p.priceMinor AS priceMinor, p.stock AS stock, p.image AS image, p.createdAt AS createdAt, "
+            + "p.updatedAt AS updatedAt, COUNT(*) OVER (PARTITION BY c.id) AS categoryCount, "
+            + "ROW_NUMBER() OVER (PARTITION BY c.id ORDER BY p.id) AS categoryRow, ";
+
+    private final EntityManager entityManager;
+    private final CategoryDictionary categoryDictionary;
+    private final int lowStockThreshold;
+
+    public ItemFilterRepository(EntityManager entityManager, CategoryDictionary categoryDictionary,
+            @Value("${app.inventory.low-stock-threshold:5}") int lowStockThreshold) {
+        this.entityManager = entityManager;
+        this.categoryDictionary = categoryDictionary;
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    /**
+     * Satu jendela halaman (maksimal limit baris) setelah/sebelum cursor.
+     * Untuk backward, baris dikembalikan dalam urutan terbalik; pemanggil yang membaliknya lagi.
+     */
+    public List<ItemSummaryRow> findPage(UUID userId, ItemFilter filter, SortCursor cursor, boolean backward,
+            int limit) {
+        ItemSort sort = filter.getSortOrder();
+        Integer categoryId = null;
+        if (filter.hasCategory()) {
+            categoryId = categoryDictionary.findId(userId, filter.getCategory().strip());
+            if (categoryId == null) {
+                return List.of(); // Kategori belum pernah dipakai user ini
+            }
+        }
+        // Mundur = ambil arah kebalikan dari urutan tampilan
+        boolean descending = filter.isDescending() != backward;
+
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(SELECT_ROWS);
+        appendWhere(jpql, params, userId, filter, categoryId);
+        if (cursor != null) {
+            jpql.append("AND ").append(cursorCondition(params, sort, cursor, descending)).append(' ');
+        }
+        jpql.append("ORDER BY ").append(orderBy(sort, descending));
+
+        TypedQuery<ItemSummaryRow> query = entityManager.createQuery(jpql.toString(), ItemSummaryRow.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Seperti findPage, ditambah jumlah produk per kategori di bawah filter aktif kecuali filter kategori
+     * itu sendiri (agar kategori lain tetap bisa dipilih). Keduanya dari satu query dengan window aggregate,
+     * bukan GROUP BY terpisah: facet sudah harus membaca semua baris yang lolos filter rentang, halaman
+     * diambil dari pembacaan yang sama.
+     */
+    public PageWithFacets findPageWithFacets(UUID userId, ItemFilter filter, SortCursor cursor, boolean backward,
+            int limit) {
+        ItemSort sort = filter.getSortOrder();
+        boolean descending = filter.isDescending() != backward;
+        Map<String, Object> params = new HashMap<>();
+
+        List<String> conditions = new ArrayList<>();
+        if (filter.hasCategory()) {
+            Integer categoryId = categoryDictionary.findId(userId, filter.getCategory().strip());
+            if (categoryId == null) {
+                limit = 0; // Kategori belum pernah dipakai user ini: tidak ada baris halaman, facet tetap dihitung
+            } else {
+                conditions.add("p.categoryRef.id = :categoryId");
+                params.put("categoryId", categoryId);
+            }
+        }
+        if (cursor != null) {
+            conditions.add(cursorCondition(params, sort, cursor, descending));
+        }
+        // Baris yang cocok kategori & cursor diberi peringkat lebih dulu
+        String outside = "0";
+        String rankOrder = orderBy(sort, descending);
+        if (!conditions.isEmpty()) {
+            outside = "CASE WHEN " + String.join(" AND ", conditions) + " THEN 0 ELSE 1 END";
+            rankOrder = outside + ", " + rankOrder;
+        }
+
+        StringBuilder jpql = new StringBuilder(SELECT_PAGE_WITH_FACETS);
+        jpql.append("ROW_NUMBER() OVER (ORDER BY ").append(rankOrder).append(") AS pageRank, ")
+                .append(outside).append(" AS outside FROM Item p JOIN p.categoryRef c ");
+        appendWhere(jpql, params, userId, filter, null);
+        jpql.append(") f WHERE f.categoryRow = 1 OR (f.outside = 0 AND f.pageRank <= :limit) ORDER BY f.pageRank");
+        params.put("limit", (long) limit);
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        params.forEach(query::setParameter);
+        List<ItemSummaryRow> rows = new ArrayList<>();
+        List<CategoryCount> facets = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            if (((Number) row[11]).intValue() == 0 && ((Number) row[10]).longValue() <= limit) {
+                rows.add(new ItemSummaryRow((UUID) row[0], (String) row[1], (String) row[2], (Long) row[3],
+                        (Integer) row[4], (String) row[5], (LocalDateTime) row[6], (LocalDateTime) row[7]));
+            }
+            if (((Number) row[9]).longValue() == 1) {
+                facets.add(new CategoryCount((String) row[2], ((Number) row[8]).longValue()));
+            }
+        }
+        facets.sort(Comparator.comparing(CategoryCount::getCategory));
+        return new PageWithFacets(rows, facets);
+    }
+
+    public int getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    private void appendWhere(StringBuilder jpql, Map<String, Object> params, UUID userId, ItemFilter filter,
+            Integer categoryId) {
+        jpql.append("WHERE p.userId = :userId ");
+        params.put("userId", userId);
+        if (categoryId != null) {
+            jpql.append("AND p.categoryRef.id = :categoryId ");
+            params.put("categoryId", categoryId);
+        }
+        if (filter.getMinPrice() != null) {
+            jpql.append("AND p.priceMinor >= :minPrice ");
+            params.put("minPrice", Money.toMinor(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            jpql.append("AND p.priceMinor <= :maxPrice ");
+            params.put("maxPrice", Money.toMinor(filter.getMaxPrice()));
+        }
+        if (filter.getMinStock() != null) {
+            jpql.append("AND p.stock >= :minStock ");
+            params.put("minStock", filter.getMinStock());
+        }
+        // Stok rendah digabung dengan maxStock: ambil batas yang lebih ketat
+        Integer maxStock = filter.getMaxStock();
+        if (filter.isLowStock()) {
+            maxStock = maxStock == null ? lowStockThreshold : Math.min(maxStock, lowStockThreshold);
+        }
+        if (maxStock != null) {
+            jpql.append("AND p.stock <= :maxStock ");
+            params.put("maxStock", maxStock);
+        }
+    }
+
+    // Posisi setelah cursor dalam arah urutan: (kunci, id) lebih besar / lebih kecil
+    private static String cursorCondition(Map<String, Object> params, ItemSort sort, SortCursor cursor,
+            boolean descending) {
+        params.put("cursorValue", cursor.getValue());
+        params.put("cursorId", cursor.getId());
+        String op = descending ? "<" : ">";
+        return "(" + sort.expression() + ' ' + op + " :cursorValue OR (" + sort.expression()
+                + " = :cursorValue AND p.id " + op + " :cursorId))";
+    }
+
+    private static String orderBy(ItemSort sort, boolean descending) {
+        String direction = descending ? "DESC" : "ASC";
+        return sort.expression() + ' ' + direction + ", p.id " + direction;
+    }
+
+    public static class PageWithFacets {
+        private final List<ItemSummaryRow> rows;
+        private final List<CategoryCount> facets;
+
+        PageWithFacets(List<ItemSummaryRow> rows, List<CategoryCount> facets) {
+            this.rows = rows;
+            this.facets = facets;
+        }
+
+        public List<ItemSummaryRow> getRows() { return rows; }
+        public List<CategoryCount> getFacets() { return facets; }
+    }
+}
@@ -0,0 +1,105 @@
+package org.delcom.app.modules.inventory;
+
+import org.delcom.app.configs.TenantShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pencarian nama produk yang toleran salah ketik memakai trigram (pg_trgm).
+ *
+ * Operator % memakai GIN index idx_products_name_trgm (db/migration V9), jadi tidak ada
+ * sequential scan per ketikan. statement_timeout dan ambang kemiripan di-set per transaksi
+ * (set_config ... true = SET LOCAL) agar tidak bocor ke koneksi pool yang lain.
+ */
+@Service
+public class ItemFuzzySearchService {
+    private static final Logger logger = LoggerFactory.getLogger(ItemFuzzySearchService.class);
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+    static final int MIN_QUERY_LENGTH = 2;
+    static final int MAX_QUERY_LENGTH = 100;
+
+    static final String SQL_MATCH = "SELECT p.id, p.name, c.name AS category, p.stock, similarity(p.name, ?) AS score "
+            + "FROM products p JOIN categories c ON c.id = p.category_id WHERE p.user_id = ? AND p.name % ? "
+            + "ORDER BY score DESC, p.name LIMIT ?";
+
+    private static final RowMapper<FuzzyMatch> MATCH_MAPPER = (rs, rowNum) -> new FuzzyMatch(
+            rs.getObject("id", UUID.class), rs.getString("name"), rs.getString("category"),
+            rs.getInt("stock"), rs.getDouble("score"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final HotStockEngine hotStockEngine;
+    private final TenantShards tenantShards;
+    private final long timeoutMs;
+    private final double similarityThreshold;
+
+    public ItemFuzzySearchService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            HotStockEngine hotStockEngine, TenantShards tenantShards,
+            @Value("${app.inventory.fuzzy.timeout-ms:150}") long timeoutMs,
+            @Value("${app.inventory.fuzzy.similarity-threshold:0.3}") double similarityThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.hotStockEngine = hotStockEngine;
+        this.tenantShards = tenantShards;
+        this.timeoutMs = timeoutMs;
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    /**
+     * Top-k produk user dengan nama paling mirip. Query yang terlalu pendek atau melewati
+     * batas waktu menghasilkan list kosong.
+     */
+    public List<FuzzyMatch> findClosest(UUID userId, String query, Integer limit) {
+        String text = query == null ? "" : query.strip();
+        if (text.length() < MIN_QUERY_LENGTH) {
+            return List.of();
+        }
+        if (text.length() > MAX_QUERY_LENGTH) {
+            text = text.substring(0, MAX_QUERY_LENGTH);
+        }
+        int k = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        String term = text;
+
+        List<FuzzyMatch> matches;
+        try {
+            matches = tenantShards.call(userId, false, () -> transactionTemplate.execute(status -> {
+                jdbcTemplate.queryForObject("SELECT set_config('statement_timeout', ?, true)",
+                        String.class, String.valueOf(timeoutMs));
+                jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.similarity_threshold', ?, true)",
+                        String.class, String.valueOf(similarityThreshold));
+                return jdbcTemplate.query(SQL_MATCH, MATCH_MAPPER, term, userId, term, k);
+            }));
+        } catch (QueryTimeoutException e) {
+            logger.debug("Pencarian fuzzy '{}' melewati {} ms", term, timeoutMs);
+            return List.of();
+        }
+        return withLiveStock(matches == null ? List.of() : matches);
+    }
+
+    private List<FuzzyMatch> withLiveStock(List<FuzzyMatch> matches) {
+        if (!hotStockEngine.hasHotItems()) {
+            return matches;
+        }
+        List<FuzzyMatch> result = new ArrayList<>(matches.size());
+        for (FuzzyMatch match : matches) {
+            Integer live = hotStockEngine.liveStock(match.getId());
+            result.add(live == null ? match
+                    : new FuzzyMatch(match.getId(), match.getName(), match.getCategory(), live, match.getScore()));
+        }
+        return result;
+    }
+}
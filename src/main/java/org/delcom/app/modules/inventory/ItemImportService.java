@@ -0,0 +1,338 @@
+package org.delcom.app.modules.inventory;
+
+import jakarta.annotation.PreDestroy;
+import org.delcom.app.configs.ReadYourWrites;
+import org.delcom.app.configs.TenantShards;
+import org.delcom.app.utils.CsvReader;
+import org.delcom.app.utils.Money;
+import org.delcom.app.utils.UuidV7;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Import produk massal dari CSV.
+ *
+ * File dibaca record demi record (CsvReader), divalidasi paralel per chunk lalu disimpan
+ * dengan JDBC batch insert (satu transaksi per chunk). Baris yang tidak valid tidak
+ * menggagalkan import, melainkan dicatat di ImportJob bersama nomor barisnya.
+ * Kolom wajib: name, category, price, stock; kolom description opsional. Kolom lain
+ * (mis. id / createdAt dari hasil export) diabaikan.
+ */
+@Service
+public class ItemImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ItemImportService.class);
+
+    static final int CHUNK_SIZE = 1000;
+    static final List<String> REQUIRED_COLUMNS = List.of("name", "category", "price", "stock");
+    private static final int MAX_TEXT_LENGTH = 255;
+    // Posisi kategori di argumen SQL_INSERT: berisi nama setelah validasi, diganti id sebelum insert
+    private static final int CATEGORY_ARG = 3;
+    // Job yang sudah selesai disimpan sebentar agar hasilnya masih bisa dibaca
+    private static final Duration FINISHED_JOB_TTL = Duration.ofHours(1);
+    private static final String SQL_INSERT = "INSERT INTO products "
+            + "(id, user_id, name, category_id, price_minor, stock, description, created_at, updated_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InventorySummaryService summaryService;
+    private final ChartDataCache chartDataCache;
+    private final AutocompleteIndex autocompleteIndex;
+    private final CategoryDictionary categoryDictionary;
+    private final ReadYourWrites readYourWrites;
+    private final TenantShards tenantShards;
+    private final ExecutorService executor;
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ItemImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            InventorySummaryService summaryService, ChartDataCache chartDataCache,
+            AutocompleteIndex autocompleteIndex, CategoryDictionary categoryDictionary, ReadYourWrites readYourWrites,
+            TenantShards tenantShards, @Value("${app.inventory.import.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.summaryService = summaryService;
+        this.chartDataCache = chartDataCache;
+        this.autocompleteIndex = autocompleteIndex;
+        this.categoryDictionary = categoryDictionary;
+        this.readYourWrites = readYourWrites;
+        this.tenantShards = tenantShards;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentJobs));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Simpan file upload ke file sementara lalu jalankan import di background.
+     */
+    public ImportJob submit(UUID userId, MultipartFile file) throws IOException {
+        purgeFinishedJobs();
+        // File multipart dihapus saat request selesai, jadi disalin dulu
+        Path temp = Files.createTempFile("product-import-", ".csv");
+        file.transferTo(temp);
+
+        ImportJob job = new ImportJob(UUID.randomUUID(), userId, file.getOriginalFilename(), Files.size(temp));
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job, temp));
+        return job;
+    }
+
+    public ImportJob getJob(UUID jobId, UUID userId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            return null;
+        }
+        return job;
+    }
+
+    private void run(ImportJob job, Path file) {
+        // Chunk yang ter-commit dicatat sebagai tulisan user, sehingga bacaannya menempel ke primary
+        readYourWrites.bind(job.getUserId());
+        try (InputStream in = Files.newInputStream(file)) {
+            process(job, in);
+        } catch (IOException e) {
+            job.fail("Gagal membaca file: " + e.getMessage());
+        } finally {
+            readYourWrites.clear();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Gagal menghapus file import sementara {}", file);
+            }
+        }
+    }
+
+    // Dijalankan sinkron di thread pemanggil; dipisah dari run() agar mudah diuji
+    void process(ImportJob job, InputStream source) {
+        job.start();
+        CountingInputStream in = new CountingInputStream(source);
+        try (CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<String> header = reader.next();
+            if (header == null) {
+                job.fail("File CSV kosong");
+                return;
+            }
+            Map<String, Integer> columns = mapColumns(header);
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+            if (!missing.isEmpty()) {
+                job.fail("Kolom wajib tidak ditemukan: " + String.join(", ", missing));
+                return;
+            }
+
+            List<RawRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            List<String> fields;
+            while ((fields = reader.next()) != null) {
+                chunk.add(new RawRow(reader.getRecordLine(), fields));
+                if (chunk.size() == CHUNK_SIZE) {
+                    loadChunk(job, columns, chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                    job.updateBytesRead(in.count);
+                }
+            }
+            loadChunk(job, columns, chunk);
+            job.complete();
+        } catch (IOException | RuntimeException e) {
+            job.fail("Import berhenti: " + e.getMessage());
+        } finally {
+            if (job.getImportedRows() > 0) {
+                summaryService.evict(job.getUserId());
+                chartDataCache.invalidate(job.getUserId());
+                autocompleteIndex.evict(job.getUserId());
+            }
+        }
+    }
+
+    private void loadChunk(ImportJob job, Map<String, Integer> columns, List<RawRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Validasi (parsing angka, panjang teks) paralel; urutan hasil tetap mengikuti urutan baris
+        List<ValidatedRow> validated = chunk.parallelStream()
+                .map(row -> validate(row, columns, job.getUserId(), now))
+                .toList();
+
+        List<Object[]> batch = new ArrayList<>(validated.size());
+        List<ValidatedRow> accepted = new ArrayList<>(validated.size());
+        for (ValidatedRow row : validated) {
+            if (row.error != null) {
+                job.addError(new ImportRowError(row.line, row.error));
+            } else {
+                batch.add(row.args);
+                accepted.add(row);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                // Shard di-resolve per chunk: saat tenant dibekukan untuk pindah shard, import berhenti
+                tenantShards.run(job.getUserId(), true, () -> {
+                    // Nama kategori -> id kamus; hanya nama yang belum pernah dipakai yang menyentuh DB
+                    for (Object[] args : batch) {
+                        args[CATEGORY_ARG] = categoryDictionary.intern(job.getUserId(), (String) args[CATEGORY_ARG]);
+                    }
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(SQL_INSERT, batch));
+                });
+                job.addImported(batch.size());
+            } catch (DataAccessException e) {
+                // Satu chunk gagal (mis. constraint DB): barisnya dilaporkan, chunk lain tetap lanjut
+                String reason = "Gagal menyimpan ke database: " + e.getMostSpecificCause().getMessage();
+                for (ValidatedRow row : accepted) {
+                    job.addError(new ImportRowError(row.line, reason));
+                }
+            }
+        }
+        job.addProcessed(chunk.size());
+    }
+
+    static ValidatedRow validate(RawRow row, Map<String, Integer> columns, UUID userId, Timestamp now) {
+        String name = field(row, columns, "name");
+        String category = field(row, columns, "category");
+        String description = field(row, columns, "description");
+        if (name == null || name.isEmpty()) {
+            return ValidatedRow.error(row.line, "Nama produk wajib diisi");
+        }
+        if (category == null || category.isEmpty()) {
+            return ValidatedRow.error(row.line, "Kategori wajib diisi");
+        }
+        if (name.length() > MAX_TEXT_LENGTH || category.length() > MAX_TEXT_LENGTH) {
+            return ValidatedRow.error(row.line, "Nama atau kategori melebihi " + MAX_TEXT_LENGTH + " karakter");
+        }
+
+        String priceText = field(row, columns, "price");
+        String stockText = field(row, columns, "stock");
+        long priceMinor;
+        int stock;
+        try {
+            // Harga dalam rupiah, maksimal 2 desimal -> satuan minor (sen)
+            priceMinor = Money.parseMinor(priceText == null ? "" : priceText);
+        } catch (NumberFormatException e) {
+            return ValidatedRow.error(row.line, "Harga tidak valid (maksimal " + Money.SCALE + " desimal)");
+        }
+        if (priceMinor < 0) {
+            return ValidatedRow.error(row.line, "Harga harus angka >= 0");
+        }
+        try {
+            stock = Integer.parseInt(stockText == null ? "" : stockText);
+        } catch (NumberFormatException e) {
+            return ValidatedRow.error(row.line, "Stok tidak valid");
+        }
+        if (stock < 0) {
+            return ValidatedRow.error(row.line, "Stok harus >= 0");
+        }
+
+        Object[] args = {
+                UuidV7.next(), userId, name, category, priceMinor, stock,
+                description == null || description.isEmpty() ? null : description, now, now
+        };
+        return new ValidatedRow(row.line, args, null);
+    }
+
+    private static String field(RawRow row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.fields.size()) {
+            return null;
+        }
+        return row.fields.get(index).trim();
+    }
+
+    private static Map<String, Integer> mapColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1); // BOM dari Excel
+            }
+            columns.putIfAbsent(name, i);
+        }
+        return columns;
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minus(FINISHED_JOB_TTL);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(threshold));
+    }
+
+    static class RawRow {
+        private final long line;
+        private final List<String> fields;
+
+        RawRow(long line, List<String> fields) {
+            this.line = line;
+            this.fields = fields;
+        }
+    }
+
+    static class ValidatedRow {
+        private final long line;
+        private final Object[] args;
+        private final String error;
+
+        ValidatedRow(long line, Object[] args, String error) {
+            this.line = line;
+            this.args = args;
+            this.error = error;
+        }
+
+        static ValidatedRow error(long line, String message) {
+            return new ValidatedRow(line, null, message);
+        }
+
+        String getError() { return error; }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
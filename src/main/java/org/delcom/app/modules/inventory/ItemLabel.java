@@ -0,0 +1,7 @@
+package org.delcom.app.modules.inventory;
+
+// Proyeksi nama & kategori saja, bahan indeks autocomplete
+public interface ItemLabel {
+    String getName();
+    String getCategory();
+}
@@ -0,0 +1,29 @@
+package org.delcom.app.modules.inventory;
+
+import java.util.List;
+
+/**
+ * Satu halaman daftar produk. Untuk daftar biasa cursor berisi posisi keyset (ItemCursor),
+ * untuk hasil pencarian berisi nomor halaman.
+ * nextCursor / prevCursor bernilai null jika tidak ada halaman berikutnya / sebelumnya.
+ */
+public class ItemPage<T> {
+    private final List<T> items;
+    private final int size;
+    private final String nextCursor;
+    private final String prevCursor;
+
+    public ItemPage(List<T> items, int size, String nextCursor, String prevCursor) {
+        this.items = items;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+    }
+
+    public List<T> getItems() { return items; }
+    public int getSize() { return size; }
+    public String getNextCursor() { return nextCursor; }
+    public String getPrevCursor() { return prevCursor; }
+    public boolean isHasNext() { return nextCursor != null; }
+    public boolean isHasPrev() { return prevCursor != null; }
+}
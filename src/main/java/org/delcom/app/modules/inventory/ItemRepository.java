@@ -1,15 +1,110 @@
 package org.delcom.app.modules.inventory;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, UUID> {
+    // Setiap query wajib memfilter user_id agar tabel products yang dipartisi hash (user_id) cukup
+    // membaca satu partisi. Jangan pakai findById / deleteById: keduanya hanya memakai id.
+    @Query("SELECT p FROM Item p JOIN FETCH p.categoryRef WHERE p.id = ?1 AND p.userId = ?2")
+    Optional<Item> findByIdAndUserId(UUID id, UUID userId);
+
+    // Kategori ikut di-join agar tidak ada SELECT tambahan per kategori
+    @Query("SELECT p FROM Item p JOIN FETCH p.categoryRef WHERE p.userId = ?1")
     List<Item> findByUserId(UUID userId);
 
-    @Query("SELECT p.category, SUM(p.stock) FROM Product p WHERE p.userId = ?1 GROUP BY p.category")
-    List<Object[]> countStockByCategory(UUID userId);
-}
\ No newline at end of file
+    // --- PAGINASI KEYSET (user_id, created_at, id) ---
+    // Pageable hanya dipakai sebagai LIMIT, tidak ada query COUNT tambahan karena return List
+    // Proyeksi ItemSummary: hanya kolom yang dirender, tanpa description & updated_at.
+    // Nama kategori di-join per baris halaman (lookup primary key ke tabel categories yang kecil)
+    String SUMMARY_COLUMNS = "SELECT p.id AS id, p.name AS name, c.name AS category, p.priceMinor AS priceMinor, "
+            + "p.stock AS stock, p.image AS image, p.createdAt AS createdAt FROM Item p JOIN p.categoryRef c ";
+
+    @Query(SUMMARY_COLUMNS + "WHERE p.userId = ?1 ORDER BY p.createdAt DESC, p.id DESC")
+    List<ItemSummary> findFirstPage(UUID userId, Pageable limit);
+
+    @Query(SUMMARY_COLUMNS + "WHERE p.userId = ?1 "
+            + "AND (p.createdAt < ?2 OR (p.createdAt = ?2 AND p.id < ?3)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ItemSummary> findPageAfter(UUID userId, LocalDateTime createdAt, UUID id, Pageable limit);
+
+    // Urutan dibalik (ASC), hasilnya dibalik lagi di service
+    @Query(SUMMARY_COLUMNS + "WHERE p.userId = ?1 "
+            + "AND (p.createdAt > ?2 OR (p.createdAt = ?2 AND p.id > ?3)) "
+            + "ORDER BY p.createdAt ASC, p.id ASC")
+    List<ItemSummary> findPageBefore(UUID userId, LocalDateTime createdAt, UUID id, Pageable limit);
+
+    // --- PENCARIAN FULL-TEXT ---
+    // Memakai GIN index (user_id, SEARCH_VECTOR) dari db/migration V7. Dialek 'simple' karena Postgres
+    // tidak punya stemmer Bahasa Indonesia. Bobot: name (A) > category (B) > description (C).
+    // Kategori ada di tabel lain sehingga tidak bisa masuk index: id kategori yang cocok dihitung
+    // sekali (initplan) lalu dicocokkan lewat index (user_id, category_id, ...); bobot B ditambahkan saat ranking.
+    // Ekspresi harus sama persis dengan definisi index agar planner memakainya
+    String SEARCH_VECTOR = "(setweight(to_tsvector('simple', coalesce(p.name, '')), 'A') || "
+            + "setweight(to_tsvector('simple', coalesce(p.description, '')), 'C'))";
+
+    @Query(value = "SELECT p.id AS id, p.name AS name, c.name AS category, p.price_minor AS priceMinor, "
+            + "p.stock AS stock, p.image AS image, p.created_at AS createdAt "
+            + "FROM products p JOIN categories c ON c.id = p.category_id, websearch_to_tsquery('simple', ?2) q "
+            + "WHERE p.user_id = ?1 AND (" + SEARCH_VECTOR + " @@ q OR p.category_id = ANY(ARRAY("
+            + "SELECT mc.id FROM categories mc WHERE mc.user_id = ?1 "
+            + "AND to_tsvector('simple', mc.name) @@ websearch_to_tsquery('simple', ?2)))) "
+            + "ORDER BY ts_rank(setweight(to_tsvector('simple', c.name), 'B') || " + SEARCH_VECTOR + ", q) DESC, "
+            + "p.created_at DESC, p.id DESC "
+            + "LIMIT ?3 OFFSET ?4", nativeQuery = true)
+    List<ItemSummary> search(UUID userId, String query, int limit, long offset);
+
+    // Bahan ringkasan dashboard (InventorySummaryService), hanya dijalankan saat build/rebuild.
+    // Agregasi per category_id (integer, tanpa join); nama di-resolve lewat CategoryDictionary
+    @Query("SELECT p.categoryRef.id AS categoryId, COUNT(p) AS totalProducts, "
+            + "COALESCE(SUM(p.priceMinor * p.stock), 0) AS totalAssetValueMinor FROM Item p "
+            + "WHERE p.userId = ?1 GROUP BY p.categoryRef.id")
+    List<CategoryTotals> sumByCategory(UUID userId);
+
+    @Query("SELECT p.categoryRef.id AS categoryId, SUM(p.stock) AS totalStock FROM Item p "
+            + "WHERE p.userId = ?1 GROUP BY p.categoryRef.id")
+    List<CategoryStockRow> countStockByCategory(UUID userId);
+
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
+    // Bahan indeks autocomplete (AutocompleteIndex), dibaca sekali saat indeks user dibangun
+    @Query("SELECT p.name AS name, c.name AS category FROM Item p JOIN p.categoryRef c WHERE p.userId = ?1")
+    List<ItemLabel> findLabelsByUserId(UUID userId);
+
+    // Export: baris dibaca bertahap lewat cursor JDBC (fetch size), entity tidak di-snapshot (read-only).
+    // Harus dipanggil di dalam transaksi dan Stream wajib ditutup.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Item p JOIN FETCH p.categoryRef WHERE p.userId = ?1 ORDER BY p.createdAt ASC, p.id ASC")
+    Stream<Item> streamByUserId(UUID userId);
+
+    // Penyesuaian stok atomik tanpa membaca baris; 0 baris = tidak ditemukan / stok tidak cukup /
+    // hasilnya melewati batas kolom INTEGER. Batas dibandingkan tanpa menjumlahkan stock + delta,
+    // jadi UPDATE tidak pernah gagal karena integer overflow
+    @Modifying
+    @Query("UPDATE Item p SET p.stock = p.stock + ?3, p.updatedAt = ?4, p.version = p.version + 1 "
+            + "WHERE p.id = ?1 AND p.userId = ?2 AND p.stock >= 0 - ?3 AND p.stock <= 2147483647 - ?3")
+    int adjustStock(UUID id, UUID userId, int delta, LocalDateTime updatedAt);
+
+    // Dipanggil setelah adjustStock di transaksi yang sama: barisnya sudah terkunci oleh UPDATE
+    @Query("SELECT p.stock AS stock, p.priceMinor AS priceMinor FROM Item p WHERE p.id = ?1 AND p.userId = ?2")
+    StockLevel findStockLevel(UUID id, UUID userId);
+
+    // Stok yang sudah commit; FOR UPDATE menunggu transaksi lain yang sedang mengubah baris ini
+    @Query(value = "SELECT stock FROM products WHERE id = ?1 AND user_id = ?2 FOR UPDATE", nativeQuery = true)
+    Integer lockStock(UUID id, UUID userId);
+}
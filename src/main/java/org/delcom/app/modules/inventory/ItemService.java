@@ -1,41 +1,416 @@
 package org.delcom.app.modules.inventory;
 
+import jakarta.persistence.EntityManager;
+import org.delcom.app.configs.TenantMovedEvent;
+import org.delcom.app.configs.TenantId;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class ItemService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    // Hasil pencarian memakai OFFSET; halaman yang sangat dalam jarang berguna dan mahal
+    static final int MAX_SEARCH_PAGE = 50;
+    static final int MAX_QUERY_LENGTH = 200;
+
     private final ItemRepository productRepository;
+    private final InventorySummaryService summaryService;
+    private final ChartDataCache chartDataCache;
+    private final HotStockEngine hotStockEngine;
+    private final EntityManager entityManager;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ItemFilterRepository filterRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final StockHolds stockHolds;
+    private final TransactionTemplate transactionTemplate;
 
-    public ItemService(ItemRepository productRepository) {
+    // Parameter @TenantId menentukan shard tempat transaksi method berjalan (no-op tanpa sharding)
+    public ItemService(ItemRepository productRepository, InventorySummaryService summaryService,
+            ChartDataCache chartDataCache, HotStockEngine hotStockEngine, EntityManager entityManager,
+            AutocompleteIndex autocompleteIndex, ItemFilterRepository filterRepository,
+            CategoryDictionary categoryDictionary, StockHolds stockHolds,
+            PlatformTransactionManager transactionManager) {
         this.productRepository = productRepository;
+        this.summaryService = summaryService;
+        this.chartDataCache = chartDataCache;
+        this.hotStockEngine = hotStockEngine;
+        this.entityManager = entityManager;
+        this.autocompleteIndex = autocompleteIndex;
+        this.filterRepository = filterRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.stockHolds = stockHolds;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    public List<Item> getAllProducts(UUID userId) {
+    @Transactional(readOnly = true)
+    public List<Item> getAllProducts(@TenantId UUID userId) {
         return productRepository.findByUserId(userId);
     }
 
-    public Item getProductById(UUID id, UUID userId) {
-        Item product = productRepository.findById(id).orElse(null);
-        if (product != null && product.getUserId().equals(userId)) {
+    // Paginasi keyset: biaya tiap halaman tetap walau jumlah produk user sangat besar.
+    // "after" = halaman berikutnya, "before" = halaman sebelumnya; jika keduanya kosong -> halaman pertama.
+    @Transactional(readOnly = true)
+    public ItemPage<ItemSummary> getProductPage(@TenantId UUID userId, String after, String before, Integer size) {
+        int limit = clampPageSize(size);
+        // Ambil 1 baris lebih untuk mengetahui apakah masih ada halaman lanjutan
+        PageRequest window = PageRequest.of(0, limit + 1);
+
+        ItemCursor afterCursor = ItemCursor.decode(after);
+        ItemCursor beforeCursor = afterCursor == null ? ItemCursor.decode(before) : null;
+
+        List<ItemSummary> rows;
+        boolean hasNext;
+        boolean hasPrev;
+        if (beforeCursor != null) {
+            rows = new ArrayList<>(productRepository.findPageBefore(
+                    userId, beforeCursor.getCreatedAt(), beforeCursor.getId(), window));
+            hasPrev = rows.size() > limit;
+            if (hasPrev) {
+                rows.remove(rows.size() - 1);
+            }
+            Collections.reverse(rows);
+            hasNext = true;
+        } else if (afterCursor != null) {
+            rows = new ArrayList<>(productRepository.findPageAfter(
+                    userId, afterCursor.getCreatedAt(), afterCursor.getId(), window));
+            hasNext = rows.size() > limit;
+            if (hasNext) {
+                rows.remove(rows.size() - 1);
+            }
+            hasPrev = true;
+        } else {
+            rows = new ArrayList<>(productRepository.findFirstPage(userId, window));
+            hasNext = rows.size() > limit;
+            if (hasNext) {
+                rows.remove(rows.size() - 1);
+            }
+            hasPrev = false;
+        }
+
+        if (rows.isEmpty()) {
+            return new ItemPage<>(rows, limit, null, null);
+        }
+        String nextCursor = hasNext ? ItemCursor.of(rows.get(rows.size() - 1)).encode() : null;
+        String prevCursor = hasPrev ? ItemCursor.of(rows.get(0)).encode() : null;
+        return new ItemPage<>(withLiveStock(rows), limit, nextCursor, prevCursor);
+    }
+
+    /**
+     * Daftar produk dengan filter & urutan, beserta facet kategori. Tanpa filter dan dengan urutan bawaan,
+     * halamannya sama dengan getProductPage.
+     * Cursor hanya berlaku untuk urutan yang membuatnya; cursor urutan lain dianggap halaman pertama.
+     * Tanpa filter rentang, facet diambil dari ringkasan dashboard di memori (tanpa query); selain itu
+     * facet dihitung di query yang sama dengan halamannya.
+     */
+    @Transactional(readOnly = true)
+    public FilteredItemPage getFilteredPage(@TenantId UUID userId, ItemFilter filter, String after, String before,
+            Integer size) {
+        if (filter.isDefault()) {
+            ItemPage<ItemSummary> page = getProductPage(userId, after, before, size);
+            return new FilteredItemPage(page.getItems(), page.getSize(), page.getNextCursor(), page.getPrevCursor(),
+                    summaryService.getCategoryCounts(userId));
+        }
+        int limit = clampPageSize(size);
+        ItemSort sort = filter.getSortOrder();
+        SortCursor afterCursor = SortCursor.decode(after, sort);
+        SortCursor beforeCursor = afterCursor == null ? SortCursor.decode(before, sort) : null;
+        boolean backward = beforeCursor != null;
+        SortCursor cursor = backward ? beforeCursor : afterCursor;
+
+        List<ItemSummaryRow> rows;
+        List<CategoryCount> facets;
+        if (filter.hasRangeFilters()) {
+            ItemFilterRepository.PageWithFacets result =
+                    filterRepository.findPageWithFacets(userId, filter, cursor, backward, limit + 1);
+            rows = new ArrayList<>(result.getRows());
+            facets = result.getFacets();
+        } else {
+            rows = new ArrayList<>(filterRepository.findPage(userId, filter, cursor, backward, limit + 1));
+            facets = summaryService.getCategoryCounts(userId);
+        }
+        boolean more = rows.size() > limit;
+        if (more) {
+            rows.remove(rows.size() - 1);
+        }
+        if (backward) {
+            Collections.reverse(rows);
+        }
+        boolean hasNext = backward || more;
+        boolean hasPrev = backward ? more : afterCursor != null;
+
+        if (rows.isEmpty()) {
+            return new FilteredItemPage(List.of(), limit, null, null, facets);
+        }
+        String nextCursor = hasNext ? SortCursor.of(sort, rows.get(rows.size() - 1)).encode() : null;
+        String prevCursor = hasPrev ? SortCursor.of(sort, rows.get(0)).encode() : null;
+        return new FilteredItemPage(withLiveStock(new ArrayList<>(rows)), limit, nextCursor, prevCursor, facets);
+    }
+
+    /**
+     * Pencarian full-text terurut relevansi. Cursor halaman berisi nomor halaman (1-based).
+     */
+    @Transactional(readOnly = true)
+    public ItemPage<ItemSummary> searchProducts(@TenantId UUID userId, String query, Integer page, Integer size) {
+        int limit = clampPageSize(size);
+        int pageNumber = page == null || page < 1 ? 1 : Math.min(page, MAX_SEARCH_PAGE);
+        String text = query.strip();
+        if (text.length() > MAX_QUERY_LENGTH) {
+            text = text.substring(0, MAX_QUERY_LENGTH);
+        }
+
+        List<ItemSummary> rows = new ArrayList<>(productRepository.search(
+                userId, text, limit + 1, (long) (pageNumber - 1) * limit));
+        boolean hasNext = rows.size() > limit && pageNumber < MAX_SEARCH_PAGE;
+        if (rows.size() > limit) {
+            rows.remove(rows.size() - 1);
+        }
+        String nextCursor = hasNext ? String.valueOf(pageNumber + 1) : null;
+        String prevCursor = pageNumber > 1 ? String.valueOf(pageNumber - 1) : null;
+        return new ItemPage<>(withLiveStock(rows), limit, nextCursor, prevCursor);
+    }
+
+    // Produk hot: stok di DB tertinggal sampai flush berikutnya, jadi tampilkan nilai di memori
+    private List<ItemSummary> withLiveStock(List<ItemSummary> rows) {
+        if (!hotStockEngine.hasHotItems()) {
+            return rows;
+        }
+        List<ItemSummary> result = new ArrayList<>(rows.size());
+        for (ItemSummary row : rows) {
+            Integer live = hotStockEngine.liveStock(row.getId());
+            result.add(live == null ? row : new LiveStockSummary(row, live));
+        }
+        return result;
+    }
+
+    static int clampPageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    @Transactional(readOnly = true)
+    public Item getProductById(UUID id, @TenantId UUID userId) {
+        Item product = productRepository.findByIdAndUserId(id, userId).orElse(null);
+        if (product != null) {
+            Integer live = hotStockEngine.liveStock(id);
+            if (live != null) {
+                // Lepas dari persistence context agar stok live tidak ikut ter-flush sebagai nilai absolut
+                entityManager.detach(product);
+                product.setStock(live);
+            }
             return product;
         }
         return null;
     }
 
+    /**
+     * Stok terkini untuk pengecekan reservasi: baris dibaca dengan FOR UPDATE (menunggu perubahan
+     * stok yang belum commit), atau counter di memori untuk produk hot.
+     *
+     * @return null jika produk tidak ditemukan
+     */
     @Transactional
-    public Item saveProduct(Item product) {
-        return productRepository.save(product);
+    public Long getCurrentStock(UUID id, @TenantId UUID userId) {
+        Integer stock = productRepository.lockStock(id, userId);
+        if (stock == null) {
+            return null;
+        }
+        Integer live = hotStockEngine.liveStock(id);
+        return (long) (live != null ? live : stock);
     }
 
     @Transactional
-    public void deleteProduct(UUID id) {
-        productRepository.deleteById(id);
+    public Item saveProduct(@TenantId Item product) {
+        // Form menulis stok absolut: lepas dulu dari hot engine (delta tertunda di-flush).
+        // Jika sempat ada delta, @Version akan menolak form yang sudah basi.
+        if (product.getId() != null && hotStockEngine.isHot(product.getId())) {
+            hotStockEngine.demote(product.getId(), product.getUserId());
+        }
+
+        // Ambil snapshot sebelum save, karena @PostUpdate akan menimpanya
+        boolean isNew = product.getId() == null;
+        boolean existed = product.isStored();
+        String oldName = product.getStoredName();
+        String oldCategory = product.getStoredCategory();
+        Long oldPrice = product.getStoredPriceMinor();
+        Integer oldStock = product.getStoredStock();
+
+        // Nama kategori dari form -> id kamus (intern cache); getReference tidak menjalankan SELECT
+        Integer categoryId = categoryDictionary.intern(product.getUserId(), product.getCategory());
+        product.setCategoryRef(entityManager.getReference(ItemCategory.class, categoryId));
+
+        if (!isNew && !entityManager.contains(product)) {
+            // merge() memuat baris lama hanya lewat id (semua partisi); muat dulu dengan user_id
+            // agar merge memakai entity yang sudah ada di persistence context
+            productRepository.findByIdAndUserId(product.getId(), product.getUserId());
+        }
+        Item saved = productRepository.save(product);
+        if (!isNew) {
+            // Stok absolut dari form tidak boleh menembus penahanan reservasi: tulis dulu baru cek (lihat StockHolds)
+            entityManager.flush();
+            long held = stockHolds.held(saved.getId());
+            if (saved.getStock() != null && saved.getStock() < held) {
+                throw new StockHeldException("Stok tidak boleh kurang dari jumlah yang sedang direservasi (" + held + ")");
+            }
+        }
+        if (isNew || existed) {
+            summaryService.recordSaved(product.getUserId(), existed, oldCategory, oldPrice, oldStock,
+                    product.getCategory(), product.getPriceMinor(), product.getStock());
+            autocompleteIndex.recordSaved(product.getUserId(), existed ? oldName : null,
+                    existed ? oldCategory : null, product.getName(), product.getCategory());
+        } else {
+            // Entity detached yang tidak dimuat lewat JPA: delta tidak diketahui, bangun ulang saat dibaca
+            summaryService.evict(product.getUserId());
+            autocompleteIndex.evict(product.getUserId());
+        }
+        chartDataCache.invalidate(product.getUserId());
+        return saved;
+    }
+
+    /**
+     * Tambah/kurangi stok dengan satu UPDATE bersyarat (stok tidak boleh negatif). Produk hot
+     * ditangani di memori tanpa membuka transaksi maupun meminjam koneksi database.
+     *
+     * @return true jika stok berhasil diubah, false jika produk tidak ditemukan atau stok tidak cukup
+     *         (stok yang ditahan reservasi tidak dihitung tersedia)
+     */
+    public boolean adjustStock(UUID id, @TenantId UUID userId, int delta) {
+        return adjustStock(id, userId, delta, 0);
+    }
+
+    /**
+     * Seperti adjustStock, untuk konfirmasi reservasi: penahanan milik pemanggil (heldByCaller)
+     * boleh ikut terpakai, penahanan reservasi lain tetap harus tertutup stok.
+     */
+    public boolean adjustStock(UUID id, @TenantId UUID userId, int delta, int heldByCaller) {
+        if (hotStockEngine.isHot(id)) {
+            HotStockEngine.AdjustResult result = hotStockEngine.tryAdjust(id, userId, delta, heldByCaller);
+            if (result != HotStockEngine.AdjustResult.NOT_HOT) {
+                return result == HotStockEngine.AdjustResult.APPLIED; // Di-flush ke DB secara batch
+            }
+            // Baru saja di-demote: lanjut ke jalur database
+        }
+        return Boolean.TRUE.equals(transactionTemplate.execute(
+                status -> adjustStockInDatabase(id, userId, delta, heldByCaller, status)));
+    }
+
+    private boolean adjustStockInDatabase(UUID id, UUID userId, int delta, int heldByCaller,
+            TransactionStatus status) {
+        int updated = productRepository.adjustStock(id, userId, delta, LocalDateTime.now());
+        if (updated == 0) {
+            return false;
+        }
+        StockLevel level = productRepository.findStockLevel(id, userId);
+        // Stok sudah ditulis (baris terkunci) baru penahanan dibaca; reservasi melakukan kebalikannya
+        if (delta < 0 && level.getStock() < stockHolds.held(id) - heldByCaller) {
+            status.setRollbackOnly();
+            return false;
+        }
+        // Ringkasan digeser sebesar harga x delta, tidak dibangun ulang dari DB
+        summaryService.recordStockAdjusted(userId, level.getPriceMinor(), delta);
+        chartDataCache.invalidate(userId);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isOwnedBy(UUID id, @TenantId UUID userId) {
+        return productRepository.existsByIdAndUserId(id, userId);
+    }
+
+    @Transactional
+    public void deleteProduct(UUID id, @TenantId UUID userId) {
+        Item existing = productRepository.findByIdAndUserId(id, userId).orElse(null);
+        if (existing != null) {
+            if (hotStockEngine.isHot(id)) {
+                hotStockEngine.demote(id, userId);
+            }
+            productRepository.delete(existing);
+            summaryService.recordDeleted(existing.getUserId(), existing.getCategory(),
+                    existing.getPriceMinor(), existing.getStock());
+            autocompleteIndex.recordDeleted(existing.getUserId(), existing.getName(), existing.getCategory());
+            chartDataCache.invalidate(existing.getUserId());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public InventoryStats getDashboardStats(@TenantId UUID userId) {
+        return summaryService.getSummary(userId);
     }
-    
-    public List<Object[]> getChartData(UUID userId) {
-        return productRepository.countStockByCategory(userId);
+
+    @Transactional(readOnly = true)
+    public InventoryStats rebuildDashboardStats(@TenantId UUID userId) {
+        return summaryService.rebuild(userId);
+    }
+
+    // Hasil GROUP BY di-cache per user, di-invalidate saat produk user berubah lewat service ini
+    @Transactional(readOnly = true)
+    public List<CategoryStock> getChartData(@TenantId UUID userId) {
+        return chartDataCache.get(userId, () -> {
+            List<CategoryStock> result = new ArrayList<>();
+            for (CategoryStockRow row : productRepository.countStockByCategory(userId)) {
+                result.add(new NamedCategoryStock(categoryDictionary.nameOf(userId, row.getCategoryId()), row.getTotalStock()));
+            }
+            result.sort(Comparator.comparing(CategoryStock::getCategory));
+            return result;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> suggest(@TenantId UUID userId, AutocompleteIndex.Field field, String prefix, Integer limit) {
+        return autocompleteIndex.suggest(userId, field, prefix, limit);
+    }
+
+    // Id kategori hanya unik per database: cache per user dibuang saat user pindah shard
+    @EventListener
+    public void onTenantMoved(TenantMovedEvent event) {
+        UUID userId = event.getUserId();
+        categoryDictionary.evict(userId);
+        summaryService.evict(userId);
+        chartDataCache.invalidate(userId);
+        autocompleteIndex.evict(userId);
+    }
+
+    private static class NamedCategoryStock implements CategoryStock {
+        private final String category;
+        private final Long totalStock;
+
+        NamedCategoryStock(String category, Long totalStock) {
+            this.category = category;
+            this.totalStock = totalStock;
+        }
+
+        public String getCategory() { return category; }
+        public Long getTotalStock() { return totalStock; }
+    }
+
+    private static class LiveStockSummary implements ItemSummary {
+        private final ItemSummary row;
+        private final Integer stock;
+
+        LiveStockSummary(ItemSummary row, Integer stock) {
+            this.row = row;
+            this.stock = stock;
+        }
+
+        public UUID getId() { return row.getId(); }
+        public String getName() { return row.getName(); }
+        public String getCategory() { return row.getCategory(); }
+        public Long getPriceMinor() { return row.getPriceMinor(); }
+        public Integer getStock() { return stock; }
+        public String getImage() { return row.getImage(); }
+        public LocalDateTime getCreatedAt() { return row.getCreatedAt(); }
     }
-}
\ No newline at end of file
+}
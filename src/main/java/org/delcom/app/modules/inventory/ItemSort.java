@@ -0,0 +1,65 @@
+package org.delcom.app.modules.inventory;
+
+import java.time.LocalDateTime;
+
+/**
+ * Urutan daftar produk. Setiap urutan didukung index (user_id, kolom, id) dan, untuk filter kategori,
+ * (user_id, category_id, kolom, id) agar paginasi keyset tetap berupa range scan.
+ */
+public enum ItemSort {
+    NEWEST("newest", "p.createdAt", true),
+    NAME("name", "p.name", false),
+    PRICE("price", "p.priceMinor", false),
+    STOCK("stock", "p.stock", false),
+    UPDATED("updated", "p.updatedAt", true),
+    ASSET_VALUE("value", "p.priceMinor * p.stock", true);
+
+    private final String param;
+    private final String expression;
+    private final boolean descendingByDefault;
+
+    ItemSort(String param, String expression, boolean descendingByDefault) {
+        this.param = param;
+        this.expression = expression;
+        this.descendingByDefault = descendingByDefault;
+    }
+
+    public String getParam() { return param; }
+    public boolean isDescendingByDefault() { return descendingByDefault; }
+
+    // Ekspresi JPQL kunci urutan
+    String expression() {
+        return expression;
+    }
+
+    // Nilai kunci urutan dari satu baris, untuk dibawa di cursor
+    Object valueOf(ItemSummaryRow row) {
+        return switch (this) {
+            case NEWEST -> row.getCreatedAt();
+            case NAME -> row.getName();
+            case PRICE -> row.getPriceMinor();
+            case STOCK -> row.getStock();
+            case UPDATED -> row.getUpdatedAt();
+            case ASSET_VALUE -> row.getPriceMinor() * row.getStock();
+        };
+    }
+
+    Object parseValue(String text) {
+        return switch (this) {
+            case NEWEST, UPDATED -> LocalDateTime.parse(text);
+            case NAME -> text;
+            case PRICE, ASSET_VALUE -> Long.valueOf(text);
+            case STOCK -> Integer.valueOf(text);
+        };
+    }
+
+    // Default NEWEST untuk nilai kosong / tidak dikenal
+    public static ItemSort from(String param) {
+        for (ItemSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(param)) {
+                return sort;
+            }
+        }
+        return NEWEST;
+    }
+}
@@ -0,0 +1,28 @@
+package org.delcom.app.modules.inventory;
+
+import org.delcom.app.utils.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Proyeksi read-only untuk halaman daftar produk.
+ * Hanya kolom yang dirender (tanpa description TEXT & updated_at), tidak menjadi managed entity.
+ */
+public interface ItemSummary {
+    UUID getId();
+    String getName();
+    String getCategory();
+    // Harga dalam satuan minor (sen)
+    Long getPriceMinor();
+    Integer getStock();
+    String getImage();
+    LocalDateTime getCreatedAt();
+
+    // Harga dalam rupiah untuk tampilan; dibuat saat dirender saja
+    default BigDecimal getPrice() {
+        Long minor = getPriceMinor();
+        return minor != null ? Money.toMajor(minor) : null;
+    }
+}
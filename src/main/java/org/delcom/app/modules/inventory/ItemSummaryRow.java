@@ -0,0 +1,40 @@
+package org.delcom.app.modules.inventory;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Baris daftar produk hasil query filter dinamis (JPQL constructor expression).
+ * updatedAt ikut dibaca karena bisa menjadi kunci urutan / cursor.
+ */
+public class ItemSummaryRow implements ItemSummary {
+    private final UUID id;
+    private final String name;
+    private final String category;
+    private final Long priceMinor;
+    private final Integer stock;
+    private final String image;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public ItemSummaryRow(UUID id, String name, String category, Long priceMinor, Integer stock, String image,
+            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.priceMinor = priceMinor;
+        this.stock = stock;
+        this.image = image;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    @Override public UUID getId() { return id; }
+    @Override public String getName() { return name; }
+    @Override public String getCategory() { return category; }
+    @Override public Long getPriceMinor() { return priceMinor; }
+    @Override public Integer getStock() { return stock; }
+    @Override public String getImage() { return image; }
+    @Override public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,231 @@
+package org.delcom.app.modules.inventory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Tool migrasi online: ubah tabel products biasa menjadi tabel yang dipartisi hash berdasarkan user_id.
+ *
+ * Dijalankan sebagai proses terpisah sementara instance aplikasi lain tetap melayani request:
+ * java -jar app.jar --spring.main.web-application-type=none --app.inventory.partitioning.migrate=true
+ * (opsional --app.inventory.partitioning.partitions=16 --app.inventory.partitioning.batch-size=5000)
+ *
+ * Tahapan:
+ * 1. prepare (satu transaksi): buat products_partitioned + partisi, primary key (user_id, id), FK dan
+ *    salinan semua index, lalu pasang trigger di products yang mencerminkan INSERT/UPDATE/DELETE.
+ *    DELETE juga dicatat di products_repartition_deletes.
+ * 2. backfill: salin baris lama per batch id (transaksi pendek, ON CONFLICT DO NOTHING karena
+ *    baris yang disentuh trigger sudah lebih baru).
+ * 3. swap (satu transaksi, lock singkat): hapus baris yang sempat tersalin ulang setelah dihapus,
+ *    lepas trigger, tukar nama tabel dan index. Tabel lama disimpan sebagai products_unpartitioned.
+ *
+ * Tool bisa dijalankan ulang: jika products_partitioned sudah ada, prepare dilewati dan backfill
+ * melanjutkan (baris yang sudah ada dilewati).
+ */
+@Component
+@ConditionalOnProperty(name = "app.inventory.partitioning.migrate", havingValue = "true")
+public class ProductPartitionMigrator implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ProductPartitionMigrator.class);
+
+    static final String TABLE = "products";
+    static final String NEW_TABLE = "products_partitioned";
+    static final String OLD_TABLE = "products_unpartitioned";
+    static final String DELETE_LOG = "products_repartition_deletes";
+    static final String SYNC_FUNCTION = "products_repartition_sync";
+    // Akhiran sementara untuk index di tabel baru (nama index harus unik per schema)
+    static final String NEW_INDEX_SUFFIX = "__p";
+    static final String OLD_INDEX_SUFFIX = "__u";
+
+    static final String SQL_IS_PARTITIONED = "SELECT count(*) FROM pg_partitioned_table pt "
+            + "JOIN pg_class c ON c.oid = pt.partrelid "
+            + "WHERE c.relname = 'products' AND c.relnamespace = current_schema()::regnamespace";
+    static final String SQL_TABLE_EXISTS = "SELECT count(*) FROM information_schema.tables "
+            + "WHERE table_schema = current_schema() AND table_name = ?";
+    // Kolom generated (search_vector) dihitung ulang oleh tabel baru, tidak disalin
+    static final String SQL_COLUMNS = "SELECT column_name FROM information_schema.columns "
+            + "WHERE table_schema = current_schema() AND table_name = 'products' AND is_generated = 'NEVER' "
+            + "ORDER BY ordinal_position";
+    static final String SQL_FOREIGN_KEYS = "SELECT conname AS name, pg_get_constraintdef(oid) AS definition "
+            + "FROM pg_constraint WHERE conrelid = 'products'::regclass AND contype = 'f'";
+    // Index milik constraint (primary key / unique) tidak disalin: di tabel partisi harus memuat user_id
+    static final String SQL_INDEXES = "SELECT i.indexname AS name, i.indexdef AS definition FROM pg_indexes i "
+            + "WHERE i.schemaname = current_schema() AND i.tablename = ? AND NOT EXISTS ("
+            + "SELECT 1 FROM pg_constraint c WHERE c.conindid = (quote_ident(i.schemaname) || '.' "
+            + "|| quote_ident(i.indexname))::regclass)";
+    static final String SQL_NEXT_BATCH_END = "SELECT max(id) FROM (SELECT id FROM products WHERE id > ? "
+            + "ORDER BY id LIMIT ?) batch";
+
+    private static final Pattern INDEX_DEFINITION =
+            Pattern.compile("CREATE (UNIQUE )?INDEX (\\S+) ON (?:ONLY )?(\\S+) (.*)", Pattern.DOTALL);
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConfigurableApplicationContext context;
+    private final int partitions;
+    private final int batchSize;
+
+    public ProductPartitionMigrator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ConfigurableApplicationContext context,
+            @Value("${app.inventory.partitioning.partitions:16}") int partitions,
+            @Value("${app.inventory.partitioning.batch-size:5000}") int batchSize) {
+        if (partitions < 2 || partitions > 1024) {
+            throw new IllegalArgumentException("Jumlah partisi harus 2..1024: " + partitions);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.context = context;
+        this.partitions = partitions;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            migrate();
+        } catch (RuntimeException e) {
+            logger.error("Migrasi partisi products gagal; jalankan ulang untuk melanjutkan", e);
+            exitCode = 1;
+        }
+        // Tool sekali jalan: hentikan proses setelah selesai
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    public void migrate() {
+        if (orZero(jdbcTemplate.queryForObject(SQL_IS_PARTITIONED, Long.class)) > 0) {
+            logger.info("Tabel products sudah dipartisi, tidak ada yang dimigrasikan");
+            return;
+        }
+        List<String> columns = jdbcTemplate.queryForList(SQL_COLUMNS, String.class);
+        if (orZero(jdbcTemplate.queryForObject(SQL_TABLE_EXISTS, Long.class, NEW_TABLE)) == 0) {
+            transactionTemplate.executeWithoutResult(status -> prepare(columns));
+            logger.info("{} dibuat dengan {} partisi, trigger sinkronisasi aktif", NEW_TABLE, partitions);
+        } else {
+            logger.info("{} sudah ada, melanjutkan backfill", NEW_TABLE);
+        }
+        long copied = backfill(columns);
+        logger.info("Backfill selesai, {} baris disalin", copied);
+        transactionTemplate.executeWithoutResult(status -> swap());
+        logger.info("products sekarang dipartisi hash (user_id); tabel lama disimpan sebagai {}", OLD_TABLE);
+    }
+
+    void prepare(List<String> columns) {
+        jdbcTemplate.execute("CREATE TABLE " + NEW_TABLE + " (LIKE " + TABLE
+                + " INCLUDING DEFAULTS INCLUDING GENERATED INCLUDING CONSTRAINTS) PARTITION BY HASH (user_id)");
+        jdbcTemplate.execute("ALTER TABLE " + NEW_TABLE + " ADD PRIMARY KEY (user_id, id)");
+        for (int i = 0; i < partitions; i++) {
+            jdbcTemplate.execute("CREATE TABLE " + TABLE + "_p" + i + " PARTITION OF " + NEW_TABLE
+                    + " FOR VALUES WITH (MODULUS " + partitions + ", REMAINDER " + i + ")");
+        }
+        // Nama FK boleh sama (unik per tabel), jadi Hibernate tetap mengenalinya setelah swap
+        for (Map<String, Object> fk : jdbcTemplate.queryForList(SQL_FOREIGN_KEYS)) {
+            jdbcTemplate.execute("ALTER TABLE " + NEW_TABLE + " ADD CONSTRAINT " + fk.get("name") + " "
+                    + fk.get("definition"));
+        }
+        for (Map<String, Object> index : jdbcTemplate.queryForList(SQL_INDEXES, TABLE)) {
+            String copy = copyIndex((String) index.get("definition"));
+            if (copy != null) {
+                jdbcTemplate.execute(copy);
+            }
+        }
+        // Akses yang hanya tahu id (flush HotStockEngine) tidak bisa memakai primary key (user_id, id)
+        jdbcTemplate.execute("CREATE INDEX idx_products_id ON " + NEW_TABLE + " (id)");
+        jdbcTemplate.execute("CREATE TABLE " + DELETE_LOG + " (user_id uuid NOT NULL, id uuid NOT NULL)");
+        jdbcTemplate.execute(syncFunction(columns));
+        jdbcTemplate.execute("CREATE TRIGGER " + SYNC_FUNCTION + " AFTER INSERT OR UPDATE OR DELETE ON " + TABLE
+                + " FOR EACH ROW EXECUTE FUNCTION " + SYNC_FUNCTION + "()");
+    }
+
+    long backfill(List<String> columns) {
+        String columnList = String.join(", ", columns);
+        String copySql = "INSERT INTO " + NEW_TABLE + " (" + columnList + ") SELECT " + columnList + " FROM "
+                + TABLE + " WHERE id > ? AND id <= ? ON CONFLICT (user_id, id) DO NOTHING";
+        UUID after = MIN_UUID;
+        long copied = 0;
+        while (true) {
+            UUID until = jdbcTemplate.queryForObject(SQL_NEXT_BATCH_END, UUID.class, after, batchSize);
+            if (until == null) {
+                return copied;
+            }
+            copied += jdbcTemplate.update(copySql, after, until);
+            after = until;
+            logger.debug("Backfill sampai id {} ({} baris)", until, copied);
+        }
+    }
+
+    void swap() {
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+        // Baris yang dihapus saat backfill bisa tersalin ulang dari snapshot lama
+        jdbcTemplate.execute("DELETE FROM " + NEW_TABLE + " p USING " + DELETE_LOG + " d "
+                + "WHERE p.user_id = d.user_id AND p.id = d.id");
+        jdbcTemplate.execute("DROP TRIGGER " + SYNC_FUNCTION + " ON " + TABLE);
+        jdbcTemplate.execute("DROP FUNCTION " + SYNC_FUNCTION + "()");
+        jdbcTemplate.execute("DROP TABLE " + DELETE_LOG);
+
+        List<Map<String, Object>> oldIndexes = jdbcTemplate.queryForList(SQL_INDEXES, TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + OLD_TABLE);
+        for (Map<String, Object> index : oldIndexes) {
+            String name = (String) index.get("name");
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS " + name + " RENAME TO " + name + OLD_INDEX_SUFFIX);
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS " + name + NEW_INDEX_SUFFIX + " RENAME TO " + name);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + NEW_TABLE + " RENAME TO " + TABLE);
+    }
+
+    // CREATE INDEX x ON public.products USING ... -> CREATE INDEX x__p ON products_partitioned USING ...
+    static String copyIndex(String definition) {
+        Matcher matcher = INDEX_DEFINITION.matcher(definition);
+        if (!matcher.matches()) {
+            logger.warn("Index tidak dikenali, tidak disalin: {}", definition);
+            return null;
+        }
+        if (matcher.group(1) != null) {
+            logger.warn("Index unik tanpa user_id tidak bisa dibuat di tabel partisi, dilewati: {}", definition);
+            return null;
+        }
+        return "CREATE INDEX " + matcher.group(2) + NEW_INDEX_SUFFIX + " ON " + NEW_TABLE + " " + matcher.group(4);
+    }
+
+    static String syncFunction(List<String> columns) {
+        String columnList = String.join(", ", columns);
+        String values = columns.stream().map(c -> "NEW." + c).collect(Collectors.joining(", "));
+        String updates = columns.stream()
+                .filter(c -> !c.equals("id") && !c.equals("user_id"))
+                .map(c -> c + " = EXCLUDED." + c)
+                .collect(Collectors.joining(", "));
+        return "CREATE OR REPLACE FUNCTION " + SYNC_FUNCTION + "() RETURNS trigger LANGUAGE plpgsql AS $$\n"
+                + "BEGIN\n"
+                + "  IF TG_OP = 'DELETE' THEN\n"
+                + "    DELETE FROM " + NEW_TABLE + " WHERE user_id = OLD.user_id AND id = OLD.id;\n"
+                + "    INSERT INTO " + DELETE_LOG + " (user_id, id) VALUES (OLD.user_id, OLD.id);\n"
+                + "    RETURN OLD;\n"
+                + "  END IF;\n"
+                + "  INSERT INTO " + NEW_TABLE + " (" + columnList + ") VALUES (" + values + ")\n"
+                + "    ON CONFLICT (user_id, id) DO UPDATE SET " + updates + ";\n"
+                + "  RETURN NEW;\n"
+                + "END $$";
+    }
+
+    private static long orZero(Long count) {
+        return count == null ? 0 : count;
+    }
+}
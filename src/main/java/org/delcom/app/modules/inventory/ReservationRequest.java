@@ -0,0 +1,23 @@
+package org.delcom.app.modules.inventory;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class ReservationRequest {
+    @NotNull(message = "Jumlah wajib diisi")
+    @Min(value = 1)
+    private Integer quantity;
+
+    // Lama penahanan dalam detik (maksimal 7 hari)
+    @NotNull(message = "TTL wajib diisi")
+    @Min(value = 1)
+    @Max(value = 604800)
+    private Long ttlSeconds;
+
+    // Getters Setters
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+    public Long getTtlSeconds() { return ttlSeconds; }
+    public void setTtlSeconds(Long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+}
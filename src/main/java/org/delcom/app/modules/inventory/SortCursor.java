@@ -0,0 +1,53 @@
+package org.delcom.app.modules.inventory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posisi keyset untuk daftar produk yang difilter / diurutkan: (kunci urutan, id).
+ * Di-encode sebagai Base64 URL-safe dari "sort|id|nilai"; nilai di akhir karena nama bisa berisi '|'.
+ */
+public class SortCursor {
+    private final ItemSort sort;
+    private final Object value;
+    private final UUID id;
+
+    public SortCursor(ItemSort sort, Object value, UUID id) {
+        this.sort = sort;
+        this.value = value;
+        this.id = id;
+    }
+
+    static SortCursor of(ItemSort sort, ItemSummaryRow row) {
+        return new SortCursor(sort, sort.valueOf(row), row.getId());
+    }
+
+    public String encode() {
+        String raw = sort.getParam() + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null jika kosong, rusak, atau dibuat untuk urutan lain
+     */
+    public static SortCursor decode(String encoded, ItemSort expected) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !expected.getParam().equals(parts[0])) {
+                return null;
+            }
+            return new SortCursor(expected, expected.parseValue(parts[2]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public ItemSort getSort() { return sort; }
+    public Object getValue() { return value; }
+    public UUID getId() { return id; }
+}
@@ -0,0 +1,17 @@
+package org.delcom.app.modules.inventory;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class StockAdjustRequest {
+    // Positif = stok masuk, negatif = stok keluar (maksimal 1 juta unit per permintaan)
+    @NotNull(message = "Delta stok wajib diisi")
+    @Min(value = -1000000)
+    @Max(value = 1000000)
+    private Integer delta;
+
+    // Getters Setters
+    public Integer getDelta() { return delta; }
+    public void setDelta(Integer delta) { this.delta = delta; }
+}
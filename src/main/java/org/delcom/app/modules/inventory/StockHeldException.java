@@ -0,0 +1,16 @@
+package org.delcom.app.modules.inventory;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Stok baru dari form lebih kecil daripada jumlah yang sedang ditahan reservasi aktif.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class StockHeldException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public StockHeldException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,41 @@
+package org.delcom.app.modules.inventory;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jumlah stok yang sedang ditahan reservasi per produk. Aturan yang dijaga semua jalur stok
+ * (reservasi, adjustStock di database maupun di hot engine, dan form edit):
+ * stok tersedia = stok terkini - penahanan, dan tidak boleh negatif.
+ *
+ * Tidak ada lock yang membentang sampai database. Setiap sisi menulis dulu lalu membaca sisi lain:
+ * pengurangan stok mengubah stok lalu membaca penahanan, reservasi menambah penahanan lalu membaca
+ * stok terkini (SELECT ... FOR UPDATE menunggu perubahan yang belum commit, counter hot dibaca di
+ * bawah lock-nya). Dari dua operasi yang bersamaan paling tidak satu melihat tulisan yang lain dan
+ * mundur, jadi stok yang ditahan tidak pernah ikut terjual.
+ */
+@Component
+public class StockHolds {
+    private final Map<UUID, Long> held = new ConcurrentHashMap<>();
+
+    public long held(UUID itemId) {
+        return held.getOrDefault(itemId, 0L);
+    }
+
+    /**
+     * @return total penahanan produk setelah quantity ditambahkan
+     */
+    long add(UUID itemId, int quantity) {
+        return held.merge(itemId, (long) quantity, Long::sum);
+    }
+
+    void release(UUID itemId, int quantity) {
+        held.computeIfPresent(itemId, (key, current) -> {
+            long remaining = current - quantity;
+            return remaining > 0 ? remaining : null;
+        });
+    }
+}
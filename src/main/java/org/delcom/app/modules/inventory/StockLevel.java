@@ -0,0 +1,9 @@
+package org.delcom.app.modules.inventory;
+
+/**
+ * Proyeksi stok & harga satu produk, dibaca ulang setelah penyesuaian stok di transaksi yang sama.
+ */
+public interface StockLevel {
+    Integer getStock();
+    Long getPriceMinor();
+}
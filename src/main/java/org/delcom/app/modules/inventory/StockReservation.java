@@ -0,0 +1,35 @@
+package org.delcom.app.modules.inventory;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Penahanan stok sementara (keranjang / penawaran). Hanya hidup di memori,
+ * tidak ada baris database per reservasi.
+ */
+@JsonPropertyOrder({ "id", "itemId", "quantity", "expiresAt" })
+public class StockReservation {
+    private final UUID id;
+    private final UUID itemId;
+    private final UUID userId;
+    private final int quantity;
+    private final Instant expiresAt;
+
+    public StockReservation(UUID id, UUID itemId, UUID userId, int quantity, Instant expiresAt) {
+        this.id = id;
+        this.itemId = itemId;
+        this.userId = userId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getId() { return id; }
+    public UUID getItemId() { return itemId; }
+    @JsonIgnore
+    public UUID getUserId() { return userId; }
+    public int getQuantity() { return quantity; }
+    public Instant getExpiresAt() { return expiresAt; }
+}
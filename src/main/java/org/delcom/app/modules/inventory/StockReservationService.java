@@ -0,0 +1,183 @@
+package org.delcom.app.modules.inventory;
+
+import org.delcom.app.utils.TimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reservasi stok berbatas waktu di atas ItemService.
+ * Stok tersedia = stok terkini - total penahanan aktif (StockHolds, dijaga juga oleh setiap
+ * jalur perubahan stok di ItemService dan HotStockEngine). Kedaluwarsa ditangani TimingWheel
+ * (O(1) per reservasi) sehingga tidak ada baris per reservasi maupun scan tabel berkala.
+ * Reservasi hanya ada di memori; jika aplikasi restart, semua penahanan dilepas.
+ */
+@Service
+public class StockReservationService {
+    private static final int WHEEL_SIZE = 512;
+
+    private final ItemService productService;
+    private final StockHolds stockHolds;
+    private final TimingWheel<UUID> wheel;
+    private final Map<UUID, Entry> reservations = new ConcurrentHashMap<>();
+
+    public StockReservationService(ItemService productService, StockHolds stockHolds,
+            @Value("${app.inventory.reservations.tick-ms:100}") long tickMs) {
+        this.productService = productService;
+        this.stockHolds = stockHolds;
+        this.wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    /**
+     * Tahan stok sejumlah quantity selama ttl.
+     *
+     * @return reservasi baru, atau null jika produk tidak ditemukan / bukan milik user
+     * @throws IllegalStateException jika stok tersedia tidak mencukupi
+     */
+    public StockReservation reserve(UUID itemId, UUID userId, int quantity, Duration ttl) {
+        // Cek pemilik sebelum menahan: penahanan sementara atas produk user lain ikut menolak penyesuaian stoknya
+        if (!productService.isOwnedBy(itemId, userId)) {
+            return null;
+        }
+        // Penahanan dicatat dulu baru stok terkini dibaca; pengurangan stok melakukan kebalikannya
+        long heldAfter = stockHolds.add(itemId, quantity);
+        Long stock;
+        try {
+            stock = productService.getCurrentStock(itemId, userId);
+        } catch (RuntimeException e) {
+            stockHolds.release(itemId, quantity);
+            throw e;
+        }
+        if (stock == null) {
+            stockHolds.release(itemId, quantity);
+            return null;
+        }
+        if (stock < heldAfter) {
+            stockHolds.release(itemId, quantity);
+            throw new IllegalStateException("Stok tersedia tidak mencukupi");
+        }
+
+        Instant expiresAt = Instant.now().plus(ttl);
+        StockReservation reservation = new StockReservation(UUID.randomUUID(), itemId, userId, quantity, expiresAt);
+        Entry entry = new Entry(reservation);
+        reservations.put(reservation.getId(), entry);
+
+        List<UUID> dueNow = new ArrayList<>();
+        synchronized (wheel) {
+            entry.timeout = wheel.schedule(reservation.getId(), expiresAt.toEpochMilli(), dueNow::add);
+        }
+        dueNow.forEach(this::expire);
+        return reservation;
+    }
+
+    /**
+     * Konfirmasi reservasi: stok benar-benar dikurangi lalu penahanan dilepas.
+     *
+     * @return false jika reservasi tidak ada / sudah kedaluwarsa / stok tidak bisa dikurangi
+     */
+    public boolean confirm(UUID reservationId, UUID userId) {
+        Entry entry = take(reservationId, userId);
+        if (entry == null) {
+            return false;
+        }
+        StockReservation reservation = entry.reservation;
+        try {
+            // Kurangi stok dulu (memakai penahanan sendiri) baru lepas penahanan, agar tidak ada celah overbooking
+            return productService.adjustStock(reservation.getItemId(), userId, -reservation.getQuantity(),
+                    reservation.getQuantity());
+        } finally {
+            releaseHold(reservation);
+        }
+    }
+
+    public boolean release(UUID reservationId, UUID userId) {
+        Entry entry = take(reservationId, userId);
+        if (entry == null) {
+            return false;
+        }
+        releaseHold(entry.reservation);
+        return true;
+    }
+
+    public StockReservation getReservation(UUID reservationId, UUID userId) {
+        Entry entry = reservations.get(reservationId);
+        if (entry == null || !entry.reservation.getUserId().equals(userId)) {
+            return null;
+        }
+        return entry.reservation;
+    }
+
+    public long getHeldQuantity(UUID itemId) {
+        return stockHolds.held(itemId);
+    }
+
+    // Stok terkini dikurangi penahanan aktif, atau null jika produk tidak ditemukan
+    public Long getAvailableStock(UUID itemId, UUID userId) {
+        Long stock = productService.getCurrentStock(itemId, userId);
+        if (stock == null) {
+            return null;
+        }
+        return Math.max(0, stock - getHeldQuantity(itemId));
+    }
+
+    public int getActiveCount() {
+        return reservations.size();
+    }
+
+    @Scheduled(fixedRateString = "${app.inventory.reservations.tick-ms:100}")
+    public void tick() {
+        expireDue(System.currentTimeMillis());
+    }
+
+    void expireDue(long nowMs) {
+        List<UUID> expired = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(nowMs, expired::add);
+        }
+        expired.forEach(this::expire);
+    }
+
+    private void expire(UUID reservationId) {
+        Entry entry = reservations.remove(reservationId);
+        if (entry != null) {
+            releaseHold(entry.reservation);
+        }
+    }
+
+    private Entry take(UUID reservationId, UUID userId) {
+        Entry entry = reservations.get(reservationId);
+        if (entry == null || !entry.reservation.getUserId().equals(userId)) {
+            return null;
+        }
+        if (!reservations.remove(reservationId, entry)) {
+            return null; // Kalah balapan dengan expiry / request lain
+        }
+        synchronized (wheel) {
+            if (entry.timeout != null) {
+                entry.timeout.cancel();
+            }
+        }
+        return entry;
+    }
+
+    private void releaseHold(StockReservation reservation) {
+        stockHolds.release(reservation.getItemId(), reservation.getQuantity());
+    }
+
+    private static class Entry {
+        private final StockReservation reservation;
+        private TimingWheel.Timeout<UUID> timeout;
+
+        Entry(StockReservation reservation) {
+            this.reservation = reservation;
+        }
+    }
+}
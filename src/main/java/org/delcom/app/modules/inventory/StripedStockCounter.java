@@ -0,0 +1,94 @@
+package org.delcom.app.modules.inventory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter stok yang dipecah ke beberapa stripe (mirip LongAdder) tetapi tetap menjaga
+ * batas bawah nol: setiap stripe tidak pernah negatif, sehingga total juga tidak pernah negatif.
+ * Jalur normal bebas lock; lock per-counter hanya dipakai saat stok harus dikumpulkan ulang
+ * dari beberapa stripe.
+ */
+class StripedStockCounter {
+    // Jarak antar stripe di array (8 x long = 64 byte) untuk menghindari false sharing
+    private static final int PAD = 8;
+
+    private final int stripes;
+    private final AtomicLongArray cells;
+
+    StripedStockCounter(long initialStock) {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        this.stripes = Math.min(16, Integer.highestOneBit(Math.max(1, cpus)));
+        this.cells = new AtomicLongArray(stripes * PAD);
+        // Stok awal dibagi rata agar pengurangan pertama tidak semuanya jatuh ke jalur drain (lock)
+        long stock = Math.max(0, initialStock);
+        for (int i = 0; i < stripes; i++) {
+            cells.set(i * PAD, stock / stripes + (i < stock % stripes ? 1 : 0));
+        }
+    }
+
+    // Di bawah lock yang sama dengan drain: stok yang sedang dipindah antar stripe tidak terhitung dua kali
+    synchronized long get() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.get(i * PAD);
+        }
+        return total;
+    }
+
+    /**
+     * @return false jika delta negatif dan stok tidak mencukupi
+     */
+    boolean tryAdd(long delta) {
+        int home = homeStripe();
+        if (delta >= 0) {
+            cells.addAndGet(home * PAD, delta);
+            return true;
+        }
+        long need = -delta;
+        for (int i = 0; i < stripes; i++) {
+            if (tryTake((home + i) & (stripes - 1), need)) {
+                return true;
+            }
+        }
+        // Tidak ada satu stripe pun yang cukup: kumpulkan semua ke stripe home lalu coba lagi
+        synchronized (this) {
+            long drained = 0;
+            for (int i = 0; i < stripes; i++) {
+                if (i != home) {
+                    drained += cells.getAndSet(i * PAD, 0);
+                }
+            }
+            cells.addAndGet(home * PAD, drained);
+            return tryTake(home, need);
+        }
+    }
+
+    /**
+     * Kembalikan stok yang sebelumnya diambil tryAdd (membatalkan pengurangan). Hanya menerima
+     * jumlah positif, sehingga tidak ada stripe yang bisa menjadi negatif.
+     */
+    void release(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("release hanya untuk mengembalikan stok: " + amount);
+        }
+        cells.addAndGet(homeStripe() * PAD, amount);
+    }
+
+    private boolean tryTake(int stripe, long need) {
+        int index = stripe * PAD;
+        while (true) {
+            long current = cells.get(index);
+            if (current < need) {
+                return false;
+            }
+            if (cells.compareAndSet(index, current, current - need)) {
+                return true;
+            }
+        }
+    }
+
+    private int homeStripe() {
+        return ThreadLocalRandom.current().nextInt(stripes);
+    }
+}
@@ -0,0 +1,332 @@
+package org.delcom.app.modules.inventory;
+
+import org.delcom.app.configs.ShardDataSources;
+import org.delcom.app.configs.ShardDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Tool rebalancing: pindahkan data inventory satu tenant (products + categories) ke shard lain
+ * sementara instance aplikasi tetap melayani tenant tersebut.
+ *
+ * java -jar app.jar --spring.main.web-application-type=none --app.sharding.enabled=true
+ *   --app.sharding.move.enabled=true --app.sharding.move.user-id=... --app.sharding.move.target=shard-b
+ *
+ * Tahapan (direktori tenant_shards menjadi penanda untuk semua instance):
+ * 1. MOVING: salin kategori (id dipetakan ulang, id kategori hanya unik per database) lalu produk
+ *    per batch id. Baca & tulis tetap di shard lama.
+ * 2. catch-up: salin ulang produk yang updated_at-nya berubah sejak pass sebelumnya, sampai sisa kecil.
+ * 3. FROZEN: tunggu cache direktori semua instance kedaluwarsa (tulis ditolak 503, baca tetap jalan),
+ *    salin perubahan terakhir, hapus di shard baru produk yang sudah dihapus di shard lama, cocokkan jumlah.
+ * 4. switch ke shard baru (ACTIVE), tunggu lagi, lalu hapus data tenant di shard lama.
+ *
+ * Jika gagal sebelum switch, tenant dikembalikan ke ACTIVE di shard lama; menjalankan ulang aman
+ * karena penyalinan memakai upsert.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sharding.move.enabled", havingValue = "true")
+public class TenantShardMover implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(TenantShardMover.class);
+
+    // Toleransi selisih jam antar instance aplikasi yang mengisi updated_at
+    static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+    static final int MAX_CATCH_UP_PASSES = 5;
+
+    static final String SQL_CATEGORIES = "SELECT id, name FROM categories WHERE user_id = ?";
+    static final String SQL_INSERT_CATEGORY = "INSERT INTO categories (user_id, name) VALUES (?, ?) "
+            + "ON CONFLICT (user_id, name) DO NOTHING";
+    static final String SQL_IDS = "SELECT id FROM products WHERE user_id = ? AND id > ? ORDER BY id LIMIT ?";
+    static final String SQL_COUNT = "SELECT count(*) FROM products WHERE user_id = ?";
+    static final String SQL_DELETE_PRODUCT = "DELETE FROM products WHERE user_id = ? AND id = ?";
+    static final String SQL_DELETE_PRODUCTS_BATCH = "DELETE FROM products WHERE user_id = ? AND id IN "
+            + "(SELECT id FROM products WHERE user_id = ? LIMIT ?)";
+    static final String SQL_DELETE_CATEGORIES = "DELETE FROM categories WHERE user_id = ?";
+
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final ShardDirectory directory;
+    private final ShardDataSources shards;
+    private final ConfigurableApplicationContext context;
+    private final String userId;
+    private final String target;
+    private final int batchSize;
+
+    public TenantShardMover(ShardDirectory directory, ShardDataSources shards, ConfigurableApplicationContext context,
+            @Value("${app.sharding.move.user-id}") String userId,
+            @Value("${app.sharding.move.target}") String target,
+            @Value("${app.sharding.move.batch-size:5000}") int batchSize) {
+        this.directory = directory;
+        this.shards = shards;
+        this.context = context;
+        this.userId = userId;
+        this.target = target;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            move(UUID.fromString(userId), target);
+        } catch (RuntimeException e) {
+            logger.error("Pemindahan tenant {} ke shard {} gagal", userId, target, e);
+            exitCode = 1;
+        }
+        // Tool sekali jalan: hentikan proses setelah selesai
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    public void move(UUID tenant, String targetShard) {
+        if (!shards.contains(targetShard)) {
+            throw new IllegalArgumentException("Shard tujuan tidak dikenal: " + targetShard);
+        }
+        directory.resolve(tenant, false); // Pastikan tenant sudah tercatat di direktori
+        ShardDirectory.Placement placement = directory.find(tenant);
+        String source = placement.getShard();
+        if (source.equals(targetShard)) {
+            logger.info("Tenant {} sudah berada di shard {}", tenant, targetShard);
+            return;
+        }
+        if (placement.getState() == ShardDirectory.State.ACTIVE) {
+            directory.setState(tenant, source, ShardDirectory.State.MOVING, targetShard);
+        } else if (!targetShard.equals(placement.getMovingTo())) {
+            throw new IllegalStateException("Tenant sedang dipindahkan ke shard " + placement.getMovingTo());
+        }
+
+        Copier copier = new Copier(tenant, new JdbcTemplate(shards.get(source)), new JdbcTemplate(shards.get(targetShard)));
+        boolean switched = false;
+        try {
+            LocalDateTime since = copier.copyAll();
+            for (int pass = 0; pass < MAX_CATCH_UP_PASSES; pass++) {
+                LocalDateTime passStart = LocalDateTime.now();
+                int changed = copier.copyChangedSince(since);
+                since = passStart;
+                if (changed < batchSize) {
+                    break;
+                }
+            }
+
+            directory.setState(tenant, source, ShardDirectory.State.FROZEN, targetShard);
+            logger.info("Tenant {} dibekukan, menunggu cache direktori instance lain", tenant);
+            settle();
+            copier.copyChangedSince(since);
+            int removed = copier.removeDeleted();
+            long sourceCount = copier.count(copier.source);
+            long targetCount = copier.count(copier.target);
+            if (sourceCount != targetCount) {
+                throw new IllegalStateException("Jumlah produk tidak cocok: " + sourceCount + " vs " + targetCount);
+            }
+            if (!directory.switchShard(tenant, source, targetShard)) {
+                throw new IllegalStateException("Baris direktori berubah selama pemindahan");
+            }
+            switched = true;
+            logger.info("Tenant {} sekarang di shard {} ({} produk, {} penghapusan disusulkan)",
+                    tenant, targetShard, targetCount, removed);
+        } finally {
+            if (!switched) {
+                directory.setState(tenant, source, ShardDirectory.State.ACTIVE, null);
+            }
+        }
+
+        // Instance yang masih memegang cache lama masih membaca shard lama sampai TTL habis
+        settle();
+        copier.deleteSource();
+        logger.info("Data tenant {} di shard {} dihapus", tenant, source);
+    }
+
+    void settle() {
+        try {
+            // Dua kali TTL: cache kedaluwarsa + transaksi yang sempat mulai sebelum state berubah
+            Thread.sleep(directory.getTtlMs() * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pemindahan dihentikan", e);
+        }
+    }
+
+    static String upsertSql(List<String> columns, boolean partitioned) {
+        String columnList = String.join(", ", columns);
+        String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+        String updates = columns.stream()
+                .filter(c -> !c.equals("id") && !c.equals("user_id"))
+                .map(c -> c + " = EXCLUDED." + c)
+                .collect(Collectors.joining(", "));
+        // Tabel yang dipartisi (ProductPartitionMigrator) ber-primary key (user_id, id)
+        String conflict = partitioned ? "(user_id, id)" : "(id)";
+        return "INSERT INTO products (" + columnList + ") VALUES (" + placeholders + ") ON CONFLICT " + conflict
+                + " DO UPDATE SET " + updates;
+    }
+
+    static Object[] toArgs(Map<String, Object> row, List<String> columns, Map<Integer, Integer> categoryIds) {
+        Object[] args = new Object[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i);
+            Object value = row.get(column);
+            if (column.equals("category_id")) {
+                Integer mapped = categoryIds.get(((Number) value).intValue());
+                if (mapped == null) {
+                    throw new IllegalStateException("Kategori " + value + " belum tersalin");
+                }
+                value = mapped;
+            }
+            args[i] = value;
+        }
+        return args;
+    }
+
+    /**
+     * Menyalin data satu tenant dari source ke target.
+     */
+    private class Copier {
+        private final UUID tenant;
+        private final JdbcTemplate source;
+        private final JdbcTemplate target;
+        private final TransactionTemplate targetTransaction;
+        private final List<String> columns;
+        private final String upsert;
+        private Map<Integer, Integer> categoryIds = Map.of();
+
+        Copier(UUID tenant, JdbcTemplate source, JdbcTemplate target) {
+            this.tenant = tenant;
+            this.source = source;
+            this.target = target;
+            this.targetTransaction = new TransactionTemplate(new DataSourceTransactionManager(target.getDataSource()));
+            this.columns = target.queryForList(ProductPartitionMigrator.SQL_COLUMNS, String.class);
+            Long partitioned = target.queryForObject(ProductPartitionMigrator.SQL_IS_PARTITIONED, Long.class);
+            this.upsert = upsertSql(columns, partitioned != null && partitioned > 0);
+        }
+
+        LocalDateTime copyAll() {
+            LocalDateTime start = LocalDateTime.now();
+            copyCategories();
+            String select = "SELECT " + String.join(", ", columns) + " FROM products WHERE user_id = ? AND id > ? "
+                    + "ORDER BY id LIMIT ?";
+            UUID after = MIN_UUID;
+            long copied = 0;
+            while (true) {
+                List<Map<String, Object>> rows = source.queryForList(select, tenant, after, batchSize);
+                if (rows.isEmpty()) {
+                    logger.info("Salinan awal selesai, {} produk", copied);
+                    return start;
+                }
+                write(rows);
+                copied += rows.size();
+                after = (UUID) rows.get(rows.size() - 1).get("id");
+            }
+        }
+
+        int copyChangedSince(LocalDateTime since) {
+            copyCategories();
+            String select = "SELECT " + String.join(", ", columns) + " FROM products WHERE user_id = ? "
+                    + "AND updated_at >= ? AND id > ? ORDER BY id LIMIT ?";
+            Timestamp from = Timestamp.valueOf(since.minus(CLOCK_SKEW));
+            UUID after = MIN_UUID;
+            int changed = 0;
+            while (true) {
+                List<Map<String, Object>> rows = source.queryForList(select, tenant, from, after, batchSize);
+                if (rows.isEmpty()) {
+                    logger.info("Catch-up: {} produk berubah sejak {}", changed, since);
+                    return changed;
+                }
+                write(rows);
+                changed += rows.size();
+                after = (UUID) rows.get(rows.size() - 1).get("id");
+            }
+        }
+
+        // Produk yang ada di target tetapi sudah dihapus di source
+        int removeDeleted() {
+            UUID after = MIN_UUID;
+            int removed = 0;
+            while (true) {
+                List<UUID> ids = target.queryForList(SQL_IDS, UUID.class, tenant, after, batchSize);
+                if (ids.isEmpty()) {
+                    return removed;
+                }
+                String in = ids.stream().map(id -> "?").collect(Collectors.joining(", "));
+                List<Object> args = new ArrayList<>(ids.size() + 1);
+                args.add(tenant);
+                args.addAll(ids);
+                Set<UUID> existing = new HashSet<>(source.queryForList(
+                        "SELECT id FROM products WHERE user_id = ? AND id IN (" + in + ")", UUID.class, args.toArray()));
+                List<Object[]> deletes = ids.stream().filter(id -> !existing.contains(id))
+                        .map(id -> new Object[] { tenant, id }).toList();
+                if (!deletes.isEmpty()) {
+                    target.batchUpdate(SQL_DELETE_PRODUCT, deletes);
+                    removed += deletes.size();
+                }
+                after = ids.get(ids.size() - 1);
+            }
+        }
+
+        long count(JdbcTemplate shard) {
+            Long count = shard.queryForObject(SQL_COUNT, Long.class, tenant);
+            return count == null ? 0 : count;
+        }
+
+        void deleteSource() {
+            int deleted;
+            do {
+                deleted = source.update(SQL_DELETE_PRODUCTS_BATCH, tenant, tenant, batchSize);
+            } while (deleted > 0);
+            source.update(SQL_DELETE_CATEGORIES, tenant);
+        }
+
+        // Kategori dicocokkan lewat nama (unik per user); id sumber -> id target
+        private void copyCategories() {
+            Map<Integer, String> sourceNames = new HashMap<>();
+            source.query(SQL_CATEGORIES, rs -> {
+                sourceNames.put(rs.getInt("id"), rs.getString("name"));
+            }, tenant);
+            if (sourceNames.keySet().equals(categoryIds.keySet())) {
+                return;
+            }
+            target.batchUpdate(SQL_INSERT_CATEGORY, sourceNames.values().stream()
+                    .map(name -> new Object[] { tenant, name }).toList());
+            Map<String, Integer> targetIds = new HashMap<>();
+            target.query(SQL_CATEGORIES, rs -> {
+                targetIds.put(rs.getString("name"), rs.getInt("id"));
+            }, tenant);
+            Map<Integer, Integer> mapped = new HashMap<>();
+            sourceNames.forEach((id, name) -> mapped.put(id, targetIds.get(name)));
+            categoryIds = Collections.unmodifiableMap(mapped);
+        }
+
+        private void write(List<Map<String, Object>> rows) {
+            List<Object[]> batch;
+            try {
+                batch = rows.stream().map(row -> toArgs(row, columns, categoryIds)).toList();
+            } catch (IllegalStateException e) {
+                // Kategori baru dibuat di source selama penyalinan
+                copyCategories();
+                batch = rows.stream().map(row -> toArgs(row, columns, categoryIds)).toList();
+            }
+            List<Object[]> args = batch;
+            targetTransaction.executeWithoutResult(status -> target.batchUpdate(upsert, args));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.delcom.app.utils;
+
+import java.util.UUID;
+
+/**
+ * Bloom filter untuk UUID: mightContain false berarti pasti tidak ada, true berarti mungkin ada
+ * (positif palsu sekitar falsePositiveRate saat terisi expectedInsertions elemen). Elemen tidak
+ * bisa dihapus; buat filter baru dari data terkini.
+ *
+ * Kelas ini tidak thread-safe untuk penulisan; gunakan copy() lalu publikasikan salinannya.
+ */
+public class BloomFilter {
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedInsertions harus positif dan falsePositiveRate di (0, 1)");
+        }
+        // m = -n ln p / (ln 2)^2, k = m/n ln 2
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+        this.bits = new long[(bitCount + 63) >>> 6];
+    }
+
+    private BloomFilter(BloomFilter source) {
+        this.bits = source.bits.clone();
+        this.bitCount = source.bitCount;
+        this.hashCount = source.hashCount;
+    }
+
+    public void add(UUID key) {
+        long h1 = hash1(key);
+        long h2 = hash2(key, h1);
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(h1 + i * h2);
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    public boolean mightContain(UUID key) {
+        long h1 = hash1(key);
+        long h2 = hash2(key, h1);
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(h1 + i * h2);
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public BloomFilter copy() {
+        return new BloomFilter(this);
+    }
+
+    public int getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    // UUIDv7 diawali timestamp, jadi kedua bagian dicampur dulu (sama seperti ConsistentHashRing)
+    private static long hash1(UUID key) {
+        return ConsistentHashRing.mix(key.getMostSignificantBits() ^ ConsistentHashRing.mix(key.getLeastSignificantBits()));
+    }
+
+    // Ganjil agar langkah double hashing tidak pernah nol
+    private static long hash2(UUID key, long h1) {
+        return ConsistentHashRing.mix(h1 ^ key.getLeastSignificantBits()) | 1;
+    }
+
+    // Double hashing (Kirsch-Mitzenmacher): hash ke-i = h1 + i*h2
+    private int index(long combined) {
+        return (int) Long.remainderUnsigned(combined, bitCount);
+    }
+}
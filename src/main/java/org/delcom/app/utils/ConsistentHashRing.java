@@ -0,0 +1,85 @@
+package org.delcom.app.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consistent hashing dengan virtual node: setiap node menempati virtualNodes titik di ring 64-bit,
+ * dan sebuah key dimiliki node pada titik pertama searah jarum jam dari hash key. Menambah atau
+ * membuang satu node hanya memindahkan sekitar 1/N key, bukan hampir semuanya seperti hash % N.
+ *
+ * Immutable (aman dipakai bersama antar thread); ring baru dibuat jika daftar node berubah.
+ */
+public class ConsistentHashRing {
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes <= 0) {
+            throw new IllegalArgumentException("Ring butuh minimal satu node dan virtualNodes positif");
+        }
+        List<String> sorted = nodes.stream().distinct().sorted().toList();
+        int size = sorted.size() * virtualNodes;
+        long[][] entries = new long[size][2];
+        int n = 0;
+        for (int node = 0; node < sorted.size(); node++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                entries[n][0] = hash(sorted.get(node) + "#" + v);
+                entries[n][1] = node;
+                n++;
+            }
+        }
+        // Tabrakan hash antar titik diputus berdasarkan nama node (urutan sorted) agar deterministik
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compareUnsigned(a[0], b[0]) : Long.compare(a[1], b[1]));
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = sorted.get((int) entries[i][1]);
+        }
+    }
+
+    public String locate(UUID key) {
+        // UUIDv7 diawali timestamp, jadi kedua bagian dicampur dulu
+        return locate(mix(key.getMostSignificantBits() ^ mix(key.getLeastSignificantBits())));
+    }
+
+    String locate(long hash) {
+        int low = 0;
+        int high = points.length - 1;
+        if (Long.compareUnsigned(hash, points[high]) > 0) {
+            return owners[0]; // Lewat titik terakhir: kembali ke awal ring
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(points[mid], hash) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return owners[low];
+    }
+
+    // FNV-1a 64-bit lalu finalizer murmur3 agar titik tersebar rata
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
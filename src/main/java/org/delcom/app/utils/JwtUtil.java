@@ -14,10 +14,15 @@ public class JwtUtil {
     private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 2; // 2 jam
     private static final SecretKey key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
 
+    // Kunci bawaan: dipakai JwtKeyRing jika app.auth.jwt.keys-file tidak diisi
     public static SecretKey getKey() {
         return key;
     }
 
+    /**
+     * @deprecated gunakan JwtTokenService.generateToken (token dengan kid, mendukung rotasi kunci)
+     */
+    @Deprecated
     public static String generateToken(UUID userId) {
         return Jwts.builder()
                 .subject(userId.toString())
@@ -27,6 +32,10 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * @deprecated gunakan JwtTokenService.verify (satu kali parse, parser dipakai ulang)
+     */
+    @Deprecated
     public static UUID extractUserId(String token) {
         try {
             Claims claims = Jwts.parser()
@@ -46,7 +55,9 @@ public class JwtUtil {
      * 
      * @param token         JWT token
      * @param ignoreExpired jika true maka token expired tetap dianggap valid
+     * @deprecated gunakan JwtTokenService.verify (satu kali parse, parser dipakai ulang)
      */
+    @Deprecated
     public static boolean validateToken(String token, boolean ignoreExpired) {
         try {
             Jwts.parser()
@@ -0,0 +1,89 @@
+package org.delcom.app.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Nilai uang fixed-point: disimpan sebagai long dalam satuan minor (sen, 2 desimal).
+ * Penjumlahan / perkalian harga x stok cukup memakai aritmetika long, tanpa pembulatan
+ * double dan tanpa boxing. BigDecimal hanya dipakai di tepi (form & tampilan).
+ */
+public final class Money {
+    public static final int SCALE = 2;
+    public static final long MINOR_PER_MAJOR = 100;
+
+    private Money() {}
+
+    public static long toMinor(BigDecimal major) {
+        return major.movePointRight(SCALE).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal toMajor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Parse "12500", "12500.5" atau "12500.50" menjadi satuan minor tanpa membuat objek perantara.
+     *
+     * @throws NumberFormatException jika bukan angka desimal biasa, lebih dari 2 desimal, atau overflow
+     */
+    public static long parseMinor(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = length > 0 && text.charAt(0) == '-';
+        if (negative) {
+            i++;
+        }
+        try {
+            long units = 0;
+            int unitDigits = 0;
+            for (; i < length && text.charAt(i) != '.'; i++) {
+                units = Math.addExact(Math.multiplyExact(units, 10), digit(text, i));
+                unitDigits++;
+            }
+            long fraction = 0;
+            int fractionDigits = 0;
+            if (i < length) {
+                for (i++; i < length; i++) {
+                    if (++fractionDigits > SCALE) {
+                        throw new NumberFormatException("Maksimal " + SCALE + " angka desimal: " + text);
+                    }
+                    fraction = fraction * 10 + digit(text, i);
+                }
+            }
+            if (unitDigits == 0 && fractionDigits == 0) {
+                throw new NumberFormatException("Bukan angka: \"" + text + "\"");
+            }
+            for (int k = fractionDigits; k < SCALE; k++) {
+                fraction *= 10;
+            }
+            long minor = Math.addExact(Math.multiplyExact(units, MINOR_PER_MAJOR), fraction);
+            return negative ? -minor : minor;
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Angka terlalu besar: " + text);
+        }
+    }
+
+    // Bentuk polos "12500.50" untuk export CSV / NDJSON (bisa di-import kembali)
+    public static String format(long minor) {
+        long abs = Math.abs(minor);
+        long fraction = abs % MINOR_PER_MAJOR;
+        StringBuilder text = new StringBuilder(24);
+        if (minor < 0) {
+            text.append('-');
+        }
+        text.append(abs / MINOR_PER_MAJOR).append('.');
+        if (fraction < 10) {
+            text.append('0');
+        }
+        return text.append(fraction).toString();
+    }
+
+    private static int digit(CharSequence text, int index) {
+        char c = text.charAt(index);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Bukan angka: \"" + text + "\"");
+        }
+        return c - '0';
+    }
+}
@@ -0,0 +1,158 @@
+package org.delcom.app.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Trie prefix yang ringkas untuk autocomplete. Anak setiap node disimpan dalam array
+ * terurut (pencarian biner), bukan HashMap, sehingga overhead per node kecil.
+ *
+ * Pencocokan tidak peka huruf besar/kecil; saran dikembalikan dalam bentuk aslinya
+ * (bentuk yang pertama kali dimasukkan). Setiap term punya hitungan kemunculan, jadi
+ * remove hanya menghapus term ketika kemunculan terakhirnya dihapus.
+ *
+ * Kelas ini tidak thread-safe; pemanggil harus menyinkronkan akses.
+ */
+public class PrefixTrie {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    public void add(String term) {
+        String key = normalize(term);
+        if (key == null) {
+            return;
+        }
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        if (node.count == 0) {
+            node.term = term.strip();
+            size++;
+        }
+        node.count++;
+    }
+
+    /**
+     * @return true jika satu kemunculan term dihapus
+     */
+    public boolean remove(String term) {
+        String key = normalize(term);
+        if (key == null) {
+            return false;
+        }
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return false;
+            }
+        }
+        Node node = path[key.length()];
+        if (node.count == 0) {
+            return false;
+        }
+        if (--node.count == 0) {
+            node.term = null;
+            size--;
+            // Pangkas node yang tidak lagi menyimpan term maupun anak
+            for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Term yang diawali prefix, terurut leksikografis (term yang lebih pendek lebih dulu).
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        if (limit <= 0) {
+            return result;
+        }
+        String key = prefix == null ? "" : prefix.strip().toLowerCase(Locale.ROOT);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node != null) {
+            collect(node, result, limit);
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static void collect(Node node, List<String> result, int limit) {
+        if (node.count > 0) {
+            result.add(node.term);
+        }
+        for (int i = 0; i < node.childCount && result.size() < limit; i++) {
+            collect(node.children[i], result, limit);
+        }
+    }
+
+    private static String normalize(String term) {
+        if (term == null || term.isBlank()) {
+            return null;
+        }
+        return term.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        private String term;
+        private int count;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (childCount == keys.length) {
+                int capacity = childCount == 0 ? 1 : childCount * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            Node created = new Node();
+            keys[insertAt] = c;
+            children[insertAt] = created;
+            childCount++;
+            return created;
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        boolean isEmpty() {
+            return count == 0 && childCount == 0;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.delcom.app.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (gaya Kafka/Netty) untuk menjadwalkan banyak timeout
+ * dengan biaya O(1) per schedule / cancel / expire, tanpa scan periodik.
+ *
+ * Level pertama punya wheelSize slot dengan lebar tickMs. Timeout yang lebih jauh
+ * disimpan di wheel overflow (lebar slot = interval level di bawahnya) dan diturunkan
+ * (cascade) ke level bawah ketika waktunya mendekat.
+ *
+ * Kelas ini tidak thread-safe; pemanggil harus menyinkronkan akses.
+ */
+public class TimingWheel<T> {
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final List<Bucket<T>> buckets;
+    private long currentTime;
+    private TimingWheel<T> overflow;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMs dan wheelSize harus positif");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.currentTime = startMs - (startMs % tickMs);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new Bucket<>());
+        }
+    }
+
+    /**
+     * Jadwalkan task untuk kedaluwarsa pada expirationMs.
+     * Jika waktunya sudah lewat, task langsung diberikan ke onExpired.
+     */
+    public Timeout<T> schedule(T task, long expirationMs, Consumer<T> onExpired) {
+        Timeout<T> timeout = new Timeout<>(task, expirationMs);
+        if (!add(timeout)) {
+            onExpired.accept(task);
+        }
+        return timeout;
+    }
+
+    /**
+     * Majukan jam sampai nowMs dan berikan semua task yang kedaluwarsa ke onExpired.
+     */
+    public void advance(long nowMs, Consumer<T> onExpired) {
+        while (currentTime + tickMs <= nowMs) {
+            currentTime += tickMs;
+            if (overflow != null && currentTime % overflow.tickMs == 0) {
+                overflow.cascade(currentTime, this, onExpired);
+            }
+            drain(bucketFor(currentTime), this, onExpired);
+        }
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    private boolean add(Timeout<T> timeout) {
+        if (timeout.expiration < currentTime + tickMs) {
+            return false; // Sudah jatuh tempo
+        }
+        if (timeout.expiration < currentTime + interval) {
+            bucketFor(timeout.expiration).append(timeout);
+            return true;
+        }
+        if (overflow == null) {
+            overflow = new TimingWheel<>(interval, wheelSize, currentTime);
+        }
+        return overflow.add(timeout);
+    }
+
+    // Dipanggil oleh level di bawahnya setiap kali jamnya melewati kelipatan tickMs level ini
+    private void cascade(long time, TimingWheel<T> root, Consumer<T> onExpired) {
+        currentTime = time;
+        if (overflow != null && time % overflow.tickMs == 0) {
+            overflow.cascade(time, root, onExpired);
+        }
+        drain(bucketFor(time), root, onExpired);
+    }
+
+    private void drain(Bucket<T> bucket, TimingWheel<T> root, Consumer<T> onExpired) {
+        Timeout<T> timeout = bucket.pollFirst();
+        while (timeout != null) {
+            // Sisipkan ulang dari root: turun ke level lebih halus atau kedaluwarsa
+            if (!root.add(timeout)) {
+                onExpired.accept(timeout.task);
+            }
+            timeout = bucket.pollFirst();
+        }
+    }
+
+    private Bucket<T> bucketFor(long time) {
+        return buckets.get((int) ((time / tickMs) % wheelSize));
+    }
+
+    public static final class Timeout<T> {
+        private final T task;
+        private final long expiration;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T task, long expiration) {
+            this.task = task;
+            this.expiration = expiration;
+        }
+
+        public T getTask() { return task; }
+        public long getExpiration() { return expiration; }
+
+        /**
+         * @return true jika timeout dibatalkan sebelum kedaluwarsa
+         */
+        public boolean cancel() {
+            if (bucket == null) {
+                return false;
+            }
+            bucket.remove(this);
+            return true;
+        }
+    }
+
+    // Doubly linked list sederhana agar cancel O(1)
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void append(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        Timeout<T> pollFirst() {
+            Timeout<T> first = head;
+            if (first != null) {
+                remove(first);
+            }
+            return first;
+        }
+    }
+}
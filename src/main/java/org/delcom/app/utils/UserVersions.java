@@ -0,0 +1,44 @@
+package org.delcom.app.utils;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Versi invalidasi per user untuk cache yang mengisi dirinya dari query: ambil version(userId) sebelum
+ * load, lalu simpan hasilnya hanya jika versinya belum berubah. Invalidasi satu user tidak membatalkan
+ * pengisian cache user lain.
+ *
+ * User di-hash ke sejumlah stripe tetap agar memori tidak tumbuh dengan jumlah user; user yang kebetulan
+ * satu stripe hanya kehilangan satu kali pengisian cache, tidak pernah mendapat data basi. Thread-safe
+ * tanpa lock.
+ */
+public class UserVersions {
+    private final AtomicLongArray versions;
+    private final int mask;
+
+    public UserVersions(int stripes) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes harus pangkat dua positif");
+        }
+        this.versions = new AtomicLongArray(stripes);
+        this.mask = stripes - 1;
+    }
+
+    public long version(UUID userId) {
+        return versions.get(stripe(userId));
+    }
+
+    public void increment(UUID userId) {
+        versions.incrementAndGet(stripe(userId));
+    }
+
+    public void incrementAll() {
+        for (int i = 0; i < versions.length(); i++) {
+            versions.incrementAndGet(i);
+        }
+    }
+
+    private int stripe(UUID userId) {
+        return (int) (ConsistentHashRing.mix(userId.getMostSignificantBits() ^ userId.getLeastSignificantBits()) & mask);
+    }
+}
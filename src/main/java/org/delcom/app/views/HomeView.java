@@ -2,7 +2,7 @@ package org.delcom.app.views;
 
 import org.delcom.app.modules.authentication.User;
 import org.delcom.app.modules.inventory.ItemService;
-import org.delcom.app.modules.inventory.Item;
+import org.delcom.app.modules.inventory.InventoryStats;
 import org.delcom.app.modules.authentication.AccountService;
 import org.delcom.app.utils.ConstUtil;
 import org.springframework.security.core.Authentication;
@@ -11,9 +11,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
+import java.math.BigDecimal;
 
 @Controller
 public class HomeView {
@@ -50,28 +48,19 @@ public class HomeView {
         model.addAttribute("user", user);
 
         if (user != null) {
-            // 2. Ambil semua produk milik user
-            List<Item> products = productService.getAllProducts(user.getId());
-
-            // Jaga-jaga jika products null
-            if (products == null) {
-                products = Collections.emptyList();
+            // 2. Statistik toko dari ringkasan di memori (InventorySummaryService), tanpa query per request
+            InventoryStats stats = productService.getDashboardStats(user.getId());
+
+            long totalProducts = 0;
+            long totalCategories = 0;
+            BigDecimal totalAssetValue = BigDecimal.ZERO;
+            if (stats != null) {
+                totalProducts = stats.getTotalProducts() != null ? stats.getTotalProducts() : 0;
+                totalCategories = stats.getTotalCategories() != null ? stats.getTotalCategories() : 0;
+                totalAssetValue = stats.getTotalAssetValue();
             }
 
-            // 3. Hitung Statistik Toko
-            int totalProducts = products.size();
-
-            // Menghitung jumlah kategori unik
-            long totalCategories = products.stream().map(Item::getCategory).filter(Objects::nonNull) // Hindari null
-                                                                                                     // category
-                    .distinct().count();
-
-            // Menghitung Total Nilai Aset (Harga * Stok)
-            // Menggunakan Double karena di Entity Product kita pakai Double & Integer
-            Double totalAssetValue = products.stream().filter(p -> p.getPrice() != null && p.getStock() != null)
-                    .mapToDouble(p -> p.getPrice() * p.getStock()).sum();
-
-            // 4. Masukkan ke Model
+            // 3. Masukkan ke Model
             model.addAttribute("totalProducts", totalProducts);
             model.addAttribute("totalCategories", totalCategories);
             model.addAttribute("totalAssetValue", totalAssetValue);
@@ -79,7 +68,7 @@ public class HomeView {
             // Default value jika user belum login
             model.addAttribute("totalProducts", 0);
             model.addAttribute("totalCategories", 0);
-            model.addAttribute("totalAssetValue", 0.0);
+            model.addAttribute("totalAssetValue", BigDecimal.ZERO);
         }
 
         return ConstUtil.TEMPLATE_PAGES_HOME;
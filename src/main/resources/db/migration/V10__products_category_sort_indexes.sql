@@ -0,0 +1,20 @@
+-- Daftar produk dengan filter kategori untuk setiap urutan (ItemSort) selain NEWEST, yang sudah punya
+-- idx_products_user_category_created_id dari @Index di Item. Tanpa index ini, filter kategori + urutan
+-- lain membaca semua produk kategori itu lalu mengurutkannya, bukan range scan keyset.
+-- Seperti V5: dibuat CONCURRENTLY, dan index dengan nama yang sama sebelum migrasi tercatat hanyalah sisa
+-- percobaan yang gagal.
+DROP INDEX CONCURRENTLY IF EXISTS idx_products_user_category_name_id;
+CREATE INDEX CONCURRENTLY idx_products_user_category_name_id ON products (user_id, category_id, name, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_products_user_category_price_id;
+CREATE INDEX CONCURRENTLY idx_products_user_category_price_id ON products (user_id, category_id, price_minor, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_products_user_category_stock_id;
+CREATE INDEX CONCURRENTLY idx_products_user_category_stock_id ON products (user_id, category_id, stock, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_products_user_category_updated_id;
+CREATE INDEX CONCURRENTLY idx_products_user_category_updated_id ON products (user_id, category_id, updated_at, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_products_user_category_value_id;
+CREATE INDEX CONCURRENTLY idx_products_user_category_value_id
+    ON products (user_id, category_id, (price_minor * stock), id);
@@ -0,0 +1,16 @@
+-- Index untuk query repository yang sebelumnya men-scan seluruh tabel.
+-- Dijalankan Flyway (lihat SchemaMigrations) setelah Hibernate membuat / memperbarui tabel.
+
+-- ItemRepository.findByUserId dan paginasi keyset (nama sama dengan @Index di Item)
+CREATE INDEX IF NOT EXISTS idx_products_user_created_id ON products (user_id, created_at, id);
+
+-- UserRepository.findFirstByEmail: cari email tanpa membedakan huruf besar/kecil. Sengaja tidak unik:
+-- database lama bisa berisi email yang hanya beda huruf besar/kecil (pengecekan registrasi dulu
+-- case-sensitive) dan index unik akan menggagalkan migrasi. Query memilih akun terlama.
+CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email));
+
+-- AuthTokenRepository.findUserToken: index unik token_hash dibuat di V2. Kolom token (JWT mentah) tidak
+-- ada di database baru (AuthToken.token @Transient), jadi tidak diindex di sini.
+
+-- AuthTokenRepository.deleteByUserId (logout)
+CREATE INDEX IF NOT EXISTS idx_auth_tokens_user_id ON auth_tokens (user_id);
@@ -0,0 +1,29 @@
+-- auth_tokens menyimpan SHA-256 token (panjang tetap, index unik) dan expires_at, bukan JWT mentah.
+-- Hibernate (ddl-auto=update) sudah menambah kolom token_hash dan expires_at sebagai nullable;
+-- baris lama diisi di sini sebelum kolom dibuat NOT NULL.
+
+ALTER TABLE auth_tokens ADD COLUMN IF NOT EXISTS token_hash varchar(64);
+ALTER TABLE auth_tokens ADD COLUMN IF NOT EXISTS expires_at timestamp(6);
+-- Database baru tidak pernah punya kolom token; tambahkan (nullable) agar UPDATE di bawah valid
+ALTER TABLE auth_tokens ADD COLUMN IF NOT EXISTS token text;
+
+UPDATE auth_tokens SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex') WHERE token_hash IS NULL;
+
+-- Token lama dari JwtUtil berlaku 2 jam sejak dibuat
+UPDATE auth_tokens SET expires_at = created_at + interval '2 hours' WHERE expires_at IS NULL;
+
+-- Token identik (login ganda pada detik yang sama) cukup disimpan sekali
+DELETE FROM auth_tokens a USING auth_tokens b WHERE a.token_hash = b.token_hash AND a.id < b.id;
+
+ALTER TABLE auth_tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE auth_tokens ALTER COLUMN expires_at SET NOT NULL;
+
+-- Tahap expand: kolom token lama hanya dibuat nullable agar aplikasi yang tidak lagi menulisnya bisa insert.
+-- Kolom itu di-drop di migrasi berikutnya, setelah tidak ada instance lama yang membacanya.
+ALTER TABLE auth_tokens ALTER COLUMN token DROP NOT NULL;
+
+-- AuthTokenRepository.findUserToken
+CREATE UNIQUE INDEX IF NOT EXISTS uk_auth_tokens_token_hash ON auth_tokens (token_hash);
+
+-- AuthTokenRepository.deleteExpiredBatch (AuthTokenPurger)
+CREATE INDEX IF NOT EXISTS idx_auth_tokens_expires_at ON auth_tokens (expires_at);
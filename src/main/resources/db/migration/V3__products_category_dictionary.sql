@@ -0,0 +1,23 @@
+-- Kategori teks lama (products.category) -> kamus kategori per user (categories + products.category_id).
+-- Hibernate (ddl-auto=update) sudah membuat tabel categories; di tabel products yang berisi data ia tidak bisa
+-- menambah category_id NOT NULL, jadi kolomnya ditambah dan diisi di sini.
+--
+-- Tahap expand: kolom category hanya dibuat nullable agar aplikasi yang tidak lagi menulisnya bisa insert.
+-- Kolom itu di-drop di migrasi berikutnya, setelah tidak ada instance lama yang masih membacanya.
+
+-- Database baru tidak pernah punya kolom category; tambahkan (nullable) agar statement di bawah valid
+ALTER TABLE products ADD COLUMN IF NOT EXISTS category varchar(255);
+ALTER TABLE products ADD COLUMN IF NOT EXISTS category_id integer;
+
+INSERT INTO categories (user_id, name)
+    SELECT DISTINCT user_id, category FROM products WHERE category IS NOT NULL AND category_id IS NULL
+    ON CONFLICT (user_id, name) DO NOTHING;
+
+UPDATE products p SET category_id = c.id FROM categories c
+    WHERE c.user_id = p.user_id AND c.name = p.category AND p.category_id IS NULL;
+
+ALTER TABLE products ALTER COLUMN category DROP NOT NULL;
+ALTER TABLE products ALTER COLUMN category_id SET NOT NULL;
+
+-- ItemFilterRepository (filter kategori); sama dengan @Index di Item
+CREATE INDEX IF NOT EXISTS idx_products_user_category_created_id ON products (user_id, category_id, created_at, id);
@@ -0,0 +1,18 @@
+-- Harga double lama (products.price) -> satuan minor / sen (products.price_minor, Money.MINOR_PER_MAJOR = 100).
+-- Hibernate (ddl-auto=update) tidak bisa menambah price_minor NOT NULL di tabel yang berisi data,
+-- jadi kolomnya ditambah dan diisi di sini.
+--
+-- Tahap expand: kolom price hanya dibuat nullable agar aplikasi yang tidak lagi menulisnya bisa insert.
+-- Kolom itu di-drop di migrasi berikutnya, setelah tidak ada instance lama yang masih membacanya.
+
+-- Database baru tidak pernah punya kolom price; tambahkan (nullable) agar statement di bawah valid
+ALTER TABLE products ADD COLUMN IF NOT EXISTS price double precision;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS price_minor bigint;
+
+UPDATE products SET price_minor = round(price * 100) WHERE price_minor IS NULL AND price IS NOT NULL;
+
+ALTER TABLE products ALTER COLUMN price DROP NOT NULL;
+ALTER TABLE products ALTER COLUMN price_minor SET NOT NULL;
+
+-- ItemFilterRepository (filter & urutan harga); sama dengan @Index di Item
+CREATE INDEX IF NOT EXISTS idx_products_user_price_id ON products (user_id, price_minor, id);
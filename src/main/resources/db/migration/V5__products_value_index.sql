@@ -0,0 +1,9 @@
+-- Urutan nilai aset di daftar produk (ItemSort VALUE); JPA tidak bisa mendeklarasikan index ekspresi.
+-- CONCURRENTLY: tulis ke products tetap berjalan selama index dibangun (Flyway menjalankannya di luar transaksi).
+--
+-- Migrasi yang belum tercatat di riwayat Flyway berarti index dengan nama ini hanyalah sisa percobaan yang
+-- gagal (INVALID, tidak akan diperbaiki oleh IF NOT EXISTS) atau buatan ProductSearchSchema versi lama; dibuang dulu.
+-- CONCURRENTLY tidak didukung di tabel yang sudah dipartisi: jalankan ProductPartitionMigrator setelah
+-- migrasi ini tercatat (index ikut disalin ke tabel partisi).
+DROP INDEX CONCURRENTLY IF EXISTS idx_products_user_value_id;
+CREATE INDEX CONCURRENTLY idx_products_user_value_id ON products (user_id, (price_minor * stock), id);
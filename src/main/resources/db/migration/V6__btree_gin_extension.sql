@@ -0,0 +1,4 @@
+-- btree_gin: kolom skalar (user_id) bisa ikut di index GIN pencarian full-text (V7).
+-- Extension trusted (PostgreSQL 13+): cukup hak CREATE di database. Tanpa hak itu startup gagal di sini;
+-- minta DBA menjalankan statement ini sekali, lalu migrasi ini lolos karena IF NOT EXISTS.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
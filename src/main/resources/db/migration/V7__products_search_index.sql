@@ -0,0 +1,9 @@
+-- Index pencarian full-text ItemRepository.search: GIN atas (user_id, tsvector nama + deskripsi), sehingga
+-- filter user dan pencocokan kata dijawab satu index. Ekspresinya harus sama persis dengan
+-- ItemRepository.SEARCH_VECTOR. Tidak ada kolom GENERATED ... STORED: menambahkannya menulis ulang
+-- seluruh tabel di bawah lock eksklusif, sedangkan CONCURRENTLY tidak menghalangi tulis. Butuh btree_gin (V6).
+--
+-- Seperti V5: index dengan nama ini sebelum migrasi tercatat hanyalah sisa percobaan yang gagal.
+-- Kolom search_vector dan idx_products_search lama dibiarkan untuk instance lama dan di-drop di migrasi berikutnya.
+DROP INDEX CONCURRENTLY IF EXISTS idx_products_user_search;
+CREATE INDEX CONCURRENTLY idx_products_user_search ON products USING GIN (user_id, (setweight(to_tsvector('simple', coalesce(name, '')), 'A') || setweight(to_tsvector('simple', coalesce(description, '')), 'C')));
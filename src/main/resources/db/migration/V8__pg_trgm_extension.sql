@@ -0,0 +1,4 @@
+-- pg_trgm: pencarian nama produk yang toleran salah ketik (ItemFuzzySearchService).
+-- Extension trusted (PostgreSQL 13+): cukup hak CREATE di database. Tanpa hak itu startup gagal di sini;
+-- minta DBA menjalankan statement ini sekali, lalu migrasi ini lolos karena IF NOT EXISTS.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
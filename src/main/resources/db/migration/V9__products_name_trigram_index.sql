@@ -0,0 +1,6 @@
+-- Operator % di ItemFuzzySearchService memakai index ini, jadi tidak ada sequential scan per ketikan.
+-- Butuh pg_trgm (V8).
+-- Seperti V5: index dengan nama ini sebelum migrasi tercatat hanyalah sisa percobaan yang gagal
+-- atau buatan ProductSearchSchema versi lama.
+DROP INDEX CONCURRENTLY IF EXISTS idx_products_name_trgm;
+CREATE INDEX CONCURRENTLY idx_products_name_trgm ON products USING GIN (name gin_trgm_ops);
@@ -0,0 +1,21 @@
+package org.delcom.app;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Memuat seluruh ApplicationContext (H2): bean yang tidak bisa dibuat Spring langsung gagal di sini
+@SpringBootTest
+class ApplicationContextTests {
+
+    @Autowired
+    ApplicationContext context;
+
+    @Test
+    void contextLoads() {
+        assertNotNull(context.getBean(Application.class));
+    }
+}
@@ -0,0 +1,153 @@
+package org.delcom.app;
+
+import org.delcom.app.modules.authentication.AuthToken;
+import org.delcom.app.modules.authentication.AuthTokenRepository;
+import org.delcom.app.modules.authentication.UserRepository;
+import org.delcom.app.modules.inventory.ItemRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test: memastikan query repository memakai index dari db/migration.
+ *
+ * Butuh PostgreSQL sungguhan (H2 tidak punya EXPLAIN yang sebanding), jadi hanya jalan jika
+ * TEST_POSTGRES_URL diisi, mis. jdbc:postgresql://localhost:5432/db_pbo_app_test.
+ * SQL yang benar-benar dikirim Hibernate ditangkap lewat StatementInspector lalu di-EXPLAIN
+ * dengan enable_seqscan=off: jika masih muncul Seq Scan, berarti tidak ada index yang bisa dipakai.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class RepositoryIndexUsageTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("TEST_POSTGRES_URL"));
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> env("TEST_POSTGRES_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> env("TEST_POSTGRES_PASSWORD", "postgres"));
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.baseline-on-migrate", () -> "true");
+        registry.add("spring.flyway.baseline-version", () -> "0");
+        registry.add("spring.flyway.postgresql.transactional-lock", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                SqlRecorder.class::getName);
+    }
+
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AuthTokenRepository authTokenRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void itemFindByUserId_UsesIndex() {
+        UUID userId = UUID.randomUUID();
+        String sql = capture(() -> itemRepository.findByUserId(userId));
+
+        assertUsesIndex(sql, userId);
+    }
+
+    @Test
+    void userFindFirstByEmail_UsesLowerEmailIndex() {
+        String sql = capture(() -> userRepository.findFirstByEmail("Budi@Mail.com"));
+
+        String plan = assertUsesIndex(sql, "Budi@Mail.com");
+        assertTrue(plan.contains("idx_users_email_lower"), plan);
+    }
+
+    @Test
+    void authTokenFindUserToken_UsesIndex() {
+        UUID userId = UUID.randomUUID();
+        String tokenHash = AuthToken.hashToken("header.payload.signature");
+        String sql = capture(() -> authTokenRepository.findUserToken(userId, tokenHash));
+
+        String plan = assertUsesIndex(sql, userId, tokenHash);
+        assertTrue(plan.contains("uk_auth_tokens_token_hash"), plan);
+    }
+
+    @Test
+    void authTokenDeleteExpiredBatch_UsesExpiresAtIndex() {
+        // Native query; parameter JDBC ?1/?2 diganti ? agar bisa di-EXPLAIN langsung
+        String sql = AuthTokenRepository.SQL_DELETE_EXPIRED_BATCH.replaceAll("\\?\\d", "?");
+
+        String plan = assertUsesIndex(sql, LocalDateTime.now(), 1000);
+        assertTrue(plan.contains("idx_auth_tokens_expires_at"), plan);
+    }
+
+    private String capture(Runnable query) {
+        SqlRecorder.statements.clear();
+        query.run();
+        return SqlRecorder.statements.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .reduce((first, last) -> last)
+                .orElseThrow(() -> new AssertionError("Tidak ada SELECT yang tertangkap"));
+    }
+
+    private String assertUsesIndex(String sql, Object... params) {
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement settings = connection.createStatement()) {
+                settings.execute("SET enable_seqscan = off");
+            }
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    explain.setObject(i + 1, params[i]);
+                }
+                StringBuilder lines = new StringBuilder();
+                try (ResultSet rs = explain.executeQuery()) {
+                    while (rs.next()) {
+                        lines.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return lines.toString();
+            } finally {
+                try (Statement settings = connection.createStatement()) {
+                    settings.execute("RESET enable_seqscan");
+                }
+            }
+        });
+        assertNotNull(plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertTrue(plan.contains("Index"), plan);
+        return plan;
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null ? value : fallback;
+    }
+
+    /**
+     * Dipasang Hibernate lewat nama kelas, jadi harus public dengan konstruktor tanpa argumen.
+     */
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.delcom.app.configs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(5000, now::get);
+
+    @Test
+    void isSticky_WithinWindowAfterWrite() {
+        UUID userId = UUID.randomUUID();
+        assertFalse(readYourWrites.isSticky(userId));
+
+        readYourWrites.recordWrite(userId);
+        now.addAndGet(4999);
+        assertTrue(readYourWrites.isSticky(userId));
+
+        now.addAndGet(1);
+        assertFalse(readYourWrites.isSticky(userId));
+    }
+
+    @Test
+    void isSticky_OnlyForTheWritingUser() {
+        readYourWrites.recordWrite(UUID.randomUUID());
+
+        assertFalse(readYourWrites.isSticky(UUID.randomUUID()));
+        assertFalse(readYourWrites.isSticky(null));
+    }
+
+    @Test
+    void bind_IsPerThreadAndCleared() throws InterruptedException {
+        UUID userId = UUID.randomUUID();
+        readYourWrites.bind(userId);
+
+        UUID[] seenByOtherThread = new UUID[1];
+        Thread other = new Thread(() -> seenByOtherThread[0] = readYourWrites.currentUser());
+        other.start();
+        other.join();
+
+        assertEquals(userId, readYourWrites.currentUser());
+        assertNull(seenByOtherThread[0]);
+
+        readYourWrites.clear();
+        assertNull(readYourWrites.currentUser());
+    }
+}
@@ -0,0 +1,80 @@
+package org.delcom.app.configs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTests {
+
+    private static final String LAG_QUERY = "SELECT 0";
+
+    @Mock
+    JdbcTemplate replica;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private ReplicaLagMonitor monitor() {
+        return new ReplicaLagMonitor(replica, LAG_QUERY, 2000, 1000, now::get);
+    }
+
+    @Test
+    void isReplicaUsable_FalseBeforeFirstCheck() {
+        assertFalse(monitor().isReplicaUsable());
+    }
+
+    @Test
+    void check_LagWithinLimit_ReplicaUsable() {
+        when(replica.queryForObject(LAG_QUERY, Long.class)).thenReturn(2000L);
+        ReplicaLagMonitor monitor = monitor();
+
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(2000, monitor.getLastLagMs());
+    }
+
+    @Test
+    void check_LagAboveLimit_ReplicaNotUsable() {
+        when(replica.queryForObject(LAG_QUERY, Long.class)).thenReturn(2001L);
+        ReplicaLagMonitor monitor = monitor();
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void check_QueryFails_ReplicaNotUsable() {
+        when(replica.queryForObject(LAG_QUERY, Long.class))
+                .thenReturn(0L)
+                .thenThrow(new DataAccessResourceFailureException("replica down"));
+        ReplicaLagMonitor monitor = monitor();
+
+        monitor.check();
+        assertTrue(monitor.isReplicaUsable());
+        monitor.check();
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(-1, monitor.getLastLagMs());
+    }
+
+    @Test
+    void isReplicaUsable_StaleMeasurement_FallsBackToPrimary() {
+        when(replica.queryForObject(LAG_QUERY, Long.class)).thenReturn(0L);
+        ReplicaLagMonitor monitor = monitor();
+        monitor.check();
+
+        now.addAndGet(3000);
+        assertTrue(monitor.isReplicaUsable());
+        now.addAndGet(1);
+        assertFalse(monitor.isReplicaUsable());
+    }
+}
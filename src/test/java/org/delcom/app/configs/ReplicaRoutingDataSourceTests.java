@@ -0,0 +1,122 @@
+package org.delcom.app.configs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dua database H2 in-memory sebagai stand-in primary dan replica; tabel node berisi nama database
+ * sehingga terlihat koneksi mana yang dipakai.
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(5000, now::get);
+
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        DataSource primary = h2("primary-" + suffix, "primary");
+        DataSource replica = h2("replica-" + suffix, "replica");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE lag (ms BIGINT)");
+        replicaJdbc.update("INSERT INTO lag VALUES (0)");
+        lagMonitor = new ReplicaLagMonitor(replicaJdbc, "SELECT ms FROM lag", 2000, 1000, now::get);
+        lagMonitor.check();
+
+        ReplicaRoutingDataSource target = new ReplicaRoutingDataSource(primary, replica, lagMonitor, readYourWrites);
+        target.afterPropertiesSet();
+        DataSource routing = new LazyConnectionDataSourceProxy(target);
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static DataSource h2(String database, String node) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbc.update("INSERT INTO node VALUES (?)", node);
+        return dataSource;
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void readOnlyTransaction_GoesToReplica() {
+        assertEquals("replica", readOnlyNode());
+    }
+
+    @Test
+    void writeTransactionAndNonTransactionalAccess_GoToPrimary() {
+        assertEquals("primary", readWrite.execute(
+                status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class)));
+        assertEquals("primary", jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void lagAboveLimit_ReadOnlyFallsBackToPrimary() {
+        replicaJdbc.update("UPDATE lag SET ms = 5000");
+        lagMonitor.check();
+
+        assertEquals("primary", readOnlyNode());
+    }
+
+    @Test
+    void afterOwnWrite_ReadsStickToPrimaryForWindow() {
+        UUID writer = UUID.randomUUID();
+        readYourWrites.bind(writer);
+        try {
+            readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+            assertEquals("primary", readOnlyNode());
+
+            // User lain tidak ikut menempel
+            readYourWrites.bind(UUID.randomUUID());
+            assertEquals("replica", readOnlyNode());
+
+            readYourWrites.bind(writer);
+            now.addAndGet(5000);
+            lagMonitor.check();
+            assertEquals("replica", readOnlyNode());
+        } finally {
+            readYourWrites.clear();
+        }
+    }
+
+    @Test
+    void rolledBackWrite_DoesNotMakeUserSticky() {
+        UUID writer = UUID.randomUUID();
+        readYourWrites.bind(writer);
+        try {
+            readWrite.executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE node SET name = name");
+                status.setRollbackOnly();
+            });
+            assertFalse(readYourWrites.isSticky(writer));
+            assertEquals("replica", readOnlyNode());
+        } finally {
+            readYourWrites.clear();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.delcom.app.configs;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.delcom.app.modules.authentication.AccountService;
+import org.delcom.app.modules.authentication.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Primary dan replica berupa dua database H2 terpisah; replica diisi salinan primary sebelum setiap test.
+ * Satu request disimulasikan seperti open-in-view: satu EntityManager terikat ke thread untuk beberapa
+ * transaksi berturut-turut.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.lag-query=SELECT 0"
+})
+class ReplicaRoutingJpaTests {
+
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        userId = accountService.createUser("Budi", "budi-" + UUID.randomUUID() + "@mail.com", "hash").getId();
+
+        // "Replikasi": salin schema dan isi primary ke replica
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        for (String statement : primaryJdbc.queryForList("SCRIPT", String.class)) {
+            replicaJdbc.execute(statement);
+        }
+        lagMonitor.check();
+        assertTrue(lagMonitor.isReplicaUsable());
+    }
+
+    @Test
+    void readThenWriteInOneRequest_WriteGoesToPrimary() {
+        inOneRequest(() -> {
+            assertNotNull(accountService.getUserById(userId)); // readOnly: replica
+            accountService.updateUser(userId, "Budi Baru", "budi-baru-" + userId + "@mail.com");
+        });
+
+        assertEquals("Budi Baru", nameIn(primaryJdbc));
+        assertEquals("Budi", nameIn(replicaJdbc));
+    }
+
+    private void inOneRequest(Runnable request) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            request.run();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private String nameIn(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT name FROM users WHERE id = ?", String.class, userId);
+    }
+}
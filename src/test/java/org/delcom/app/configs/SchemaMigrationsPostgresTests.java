@@ -0,0 +1,107 @@
+package org.delcom.app.configs;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test: instalasi pertama. Seluruh db/migration dijalankan di schema kosong, setelah ddl-auto
+ * membuat tabel dari entity saat ini (jadi kolom lama seperti auth_tokens.token tidak ada).
+ *
+ * Butuh PostgreSQL sungguhan, jadi hanya jalan jika TEST_POSTGRES_URL diisi (lihat RepositoryIndexUsageTest).
+ * Setiap run memakai schema baru yang dibuang setelahnya.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class SchemaMigrationsPostgresTests {
+
+    private static final String SCHEMA = "migration_test_" + Long.toHexString(System.nanoTime());
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null ? value : fallback;
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(System.getenv("TEST_POSTGRES_URL"),
+                env("TEST_POSTGRES_USER", "postgres"), env("TEST_POSTGRES_PASSWORD", "postgres"));
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    // Context Spring baru dibuat setelah @BeforeAll, jadi schema sudah ada saat Hibernate berjalan
+    @BeforeAll
+    static void createSchema() throws SQLException {
+        execute("CREATE SCHEMA " + SCHEMA);
+    }
+
+    @AfterAll
+    static void dropSchema() throws SQLException {
+        execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+    }
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        String url = System.getenv("TEST_POSTGRES_URL");
+        // public tetap di search_path: extension yang sudah terpasang di sana (pg_trgm, btree_gin) terlihat
+        registry.add("spring.datasource.url",
+                () -> url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA + ",public");
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> env("TEST_POSTGRES_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> env("TEST_POSTGRES_PASSWORD", "postgres"));
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.baseline-on-migrate", () -> "true");
+        registry.add("spring.flyway.baseline-version", () -> "0");
+        registry.add("spring.flyway.postgresql.transactional-lock", () -> "false");
+    }
+
+    @Test
+    void freshDatabase_AppliesEveryMigration() {
+        assertEquals(0, flyway.info().pending().length);
+        for (MigrationInfo migration : flyway.info().applied()) {
+            assertTrue(migration.getState().isApplied() && !migration.getState().isFailed(),
+                    migration.getVersion() + " " + migration.getState());
+        }
+        assertEquals(flyway.info().all().length, flyway.info().applied().length);
+    }
+
+    @Test
+    void freshDatabase_CreatesValidIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = ?", String.class, SCHEMA);
+        assertTrue(indexes.containsAll(List.of("idx_products_user_created_id", "idx_users_email_lower",
+                "uk_auth_tokens_token_hash", "idx_products_user_value_id", "idx_products_user_search",
+                "idx_products_name_trgm", "idx_products_user_category_price_id",
+                "idx_products_user_category_value_id")), indexes.toString());
+
+        // CREATE INDEX CONCURRENTLY yang gagal meninggalkan index INVALID
+        Integer invalid = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_index i JOIN pg_class c "
+                + "ON c.oid = i.indexrelid JOIN pg_namespace n ON n.oid = c.relnamespace "
+                + "WHERE n.nspname = ? AND NOT i.indisvalid", Integer.class, SCHEMA);
+        assertEquals(0, invalid);
+    }
+}
@@ -0,0 +1,38 @@
+package org.delcom.app.configs;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SchemaMigrationsTests {
+
+    @Test
+    void afterPropertiesSet_RunsFlyway() {
+        Flyway flyway = mock(Flyway.class);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("flyway", flyway);
+
+        new SchemaMigrations(beans.getBeanProvider(Flyway.class)).afterPropertiesSet();
+
+        verify(flyway).migrate();
+    }
+
+    @Test
+    void afterPropertiesSet_WithoutFlyway_DoesNothing() {
+        SchemaMigrations migrations = new SchemaMigrations(new StaticListableBeanFactory().getBeanProvider(Flyway.class));
+
+        assertDoesNotThrow(migrations::afterPropertiesSet);
+    }
+
+    @Test
+    void bootMigrationStrategy_DoesNotMigrate() {
+        Flyway flyway = mock(Flyway.class);
+
+        SchemaMigrations.deferUntilHibernate().migrate(flyway);
+
+        verifyNoInteractions(flyway);
+    }
+}
@@ -0,0 +1,118 @@
+package org.delcom.app.configs;
+
+import org.delcom.app.utils.ConsistentHashRing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardDirectoryTests {
+
+    @Mock
+    JdbcTemplate home;
+    @Mock
+    ApplicationEventPublisher events;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final UUID userId = UUID.randomUUID();
+    private final ConsistentHashRing ring = new ConsistentHashRing(List.of("primary", "shard-a"), 16);
+    private ShardDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new ShardDirectory(home, "primary", ring, events, 5000, now::get);
+    }
+
+    private ShardDirectory.Placement placement(String shard, ShardDirectory.State state) {
+        return new ShardDirectory.Placement(shard, state, null, now.get());
+    }
+
+    private static RowMapper<ShardDirectory.Placement> anyPlacementMapper() {
+        return any();
+    }
+
+    private void stubRows(List<?> first, List<?>... next) {
+        doReturn(first, (Object[]) next).when(home).query(eq(ShardDirectory.SQL_FIND), anyPlacementMapper(), eq(userId));
+    }
+
+    @Test
+    void resolve_NewTenant_IsPlacedByRingAndRecorded() {
+        String expected = ring.locate(userId);
+        stubRows(List.of(), List.of(placement(expected, ShardDirectory.State.ACTIVE)));
+
+        assertEquals(expected, directory.resolve(userId, true));
+        verify(home).update(ShardDirectory.SQL_ASSIGN, userId, expected);
+    }
+
+    @Test
+    void resolve_CachedWithinTtl() {
+        stubRows(List.of(placement("shard-a", ShardDirectory.State.ACTIVE)));
+
+        directory.resolve(userId, false);
+        now.addAndGet(4999);
+        directory.resolve(userId, false);
+
+        verify(home, times(1)).query(eq(ShardDirectory.SQL_FIND), anyPlacementMapper(), eq(userId));
+    }
+
+    @Test
+    void resolve_FrozenTenant_RejectsWritesButServesReads() {
+        stubRows(List.of(placement("primary", ShardDirectory.State.FROZEN)));
+
+        assertEquals("primary", directory.resolve(userId, false));
+        assertThrows(TenantMovingException.class, () -> directory.resolve(userId, true));
+    }
+
+    @Test
+    void resolve_ShardChangedAfterTtl_PublishesMovedEvent() {
+        stubRows(List.of(placement("primary", ShardDirectory.State.ACTIVE)),
+                List.of(placement("shard-a", ShardDirectory.State.ACTIVE)));
+
+        assertEquals("primary", directory.resolve(userId, false));
+        now.addAndGet(5000);
+        assertEquals("shard-a", directory.resolve(userId, false));
+
+        ArgumentCaptor<TenantMovedEvent> event = ArgumentCaptor.forClass(TenantMovedEvent.class);
+        verify(events).publishEvent(event.capture());
+        assertEquals(userId, event.getValue().getUserId());
+        assertEquals("primary", event.getValue().getFromShard());
+        assertEquals("shard-a", event.getValue().getToShard());
+    }
+
+    @Test
+    void initialize_FirstActivation_AdoptsExistingUsersOnHome() {
+        when(home.queryForObject(ShardDirectory.SQL_TABLE_EXISTS, Long.class, "tenant_shards")).thenReturn(0L);
+        when(home.queryForObject(ShardDirectory.SQL_TABLE_EXISTS, Long.class, "users")).thenReturn(1L);
+
+        directory.initialize();
+
+        verify(home).execute(ShardDirectory.SQL_CREATE);
+        verify(home).update(ShardDirectory.SQL_ADOPT_EXISTING, "primary");
+    }
+
+    @Test
+    void initialize_TableExists_DoesNothing() {
+        when(home.queryForObject(ShardDirectory.SQL_TABLE_EXISTS, Long.class, "tenant_shards")).thenReturn(1L);
+
+        directory.initialize();
+
+        verify(home, never()).execute(anyString());
+        verify(home, never()).update(ShardDirectory.SQL_ADOPT_EXISTING, "primary");
+    }
+}
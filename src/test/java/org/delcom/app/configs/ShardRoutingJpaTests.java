@@ -0,0 +1,108 @@
+package org.delcom.app.configs;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.delcom.app.modules.authentication.AccountService;
+import org.delcom.app.modules.inventory.ItemService;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Shard home dan shard tenant berupa dua database H2. ShardDirectory di-mock (SQL-nya khusus PostgreSQL);
+ * tenant di test ini ditempatkan di shard yang bukan home. Satu request disimulasikan seperti open-in-view:
+ * satu EntityManager terikat ke thread untuk beberapa transaksi berturut-turut.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharding-home;DB_CLOSE_DELAY=-1",
+        "app.sharding.enabled=true",
+        "app.sharding.home=home",
+        "app.sharding.shards.tenants.url=jdbc:h2:mem:sharding-tenants;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards.tenants.username=sa",
+        "app.sharding.shards.tenants.password="
+})
+class ShardRoutingJpaTests {
+    private static final String TENANT_SHARD = "tenants";
+
+    @MockitoBean
+    private ShardDirectory directory;
+
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private TenantShards tenantShards;
+    @Autowired
+    private ShardDataSources shards;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID userId;
+    private UUID itemId;
+
+    @BeforeEach
+    void setUp() {
+        // ddl-auto hanya menyiapkan shard home; tabel shard tenant dibuat dari mapping yang sama
+        tenantShards.onShard(TENANT_SHARD, () -> {
+            entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().dropMappedObjects(false);
+            entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(false);
+            return null;
+        });
+
+        userId = accountService.createUser("Budi", "budi-" + UUID.randomUUID() + "@mail.com", "hash").getId();
+        when(directory.resolve(eq(userId), anyBoolean())).thenReturn(TENANT_SHARD);
+
+        // Produk tenant langsung di shard-nya (CategoryDictionary memakai ON CONFLICT yang tidak didukung H2)
+        JdbcTemplate tenantJdbc = jdbc(TENANT_SHARD);
+        tenantJdbc.update("INSERT INTO categories (user_id, name) VALUES (?, ?)", userId, "Minuman");
+        itemId = UUID.randomUUID();
+        tenantJdbc.update("INSERT INTO products (id, user_id, name, category_id, price_minor, stock, created_at, "
+                + "updated_at, version) SELECT ?, ?, 'Kopi', id, 1500000, 10, now(), now(), 0 FROM categories "
+                + "WHERE user_id = ?", itemId, userId, userId);
+    }
+
+    @Test
+    void readOnHomeThenWriteOnTenantShardInOneRequest_WriteGoesToTenantShard() {
+        inOneRequest(() -> {
+            assertNotNull(accountService.getUserById(userId)); // users: shard home
+            assertTrue(itemService.adjustStock(itemId, userId, 5));
+        });
+
+        assertEquals(15, stockIn(TENANT_SHARD));
+        assertEquals(0, jdbc(shards.getHome()).queryForObject(
+                "SELECT count(*) FROM products WHERE id = ?", Integer.class, itemId));
+    }
+
+    private void inOneRequest(Runnable request) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            request.run();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private int stockIn(String shard) {
+        return jdbc(shard).queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, itemId);
+    }
+
+    private JdbcTemplate jdbc(String shard) {
+        return new JdbcTemplate(shards.get(shard));
+    }
+}
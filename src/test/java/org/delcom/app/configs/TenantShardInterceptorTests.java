@@ -0,0 +1,94 @@
+package org.delcom.app.configs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantShardInterceptorTests {
+
+    @Mock
+    ShardDirectory directory;
+
+    private final UUID userId = UUID.randomUUID();
+    private TenantShards tenantShards;
+    private Inventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        tenantShards = new TenantShards(Optional.of(directory));
+        ProxyFactory factory = new ProxyFactory(new Inventory(tenantShards));
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(new DefaultPointcutAdvisor(TenantShardInterceptor.POINTCUT,
+                new TenantShardInterceptor(() -> tenantShards)));
+        inventory = (Inventory) factory.getProxy();
+    }
+
+    @Test
+    void readOnlyMethod_BindsShardForReadsDuringTheCall() {
+        when(directory.resolve(userId, false)).thenReturn("shard-a");
+
+        assertEquals("shard-a", inventory.list(userId));
+        assertNull(tenantShards.currentShard());
+    }
+
+    @Test
+    void tenantOwnedArgument_BindsShardForWrites() {
+        when(directory.resolve(userId, true)).thenReturn("shard-b");
+        TenantOwned item = () -> userId;
+
+        assertEquals("shard-b", inventory.save(UUID.randomUUID(), item));
+        assertNull(tenantShards.currentShard());
+    }
+
+    @Test
+    void nestedCallOnSameShard_KeepsOuterBinding() {
+        when(directory.resolve(userId, false)).thenReturn("shard-a");
+
+        assertEquals("shard-a", tenantShards.onShard("shard-a", () -> inventory.list(userId)));
+    }
+
+    @Test
+    void methodWithoutTenantId_IsNotIntercepted() {
+        assertNull(inventory.health(userId));
+        verifyNoInteractions(directory);
+    }
+
+    @Test
+    void nullTenant_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> inventory.list(null));
+        verifyNoInteractions(directory);
+    }
+
+    static class Inventory {
+        private final TenantShards tenantShards;
+
+        Inventory(TenantShards tenantShards) {
+            this.tenantShards = tenantShards;
+        }
+
+        @Transactional(readOnly = true)
+        public String list(@TenantId UUID userId) {
+            return tenantShards.currentShard();
+        }
+
+        public String save(UUID id, @TenantId TenantOwned item) {
+            return tenantShards.currentShard();
+        }
+
+        public String health(UUID userId) {
+            return tenantShards.currentShard();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.delcom.app.configs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantShardsTests {
+
+    @Mock
+    ShardDirectory directory;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void disabled_DoesNothing() {
+        TenantShards tenantShards = new TenantShards(Optional.empty());
+
+        assertEquals("ok", tenantShards.call(userId, true, () -> "ok"));
+        assertNull(tenantShards.currentShard());
+        assertFalse(tenantShards.isEnabled());
+    }
+
+    @Test
+    void call_BindsShardOnlyForTheWork() {
+        when(directory.resolve(userId, true)).thenReturn("shard-a");
+        TenantShards tenantShards = new TenantShards(Optional.of(directory));
+
+        String seen = tenantShards.call(userId, true, tenantShards::currentShard);
+
+        assertEquals("shard-a", seen);
+        assertNull(tenantShards.currentShard());
+    }
+
+    @Test
+    void onShard_CrossShardNesting_Fails() {
+        TenantShards tenantShards = new TenantShards(Optional.of(directory));
+
+        assertThrows(IllegalStateException.class,
+                () -> tenantShards.onShard("shard-a", () -> tenantShards.onShard("shard-b", () -> null)));
+        assertNull(tenantShards.currentShard());
+    }
+}
@@ -6,15 +6,23 @@ import static org.mockito.Mockito.when;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.time.Instant;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import org.delcom.app.configs.AuthContext;
+import org.delcom.app.configs.ReadYourWrites;
 import org.delcom.app.modules.authentication.AuthToken;
 import org.delcom.app.modules.authentication.AuthTokenService;
 import org.delcom.app.modules.authentication.User;
 import org.delcom.app.modules.authentication.AccountService;
-import org.delcom.app.utils.JwtUtil;
+import org.delcom.app.modules.authentication.JwtKeyRing;
+import org.delcom.app.modules.authentication.JwtTokenService;
+import org.delcom.app.modules.authentication.TokenRevocation;
+import org.delcom.app.modules.authentication.TokenRevocationRepository;
+import org.delcom.app.modules.authentication.TokenRevocations;
+import org.delcom.app.modules.authentication.VerifiedTokenCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -26,12 +34,18 @@ import jakarta.servlet.http.HttpServletResponse;
 // Hapus 'public' pada class (Rekomendasi JUnit 5 & SonarQube)
 class AuthInterceptorTests {
 
+    private static TokenRevocations databaseTokenStore() {
+        return new TokenRevocations(Mockito.mock(TokenRevocationRepository.class),
+                new VerifiedTokenCache(1000, 0), "database", 7_200_000, 5000);
+    }
+
     @Test
     @DisplayName("Pengujian AuthInterceptor dengan berbagai skenario")
     void testVariousAuthInterceptor() throws Exception { // Hapus 'public' pada method
 
         UUID userId = UUID.randomUUID();
-        String bearerToken = JwtUtil.generateToken(userId);
+        JwtTokenService jwtTokenService = new JwtTokenService(new JwtKeyRing("", true), 7_200_000);
+        String bearerToken = jwtTokenService.generateToken(userId);
         AuthToken authToken = new AuthToken(userId, bearerToken);
 
         User user = new User("testuser", "testuser@example.com");
@@ -55,7 +69,8 @@ class AuthInterceptorTests {
         
         // --- PERBAIKAN DI SINI ---
         // Menambahkan authContext sebagai parameter pertama sesuai constructor asli
-        AuthInterceptor authInterceptor = new AuthInterceptor(authContext, authTokenService, userService);
+        AuthInterceptor authInterceptor = new AuthInterceptor(authContext, authTokenService, userService,
+                new ReadYourWrites(5000), new VerifiedTokenCache(1000, 0), jwtTokenService, databaseTokenStore());
 
         // Menguji method preHandle yang berhasil
         {
@@ -166,4 +181,78 @@ class AuthInterceptorTests {
             assertEquals(false, isPublic);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Token yang sudah diverifikasi dilayani dari cache tanpa query database")
+    void cachedTokenSkipsDatabase() throws Exception {
+        UUID userId = UUID.randomUUID();
+        JwtTokenService jwtTokenService = new JwtTokenService(new JwtKeyRing("", true), 7_200_000);
+        String bearerToken = jwtTokenService.generateToken(userId);
+        User user = new User("testuser", "testuser@example.com");
+        user.setId(userId);
+
+        AuthTokenService authTokenService = Mockito.mock(AuthTokenService.class);
+        AccountService userService = Mockito.mock(AccountService.class);
+        when(authTokenService.findUserToken(userId, bearerToken)).thenReturn(new AuthToken(userId, bearerToken));
+        when(userService.getUserById(userId)).thenReturn(user);
+
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        when(request.getRequestURI()).thenReturn("/api/products");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + bearerToken);
+
+        VerifiedTokenCache cache = new VerifiedTokenCache(1000, 60_000);
+        AuthContext authContext = new AuthContext();
+        AuthInterceptor authInterceptor = new AuthInterceptor(authContext, authTokenService, userService,
+                new ReadYourWrites(5000), cache, jwtTokenService, databaseTokenStore());
+
+        assertTrue(authInterceptor.preHandle(request, response, null));
+        assertTrue(authInterceptor.preHandle(request, response, null));
+        assertEquals(userId, authContext.getAuthUser().getId());
+        Mockito.verify(authTokenService, Mockito.times(1)).findUserToken(userId, bearerToken);
+        Mockito.verify(userService, Mockito.times(1)).getUserById(userId);
+
+        // Setelah token user dihapus (logout), request berikutnya kembali diverifikasi ke database
+        cache.evictUser(userId);
+        when(authTokenService.findUserToken(userId, bearerToken)).thenReturn(null);
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        assertEquals(false, authInterceptor.preHandle(request, response, null));
+    }
+
+    @Test
+    @DisplayName("Model revocations: token dicek di memori tanpa query auth_tokens")
+    void revocationStoreSkipsTokenLookup() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID revokedUserId = UUID.randomUUID();
+        JwtTokenService jwtTokenService = new JwtTokenService(new JwtKeyRing("", true), 7_200_000);
+        User user = new User("testuser", "testuser@example.com");
+        user.setId(userId);
+
+        AuthTokenService authTokenService = Mockito.mock(AuthTokenService.class);
+        AccountService userService = Mockito.mock(AccountService.class);
+        when(userService.getUserById(userId)).thenReturn(user);
+
+        // Pencabutan dicatat satu menit di masa depan agar token yang baru terbit ikut dicabut
+        TokenRevocationRepository repository = Mockito.mock(TokenRevocationRepository.class);
+        when(repository.findRevokedSince(Mockito.any())).thenReturn(
+                List.of(new TokenRevocation(revokedUserId, Instant.now().plusSeconds(60))));
+        VerifiedTokenCache cache = new VerifiedTokenCache(1000, 0);
+        TokenRevocations revocations = new TokenRevocations(repository, cache, "revocations", 7_200_000, 5000);
+        revocations.refresh();
+
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        when(request.getRequestURI()).thenReturn("/api/products");
+        AuthInterceptor authInterceptor = new AuthInterceptor(new AuthContext(), authTokenService, userService,
+                new ReadYourWrites(5000), cache, jwtTokenService, revocations);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwtTokenService.generateToken(userId));
+        assertTrue(authInterceptor.preHandle(request, response, null));
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwtTokenService.generateToken(revokedUserId));
+        assertEquals(false, authInterceptor.preHandle(request, response, null));
+
+        Mockito.verifyNoInteractions(authTokenService);
+    }
+}
@@ -9,7 +9,6 @@ import org.delcom.app.utils.ConstUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
@@ -25,6 +24,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.servlet.http.HttpSession;
 
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -43,12 +44,15 @@ class AccessControllerTest {
     @Mock SecurityContext securityContext;
     // Authentication tidak perlu di-Mock global, kita buat manual di helper
 
-    @InjectMocks AuthController authController;
+    AuthController authController;
 
     @BeforeEach
     void setUp() {
         // Reset SecurityContext sebelum setiap test
         SecurityContextHolder.clearContext();
+        // Hasher asli (cost 10) agar hash di test sama dengan yang disimpan aplikasi
+        PasswordHasher passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(10), 10, 1, 4, 5000);
+        authController = new AuthController(userService, passwordHasher);
     }
 
     // --- HELPER UNTUK MOCK LOGIN STATUS ---
@@ -186,6 +190,31 @@ class AccessControllerTest {
         assertEquals("redirect:/", view);
         // Pastikan session diset
         verify(session).setAttribute(anyString(), any(SecurityContext.class));
+        // Cost sudah sesuai -> tidak di-hash ulang
+        verify(userService, never()).updatePassword(any(), any());
+    }
+
+    @Test
+    void postLogin_OldCost_RehashesPassword() {
+        when(bindingResult.hasErrors()).thenReturn(false);
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@mail.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("correctPass")); // Hash dengan cost lama
+
+        when(userService.getUserByEmail("user@mail.com")).thenReturn(user);
+
+        SignInRequest form = new SignInRequest();
+        form.setEmail("user@mail.com");
+        form.setPassword("correctPass");
+
+        String view = authController.postLogin(form, bindingResult, session, model);
+
+        assertEquals("redirect:/", view);
+        // Hash ulang berjalan di latar belakang
+        verify(userService, timeout(5000)).updatePassword(eq(user.getId()),
+                argThat(hash -> hash.startsWith("$2a$10$") && new BCryptPasswordEncoder().matches("correctPass", hash)));
     }
 
     // =========================================================
@@ -21,6 +21,9 @@ class AccountServiceTests {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     @InjectMocks
     private AccountService userService;
 
@@ -84,6 +87,7 @@ class AccountServiceTests {
         assertNotNull(result);
         assertEquals("Budi Baru", sampleUser.getName()); 
         assertEquals("baru@mail.com", sampleUser.getEmail());
+        verify(verifiedTokenCache).evictUser(userId);
     }
 
     @Test
@@ -107,6 +111,7 @@ class AccountServiceTests {
 
         assertNotNull(result);
         assertEquals("newPass", sampleUser.getPassword());
+        verify(verifiedTokenCache).evictUser(userId);
     }
 
     @Test
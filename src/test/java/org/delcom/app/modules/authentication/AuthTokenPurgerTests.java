@@ -0,0 +1,53 @@
+package org.delcom.app.modules.authentication;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthTokenPurgerTests {
+
+    @Mock
+    private AuthTokenRepository authTokenRepository;
+
+    @Test
+    void purge_DeletesInBatchesUntilAShortBatch() {
+        when(authTokenRepository.deleteExpiredBatch(any(LocalDateTime.class), eq(100)))
+                .thenReturn(100, 100, 42);
+
+        int deleted = new AuthTokenPurger(authTokenRepository, 100, 10).purge();
+
+        assertEquals(242, deleted);
+        verify(authTokenRepository, times(3)).deleteExpiredBatch(any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    void purge_StopsAtMaxBatchesPerRun() {
+        when(authTokenRepository.deleteExpiredBatch(any(LocalDateTime.class), eq(100))).thenReturn(100);
+
+        int deleted = new AuthTokenPurger(authTokenRepository, 100, 3).purge();
+
+        assertEquals(300, deleted);
+        verify(authTokenRepository, times(3)).deleteExpiredBatch(any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    void purge_DatabaseErrorEndsRunWithoutThrowing() {
+        when(authTokenRepository.deleteExpiredBatch(any(LocalDateTime.class), eq(100)))
+                .thenReturn(100)
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        int deleted = new AuthTokenPurger(authTokenRepository, 100, 10).purge();
+
+        assertEquals(100, deleted);
+    }
+}
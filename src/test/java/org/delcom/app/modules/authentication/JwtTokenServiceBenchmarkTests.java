@@ -0,0 +1,70 @@
+package org.delcom.app.modules.authentication;
+
+import org.delcom.app.utils.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Perbandingan throughput verifikasi per core (satu thread): jalur lama AuthInterceptor
+ * (JwtUtil.validateToken + JwtUtil.extractUserId) vs JwtTokenService.verify.
+ *
+ * Tidak ikut build biasa; jalankan dengan:
+ * <pre>
+ * mvn test -Dtest=JwtTokenServiceBenchmarkTests -Dbenchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtTokenServiceBenchmarkTests {
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenServiceBenchmarkTests.class);
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final long MEASURE_NANOS = 3_000_000_000L;
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void verifyThroughputPerCore() {
+        JwtTokenService service = new JwtTokenService(new JwtKeyRing("", true), 7_200_000);
+        UUID userId = UUID.randomUUID();
+        String token = JwtUtil.generateToken(userId);
+
+        Predicate<String> legacy = t -> JwtUtil.validateToken(t, true) && userId.equals(JwtUtil.extractUserId(t));
+        Predicate<String> singlePass = t -> {
+            VerifiedToken verified = service.verify(t);
+            return verified != null && userId.equals(verified.getUserId());
+        };
+
+        double legacyOps = measure(legacy, token);
+        double singlePassOps = measure(singlePass, token);
+
+        logger.info("JwtUtil validate+extract : {} ops/s", String.format("%,.0f", legacyOps));
+        logger.info("JwtTokenService.verify   : {} ops/s ({}x)", String.format("%,.0f", singlePassOps),
+                String.format("%.2f", singlePassOps / legacyOps));
+        assertTrue(singlePassOps > 0 && legacyOps > 0);
+    }
+
+    private static double measure(Predicate<String> verifier, String token) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertTrue(verifier.test(token));
+        }
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < 1000; i++) {
+                if (!verifier.test(token)) {
+                    fail("Token valid ditolak");
+                }
+            }
+            operations += 1000;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        return operations * 1_000_000_000.0 / elapsed;
+    }
+}
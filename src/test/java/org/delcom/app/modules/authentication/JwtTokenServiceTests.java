@@ -0,0 +1,171 @@
+package org.delcom.app.modules.authentication;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.delcom.app.utils.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenServiceTests {
+
+    private static final String KEY_A = secret('a');
+    private static final String KEY_B = secret('b');
+
+    @TempDir
+    Path tempDir;
+
+    private static String secret(char fill) {
+        return Base64.getEncoder().encodeToString(String.valueOf(fill).repeat(32).getBytes());
+    }
+
+    private Path writeKeys(String content, long modifiedAt) throws IOException {
+        Path file = tempDir.resolve("jwt-keys.properties");
+        Files.writeString(file, content);
+        // Resolusi mtime filesystem bisa kasar; set eksplisit agar perubahan pasti terdeteksi
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedAt));
+        return file;
+    }
+
+    @Test
+    void verify_ReturnsParsedClaimsInOnePass() {
+        JwtTokenService service = new JwtTokenService(new JwtKeyRing("", true), 60_000);
+        UUID userId = UUID.randomUUID();
+
+        VerifiedToken token = service.verify(service.generateToken(userId));
+
+        assertNotNull(token);
+        assertEquals(userId, token.getUserId());
+        assertEquals(userId.toString(), token.getSubject());
+        assertEquals(JwtKeyRing.DEFAULT_KEY_ID, token.getKeyId());
+        assertEquals(60_000, token.getExpiresAt().toEpochMilli() - token.getIssuedAt().toEpochMilli(), 1000);
+    }
+
+    @Test
+    void generateToken_UniqueEvenWithinTheSameSecond() {
+        JwtTokenService service = new JwtTokenService(new JwtKeyRing("", true), 60_000);
+        UUID userId = UUID.randomUUID();
+
+        // auth_tokens.token_hash unik, jadi login beruntun tidak boleh menghasilkan token yang sama
+        assertNotEquals(service.generateToken(userId), service.generateToken(userId));
+    }
+
+    @Test
+    void verify_RejectsTamperedExpiredAndForeignTokens() {
+        JwtTokenService service = new JwtTokenService(new JwtKeyRing("", true), 60_000);
+        String token = service.generateToken(UUID.randomUUID());
+
+        assertNull(service.verify(token.substring(0, token.length() - 2) + "xx"));
+        assertNull(service.verify("invalid_token"));
+
+        String expired = Jwts.builder().subject(UUID.randomUUID().toString())
+                .expiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(JwtUtil.getKey()).compact();
+        assertNull(service.verify(expired));
+
+        String foreign = Jwts.builder().subject(UUID.randomUUID().toString())
+                .signWith(Keys.hmacShaKeyFor("kunciRahasiaMinimal32KarakterHarusPanjangSekali".getBytes()))
+                .compact();
+        assertNull(service.verify(foreign));
+    }
+
+    @Test
+    void verify_NonUuidSubjectHasNullUserId() {
+        JwtTokenService service = new JwtTokenService(new JwtKeyRing("", true), 60_000);
+        String token = Jwts.builder().subject("bukan-uuid").signWith(JwtUtil.getKey()).compact();
+
+        VerifiedToken verified = service.verify(token);
+
+        assertNotNull(verified);
+        assertNull(verified.getUserId());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void verify_LegacyTokensWithoutKidOnlyWhenAccepted() {
+        String legacy = JwtUtil.generateToken(UUID.randomUUID());
+
+        assertNotNull(new JwtTokenService(new JwtKeyRing("", true), 60_000).verify(legacy));
+        assertNull(new JwtTokenService(new JwtKeyRing("", false), 60_000).verify(legacy));
+    }
+
+    @Test
+    void keyRotation_ReloadsFileWithoutRestart() throws IOException {
+        Path file = writeKeys("active-key-id=k1\nk1=" + KEY_A + "\n", 1_000_000);
+        JwtKeyRing keyRing = new JwtKeyRing(file.toString(), false);
+        JwtTokenService service = new JwtTokenService(keyRing, 60_000);
+        String oldToken = service.generateToken(UUID.randomUUID());
+
+        // Kunci baru aktif, kunci lama masih disimpan untuk token yang sudah terbit
+        writeKeys("active-key-id=k2\nk1=" + KEY_A + "\nk2=" + KEY_B + "\n", 2_000_000);
+        keyRing.reload();
+        String newToken = service.generateToken(UUID.randomUUID());
+
+        assertEquals("k2", keyRing.getActiveKeyId());
+        assertEquals("k1", service.verify(oldToken).getKeyId());
+        assertEquals("k2", service.verify(newToken).getKeyId());
+
+        // Kunci lama dipensiunkan
+        writeKeys("active-key-id=k2\nk2=" + KEY_B + "\n", 3_000_000);
+        keyRing.reload();
+
+        assertNull(service.verify(oldToken));
+        assertNotNull(service.verify(newToken));
+    }
+
+    @Test
+    void keyRotation_BrokenFileKeepsPreviousKeys() throws IOException {
+        Path file = writeKeys("active-key-id=k1\nk1=" + KEY_A + "\n", 1_000_000);
+        JwtKeyRing keyRing = new JwtKeyRing(file.toString(), false);
+
+        writeKeys("active-key-id=k9\nk1=" + KEY_A + "\n", 2_000_000);
+        keyRing.reload();
+        assertEquals("k1", keyRing.getActiveKeyId());
+
+        writeKeys("active-key-id=k1\nk1=" + Base64.getEncoder().encodeToString("pendek".getBytes()) + "\n",
+                3_000_000);
+        keyRing.reload();
+        assertEquals("k1", keyRing.getActiveKeyId());
+    }
+
+    @Test
+    void keyRing_UnversionedTokensDefaultFollowsKeysFile() throws IOException {
+        Path file = writeKeys("active-key-id=k1\nk1=" + KEY_A + "\n", 1_000_000);
+
+        assertTrue(JwtKeyRing.acceptUnversionedTokens("", null, "database"));
+        assertFalse(JwtKeyRing.acceptUnversionedTokens(file.toString(), null, "database"));
+        assertTrue(JwtKeyRing.acceptUnversionedTokens(file.toString(), true, "database"));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void keyRing_RevocationsRequireKeysFileWithoutUnversionedTokens() throws IOException {
+        Path file = writeKeys("active-key-id=k1\nk1=" + KEY_A + "\n", 1_000_000);
+
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing("", null, "revocations"));
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing("", false, "revocations"));
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing(file.toString(), true, "revocations"));
+
+        // Token bertanda tangan kunci bawaan (tanpa kid) ditolak
+        JwtTokenService service = new JwtTokenService(new JwtKeyRing(file.toString(), null, "revocations"), 60_000);
+        assertNull(service.verify(JwtUtil.generateToken(UUID.randomUUID())));
+    }
+
+    @Test
+    void keyRing_InvalidFileFailsAtStartup() throws IOException {
+        Path file = writeKeys("k1=" + KEY_A + "\n", 1_000_000);
+
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing(file.toString(), false));
+        assertThrows(IllegalStateException.class,
+                () -> new JwtKeyRing(tempDir.resolve("tidak-ada.properties").toString(), false));
+    }
+}
@@ -0,0 +1,173 @@
+package org.delcom.app.modules.authentication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTests {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_UseConfiguredEncoder() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 4, 1, 4, 5000);
+
+        String hash = hasher.encode("rahasia");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("rahasia", hash));
+        assertFalse(hasher.matches("salah", hash));
+    }
+
+    @Test
+    void needsRehash_OnlyWhenCostDiffers() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(5), 5, 1, 4, 5000);
+
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("rahasia")));
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("rahasia")));
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(6).encode("rahasia")));
+        assertFalse(hasher.needsRehash("bukan-bcrypt"));
+        assertFalse(hasher.needsRehash(null));
+    }
+
+    @Test
+    void saturated_RejectsImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        hasher = new PasswordHasher(blocking, 4, 1, 1, 5000);
+
+        // Satu berjalan, satu mengantre -> permintaan ketiga ditolak tanpa menunggu
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        while (hasher.getQueueSize() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingBusyException.class, () -> hasher.encode("c"));
+
+        release.countDown();
+        assertNotNull(running.get(5, TimeUnit.SECONDS));
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timeout_QueuedRequestIsRejectedAndNeverHashed() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger matchesCalls = new AtomicInteger();
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                matchesCalls.incrementAndGet();
+                return false;
+            }
+        };
+        hasher = new PasswordHasher(blocking, 4, 1, 1, 50);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingBusyException.class, () -> hasher.matches("a", "$2a$04$x"));
+        assertEquals(0, hasher.getQueueSize());
+
+        release.countDown();
+        assertNotNull(running.get(5, TimeUnit.SECONDS));
+        hasher.encode("b"); // Executor satu thread: tugas yang dibatalkan pasti sudah dilewati
+        assertEquals(0, matchesCalls.get());
+    }
+
+    @Test
+    void timeout_RunningHashIsAwaited() {
+        PasswordEncoder slow = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        hasher = new PasswordHasher(slow, 4, 1, 1, 50);
+
+        assertTrue(hasher.matches("a", "$2a$04$x"));
+    }
+
+    @Test
+    void encodeInBackground_DeliversHashOrSkipsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        hasher = new PasswordHasher(blocking, 4, 1, 1, 5000);
+        CompletableFuture<String> delivered = new CompletableFuture<>();
+        hasher.encodeInBackground("a", delivered::complete);
+        assertTrue(delivered.get(5, TimeUnit.SECONDS).startsWith("$2a$04$"));
+
+        // Satu berjalan, satu mengantre -> tugas latar belakang dilewati tanpa exception
+        // Tunggu sampai verifikasi benar-benar berjalan di worker (tugas latar belakang sebelumnya bisa
+        // masih tercatat aktif sesaat setelah callback-nya dipanggil)
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> hasher.matches("a", "$2a$04$x"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> hasher.matches("b", "$2a$04$x"));
+        while (hasher.getQueueSize() < 1) {
+            Thread.onSpinWait();
+        }
+        AtomicInteger skipped = new AtomicInteger();
+        hasher.encodeInBackground("c", hash -> skipped.incrementAndGet());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(0, skipped.get());
+    }
+}
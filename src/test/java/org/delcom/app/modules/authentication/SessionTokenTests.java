@@ -3,6 +3,7 @@ package org.delcom.app.modules.authentication;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import org.delcom.app.modules.authentication.AuthToken;
@@ -46,4 +47,19 @@ public class SessionTokenTests {
             assertTrue(authToken.getCreatedAt() != null);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("AuthToken hanya menyimpan hash token dengan panjang tetap")
+    void testHashToken() {
+        AuthToken authToken = new AuthToken(UUID.randomUUID(), "header.payload.signature",
+                LocalDateTime.now().plusHours(2));
+
+        assertEquals(64, authToken.getTokenHash().length());
+        assertEquals(AuthToken.hashToken("header.payload.signature"), authToken.getTokenHash());
+        assertTrue(!authToken.getTokenHash().equals(AuthToken.hashToken("header.payload.signatureX")));
+        assertTrue(authToken.getExpiresAt() != null);
+
+        authToken.setToken(null);
+        assertEquals(null, authToken.getTokenHash());
+    }
+}
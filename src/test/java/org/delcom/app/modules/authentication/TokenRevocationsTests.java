@@ -0,0 +1,119 @@
+package org.delcom.app.modules.authentication;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationsTests {
+
+    private static final long LIFETIME_MS = 7_200_000;
+
+    @Mock
+    private TokenRevocationRepository repository;
+
+    private final AtomicLong now = new AtomicLong(1_800_000_000_000L);
+    private VerifiedTokenCache cache;
+    private TokenRevocations revocations;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(100, 60_000, now::get);
+        revocations = new TokenRevocations(repository, cache, "revocations", LIFETIME_MS, 5000, now::get);
+    }
+
+    private Instant at(long offsetMs) {
+        return Instant.ofEpochMilli(now.get() + offsetMs);
+    }
+
+    @Test
+    void refresh_LoadsRevocationsAndPurgesExpiredRows() {
+        UUID revoked = UUID.randomUUID();
+        when(repository.findRevokedSince(any())).thenReturn(List.of(new TokenRevocation(revoked, at(0))));
+
+        assertFalse(revocations.isActive());
+        revocations.refresh();
+
+        assertTrue(revocations.isActive());
+        verify(repository).deleteRevokedBefore(Instant.ofEpochMilli(now.get() - LIFETIME_MS));
+        // Token terbit sebelum (atau pada detik yang sama dengan) pencabutan ditolak
+        assertTrue(revocations.isRevoked(revoked, at(-60_000)));
+        assertTrue(revocations.isRevoked(revoked, at(0)));
+        assertFalse(revocations.isRevoked(revoked, at(1000)));
+        assertFalse(revocations.isRevoked(UUID.randomUUID(), at(-60_000)));
+    }
+
+    @Test
+    void revoke_AppliesLocallyWithoutWaitingForRefresh() {
+        when(repository.findRevokedSince(any())).thenReturn(List.of());
+        revocations.refresh();
+        UUID userId = UUID.randomUUID();
+
+        revocations.revoke(userId);
+
+        verify(repository).save(any(TokenRevocation.class));
+        assertTrue(revocations.isRevoked(userId, at(-1000)));
+    }
+
+    @Test
+    void refresh_KeepsLocalRevocationsMissingFromAnOlderRead() {
+        when(repository.findRevokedSince(any())).thenReturn(List.of());
+        revocations.refresh();
+        UUID userId = UUID.randomUUID();
+        revocations.revoke(userId);
+
+        // Query refresh berikutnya dibaca sebelum pencabutan lokal terlihat
+        revocations.refresh();
+
+        assertTrue(revocations.isRevoked(userId, at(-1000)));
+    }
+
+    @Test
+    void refresh_EvictsCachedTokensOfNewlyRevokedUsers() {
+        User user = new User("Budi", "budi@mail.com", "hash");
+        user.setId(UUID.randomUUID());
+        cache.put("token", user, Long.MAX_VALUE, cache.version(user.getId()));
+        when(repository.findRevokedSince(any())).thenReturn(List.of(new TokenRevocation(user.getId(), at(0))));
+
+        revocations.refresh();
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void isActive_FalseWhenRefreshStalls() {
+        when(repository.findRevokedSince(any())).thenReturn(List.of());
+        revocations.refresh();
+
+        doThrow(new DataAccessResourceFailureException("down")).when(repository).deleteRevokedBefore(any());
+        now.addAndGet(15_000);
+        revocations.refresh();
+        assertTrue(revocations.isActive());
+
+        now.addAndGet(1);
+        assertFalse(revocations.isActive());
+    }
+
+    @Test
+    void databaseStore_NeverActiveAndUnknownStoreRejected() {
+        TokenRevocations database = new TokenRevocations(repository, cache, "database", LIFETIME_MS, 5000, now::get);
+        when(repository.findRevokedSince(any())).thenReturn(List.of());
+        database.refresh();
+
+        assertFalse(database.isActive());
+        assertThrows(IllegalArgumentException.class,
+                () -> new TokenRevocations(repository, cache, "redis", LIFETIME_MS, 5000, now::get));
+    }
+}
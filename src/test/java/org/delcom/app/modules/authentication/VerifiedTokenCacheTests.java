@@ -0,0 +1,146 @@
+package org.delcom.app.modules.authentication;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(10, 60_000, now::get);
+
+    private static User user() {
+        User user = new User("Budi", "budi@mail.com", "hash");
+        user.setId(UUID.randomUUID());
+        return user;
+    }
+
+    private void put(String token, User user) {
+        cache.put(token, user, Long.MAX_VALUE, cache.version(user.getId()));
+    }
+
+    @Test
+    void get_HitUntilTtlExpires() {
+        User user = user();
+        put("token-a", user);
+
+        assertEquals(user.getId(), cache.get("token-a").getId());
+        assertNull(cache.get("token-b"));
+
+        now.addAndGet(60_000);
+        assertNull(cache.get("token-a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void get_ReturnsFreshCopyWithoutPasswordHash() {
+        User user = user();
+        put("token-a", user);
+
+        User first = cache.get("token-a");
+        first.setName("Diubah request lain");
+        User second = cache.get("token-a");
+
+        assertNotSame(user, first);
+        assertNotSame(first, second);
+        assertEquals("Budi", second.getName());
+        assertEquals("budi@mail.com", second.getEmail());
+        assertNull(second.getPassword());
+    }
+
+    @Test
+    void put_NeverOutlivesJwtExpiry() {
+        User user = user();
+        cache.put("token-a", user, now.get() + 1000, cache.version(user.getId()));
+
+        now.addAndGet(999);
+        assertNotNull(cache.get("token-a"));
+        now.addAndGet(1);
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    void evictUser_RemovesOnlyThatUsersTokens() {
+        User budi = user();
+        User sari = user();
+        put("budi-1", budi);
+        put("budi-2", budi);
+        put("sari-1", sari);
+
+        cache.evictUser(budi.getId());
+
+        assertNull(cache.get("budi-1"));
+        assertNull(cache.get("budi-2"));
+        assertEquals(sari.getId(), cache.get("sari-1").getId());
+    }
+
+    @Test
+    void put_DroppedWhenInvalidatedDuringVerification() {
+        User user = user();
+        long version = cache.version(user.getId());
+
+        // Token dihapus saat request lain masih memverifikasinya ke database
+        cache.evictUser(user.getId());
+        cache.put("token-a", user, Long.MAX_VALUE, version);
+
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    void put_OtherUsersInvalidationDoesNotBlockCaching() {
+        User budi = user();
+        cache.evictUser(budi.getId());
+        // Cari user di stripe lain: versinya belum ikut naik oleh invalidasi budi
+        User sari = user();
+        while (cache.version(sari.getId()) != 0) {
+            sari = user();
+        }
+        long version = cache.version(budi.getId());
+
+        cache.evictUser(sari.getId());
+        cache.put("budi-1", budi, Long.MAX_VALUE, version);
+
+        assertNotNull(cache.get("budi-1"));
+    }
+
+    @Test
+    void put_BoundedByMaxEntries() {
+        for (int i = 0; i < 25; i++) {
+            put("token-" + i, user());
+        }
+
+        assertTrue(cache.size() <= 10);
+        assertTrue(cache.getEvictions() > 0);
+    }
+
+    @Test
+    void put_PrunesExpiredEntriesFirst() {
+        for (int i = 0; i < 10; i++) {
+            User user = user();
+            cache.put("lama-" + i, user, now.get() + 10, cache.version(user.getId()));
+        }
+        now.addAndGet(10);
+        User fresh = user();
+
+        put("baru", fresh);
+
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getEvictions());
+        assertNotNull(cache.get("baru"));
+    }
+
+    @Test
+    void zeroTtl_DisablesCache() {
+        VerifiedTokenCache disabled = new VerifiedTokenCache(10, 0, now::get);
+        User user = user();
+        disabled.put("token-a", user, Long.MAX_VALUE, disabled.version(user.getId()));
+
+        assertNull(disabled.get("token-a"));
+        assertEquals(0, disabled.size());
+    }
+}
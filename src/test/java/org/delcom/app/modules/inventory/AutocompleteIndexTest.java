@@ -0,0 +1,131 @@
+package org.delcom.app.modules.inventory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteIndexTest {
+
+    @Mock
+    ItemRepository productRepository;
+
+    AutocompleteIndex autocompleteIndex;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        autocompleteIndex = new AutocompleteIndex(productRepository, 30);
+    }
+
+    private ItemLabel label(String name, String category) {
+        ItemLabel label = mock(ItemLabel.class);
+        when(label.getName()).thenReturn(name);
+        when(label.getCategory()).thenReturn(category);
+        return label;
+    }
+
+    @Test
+    void suggest_BuildsLazilyOnceThenServesFromMemory() {
+        List<ItemLabel> labels = List.of(label("Kopi Arabika", "Minuman"), label("Kipas", "Elektronik"));
+        when(productRepository.findLabelsByUserId(userId)).thenReturn(labels);
+
+        assertEquals(List.of("Kopi Arabika"), autocompleteIndex.suggest(userId, AutocompleteIndex.Field.NAME, "kop", null));
+        assertEquals(List.of("Elektronik"), autocompleteIndex.suggest(userId, AutocompleteIndex.Field.CATEGORY, "e", 5));
+
+        verify(productRepository, times(1)).findLabelsByUserId(userId);
+    }
+
+    @Test
+    void recordSaved_RenamesEntryInLoadedIndex() {
+        List<ItemLabel> labels = List.of(label("Kopi", "Minuman"));
+        when(productRepository.findLabelsByUserId(userId)).thenReturn(labels);
+        autocompleteIndex.suggest(userId, AutocompleteIndex.Field.NAME, "", null);
+
+        autocompleteIndex.recordSaved(userId, "Kopi", "Minuman", "Kopi Luwak", "Minuman Panas");
+
+        assertEquals(List.of("Kopi Luwak"), autocompleteIndex.suggest(userId, AutocompleteIndex.Field.NAME, "kopi", null));
+        assertEquals(List.of("Minuman Panas"),
+                autocompleteIndex.suggest(userId, AutocompleteIndex.Field.CATEGORY, "min", null));
+    }
+
+    @Test
+    void recordDeleted_RemovesLastOccurrenceOnly() {
+        List<ItemLabel> labels = List.of(label("Teh", "Minuman"), label("Kopi", "Minuman"));
+        when(productRepository.findLabelsByUserId(userId)).thenReturn(labels);
+        autocompleteIndex.suggest(userId, AutocompleteIndex.Field.NAME, "", null);
+
+        autocompleteIndex.recordDeleted(userId, "Teh", "Minuman");
+
+        assertTrue(autocompleteIndex.suggest(userId, AutocompleteIndex.Field.NAME, "teh", null).isEmpty());
+        assertEquals(List.of("Minuman"), autocompleteIndex.suggest(userId, AutocompleteIndex.Field.CATEGORY, "m", null));
+    }
+
+    @Test
+    void recordSaved_IndexNotLoaded_DoesNotQueryDatabase() {
+        autocompleteIndex.recordSaved(userId, null, null, "Kopi", "Minuman");
+
+        assertEquals(0, autocompleteIndex.size());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void evict_ForcesRebuild() {
+        when(productRepository.findLabelsByUserId(userId)).thenReturn(List.of());
+        autocompleteIndex.suggest(userId, AutocompleteIndex.Field.NAME, "a", null);
+
+        autocompleteIndex.evict(userId);
+        autocompleteIndex.suggest(userId, AutocompleteIndex.Field.NAME, "a", null);
+
+        verify(productRepository, times(2)).findLabelsByUserId(userId);
+    }
+
+    @Test
+    void suggest_WriteByOtherUserDuringLoad_StillCachesIndex() {
+        UUID owner = new UUID(0, 1);
+        UUID other = new UUID(0, 2);
+        when(productRepository.findLabelsByUserId(owner)).thenAnswer(invocation -> {
+            autocompleteIndex.recordDeleted(other, "Teh", "Minuman");
+            return List.of();
+        });
+
+        autocompleteIndex.suggest(owner, AutocompleteIndex.Field.NAME, "a", null);
+        autocompleteIndex.suggest(owner, AutocompleteIndex.Field.NAME, "a", null);
+
+        assertEquals(1, autocompleteIndex.size());
+        verify(productRepository, times(1)).findLabelsByUserId(owner);
+    }
+
+    @Test
+    void suggest_WriteBySameUserDuringLoad_DoesNotCacheIndex() {
+        when(productRepository.findLabelsByUserId(userId)).thenAnswer(invocation -> {
+            autocompleteIndex.recordDeleted(userId, "Teh", "Minuman");
+            return List.of();
+        });
+
+        autocompleteIndex.suggest(userId, AutocompleteIndex.Field.NAME, "a", null);
+
+        assertEquals(0, autocompleteIndex.size());
+    }
+
+    @Test
+    void evictIdle_DropsIndexesPastIdleTime() {
+        AutocompleteIndex noIdle = new AutocompleteIndex(productRepository, 0);
+        when(productRepository.findLabelsByUserId(userId)).thenReturn(List.of());
+        noIdle.suggest(userId, AutocompleteIndex.Field.NAME, "a", null);
+        assertEquals(1, noIdle.size());
+
+        noIdle.evictIdle();
+
+        assertEquals(0, noIdle.size());
+    }
+}
@@ -0,0 +1,150 @@
+package org.delcom.app.modules.inventory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryDictionaryTest {
+
+    @Mock
+    ItemCategoryRepository categoryRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    private CategoryDictionary dictionary;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new CategoryDictionary(categoryRepository, transactionManager, 30);
+    }
+
+    private ItemCategory category(Integer id, String name) {
+        ItemCategory category = new ItemCategory(userId, name);
+        ReflectionTestUtils.setField(category, "id", id);
+        return category;
+    }
+
+    @Test
+    void intern_KnownName_LoadsUserDictionaryOnce() {
+        when(categoryRepository.findByUserId(userId)).thenReturn(List.of(category(1, "Makanan"), category(2, "Minuman")));
+
+        assertEquals(2, dictionary.intern(userId, "Minuman"));
+        assertEquals(1, dictionary.intern(userId, "Makanan"));
+        assertEquals("Minuman", dictionary.nameOf(userId, 2));
+
+        verify(categoryRepository, times(1)).findByUserId(userId);
+        verify(categoryRepository, never()).insertIfAbsent(any(), any());
+        verify(categoryRepository, never()).findById(any());
+    }
+
+    @Test
+    void intern_NewName_InsertsOnceInCallersTransaction() {
+        when(categoryRepository.findByUserId(userId)).thenReturn(List.of());
+        when(categoryRepository.insertIfAbsent(userId, "Snack")).thenReturn(1);
+        when(categoryRepository.findByUserIdAndName(userId, "Snack")).thenReturn(Optional.of(category(9, "Snack")));
+
+        assertEquals(9, dictionary.intern(userId, "Snack"));
+        assertEquals(9, dictionary.intern(userId, "Snack"));
+
+        verify(categoryRepository, times(1)).insertIfAbsent(userId, "Snack");
+        verify(transactionManager).commit(any());
+        assertEquals("Snack", dictionary.nameOf(userId, 9));
+    }
+
+    @Test
+    void intern_ExistingRowElsewhere_ReadsExistingRow() {
+        when(categoryRepository.findByUserId(userId)).thenReturn(List.of());
+        // Sudah disisipkan instance lain: ON CONFLICT DO NOTHING
+        when(categoryRepository.insertIfAbsent(userId, "Snack")).thenReturn(0);
+        when(categoryRepository.findByUserIdAndName(userId, "Snack")).thenReturn(Optional.of(category(5, "Snack")));
+
+        assertEquals(5, dictionary.intern(userId, "Snack"));
+        assertEquals(5, dictionary.findId(userId, "Snack"));
+    }
+
+    @Test
+    void intern_CallerRollsBack_IdNotCached() {
+        when(categoryRepository.findByUserId(userId)).thenReturn(List.of());
+        when(categoryRepository.insertIfAbsent(userId, "Snack")).thenReturn(1);
+        when(categoryRepository.findByUserIdAndName(userId, "Snack")).thenReturn(Optional.of(category(9, "Snack")));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(9, dictionary.intern(userId, "Snack"));
+            // Transaksi pemanggil rollback: synchronization tidak pernah menerima afterCommit
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(dictionary.findId(userId, "Snack"));
+    }
+
+    @Test
+    void findId_UnknownName_DoesNotInsert() {
+        when(categoryRepository.findByUserId(userId)).thenReturn(List.of(category(1, "Makanan")));
+
+        assertNull(dictionary.findId(userId, "Snack"));
+        assertEquals(1, dictionary.findId(userId, "Makanan"));
+        verify(categoryRepository, never()).insertIfAbsent(any(), any());
+    }
+
+    @Test
+    void nameOf_UncachedId_ReadsRepositoryOnce() {
+        when(categoryRepository.findById(3)).thenReturn(Optional.of(category(3, "Alat")));
+
+        assertEquals("Alat", dictionary.nameOf(userId, 3));
+        assertEquals("Alat", dictionary.nameOf(userId, 3));
+        verify(categoryRepository, times(1)).findById(3);
+    }
+
+    @Test
+    void nameOf_IdOfAnotherUser_IsNotReturned() {
+        // Dengan sharding, id yang sama di shard lain milik user lain
+        ItemCategory other = new ItemCategory(UUID.randomUUID(), "Rahasia");
+        ReflectionTestUtils.setField(other, "id", 4);
+        when(categoryRepository.findById(4)).thenReturn(Optional.of(other));
+
+        assertNull(dictionary.nameOf(userId, 4));
+    }
+
+    @Test
+    void evict_ReloadsUserDictionary() {
+        when(categoryRepository.findByUserId(userId))
+                .thenReturn(List.of(category(1, "Makanan")))
+                .thenReturn(List.of(category(7, "Makanan")));
+
+        assertEquals(1, dictionary.intern(userId, "Makanan"));
+        dictionary.evict(userId);
+        assertEquals(7, dictionary.intern(userId, "Makanan"));
+    }
+
+    @Test
+    void evictIdle_DropsUnusedDictionaries() {
+        CategoryDictionary noIdle = new CategoryDictionary(categoryRepository, transactionManager, 0);
+        when(categoryRepository.findByUserId(userId)).thenReturn(List.of(category(1, "Makanan")));
+
+        noIdle.intern(userId, "Makanan");
+        noIdle.evictIdle();
+
+        assertEquals(0, noIdle.size());
+        noIdle.intern(userId, "Makanan");
+        verify(categoryRepository, times(2)).findByUserId(userId);
+    }
+}
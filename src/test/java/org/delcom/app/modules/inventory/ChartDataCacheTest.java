@@ -0,0 +1,101 @@
+package org.delcom.app.modules.inventory;
+
+import org.delcom.app.utils.UserVersions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ChartDataCacheTest {
+
+    @Test
+    void get_SecondCallIsHit() {
+        ChartDataCache cache = new ChartDataCache(10);
+        UUID userId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        List<CategoryStock> data = List.of(mock(CategoryStock.class));
+
+        cache.get(userId, () -> { loads.incrementAndGet(); return data; });
+        List<CategoryStock> result = cache.get(userId, () -> { loads.incrementAndGet(); return data; });
+
+        assertEquals(1, result.size());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void invalidate_ForcesReload() {
+        ChartDataCache cache = new ChartDataCache(10);
+        UUID userId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(userId, () -> { loads.incrementAndGet(); return List.of(); });
+        cache.invalidate(userId);
+        cache.get(userId, () -> { loads.incrementAndGet(); return List.of(); });
+
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void invalidate_DuringLoad_DoesNotCacheStaleResult() {
+        ChartDataCache cache = new ChartDataCache(10);
+        UUID userId = UUID.randomUUID();
+
+        cache.get(userId, () -> {
+            // Penulisan terjadi saat query masih berjalan
+            cache.invalidate(userId);
+            return List.of();
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidate_OtherUserDuringLoad_StillCachesResult() {
+        ChartDataCache cache = new ChartDataCache(10);
+        UUID userId = UUID.randomUUID();
+        // User lain yang tidak berbagi stripe versi (jumlah stripe sama dengan ChartDataCache)
+        UserVersions probe = new UserVersions(1024);
+        probe.increment(userId);
+        UUID otherUser = UUID.randomUUID();
+        while (probe.version(otherUser) != 0) {
+            otherUser = UUID.randomUUID();
+        }
+        UUID changedUser = otherUser;
+
+        cache.get(userId, () -> {
+            // Produk user lain berubah saat query user ini berjalan
+            cache.invalidate(changedUser);
+            return List.of();
+        });
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void get_OverCapacity_EvictsLeastRecentlyUsed() {
+        ChartDataCache cache = new ChartDataCache(2);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+
+        cache.get(a, List::of);
+        cache.get(b, List::of);
+        cache.get(a, List::of); // a jadi paling baru dipakai
+        cache.get(c, List::of); // b dieviksi
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        long missesBefore = cache.getMisses();
+        cache.get(a, List::of);
+        assertEquals(missesBefore, cache.getMisses());
+        cache.get(b, List::of);
+        assertEquals(missesBefore + 1, cache.getMisses());
+    }
+}
@@ -0,0 +1,214 @@
+package org.delcom.app.modules.inventory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotStockJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void rotateIfDirty_ReturnsNetDeltasAndStartsNewSegment() throws IOException {
+        HotStockJournal journal = new HotStockJournal(tempDir, 1);
+        UUID item = UUID.randomUUID();
+
+        assertNull(journal.rotateIfDirty());
+        journal.append(item, userId, -3);
+        journal.append(item, userId, 1);
+
+        HotStockJournal.Segment segment = journal.rotateIfDirty();
+
+        assertEquals(1, segment.getNumber());
+        assertEquals(-2L, segment.getDeltas().get(item));
+        assertEquals(userId, segment.getOwners().get(item));
+        assertEquals(List.of(1L, 2L), HotStockJournal.listSegments(tempDir));
+        journal.close();
+    }
+
+    @Test
+    void append_ConcurrentWriters_AllRecordsLandInSegment() throws Exception {
+        HotStockJournal journal = new HotStockJournal(tempDir, 1);
+        UUID item = UUID.randomUUID();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> writes = new ArrayList<>();
+        for (int i = 0; i < 800; i++) {
+            writes.add(pool.submit(() -> {
+                journal.append(item, userId, -1);
+                return null;
+            }));
+        }
+        for (Future<?> write : writes) {
+            write.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        HotStockJournal.Segment segment = journal.rotateIfDirty();
+        journal.close();
+
+        assertEquals(-800L, segment.getDeltas().get(item));
+        assertEquals(-800L, HotStockJournal.readSegment(1, segment.getFile()).getDeltas().get(item));
+        assertEquals(800L * HotStockJournal.RECORD_SIZE, Files.size(segment.getFile()));
+    }
+
+    @Test
+    void append_AfterClose_Throws() throws IOException {
+        HotStockJournal journal = new HotStockJournal(tempDir, 1);
+        journal.close();
+
+        assertThrows(IOException.class, () -> journal.append(UUID.randomUUID(), userId, 1));
+    }
+
+    @Test
+    void readSegment_ReplaysRecordsWithOwnersAndIgnoresTornTail() throws IOException {
+        HotStockJournal journal = new HotStockJournal(tempDir, 7);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID otherUser = UUID.randomUUID();
+        journal.append(a, userId, -1);
+        journal.append(b, otherUser, 4);
+        journal.append(a, userId, -1);
+        journal.close();
+
+        // Simulasi crash di tengah penulisan record
+        Path file = HotStockJournal.segmentPath(tempDir, 7);
+        Files.write(file, new byte[] { 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        HotStockJournal.Segment segment = HotStockJournal.readSegment(7, file);
+
+        assertEquals(-2L, segment.getDeltas().get(a));
+        assertEquals(4L, segment.getDeltas().get(b));
+        assertEquals(Map.of(a, userId, b, otherUser), segment.getOwners());
+    }
+
+    @Test
+    void append_FailedWriteIsCutFromSegment() throws IOException {
+        AtomicReference<FaultyChannel> channel = new AtomicReference<>();
+        HotStockJournal journal = new HotStockJournal(tempDir, 1, file -> faulty(file, channel));
+        UUID item = UUID.randomUUID();
+        journal.append(item, userId, -1);
+
+        // Record sudah masuk file tapi write() melapor gagal: tidak di-ack, tidak boleh diputar ulang
+        channel.get().failNextWrite = true;
+        assertThrows(IOException.class, () -> journal.append(item, userId, -5));
+        journal.append(item, userId, -2);
+
+        HotStockJournal.Segment segment = journal.rotateIfDirty();
+        journal.close();
+
+        assertEquals(-3L, segment.getDeltas().get(item));
+        assertEquals(-3L, HotStockJournal.readSegment(1, segment.getFile()).getDeltas().get(item));
+    }
+
+    @Test
+    void append_SegmentThatCannotBeCutIsRejectedUntilRotate() throws IOException {
+        AtomicReference<FaultyChannel> channel = new AtomicReference<>();
+        HotStockJournal journal = new HotStockJournal(tempDir, 1, file -> faulty(file, channel));
+        UUID item = UUID.randomUUID();
+        journal.append(item, userId, -1);
+
+        channel.get().failNextWrite = true;
+        channel.get().failTruncate = true;
+        assertThrows(IOException.class, () -> journal.append(item, userId, -5));
+        assertThrows(IOException.class, () -> journal.append(item, userId, -2));
+
+        // Delta yang sudah di-ack tetap diserahkan untuk di-flush, lalu segmen baru bisa dipakai
+        HotStockJournal.Segment segment = journal.rotateIfDirty();
+        assertEquals(-1L, segment.getDeltas().get(item));
+        journal.append(item, userId, -2);
+        assertEquals(-2L, journal.rotateIfDirty().getDeltas().get(item));
+        journal.close();
+    }
+
+    private static FileChannel faulty(Path file, AtomicReference<FaultyChannel> latest) throws IOException {
+        FaultyChannel channel = new FaultyChannel(FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+        latest.set(channel);
+        return channel;
+    }
+
+    // write() yang gagal setelah datanya masuk file (mis. error baru dilaporkan belakangan); truncate() bisa ikut gagal
+    private static final class FaultyChannel extends FileChannel {
+        private final FileChannel delegate;
+        private volatile boolean failNextWrite;
+        private volatile boolean failTruncate;
+
+        FaultyChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int written = delegate.write(src);
+            if (failNextWrite) {
+                failNextWrite = false;
+                throw new IOException("Disk penuh");
+            }
+            return written;
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("Truncate gagal");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException { return delegate.read(dst); }
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException { return delegate.read(dsts, offset, length); }
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException { return delegate.write(srcs, offset, length); }
+        @Override
+        public long position() throws IOException { return delegate.position(); }
+        @Override
+        public FileChannel position(long newPosition) throws IOException { delegate.position(newPosition); return this; }
+        @Override
+        public long size() throws IOException { return delegate.size(); }
+        @Override
+        public void force(boolean metaData) throws IOException { delegate.force(metaData); }
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException { return delegate.transferTo(position, count, target); }
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException { return delegate.transferFrom(src, position, count); }
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException { return delegate.read(dst, position); }
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException { return delegate.write(src, position); }
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException { return delegate.map(mode, position, size); }
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException { return delegate.lock(position, size, shared); }
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException { return delegate.tryLock(position, size, shared); }
+        @Override
+        protected void implCloseChannel() throws IOException { delegate.close(); }
+    }
+}
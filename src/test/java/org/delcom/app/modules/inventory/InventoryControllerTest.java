@@ -17,7 +17,11 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.math.BigDecimal;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -37,6 +41,16 @@ class InventoryControllerTest {
     @Mock
     AccountService userService;
     @Mock
+    HotStockEngine hotStockEngine;
+    @Mock
+    StockReservationService reservationService;
+    @Mock
+    ItemExportService exportService;
+    @Mock
+    ItemImportService importService;
+    @Mock
+    ItemFuzzySearchService fuzzySearchService;
+    @Mock
     Model model;
     @Mock
     BindingResult bindingResult;
@@ -69,13 +83,23 @@ class InventoryControllerTest {
         }
     }
 
+    // Form yang lolos validasi: harga & stok wajib (@NotNull), controller mengonversinya ke Item
+    private static ItemData validForm() {
+        ItemData form = new ItemData();
+        form.setName("Teh Botol");
+        form.setCategory("Minuman");
+        form.setPrice(new BigDecimal("5000.00"));
+        form.setStock(10);
+        return form;
+    }
+
     @Test
     void listProducts_AuthExistsButPrincipalWrongType_RedirectsLogin() {
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn("anonymousUser");
 
-        String view = productController.listProducts(model);
+        String view = productController.listProducts(null, null, null, null, null, new ItemFilter(), bindingResult, model);
 
         assertEquals("redirect:/auth/login", view);
     }
@@ -84,16 +108,49 @@ class InventoryControllerTest {
     @Test
     void listProducts_NotLoggedIn_RedirectsLogin() {
         mockAuthenticatedUser(false);
-        String view = productController.listProducts(model);
+        String view = productController.listProducts(null, null, null, null, null, new ItemFilter(), bindingResult, model);
         assertEquals("redirect:/auth/login", view);
     }
 
     @Test
     void listProducts_LoggedIn_ReturnsList() {
         mockAuthenticatedUser(true);
-        String view = productController.listProducts(model);
+        ItemFilter filter = new ItemFilter();
+        when(productService.getFilteredPage(mockUser.getId(), filter, null, null, null))
+                .thenReturn(new FilteredItemPage(List.of(), ItemService.DEFAULT_PAGE_SIZE, null, null, List.of()));
+        String view = productController.listProducts(null, null, null, null, null, filter, bindingResult, model);
+        assertEquals("pages/products/list", view);
+        verify(productService).getFilteredPage(mockUser.getId(), filter, null, null, null);
+        verify(model).addAttribute(eq("page"), any(ItemPage.class));
+    }
+
+    @Test
+    void listProducts_WithFilter_AddsCategoryFacets() {
+        mockAuthenticatedUser(true);
+        ItemFilter filter = new ItemFilter();
+        filter.setMinPrice(new BigDecimal("1000"));
+        filter.setSort("price");
+        List<CategoryCount> facets = List.of(new CategoryCount("Minuman", 3L));
+        when(productService.getFilteredPage(mockUser.getId(), filter, "abc", null, 10))
+                .thenReturn(new FilteredItemPage(List.of(), 10, null, null, facets));
+
+        String view = productController.listProducts("abc", null, 10, null, null, filter, bindingResult, model);
+
         assertEquals("pages/products/list", view);
-        verify(productService).getAllProducts(mockUser.getId());
+        verify(model).addAttribute("facets", facets);
+    }
+
+    @Test
+    void listProducts_WithQuery_UsesSearch() {
+        mockAuthenticatedUser(true);
+        when(productService.searchProducts(mockUser.getId(), " kopi ", 2, null))
+                .thenReturn(new ItemPage<ItemSummary>(List.of(), ItemService.DEFAULT_PAGE_SIZE, null, "1"));
+
+        String view = productController.listProducts(null, null, null, " kopi ", 2, new ItemFilter(), bindingResult, model);
+
+        assertEquals("pages/products/list", view);
+        verify(model).addAttribute("q", "kopi");
+        verify(productService, never()).getFilteredPage(any(), any(), any(), any(), any());
     }
 
     // 2. FORM TAMBAH
@@ -133,7 +190,7 @@ class InventoryControllerTest {
         mockAuthenticatedUser(true);
         when(bindingResult.hasErrors()).thenReturn(false);
 
-        ItemData form = new ItemData();
+        ItemData form = validForm();
         Item savedProduct = new Item();
         savedProduct.setId(UUID.randomUUID());
         when(productService.saveProduct(any(Item.class))).thenReturn(savedProduct);
@@ -147,7 +204,7 @@ class InventoryControllerTest {
         mockAuthenticatedUser(true);
         when(bindingResult.hasErrors()).thenReturn(false);
 
-        ItemData form = new ItemData();
+        ItemData form = validForm();
         MultipartFile mockFile = mock(MultipartFile.class);
         when(mockFile.isEmpty()).thenReturn(false);
         form.setImageFile(mockFile);
@@ -165,7 +222,7 @@ class InventoryControllerTest {
         mockAuthenticatedUser(true);
         when(bindingResult.hasErrors()).thenReturn(false);
 
-        ItemData form = new ItemData();
+        ItemData form = validForm();
         MultipartFile mockFile = mock(MultipartFile.class);
         when(mockFile.isEmpty()).thenReturn(true);
         form.setImageFile(mockFile); 
@@ -244,7 +301,7 @@ class InventoryControllerTest {
         p.setId(pid);
         p.setName("Test Product");
         p.setCategory("General");
-        p.setPrice(100.0);
+        p.setPriceMinor(10000L);
         p.setStock(1);
 
         when(productService.getProductById(pid, mockUser.getId())).thenReturn(p);
@@ -291,7 +348,7 @@ class InventoryControllerTest {
 
         when(productService.getProductById(pid, mockUser.getId())).thenReturn(existing);
 
-        ItemData form = new ItemData();
+        ItemData form = validForm();
         MultipartFile newFile = mock(MultipartFile.class);
         when(newFile.isEmpty()).thenReturn(false); 
         form.setImageFile(newFile);
@@ -328,7 +385,7 @@ class InventoryControllerTest {
         existing.setId(pid);
         when(productService.getProductById(pid, mockUser.getId())).thenReturn(existing);
 
-        ItemData form = new ItemData();
+        ItemData form = validForm();
         MultipartFile mockFile = mock(MultipartFile.class);
         when(mockFile.isEmpty()).thenReturn(true);
         form.setImageFile(mockFile);
@@ -351,7 +408,7 @@ class InventoryControllerTest {
 
         when(productService.getProductById(pid, mockUser.getId())).thenReturn(existing);
 
-        ItemData form = new ItemData();
+        ItemData form = validForm();
         MultipartFile newFile = mock(MultipartFile.class);
         when(newFile.isEmpty()).thenReturn(false);
         form.setImageFile(newFile);
@@ -372,7 +429,7 @@ class InventoryControllerTest {
         existing.setId(pid);
         when(productService.getProductById(pid, mockUser.getId())).thenReturn(existing);
 
-        ItemData form = new ItemData();
+        ItemData form = validForm();
         form.setImageFile(null);
 
         productController.updateProduct(pid, form, bindingResult, redirectAttributes);
@@ -402,7 +459,7 @@ class InventoryControllerTest {
         String view = productController.deleteProduct(pid, redirectAttributes);
 
         verify(fileStorageService).deleteFile("gambar_exist.jpg");
-        verify(productService).deleteProduct(pid);
+        verify(productService).deleteProduct(pid, mockUser.getId());
         assertEquals("redirect:/products", view);
     }
 
@@ -414,7 +471,7 @@ class InventoryControllerTest {
 
         String view = productController.deleteProduct(pid, redirectAttributes);
 
-        verify(productService, never()).deleteProduct(any());
+        verify(productService, never()).deleteProduct(any(), any());
         verify(fileStorageService, never()).deleteFile(any());
 
         assertEquals("redirect:/products", view);
@@ -432,7 +489,7 @@ class InventoryControllerTest {
 
         String view = productController.deleteProduct(pid, redirectAttributes);
 
-        verify(productService).deleteProduct(pid);
+        verify(productService).deleteProduct(pid, mockUser.getId());
         verify(fileStorageService, never()).deleteFile(any());
 
         assertEquals("redirect:/products", view);
@@ -464,7 +521,7 @@ class InventoryControllerTest {
     @Test
     void getChartData_NotLoggedIn_ReturnsNull() {
         mockAuthenticatedUser(false);
-        List<Object[]> result = productController.getChartData();
+        List<CategoryStock> result = productController.getChartData();
         assertNull(result);
     }
 
@@ -475,4 +532,359 @@ class InventoryControllerTest {
         verify(productService).getChartData(mockUser.getId());
     }
 
-}
\ No newline at end of file
+    // 11. API REBUILD RINGKASAN
+    @Test
+    void rebuildSummary_NotLoggedIn_ReturnsUnauthorized() {
+        mockAuthenticatedUser(false);
+        assertEquals(401, productController.rebuildSummary().getStatusCode().value());
+    }
+
+    @Test
+    void rebuildSummary_LoggedIn_RebuildsForUser() {
+        mockAuthenticatedUser(true);
+        assertEquals(200, productController.rebuildSummary().getStatusCode().value());
+        verify(productService).rebuildDashboardStats(mockUser.getId());
+    }
+
+    @Test
+    void updateProduct_StaleVersion_RedirectsBackToEdit() throws IOException {
+        mockAuthenticatedUser(true);
+        when(bindingResult.hasErrors()).thenReturn(false);
+
+        UUID pid = UUID.randomUUID();
+        Item existing = new Item();
+        existing.setId(pid);
+        existing.setVersion(3L);
+        when(productService.getProductById(pid, mockUser.getId())).thenReturn(existing);
+
+        ItemData form = new ItemData();
+        form.setVersion(2L);
+
+        String view = productController.updateProduct(pid, form, bindingResult, redirectAttributes);
+
+        assertEquals("redirect:/products/edit/" + pid, view);
+        verify(productService, never()).saveProduct(any());
+        verify(redirectAttributes).addFlashAttribute(eq("error"), any());
+    }
+
+    @Test
+    void updateProduct_ConcurrentModification_RedirectsBackToEdit() throws IOException {
+        mockAuthenticatedUser(true);
+        when(bindingResult.hasErrors()).thenReturn(false);
+
+        UUID pid = UUID.randomUUID();
+        Item existing = new Item();
+        existing.setId(pid);
+        when(productService.getProductById(pid, mockUser.getId())).thenReturn(existing);
+        when(productService.saveProduct(existing))
+                .thenThrow(new org.springframework.orm.ObjectOptimisticLockingFailureException(Item.class, pid));
+
+        String view = productController.updateProduct(pid, validForm(), bindingResult, redirectAttributes);
+
+        assertEquals("redirect:/products/edit/" + pid, view);
+    }
+
+    @Test
+    void updateProduct_StockBelowActiveReservations_RedirectsBackWithError() throws IOException {
+        mockAuthenticatedUser(true);
+        when(bindingResult.hasErrors()).thenReturn(false);
+
+        UUID pid = UUID.randomUUID();
+        Item existing = new Item();
+        existing.setId(pid);
+        when(productService.getProductById(pid, mockUser.getId())).thenReturn(existing);
+        when(productService.saveProduct(existing)).thenThrow(new StockHeldException("Stok ditahan"));
+        ItemData form = new ItemData();
+        form.setPrice(new BigDecimal("1000.00"));
+        form.setStock(1);
+
+        String view = productController.updateProduct(pid, form, bindingResult, redirectAttributes);
+
+        assertEquals("redirect:/products/edit/" + pid, view);
+        verify(redirectAttributes).addFlashAttribute("error", "Stok ditahan");
+    }
+
+    // 12. API ADJUST STOCK
+    private StockAdjustRequest stockDelta(int delta) {
+        StockAdjustRequest request = new StockAdjustRequest();
+        request.setDelta(delta);
+        return request;
+    }
+
+    @Test
+    void adjustStock_NotLoggedIn_ReturnsUnauthorized() {
+        mockAuthenticatedUser(false);
+        assertEquals(401, productController.adjustStock(UUID.randomUUID(), stockDelta(1)).getStatusCode().value());
+    }
+
+    @Test
+    void adjustStock_Success_ReturnsOk() {
+        mockAuthenticatedUser(true);
+        UUID pid = UUID.randomUUID();
+        when(productService.adjustStock(pid, mockUser.getId(), -1)).thenReturn(true);
+
+        assertEquals(200, productController.adjustStock(pid, stockDelta(-1)).getStatusCode().value());
+        verify(productService, never()).isOwnedBy(any(), any());
+    }
+
+    @Test
+    void adjustStock_InsufficientStock_ReturnsConflict() {
+        mockAuthenticatedUser(true);
+        UUID pid = UUID.randomUUID();
+        when(productService.adjustStock(pid, mockUser.getId(), -5)).thenReturn(false);
+        when(productService.isOwnedBy(pid, mockUser.getId())).thenReturn(true);
+
+        assertEquals(409, productController.adjustStock(pid, stockDelta(-5)).getStatusCode().value());
+    }
+
+    @Test
+    void adjustStock_ProductNotFound_ReturnsNotFound() {
+        mockAuthenticatedUser(true);
+        UUID pid = UUID.randomUUID();
+        when(productService.adjustStock(pid, mockUser.getId(), 2)).thenReturn(false);
+        when(productService.isOwnedBy(pid, mockUser.getId())).thenReturn(false);
+
+        assertEquals(404, productController.adjustStock(pid, stockDelta(2)).getStatusCode().value());
+    }
+
+    // 13. API PRODUK HOT
+    @Test
+    void promoteHotProduct_EngineDisabled_ReturnsConflict() {
+        mockAuthenticatedUser(true);
+        when(hotStockEngine.isEnabled()).thenReturn(false);
+
+        assertEquals(409, productController.promoteHotProduct(UUID.randomUUID()).getStatusCode().value());
+        verify(hotStockEngine, never()).promote(any(), any());
+    }
+
+    @Test
+    void promoteHotProduct_Owned_ReturnsOk() {
+        mockAuthenticatedUser(true);
+        UUID pid = UUID.randomUUID();
+        when(hotStockEngine.isEnabled()).thenReturn(true);
+        when(hotStockEngine.promote(pid, mockUser.getId())).thenReturn(true);
+
+        assertEquals(200, productController.promoteHotProduct(pid).getStatusCode().value());
+    }
+
+    @Test
+    void demoteHotProduct_LoggedIn_Demotes() {
+        mockAuthenticatedUser(true);
+        UUID pid = UUID.randomUUID();
+
+        assertEquals(200, productController.demoteHotProduct(pid).getStatusCode().value());
+        verify(hotStockEngine).demote(pid, mockUser.getId());
+    }
+
+    // 14. API RESERVASI STOK
+    private ReservationRequest reservationRequest(int quantity, long ttlSeconds) {
+        ReservationRequest request = new ReservationRequest();
+        request.setQuantity(quantity);
+        request.setTtlSeconds(ttlSeconds);
+        return request;
+    }
+
+    @Test
+    void reserveStock_NotLoggedIn_ReturnsUnauthorized() {
+        mockAuthenticatedUser(false);
+        assertEquals(401, productController.reserveStock(UUID.randomUUID(), reservationRequest(1, 60))
+                .getStatusCode().value());
+    }
+
+    @Test
+    void reserveStock_Available_ReturnsCreated() {
+        mockAuthenticatedUser(true);
+        UUID pid = UUID.randomUUID();
+        StockReservation reservation = new StockReservation(UUID.randomUUID(), pid, mockUser.getId(), 2,
+                Instant.now().plusSeconds(60));
+        when(reservationService.reserve(pid, mockUser.getId(), 2, Duration.ofSeconds(60))).thenReturn(reservation);
+
+        var response = productController.reserveStock(pid, reservationRequest(2, 60));
+
+        assertEquals(201, response.getStatusCode().value());
+        assertEquals(reservation, response.getBody().getData());
+    }
+
+    @Test
+    void reserveStock_InsufficientStock_ReturnsConflict() {
+        mockAuthenticatedUser(true);
+        UUID pid = UUID.randomUUID();
+        when(reservationService.reserve(pid, mockUser.getId(), 9, Duration.ofSeconds(60)))
+                .thenThrow(new IllegalStateException("Stok tersedia tidak mencukupi"));
+
+        assertEquals(409, productController.reserveStock(pid, reservationRequest(9, 60)).getStatusCode().value());
+    }
+
+    @Test
+    void reserveStock_ProductNotFound_ReturnsNotFound() {
+        mockAuthenticatedUser(true);
+        UUID pid = UUID.randomUUID();
+        when(reservationService.reserve(pid, mockUser.getId(), 1, Duration.ofSeconds(60))).thenReturn(null);
+
+        assertEquals(404, productController.reserveStock(pid, reservationRequest(1, 60)).getStatusCode().value());
+    }
+
+    @Test
+    void confirmReservation_Expired_ReturnsConflict() {
+        mockAuthenticatedUser(true);
+        UUID rid = UUID.randomUUID();
+        when(reservationService.confirm(rid, mockUser.getId())).thenReturn(false);
+
+        assertEquals(409, productController.confirmReservation(rid).getStatusCode().value());
+    }
+
+    @Test
+    void confirmReservation_Active_ReturnsOk() {
+        mockAuthenticatedUser(true);
+        UUID rid = UUID.randomUUID();
+        when(reservationService.confirm(rid, mockUser.getId())).thenReturn(true);
+
+        assertEquals(200, productController.confirmReservation(rid).getStatusCode().value());
+    }
+
+    @Test
+    void releaseReservation_Unknown_ReturnsNotFound() {
+        mockAuthenticatedUser(true);
+        UUID rid = UUID.randomUUID();
+        when(reservationService.release(rid, mockUser.getId())).thenReturn(false);
+
+        assertEquals(404, productController.releaseReservation(rid).getStatusCode().value());
+    }
+
+    @Test
+    void getAvailability_LoggedIn_ReturnsAvailableStock() {
+        mockAuthenticatedUser(true);
+        UUID pid = UUID.randomUUID();
+        when(reservationService.getAvailableStock(pid, mockUser.getId())).thenReturn(7L);
+        when(reservationService.getHeldQuantity(pid)).thenReturn(3L);
+
+        var response = productController.getAvailability(pid);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(7L, response.getBody().getData().get("available"));
+        assertEquals(3L, response.getBody().getData().get("reserved"));
+    }
+
+    @Test
+    void getAvailability_ProductNotFound_ReturnsNotFound() {
+        mockAuthenticatedUser(true);
+        UUID pid = UUID.randomUUID();
+        when(reservationService.getAvailableStock(pid, mockUser.getId())).thenReturn(null);
+
+        assertEquals(404, productController.getAvailability(pid).getStatusCode().value());
+    }
+
+    // 15. EXPORT PRODUK
+    @Test
+    void exportProducts_NotLoggedIn_ReturnsUnauthorized() {
+        mockAuthenticatedUser(false);
+        assertEquals(401, productController.exportProducts("csv").getStatusCode().value());
+    }
+
+    @Test
+    void exportProducts_UnknownFormat_ReturnsBadRequest() {
+        mockAuthenticatedUser(true);
+        assertEquals(400, productController.exportProducts("xlsx").getStatusCode().value());
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void exportProducts_Ndjson_StreamsFromExportService() throws IOException {
+        mockAuthenticatedUser(true);
+
+        var response = productController.exportProducts("ndjson");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("application/x-ndjson;charset=UTF-8", response.getHeaders().getContentType().toString());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(exportService).export(mockUser.getId(), ExportFormat.NDJSON, out);
+    }
+
+    // 16. IMPORT CSV
+    @Test
+    void importProducts_EmptyFile_RedirectsBackWithError() throws IOException {
+        mockAuthenticatedUser(true);
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.isEmpty()).thenReturn(true);
+
+        String view = productController.importProducts(file, redirectAttributes);
+
+        assertEquals("redirect:/products/import", view);
+        verify(redirectAttributes).addFlashAttribute(eq("error"), any());
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void importProducts_ValidFile_RedirectsToProgress() throws IOException {
+        mockAuthenticatedUser(true);
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.isEmpty()).thenReturn(false);
+        ImportJob job = new ImportJob(UUID.randomUUID(), mockUser.getId(), "produk.csv", 10);
+        when(importService.submit(mockUser.getId(), file)).thenReturn(job);
+
+        String view = productController.importProducts(file, redirectAttributes);
+
+        assertEquals("redirect:/products/import?job=" + job.getId(), view);
+    }
+
+    @Test
+    void importPage_WithOwnJob_ExposesJobId() {
+        mockAuthenticatedUser(true);
+        UUID jobId = UUID.randomUUID();
+        when(importService.getJob(jobId, mockUser.getId()))
+                .thenReturn(new ImportJob(jobId, mockUser.getId(), "produk.csv", 10));
+
+        assertEquals("pages/products/import", productController.importPage(jobId, model));
+        verify(model).addAttribute("jobId", jobId);
+    }
+
+    // 17. API PROGRES IMPORT
+    @Test
+    void getImportStatus_UnknownJob_ReturnsNotFound() {
+        mockAuthenticatedUser(true);
+        UUID jobId = UUID.randomUUID();
+        when(importService.getJob(jobId, mockUser.getId())).thenReturn(null);
+
+        assertEquals(404, productController.getImportStatus(jobId).getStatusCode().value());
+    }
+
+    // 18. API PENCARIAN NAMA FUZZY
+    @Test
+    void fuzzySearch_NotLoggedIn_ReturnsUnauthorized() {
+        mockAuthenticatedUser(false);
+        assertEquals(401, productController.fuzzySearch("kopi", null).getStatusCode().value());
+    }
+
+    @Test
+    void fuzzySearch_LoggedIn_ReturnsMatches() {
+        mockAuthenticatedUser(true);
+        List<FuzzyMatch> matches = List.of(new FuzzyMatch(UUID.randomUUID(), "Kopi Arabika", "Minuman", 3, 0.6));
+        when(fuzzySearchService.findClosest(mockUser.getId(), "kopi arbika", 5)).thenReturn(matches);
+
+        var response = productController.fuzzySearch("kopi arbika", 5);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(matches, response.getBody().getData());
+    }
+
+    // 19. API AUTOCOMPLETE
+    @Test
+    void autocomplete_Category_ReturnsSuggestions() {
+        mockAuthenticatedUser(true);
+        when(productService.suggest(mockUser.getId(), AutocompleteIndex.Field.CATEGORY, "mi", null))
+                .thenReturn(List.of("Minuman"));
+
+        var response = productController.autocomplete("category", "mi", null);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of("Minuman"), response.getBody().getData());
+    }
+
+    @Test
+    void autocomplete_UnknownField_ReturnsBadRequest() {
+        mockAuthenticatedUser(true);
+        assertEquals(400, productController.autocomplete("price", "1", null).getStatusCode().value());
+        verify(productService, never()).suggest(any(), any(), any(), any());
+    }
+}
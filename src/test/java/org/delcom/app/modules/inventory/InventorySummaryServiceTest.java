@@ -0,0 +1,169 @@
+package org.delcom.app.modules.inventory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventorySummaryServiceTest {
+
+    @Mock
+    private ItemRepository productRepository;
+
+    @Mock
+    private CategoryDictionary categoryDictionary;
+
+    private InventorySummaryService summaryService;
+
+    @BeforeEach
+    void setUp() {
+        summaryService = new InventorySummaryService(productRepository, categoryDictionary, 100);
+    }
+
+    private CategoryTotals row(String category, long products, long assetValueMinor) {
+        CategoryTotals row = mock(CategoryTotals.class);
+        Integer categoryId = category.hashCode();
+        when(row.getCategoryId()).thenReturn(categoryId);
+        lenient().when(categoryDictionary.nameOf(any(UUID.class), eq(categoryId))).thenReturn(category);
+        when(row.getTotalProducts()).thenReturn(products);
+        when(row.getTotalAssetValueMinor()).thenReturn(assetValueMinor);
+        return row;
+    }
+
+    @Test
+    void getSummary_BuildsOnceFromDatabase() {
+        UUID userId = UUID.randomUUID();
+        List<CategoryTotals> rows = List.of(row("Makanan", 2, 300000L), row("Minuman", 1, 50050L));
+        when(productRepository.sumByCategory(userId)).thenReturn(rows);
+
+        InventoryStats first = summaryService.getSummary(userId);
+        InventoryStats second = summaryService.getSummary(userId);
+
+        assertEquals(3L, first.getTotalProducts());
+        assertEquals(2L, first.getTotalCategories());
+        assertEquals(350050L, first.getTotalAssetValueMinor());
+        assertEquals(new BigDecimal("3500.50"), first.getTotalAssetValue());
+        assertEquals(3L, second.getTotalProducts());
+        verify(productRepository, times(1)).sumByCategory(userId);
+    }
+
+    @Test
+    void recordSavedAndDeleted_UpdatesSummaryIncrementally() {
+        UUID userId = UUID.randomUUID();
+        List<CategoryTotals> rows = List.of(row("Makanan", 1, 100000L));
+        when(productRepository.sumByCategory(userId)).thenReturn(rows);
+        summaryService.getSummary(userId);
+
+        // Produk baru di kategori baru
+        summaryService.recordSaved(userId, false, null, null, null, "Minuman", 20000L, 5);
+        // Produk lama pindah kategori & stok berubah
+        summaryService.recordSaved(userId, true, "Makanan", 100000L, 1, "Minuman", 100000L, 2);
+
+        InventoryStats stats = summaryService.getSummary(userId);
+        assertEquals(2L, stats.getTotalProducts());
+        assertEquals(1L, stats.getTotalCategories());
+        assertEquals(300000L, stats.getTotalAssetValueMinor());
+
+        summaryService.recordDeleted(userId, "Minuman", 20000L, 5);
+        stats = summaryService.getSummary(userId);
+        assertEquals(1L, stats.getTotalProducts());
+        assertEquals(200000L, stats.getTotalAssetValueMinor());
+        verify(productRepository, times(1)).sumByCategory(userId);
+    }
+
+    @Test
+    void recordStockAdjusted_ShiftsAssetValueOnly() {
+        UUID userId = UUID.randomUUID();
+        List<CategoryTotals> rows = List.of(row("Makanan", 2, 300000L));
+        when(productRepository.sumByCategory(userId)).thenReturn(rows);
+        summaryService.getSummary(userId);
+
+        summaryService.recordStockAdjusted(userId, 15000L, -4);
+        summaryService.recordStockAdjusted(userId, 2500L, 10);
+
+        InventoryStats stats = summaryService.getSummary(userId);
+        assertEquals(2L, stats.getTotalProducts());
+        assertEquals(1L, stats.getTotalCategories());
+        assertEquals(265000L, stats.getTotalAssetValueMinor());
+        verify(productRepository, times(1)).sumByCategory(userId);
+    }
+
+    @Test
+    void recordSaved_SummaryNotLoaded_IsIgnored() {
+        UUID userId = UUID.randomUUID();
+        summaryService.recordSaved(userId, false, null, null, null, "Makanan", 10000L, 1);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void rebuild_ReplacesDriftedSummary() {
+        UUID userId = UUID.randomUUID();
+        List<CategoryTotals> rows = List.of(row("Makanan", 1, 100000L));
+        when(productRepository.sumByCategory(userId)).thenReturn(rows).thenReturn(List.of());
+        summaryService.getSummary(userId);
+
+        InventoryStats rebuilt = summaryService.rebuild(userId);
+
+        assertEquals(0L, rebuilt.getTotalProducts());
+        assertEquals(0L, rebuilt.getTotalCategories());
+    }
+
+    @Test
+    void getSummary_WriteBySameUserDuringLoad_DoesNotCacheSummary() {
+        UUID userId = UUID.randomUUID();
+        when(productRepository.sumByCategory(userId)).thenAnswer(invocation -> {
+            // Commit penulisan terjadi saat query masih berjalan: hasil query belum melihatnya
+            summaryService.recordStockAdjusted(userId, 10000L, 1);
+            return List.of();
+        });
+
+        summaryService.getSummary(userId);
+
+        assertEquals(0, summaryService.size());
+    }
+
+    @Test
+    void getSummary_WriteByOtherUserDuringLoad_StillCachesSummary() {
+        UUID owner = new UUID(0, 1);
+        UUID other = new UUID(0, 2);
+        when(productRepository.sumByCategory(owner)).thenAnswer(invocation -> {
+            summaryService.recordStockAdjusted(other, 10000L, 1);
+            return List.of();
+        });
+
+        summaryService.getSummary(owner);
+        summaryService.getSummary(owner);
+
+        assertEquals(1, summaryService.size());
+        verify(productRepository, times(1)).sumByCategory(owner);
+    }
+
+    @Test
+    void getSummary_EvictsLeastRecentlyUsedBeyondMaxUsers() {
+        InventorySummaryService small = new InventorySummaryService(productRepository, categoryDictionary, 2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(productRepository.sumByCategory(any(UUID.class))).thenReturn(List.of());
+
+        small.getSummary(first);
+        small.getSummary(second);
+        small.getSummary(first);
+        small.getSummary(third);
+
+        assertEquals(2, small.size());
+        small.getSummary(first);
+        small.getSummary(second);
+        verify(productRepository, times(1)).sumByCategory(first);
+        verify(productRepository, times(2)).sumByCategory(second);
+    }
+}
@@ -9,6 +9,7 @@ import org.delcom.app.modules.inventory.ItemData;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -29,7 +30,7 @@ class ProductFormTest {
         ItemData form = new ItemData();
         form.setName("Laptop");
         form.setCategory("Elektronik");
-        form.setPrice(10000.0);
+        form.setPrice(new BigDecimal("10000.50"));
         form.setStock(5);
         
         Set<ConstraintViolation<ItemData>> violations = validator.validate(form);
@@ -42,7 +43,7 @@ class ProductFormTest {
         ItemData form = new ItemData();
         form.setName(""); // Error: Blank
         form.setCategory(null); // Error: Null (jika pakai @NotBlank biasanya otomatis null check, tapi di kode Anda pakai @NotBlank)
-        form.setPrice(-100.0); // Error: Min 0
+        form.setPrice(new BigDecimal("-100")); // Error: Min 0
         form.setStock(-1); // Error: Min 0
         
         Set<ConstraintViolation<ItemData>> violations = validator.validate(form);
@@ -51,4 +52,32 @@ class ProductFormTest {
         // Catatan: @NotBlank pada category akan error jika null
         assertEquals(4, violations.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void validate_PriceWithMoreThanTwoDecimals_HasError() {
+        ItemData form = new ItemData();
+        form.setName("Laptop");
+        form.setCategory("Elektronik");
+        form.setPrice(new BigDecimal("10000.505"));
+        form.setStock(5);
+
+        Set<ConstraintViolation<ItemData>> violations = validator.validate(form);
+        assertEquals(1, violations.size());
+        assertEquals("price", violations.iterator().next().getPropertyPath().toString());
+    }
+
+    @Test
+    void validate_StockDeltaOutOfRange_HasError() {
+        StockAdjustRequest request = new StockAdjustRequest();
+        request.setDelta(1000000);
+        assertTrue(validator.validate(request).isEmpty());
+
+        request.setDelta(Integer.MAX_VALUE);
+        Set<ConstraintViolation<StockAdjustRequest>> violations = validator.validate(request);
+        assertEquals(1, violations.size());
+        assertEquals("delta", violations.iterator().next().getPropertyPath().toString());
+
+        request.setDelta(-1000001);
+        assertEquals(1, validator.validate(request).size());
+    }
+}
@@ -0,0 +1,127 @@
+package org.delcom.app.modules.inventory;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import jakarta.persistence.EntityManager;
+import org.delcom.app.configs.TenantShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemExportServiceTest {
+
+    @Mock
+    ItemRepository productRepository;
+    @Mock
+    EntityManager entityManager;
+    @Mock
+    HotStockEngine hotStockEngine;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    ItemExportService exportService;
+
+    // Harga dibaca sebagai BigDecimal apa adanya, agar skala (5000.00) tidak hilang lewat double
+    // maupun normalisasi trailing zero di DecimalNode
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false);
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ItemExportService(productRepository, entityManager, hotStockEngine,
+                objectMapper, transactionManager, new TenantShards(Optional.empty()));
+    }
+
+    private Item product(String name, String category, long priceMinor, int stock) {
+        Item p = new Item();
+        p.setId(UUID.randomUUID());
+        p.setUserId(userId);
+        p.setName(name);
+        p.setCategory(category);
+        p.setPriceMinor(priceMinor);
+        p.setStock(stock);
+        return p;
+    }
+
+    private String export(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(userId, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void export_Csv_WritesHeaderAndEscapedRows() throws IOException {
+        Item p = product("Kopi, \"Arabika\"", "Minuman", 2500050L, 3);
+        when(productRepository.streamByUserId(userId)).thenReturn(Stream.of(p));
+
+        String[] lines = export(ExportFormat.CSV).split("\n");
+
+        assertEquals(String.join(",", ItemExportService.COLUMNS), lines[0]);
+        assertEquals(p.getId() + ",\"Kopi, \"\"Arabika\"\"\",Minuman,25000.50,3,,,,", lines[1]);
+    }
+
+    @Test
+    void export_Ndjson_WritesOneObjectPerLine() throws IOException {
+        Item a = product("Teh", "Minuman", 500000L, 10);
+        Item b = product("Roti", "Makanan", 1200000L, 0);
+        when(productRepository.streamByUserId(userId)).thenReturn(Stream.of(a, b));
+
+        String[] lines = export(ExportFormat.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(a.getId().toString(), first.get("id").asText());
+        assertEquals(10, first.get("stock").asInt());
+        assertEquals("5000.00", first.get("price").decimalValue().toPlainString());
+        assertEquals("Roti", objectMapper.readTree(lines[1]).get("name").asText());
+    }
+
+    @Test
+    void export_HotProduct_UsesLiveStock() throws IOException {
+        Item p = product("Teh", "Minuman", 500000L, 10);
+        when(productRepository.streamByUserId(userId)).thenReturn(Stream.of(p));
+        when(hotStockEngine.hasHotItems()).thenReturn(true);
+        when(hotStockEngine.liveStock(p.getId())).thenReturn(4);
+
+        String[] lines = export(ExportFormat.CSV).split("\n");
+
+        assertTrue(lines[1].contains(",4,"));
+    }
+
+    @Test
+    void export_ClearsPersistenceContextPeriodically() throws IOException {
+        int rows = ItemExportService.CLEAR_INTERVAL * 2 + 1;
+        when(productRepository.streamByUserId(userId))
+                .thenReturn(IntStream.range(0, rows).mapToObj(i -> product("P" + i, "A", 100L, 1)));
+
+        export(ExportFormat.NDJSON);
+
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void csv_QuotesOnlyWhenNeeded() {
+        assertEquals("", ItemExportService.csv(null));
+        assertEquals("plain", ItemExportService.csv("plain"));
+        assertEquals("\"a\nb\"", ItemExportService.csv("a\nb"));
+    }
+}
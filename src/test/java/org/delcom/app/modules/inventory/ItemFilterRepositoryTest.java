@@ -0,0 +1,195 @@
+package org.delcom.app.modules.inventory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemFilterRepositoryTest {
+
+    @Mock
+    EntityManager entityManager;
+    @Mock
+    TypedQuery<ItemSummaryRow> rowQuery;
+    @Mock
+    TypedQuery<Object[]> facetQuery;
+    @Mock
+    CategoryDictionary categoryDictionary;
+
+    private ItemFilterRepository repository;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        repository = new ItemFilterRepository(entityManager, categoryDictionary, 5);
+    }
+
+    private String capturePageQuery(ItemFilter filter, SortCursor cursor, boolean backward) {
+        when(entityManager.createQuery(anyString(), eq(ItemSummaryRow.class))).thenReturn(rowQuery);
+        when(rowQuery.setMaxResults(anyInt())).thenReturn(rowQuery);
+        when(rowQuery.getResultList()).thenReturn(List.of());
+
+        repository.findPage(userId, filter, cursor, backward, 21);
+
+        ArgumentCaptor<String> jpql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createQuery(jpql.capture(), eq(ItemSummaryRow.class));
+        verify(rowQuery).setMaxResults(21);
+        return jpql.getValue();
+    }
+
+    @Test
+    void findPage_PriceAscending_OrdersByPriceThenId() {
+        ItemFilter filter = new ItemFilter();
+        filter.setSort("price");
+        filter.setCategory(" Minuman ");
+        when(categoryDictionary.findId(userId, "Minuman")).thenReturn(3);
+
+        String jpql = capturePageQuery(filter, null, false);
+
+        assertTrue(jpql.contains("p.categoryRef.id = :categoryId"));
+        assertTrue(jpql.endsWith("ORDER BY p.priceMinor ASC, p.id ASC"));
+        verify(rowQuery).setParameter("categoryId", 3);
+        verify(rowQuery).setParameter("userId", userId);
+    }
+
+    @Test
+    void findPage_AfterCursorDescending_UsesLessThan() {
+        ItemFilter filter = new ItemFilter();
+        filter.setSort("value");
+        SortCursor cursor = new SortCursor(ItemSort.ASSET_VALUE, 5000.0, UUID.randomUUID());
+
+        String jpql = capturePageQuery(filter, cursor, false);
+
+        assertTrue(jpql.contains("p.priceMinor * p.stock < :cursorValue OR (p.priceMinor * p.stock = :cursorValue AND p.id < :cursorId)"));
+        assertTrue(jpql.endsWith("ORDER BY p.priceMinor * p.stock DESC, p.id DESC"));
+        verify(rowQuery).setParameter("cursorValue", 5000.0);
+    }
+
+    @Test
+    void findPage_Backward_FlipsDirection() {
+        ItemFilter filter = new ItemFilter();
+        filter.setSort("name");
+        SortCursor cursor = new SortCursor(ItemSort.NAME, "Kopi", UUID.randomUUID());
+
+        String jpql = capturePageQuery(filter, cursor, true);
+
+        assertTrue(jpql.contains("p.name < :cursorValue"));
+        assertTrue(jpql.endsWith("ORDER BY p.name DESC, p.id DESC"));
+    }
+
+    @Test
+    void findPage_LowStockWithLooserMax_UsesThreshold() {
+        ItemFilter filter = new ItemFilter();
+        filter.setLowStock(true);
+        filter.setMaxStock(50);
+
+        String jpql = capturePageQuery(filter, null, false);
+
+        assertTrue(jpql.contains("p.stock <= :maxStock"));
+        verify(rowQuery).setParameter("maxStock", 5);
+    }
+
+    @Test
+    void findPage_UnknownCategory_SkipsQuery() {
+        ItemFilter filter = new ItemFilter();
+        filter.setCategory("Tidak Ada");
+        // Mock Integer default-nya 0, bukan null: nyatakan eksplisit bahwa kategori belum pernah dipakai
+        when(categoryDictionary.findId(userId, "Tidak Ada")).thenReturn(null);
+
+        assertTrue(repository.findPage(userId, filter, null, false, 21).isEmpty());
+        verifyNoInteractions(entityManager);
+    }
+
+    private static Object[] windowRow(String name, String category, long categoryCount, long categoryRow,
+            long pageRank, int outside) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Object[] { UUID.randomUUID(), name, category, 100000L, 3, null, now, now,
+                categoryCount, categoryRow, pageRank, outside };
+    }
+
+    @Test
+    void findPageWithFacets_OneQueryWithWindowAggregates() {
+        ItemFilter filter = new ItemFilter();
+        filter.setCategory("Minuman");
+        filter.setMinPrice(new BigDecimal("1000.50"));
+        when(categoryDictionary.findId(userId, "Minuman")).thenReturn(7);
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenReturn(facetQuery);
+        when(facetQuery.getResultList()).thenReturn(List.of(
+                windowRow("Teh", "Minuman", 2, 1, 1, 0),
+                windowRow("Kopi", "Minuman", 2, 2, 2, 0),
+                windowRow("Roti", "Makanan", 1, 1, 3, 1)));
+
+        ItemFilterRepository.PageWithFacets result = repository.findPageWithFacets(userId, filter, null, false, 2);
+
+        ArgumentCaptor<String> jpql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createQuery(jpql.capture(), eq(Object[].class));
+        verify(entityManager, never()).createQuery(anyString(), eq(ItemSummaryRow.class));
+        assertTrue(jpql.getValue().contains("COUNT(*) OVER (PARTITION BY c.id)"));
+        assertFalse(jpql.getValue().contains("GROUP BY"));
+        // Kategori hanya menentukan baris halaman, bukan baris yang dihitung facet
+        assertTrue(jpql.getValue().contains("CASE WHEN p.categoryRef.id = :categoryId THEN 0 ELSE 1 END"));
+        assertFalse(jpql.getValue().contains("WHERE p.userId = :userId AND p.categoryRef.id"));
+        verify(facetQuery).setParameter("categoryId", 7);
+        verify(facetQuery).setParameter("minPrice", 100050L);
+        verify(facetQuery).setParameter("limit", 2L);
+
+        assertEquals(List.of("Teh", "Kopi"), result.getRows().stream().map(ItemSummaryRow::getName).toList());
+        assertEquals("Makanan", result.getFacets().get(0).getCategory());
+        assertEquals(1, result.getFacets().get(0).getCount());
+        assertEquals("Minuman", result.getFacets().get(1).getCategory());
+        assertEquals(2, result.getFacets().get(1).getCount());
+    }
+
+    @Test
+    void findPageWithFacets_CursorOnlyLimitsPageRows() {
+        ItemFilter filter = new ItemFilter();
+        filter.setSort("price");
+        filter.setLowStock(true);
+        SortCursor cursor = new SortCursor(ItemSort.PRICE, 500L, UUID.randomUUID());
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenReturn(facetQuery);
+        when(facetQuery.getResultList()).thenReturn(List.of());
+
+        repository.findPageWithFacets(userId, filter, cursor, false, 21);
+
+        ArgumentCaptor<String> jpql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createQuery(jpql.capture(), eq(Object[].class));
+        assertTrue(jpql.getValue().contains("ROW_NUMBER() OVER (ORDER BY CASE WHEN (p.priceMinor > :cursorValue"));
+        assertTrue(jpql.getValue().contains("p.priceMinor ASC, p.id ASC) AS pageRank"));
+        verify(facetQuery).setParameter("cursorValue", 500L);
+        verify(facetQuery).setParameter("maxStock", 5);
+    }
+
+    @Test
+    void findPageWithFacets_UnknownCategory_OnlyFacets() {
+        ItemFilter filter = new ItemFilter();
+        filter.setCategory("Tidak Ada");
+        filter.setMaxPrice(new BigDecimal("50"));
+        when(categoryDictionary.findId(userId, "Tidak Ada")).thenReturn(null);
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenReturn(facetQuery);
+        when(facetQuery.getResultList()).thenReturn(List.<Object[]>of(windowRow("Roti", "Makanan", 1, 1, 1, 0)));
+
+        ItemFilterRepository.PageWithFacets result = repository.findPageWithFacets(userId, filter, null, false, 21);
+
+        verify(facetQuery).setParameter("limit", 0L);
+        verify(facetQuery, never()).setParameter(eq("categoryId"), any());
+        assertTrue(result.getRows().isEmpty());
+        assertEquals(1, result.getFacets().size());
+    }
+}
@@ -0,0 +1,93 @@
+package org.delcom.app.modules.inventory;
+
+import org.delcom.app.configs.TenantShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemFuzzySearchServiceTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    HotStockEngine hotStockEngine;
+
+    ItemFuzzySearchService fuzzySearchService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        fuzzySearchService = new ItemFuzzySearchService(jdbcTemplate, transactionManager, hotStockEngine,
+                new TenantShards(Optional.empty()), 150, 0.3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubMatches(String term, int limit, List<FuzzyMatch> result) {
+        when(jdbcTemplate.query(eq(ItemFuzzySearchService.SQL_MATCH), any(RowMapper.class),
+                eq(term), eq(userId), eq(term), eq(limit))).thenReturn(result);
+    }
+
+    @Test
+    void findClosest_SetsLocalTimeoutAndThreshold() {
+        FuzzyMatch match = new FuzzyMatch(UUID.randomUUID(), "Kopi Arabika", "Minuman", 3, 0.55);
+        stubMatches("kopi arbika", ItemFuzzySearchService.DEFAULT_LIMIT, List.of(match));
+
+        List<FuzzyMatch> result = fuzzySearchService.findClosest(userId, " kopi arbika ", null);
+
+        assertEquals(List.of(match), result);
+        verify(jdbcTemplate).queryForObject("SELECT set_config('statement_timeout', ?, true)", String.class, "150");
+        verify(jdbcTemplate).queryForObject("SELECT set_config('pg_trgm.similarity_threshold', ?, true)",
+                String.class, "0.3");
+    }
+
+    @Test
+    void findClosest_TooShortQuery_SkipsDatabase() {
+        assertTrue(fuzzySearchService.findClosest(userId, " k ", 5).isEmpty());
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void findClosest_LimitIsCapped() {
+        stubMatches("teh", ItemFuzzySearchService.MAX_LIMIT, List.of());
+
+        assertTrue(fuzzySearchService.findClosest(userId, "teh", 10_000).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findClosest_Timeout_ReturnsEmpty() {
+        when(jdbcTemplate.query(eq(ItemFuzzySearchService.SQL_MATCH), any(RowMapper.class),
+                any(), any(), any(), any())).thenThrow(new QueryTimeoutException("canceling statement"));
+
+        assertTrue(fuzzySearchService.findClosest(userId, "kopi", 5).isEmpty());
+    }
+
+    @Test
+    void findClosest_HotProduct_UsesLiveStock() {
+        UUID id = UUID.randomUUID();
+        stubMatches("kopi", 5, List.of(new FuzzyMatch(id, "Kopi", "Minuman", 10, 1.0)));
+        when(hotStockEngine.hasHotItems()).thenReturn(true);
+        when(hotStockEngine.liveStock(id)).thenReturn(7);
+
+        assertEquals(7, fuzzySearchService.findClosest(userId, "kopi", 5).get(0).getStock());
+    }
+}
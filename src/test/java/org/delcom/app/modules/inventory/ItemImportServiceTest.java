@@ -0,0 +1,162 @@
+package org.delcom.app.modules.inventory;
+
+import org.delcom.app.configs.ReadYourWrites;
+import org.delcom.app.configs.TenantShards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemImportServiceTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    InventorySummaryService summaryService;
+    @Mock
+    ChartDataCache chartDataCache;
+    @Mock
+    AutocompleteIndex autocompleteIndex;
+    @Mock
+    CategoryDictionary categoryDictionary;
+
+    ItemImportService importService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        importService = new ItemImportService(jdbcTemplate, transactionManager, summaryService, chartDataCache,
+                autocompleteIndex, categoryDictionary, new ReadYourWrites(5000), new TenantShards(Optional.empty()), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    private ImportJob run(String csv) {
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        ImportJob job = new ImportJob(UUID.randomUUID(), userId, "produk.csv", bytes.length);
+        importService.process(job, new ByteArrayInputStream(bytes));
+        return job;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> capturedBatch() {
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        return batch.getValue();
+    }
+
+    @Test
+    void process_ValidRows_InsertsInOneBatch() {
+        when(categoryDictionary.intern(userId, "Minuman")).thenReturn(4);
+
+        ImportJob job = run("name,category,price,stock,description\n"
+                + "Teh,Minuman,5000,10,Teh melati\n"
+                + "\"Kopi, Arabika\",Minuman,25000.5,3,\n");
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getImportedRows());
+        assertEquals(0, job.getFailedRows());
+        assertEquals(100, job.getPercent());
+
+        List<Object[]> batch = capturedBatch();
+        assertEquals(2, batch.size());
+        assertEquals(7, ((UUID) batch.get(0)[0]).version());
+        assertEquals(userId, batch.get(0)[1]);
+        assertEquals("Kopi, Arabika", batch.get(1)[2]);
+        // Nama kategori diganti id kamus sebelum insert
+        assertEquals(4, batch.get(0)[3]);
+        assertEquals(2500050L, batch.get(1)[4]);
+        assertNull(batch.get(1)[6]);
+        verify(summaryService).evict(userId);
+        verify(chartDataCache).invalidate(userId);
+        verify(autocompleteIndex).evict(userId);
+    }
+
+    @Test
+    void process_InvalidRows_ReportedWithLineNumbers() {
+        ImportJob job = run("Name,Category,Price,Stock\n"
+                + "Teh,Minuman,5000,10\n"
+                + ",Minuman,1000,1\n"
+                + "Roti,Makanan,abc,1\n"
+                + "Susu,Minuman,1000,-2\n"
+                + "Gula,Makanan,1000.505,1\n");
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(1, job.getImportedRows());
+        assertEquals(4, job.getFailedRows());
+        assertEquals(5, job.getProcessedRows());
+        assertEquals(List.of(3L, 4L, 5L, 6L), job.getErrors().stream().map(ImportRowError::getLine).toList());
+        assertEquals(1, capturedBatch().size());
+    }
+
+    @Test
+    void process_ManyRows_SplitIntoChunks() {
+        StringBuilder csv = new StringBuilder("name,category,price,stock\n");
+        for (int i = 0; i < ItemImportService.CHUNK_SIZE + 5; i++) {
+            csv.append("P").append(i).append(",A,1,1\n");
+        }
+
+        ImportJob job = run(csv.toString());
+
+        assertEquals(ItemImportService.CHUNK_SIZE + 5, job.getImportedRows());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void process_MissingRequiredColumn_FailsJob() {
+        ImportJob job = run("name,category,price\nTeh,Minuman,5000\n");
+
+        assertEquals(ImportJob.Status.FAILED, job.getStatus());
+        assertTrue(job.getMessage().contains("stock"));
+        verifyNoInteractions(jdbcTemplate, summaryService);
+    }
+
+    @Test
+    void process_DatabaseError_ReportsChunkRows() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        ImportJob job = run("name,category,price,stock\nTeh,Minuman,5000,10\nKopi,Minuman,1000,1\n");
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(0, job.getImportedRows());
+        assertEquals(2, job.getFailedRows());
+        verify(summaryService, never()).evict(any());
+    }
+
+    @Test
+    void getJob_Unknown_ReturnsNull() {
+        assertNull(importService.getJob(UUID.randomUUID(), userId));
+    }
+
+    @Test
+    void process_HeaderWithBom_StillMapsFirstColumn() {
+        ImportJob job = run("\uFEFFname,category,price,stock\nTeh,Minuman,5000,10\n");
+
+        assertEquals(1, job.getImportedRows());
+    }
+}
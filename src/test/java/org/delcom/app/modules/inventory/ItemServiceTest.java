@@ -3,18 +3,30 @@ package org.delcom.app.modules.inventory;
 import org.delcom.app.modules.inventory.ItemService;
 import org.delcom.app.modules.inventory.Item;
 import org.delcom.app.modules.inventory.ItemRepository;
+import org.delcom.app.configs.TenantMovedEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +35,33 @@ class ItemServiceTest {
     @Mock
     private ItemRepository productRepository;
 
+    @Mock
+    private InventorySummaryService summaryService;
+
+    @Mock
+    private ChartDataCache chartDataCache;
+
+    @Mock
+    private HotStockEngine hotStockEngine;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
+    @Mock
+    private ItemFilterRepository filterRepository;
+
+    @Mock
+    private CategoryDictionary categoryDictionary;
+
+    @Mock
+    private StockHolds stockHolds;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private ItemService productService;
 
@@ -42,6 +81,18 @@ class ItemServiceTest {
         verify(productRepository).findByUserId(userId);
     }
 
+    @Test
+    void onTenantMoved_EvictsPerUserCaches() {
+        UUID userId = UUID.randomUUID();
+
+        productService.onTenantMoved(new TenantMovedEvent(userId, "primary", "shard-a"));
+
+        verify(categoryDictionary).evict(userId);
+        verify(summaryService).evict(userId);
+        verify(chartDataCache).invalidate(userId);
+        verify(autocompleteIndex).evict(userId);
+    }
+
     // ==========================================================
     // 2. TEST GET PRODUCT BY ID (Logika If-Else Baris 22-28)
     // ==========================================================
@@ -55,7 +106,7 @@ class ItemServiceTest {
         p.setId(pid);
         p.setUserId(uid);
 
-        when(productRepository.findById(pid)).thenReturn(Optional.of(p));
+        when(productRepository.findByIdAndUserId(pid, uid)).thenReturn(Optional.of(p));
 
         Item result = productService.getProductById(pid, uid);
 
@@ -68,13 +119,8 @@ class ItemServiceTest {
     void getProductById_WhenFoundButUserMismatch_ReturnsNull() {
         UUID pid = UUID.randomUUID();
         UUID uid = UUID.randomUUID();
-        UUID otherUid = UUID.randomUUID();
-        
-        Item p = new Item();
-        p.setId(pid);
-        p.setUserId(otherUid); // ID User beda
-
-        when(productRepository.findById(pid)).thenReturn(Optional.of(p));
+        // Produk milik user lain tidak ikut terbaca karena query memfilter user_id
+        when(productRepository.findByIdAndUserId(pid, uid)).thenReturn(Optional.empty());
 
         Item result = productService.getProductById(pid, uid);
 
@@ -87,7 +133,7 @@ class ItemServiceTest {
         UUID pid = UUID.randomUUID();
         UUID uid = UUID.randomUUID();
 
-        when(productRepository.findById(pid)).thenReturn(Optional.empty());
+        when(productRepository.findByIdAndUserId(pid, uid)).thenReturn(Optional.empty());
 
         Item result = productService.getProductById(pid, uid);
 
@@ -108,37 +154,555 @@ class ItemServiceTest {
 
         assertEquals("Test Save", result.getName());
         verify(productRepository).save(p);
+        verify(summaryService).recordSaved(any(), eq(false), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void saveProduct_ExistingLoadedProduct_RecordsOldAndNewValues() {
+        UUID uid = UUID.randomUUID();
+        Item p = new Item();
+        p.setId(UUID.randomUUID());
+        p.setUserId(uid);
+        p.setName("Keripik");
+        p.setCategory("Makanan");
+        p.setPriceMinor(100000L);
+        p.setStock(2);
+        p.captureStoredState(); // Simulasi @PostLoad
+
+        p.setName("Sirup");
+        p.setCategory("Minuman");
+        p.setStock(5);
+        when(productRepository.save(p)).thenReturn(p);
+
+        productService.saveProduct(p);
+
+        verify(summaryService).recordSaved(uid, true, "Makanan", 100000L, 2, "Minuman", 100000L, 5);
+        verify(autocompleteIndex).recordSaved(uid, "Keripik", "Makanan", "Sirup", "Minuman");
+    }
+
+    @Test
+    void saveProduct_DetachedProductWithId_EvictsSummary() {
+        UUID uid = UUID.randomUUID();
+        Item p = new Item();
+        p.setId(UUID.randomUUID());
+        p.setUserId(uid);
+        when(productRepository.save(p)).thenReturn(p);
+
+        productService.saveProduct(p);
+
+        // Dimuat dulu lewat user_id agar merge tidak memuat ulang tanpa kunci partisi
+        verify(productRepository).findByIdAndUserId(p.getId(), uid);
+        verify(summaryService).evict(uid);
+        verify(summaryService, never()).recordSaved(any(), anyBoolean(), any(), any(), any(), any(), any(), any());
+        verify(autocompleteIndex).evict(uid);
     }
 
     // ==========================================================
     // 4. TEST DELETE PRODUCT (Menutup Baris 36-38)
     // ==========================================================
     @Test
-    void deleteProduct_ShouldCallRepositoryDelete() {
+    void deleteProduct_NotFound_DeletesNothing() {
         UUID pid = UUID.randomUUID();
-        
-        productService.deleteProduct(pid);
+        UUID uid = UUID.randomUUID();
 
-        verify(productRepository).deleteById(pid);
+        productService.deleteProduct(pid, uid);
+
+        verify(productRepository, never()).delete(any());
+        verify(summaryService, never()).recordDeleted(any(), any(), any(), any());
+    }
+
+    @Test
+    void deleteProduct_ExistingProduct_RecordsDeletion() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        Item p = new Item();
+        p.setId(pid);
+        p.setUserId(uid);
+        p.setName("Gelang");
+        p.setCategory("Aksesoris");
+        p.setPriceMinor(50000L);
+        p.setStock(3);
+        when(productRepository.findByIdAndUserId(pid, uid)).thenReturn(Optional.of(p));
+
+        productService.deleteProduct(pid, uid);
+
+        verify(productRepository).delete(p);
+        verify(summaryService).recordDeleted(uid, "Aksesoris", 50000L, 3);
+        verify(autocompleteIndex).recordDeleted(uid, "Gelang", "Aksesoris");
     }
 
     // ==========================================================
     // 5. TEST GET CHART DATA (Menutup Baris 40-42)
     // ==========================================================
+    private static CategoryStockRow stockRow(Integer categoryId, long totalStock) {
+        CategoryStockRow row = mock(CategoryStockRow.class);
+        when(row.getCategoryId()).thenReturn(categoryId);
+        when(row.getTotalStock()).thenReturn(totalStock);
+        return row;
+    }
+
     @Test
     void getChartData_ShouldCallRepositoryCount() {
         UUID userId = UUID.randomUUID();
-        List<Object[]> mockData = Arrays.asList(
-            new Object[]{"Electronics", 10L},
-            new Object[]{"Clothes", 5L}
-        );
+        List<CategoryStockRow> mockData = Arrays.asList(stockRow(2, 5), stockRow(1, 7));
+        when(categoryDictionary.nameOf(userId, 1)).thenReturn("Electronics");
+        when(categoryDictionary.nameOf(userId, 2)).thenReturn("Furniture");
 
         when(productRepository.countStockByCategory(userId)).thenReturn(mockData);
+        // Cache miss: loader dipanggil
+        when(chartDataCache.get(eq(userId), any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(1).get());
 
-        List<Object[]> result = productService.getChartData(userId);
+        List<CategoryStock> result = productService.getChartData(userId);
 
+        // Diagregasi per id, lalu diberi nama dan diurutkan berdasarkan nama kategori
         assertEquals(2, result.size());
-        assertEquals("Electronics", result.get(0)[0]);
+        assertEquals("Electronics", result.get(0).getCategory());
+        assertEquals(7L, result.get(0).getTotalStock());
+        assertEquals("Furniture", result.get(1).getCategory());
         verify(productRepository).countStockByCategory(userId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveProduct_ResolvesCategoryThroughDictionary() {
+        UUID uid = UUID.randomUUID();
+        Item p = new Item();
+        p.setUserId(uid);
+        p.setCategory("Minuman");
+        ItemCategory reference = new ItemCategory(uid, "Minuman");
+        when(categoryDictionary.intern(uid, "Minuman")).thenReturn(7);
+        when(entityManager.getReference(ItemCategory.class, 7)).thenReturn(reference);
+        when(productRepository.save(p)).thenReturn(p);
+
+        productService.saveProduct(p);
+
+        assertSame(reference, p.getCategoryRef());
+        assertEquals("Minuman", p.getCategory());
+    }
+
+    @Test
+    void saveAndDelete_InvalidateChartCacheForOwner() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        Item p = new Item();
+        p.setUserId(uid);
+        when(productRepository.save(p)).thenReturn(p);
+        productService.saveProduct(p);
+
+        p.setId(pid);
+        when(productRepository.findByIdAndUserId(pid, uid)).thenReturn(Optional.of(p));
+        productService.deleteProduct(pid, uid);
+
+        verify(chartDataCache, times(2)).invalidate(uid);
+    }
+
+    @Test
+    void getDashboardStats_ReadsInMemorySummary() {
+        UUID userId = UUID.randomUUID();
+        InventoryStats stats = mock(InventoryStats.class);
+        when(summaryService.getSummary(userId)).thenReturn(stats);
+
+        assertSame(stats, productService.getDashboardStats(userId));
+        verifyNoInteractions(productRepository);
+    }
+
+    // ==========================================================
+    // 6. TEST PAGINASI KEYSET
+    // ==========================================================
+    private static class SummaryRow implements ItemSummary {
+        private final UUID id = UUID.randomUUID();
+        private final LocalDateTime createdAt;
+
+        SummaryRow(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+        public UUID getId() { return id; }
+        public String getName() { return "Produk"; }
+        public String getCategory() { return "Lainnya"; }
+        public Long getPriceMinor() { return 100000L; }
+        public Integer getStock() { return 1; }
+        public String getImage() { return null; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+    }
+
+    private List<ItemSummary> buildItems(int count) {
+        List<ItemSummary> items = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < count; i++) {
+            items.add(new SummaryRow(base.minusMinutes(i)));
+        }
+        return items;
+    }
+
+    @Test
+    void getProductPage_FirstPageWithMoreRows_HasNextCursorOnly() {
+        UUID userId = UUID.randomUUID();
+        List<ItemSummary> rows = buildItems(3);
+        when(productRepository.findFirstPage(eq(userId), any(Pageable.class))).thenReturn(rows);
+
+        ItemPage<ItemSummary> page = productService.getProductPage(userId, null, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasNext());
+        assertFalse(page.isHasPrev());
+        assertEquals(ItemCursor.of(rows.get(1)).encode(), page.getNextCursor());
+    }
+
+    @Test
+    void getProductPage_AfterCursor_QueriesAfterAndHasPrev() {
+        UUID userId = UUID.randomUUID();
+        List<ItemSummary> rows = buildItems(2);
+        ItemCursor cursor = new ItemCursor(LocalDateTime.of(2025, 2, 1, 0, 0), UUID.randomUUID());
+        when(productRepository.findPageAfter(eq(userId), eq(cursor.getCreatedAt()), eq(cursor.getId()),
+                any(Pageable.class))).thenReturn(rows);
+
+        ItemPage<ItemSummary> page = productService.getProductPage(userId, cursor.encode(), null, 5);
+
+        assertEquals(2, page.getItems().size());
+        assertFalse(page.isHasNext());
+        assertTrue(page.isHasPrev());
+    }
+
+    @Test
+    void getProductPage_BeforeCursor_ReversesRows() {
+        UUID userId = UUID.randomUUID();
+        List<ItemSummary> ascending = buildItems(2);
+        java.util.Collections.reverse(ascending);
+        ItemCursor cursor = new ItemCursor(LocalDateTime.of(2024, 1, 1, 0, 0), UUID.randomUUID());
+        when(productRepository.findPageBefore(eq(userId), eq(cursor.getCreatedAt()), eq(cursor.getId()),
+                any(Pageable.class))).thenReturn(ascending);
+
+        ItemPage<ItemSummary> page = productService.getProductPage(userId, null, cursor.encode(), 5);
+
+        assertTrue(page.getItems().get(0).getCreatedAt().isAfter(page.getItems().get(1).getCreatedAt()));
+        assertTrue(page.isHasNext());
+        assertFalse(page.isHasPrev());
+    }
+
+    @Test
+    void getProductPage_InvalidCursor_FallsBackToFirstPage() {
+        UUID userId = UUID.randomUUID();
+        when(productRepository.findFirstPage(eq(userId), any(Pageable.class))).thenReturn(List.of());
+
+        ItemPage<ItemSummary> page = productService.getProductPage(userId, "bukan-cursor", null, null);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        assertNull(page.getPrevCursor());
+    }
+
+    @Test
+    void clampPageSize_AppliesDefaultAndCap() {
+        assertEquals(ItemService.DEFAULT_PAGE_SIZE, ItemService.clampPageSize(null));
+        assertEquals(ItemService.DEFAULT_PAGE_SIZE, ItemService.clampPageSize(0));
+        assertEquals(ItemService.MAX_PAGE_SIZE, ItemService.clampPageSize(10_000));
+        assertEquals(15, ItemService.clampPageSize(15));
+    }
+
+    // ==========================================================
+    // 7. TEST ADJUST STOCK
+    // ==========================================================
+    @Test
+    void adjustStock_RowUpdated_ReturnsTrueAndInvalidates() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        when(productRepository.adjustStock(eq(pid), eq(uid), eq(-2), any(LocalDateTime.class))).thenReturn(1);
+        StockLevel level = stockLevel(3, 500000L);
+        when(productRepository.findStockLevel(pid, uid)).thenReturn(level);
+
+        assertTrue(productService.adjustStock(pid, uid, -2));
+        // Ringkasan digeser, tidak dibuang
+        verify(summaryService).recordStockAdjusted(uid, 500000L, -2);
+        verify(summaryService, never()).evict(any());
+        verify(chartDataCache).invalidate(uid);
+        verify(productRepository, never()).findByIdAndUserId(any(), any());
+        verify(transactionManager).commit(any());
+        verify(hotStockEngine, never()).tryAdjust(any(), any(), anyInt(), anyInt());
+    }
+
+    private static StockLevel stockLevel(int stock, long priceMinor) {
+        StockLevel level = mock(StockLevel.class);
+        lenient().when(level.getStock()).thenReturn(stock);
+        lenient().when(level.getPriceMinor()).thenReturn(priceMinor);
+        return level;
+    }
+
+    @Test
+    void adjustStock_StockLeftBelowOtherReservations_RollsBack() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        SimpleTransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        when(productRepository.adjustStock(eq(pid), eq(uid), eq(-2), any(LocalDateTime.class))).thenReturn(1);
+        StockLevel level = stockLevel(3, 1000L);
+        when(productRepository.findStockLevel(pid, uid)).thenReturn(level);
+        when(stockHolds.held(pid)).thenReturn(5L);
+
+        assertFalse(productService.adjustStock(pid, uid, -2));
+        assertTrue(status.isRollbackOnly());
+        verifyNoInteractions(summaryService, chartDataCache);
+    }
+
+    @Test
+    void adjustStock_ConfirmingOwnHold_MayUseHeldStock() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        SimpleTransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        when(productRepository.adjustStock(eq(pid), eq(uid), eq(-2), any(LocalDateTime.class))).thenReturn(1);
+        StockLevel level = stockLevel(3, 1000L);
+        when(productRepository.findStockLevel(pid, uid)).thenReturn(level);
+        // 5 ditahan, 2 di antaranya milik reservasi yang sedang dikonfirmasi
+        when(stockHolds.held(pid)).thenReturn(5L);
+
+        assertTrue(productService.adjustStock(pid, uid, -2, 2));
+        assertFalse(status.isRollbackOnly());
+        verify(summaryService).recordStockAdjusted(uid, 1000L, -2);
+    }
+
+    @Test
+    void getCurrentStock_LocksRowAndPrefersHotCounter() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        when(productRepository.lockStock(pid, uid)).thenReturn(10);
+        when(hotStockEngine.liveStock(pid)).thenReturn(4);
+        UUID missing = UUID.randomUUID();
+        when(productRepository.lockStock(missing, uid)).thenReturn(null);
+
+        assertEquals(4L, productService.getCurrentStock(pid, uid));
+        assertNull(productService.getCurrentStock(missing, uid));
+    }
+
+    @Test
+    void saveProduct_StockBelowActiveReservations_Throws() {
+        UUID pid = UUID.randomUUID();
+        Item p = new Item();
+        p.setId(pid);
+        p.setUserId(UUID.randomUUID());
+        p.setStock(1);
+        when(productRepository.save(p)).thenReturn(p);
+        when(stockHolds.held(pid)).thenReturn(3L);
+
+        assertThrows(StockHeldException.class, () -> productService.saveProduct(p));
+        // Ditulis dulu baru penahanan dibaca
+        var order = inOrder(entityManager, stockHolds);
+        order.verify(entityManager).flush();
+        order.verify(stockHolds).held(pid);
+        verify(summaryService, never()).recordSaved(any(), anyBoolean(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void adjustStock_NoRowUpdated_ReturnsFalse() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        when(productRepository.adjustStock(eq(pid), eq(uid), eq(-100), any(LocalDateTime.class))).thenReturn(0);
+
+        assertFalse(productService.adjustStock(pid, uid, -100));
+        verifyNoInteractions(summaryService, chartDataCache);
+    }
+
+    // ==========================================================
+    // 8. TEST HOT STOCK ENGINE
+    // ==========================================================
+    @Test
+    void adjustStock_HotProduct_HandledInMemory() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        when(hotStockEngine.isHot(pid)).thenReturn(true);
+        when(hotStockEngine.tryAdjust(pid, uid, -1, 0)).thenReturn(HotStockEngine.AdjustResult.APPLIED);
+
+        assertTrue(productService.adjustStock(pid, uid, -1));
+        verify(productRepository, never()).adjustStock(any(), any(), anyInt(), any());
+        // Jalur hot tidak membuka transaksi
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void adjustStock_HotProductInsufficient_ReturnsFalseWithoutDatabase() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        when(hotStockEngine.isHot(pid)).thenReturn(true);
+        when(hotStockEngine.tryAdjust(pid, uid, -9, 0)).thenReturn(HotStockEngine.AdjustResult.REJECTED);
+
+        assertFalse(productService.adjustStock(pid, uid, -9));
+        verifyNoInteractions(productRepository, transactionManager);
+    }
+
+    @Test
+    void adjustStock_DemotedWhileAdjusting_FallsBackToDatabase() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        when(hotStockEngine.isHot(pid)).thenReturn(true);
+        when(hotStockEngine.tryAdjust(pid, uid, 3, 0)).thenReturn(HotStockEngine.AdjustResult.NOT_HOT);
+        when(productRepository.adjustStock(eq(pid), eq(uid), eq(3), any(LocalDateTime.class))).thenReturn(1);
+        StockLevel level = stockLevel(10, 1000L);
+        when(productRepository.findStockLevel(pid, uid)).thenReturn(level);
+
+        assertTrue(productService.adjustStock(pid, uid, 3));
+    }
+
+    @Test
+    void getProductById_HotProduct_ReturnsLiveStockDetached() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        Item p = new Item();
+        p.setId(pid);
+        p.setUserId(uid);
+        p.setStock(100);
+        when(productRepository.findByIdAndUserId(pid, uid)).thenReturn(Optional.of(p));
+        when(hotStockEngine.liveStock(pid)).thenReturn(42);
+
+        Item result = productService.getProductById(pid, uid);
+
+        assertEquals(42, result.getStock());
+        verify(entityManager).detach(p);
+    }
+
+    @Test
+    void saveProduct_HotProduct_DemotesBeforeSave() {
+        UUID pid = UUID.randomUUID();
+        UUID uid = UUID.randomUUID();
+        Item p = new Item();
+        p.setId(pid);
+        p.setUserId(uid);
+        when(hotStockEngine.isHot(pid)).thenReturn(true);
+        when(productRepository.save(p)).thenReturn(p);
+
+        productService.saveProduct(p);
+
+        var order = inOrder(hotStockEngine, productRepository);
+        order.verify(hotStockEngine).demote(pid, uid);
+        order.verify(productRepository).save(p);
+    }
+
+    // ==========================================================
+    // 9. TEST PENCARIAN FULL-TEXT
+    // ==========================================================
+    @Test
+    void searchProducts_SecondPage_UsesOffsetAndPageCursors() {
+        UUID userId = UUID.randomUUID();
+        when(productRepository.search(userId, "kopi susu", 3, 2L)).thenReturn(buildItems(3));
+
+        ItemPage<ItemSummary> page = productService.searchProducts(userId, "  kopi susu ", 2, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals("3", page.getNextCursor());
+        assertEquals("1", page.getPrevCursor());
+    }
+
+    @Test
+    void searchProducts_PageBeyondLimit_IsClampedWithoutNext() {
+        UUID userId = UUID.randomUUID();
+        long offset = (long) (ItemService.MAX_SEARCH_PAGE - 1) * ItemService.DEFAULT_PAGE_SIZE;
+        when(productRepository.search(userId, "kopi", ItemService.DEFAULT_PAGE_SIZE + 1, offset))
+                .thenReturn(buildItems(ItemService.DEFAULT_PAGE_SIZE + 1));
+
+        ItemPage<ItemSummary> page = productService.searchProducts(userId, "kopi", 10_000, null);
+
+        assertEquals(ItemService.DEFAULT_PAGE_SIZE, page.getItems().size());
+        assertFalse(page.isHasNext());
+        assertTrue(page.isHasPrev());
+    }
+
+    // ==========================================================
+    // FILTER & FACET
+    // ==========================================================
+    private static List<ItemSummaryRow> buildRows(int count) {
+        List<ItemSummaryRow> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            rows.add(new ItemSummaryRow(UUID.randomUUID(), "Produk " + i, "Umum", 100000L + i, i, null, now, now));
+        }
+        return rows;
+    }
+
+    @Test
+    void getFilteredPage_DefaultFilter_UsesCreatedAtKeyset() {
+        UUID userId = UUID.randomUUID();
+        when(productRepository.findFirstPage(eq(userId), any(Pageable.class))).thenReturn(List.of());
+
+        productService.getFilteredPage(userId, new ItemFilter(), null, null, null);
+
+        verifyNoInteractions(filterRepository);
+    }
+
+    @Test
+    void getFilteredPage_FirstPage_HasNextCursorForSort() {
+        UUID userId = UUID.randomUUID();
+        ItemFilter filter = new ItemFilter();
+        filter.setSort("price");
+        List<ItemSummaryRow> rows = buildRows(3);
+        when(filterRepository.findPage(userId, filter, null, false, 3)).thenReturn(rows);
+
+        ItemPage<ItemSummary> page = productService.getFilteredPage(userId, filter, null, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertFalse(page.isHasPrev());
+        SortCursor next = SortCursor.decode(page.getNextCursor(), ItemSort.PRICE);
+        assertNotNull(next);
+        assertEquals(rows.get(1).getId(), next.getId());
+        assertEquals(100001L, next.getValue());
+    }
+
+    @Test
+    void getFilteredPage_Before_ReversesRowsAndKeepsNext() {
+        UUID userId = UUID.randomUUID();
+        ItemFilter filter = new ItemFilter();
+        filter.setSort("name");
+        List<ItemSummaryRow> rows = buildRows(2);
+        String before = SortCursor.of(ItemSort.NAME, rows.get(0)).encode();
+        when(filterRepository.findPage(eq(userId), eq(filter), any(SortCursor.class), eq(true), eq(3)))
+                .thenReturn(rows);
+
+        ItemPage<ItemSummary> page = productService.getFilteredPage(userId, filter, null, before, 2);
+
+        assertEquals(rows.get(1).getId(), page.getItems().get(0).getId());
+        assertTrue(page.isHasNext());
+        assertFalse(page.isHasPrev());
+    }
+
+    @Test
+    void getFilteredPage_CursorFromOtherSort_StartsFromFirstPage() {
+        UUID userId = UUID.randomUUID();
+        ItemFilter filter = new ItemFilter();
+        filter.setSort("stock");
+        String priceCursor = SortCursor.of(ItemSort.PRICE, buildRows(1).get(0)).encode();
+        when(filterRepository.findPage(userId, filter, null, false, ItemService.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(List.of());
+
+        ItemPage<ItemSummary> page = productService.getFilteredPage(userId, filter, priceCursor, null, null);
+
+        assertTrue(page.getItems().isEmpty());
+    }
+
+    @Test
+    void getFilteredPage_WithoutRangeFilter_FacetsFromSummary() {
+        UUID userId = UUID.randomUUID();
+        ItemFilter filter = new ItemFilter();
+        filter.setCategory("Minuman");
+        List<CategoryCount> counts = List.of(new CategoryCount("Minuman", 2L));
+        when(summaryService.getCategoryCounts(userId)).thenReturn(counts);
+        when(filterRepository.findPage(userId, filter, null, false, ItemService.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(List.of());
+
+        assertSame(counts, productService.getFilteredPage(userId, filter, null, null, null).getFacets());
+        verify(filterRepository, never()).findPageWithFacets(any(), any(), any(), anyBoolean(), anyInt());
+    }
+
+    @Test
+    void getFilteredPage_WithRangeFilter_PageAndFacetsFromOneQuery() {
+        UUID userId = UUID.randomUUID();
+        ItemFilter filter = new ItemFilter();
+        filter.setLowStock(true);
+        List<ItemSummaryRow> rows = buildRows(3);
+        List<CategoryCount> counts = List.of(new CategoryCount("Makanan", 1L));
+        when(filterRepository.findPageWithFacets(userId, filter, null, false, 3))
+                .thenReturn(new ItemFilterRepository.PageWithFacets(rows, counts));
+
+        FilteredItemPage page = productService.getFilteredPage(userId, filter, null, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasNext());
+        assertSame(counts, page.getFacets());
+        verify(filterRepository, never()).findPage(any(), any(), any(), anyBoolean(), anyInt());
+        verify(summaryService, never()).getCategoryCounts(any());
+    }
+}
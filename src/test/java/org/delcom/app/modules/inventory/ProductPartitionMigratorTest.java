@@ -0,0 +1,129 @@
+package org.delcom.app.modules.inventory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPartitionMigratorTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    ConfigurableApplicationContext context;
+
+    private ProductPartitionMigrator migrator;
+
+    private final List<String> columns = List.of("id", "user_id", "name", "stock");
+
+    @BeforeEach
+    void setUp() {
+        migrator = new ProductPartitionMigrator(jdbcTemplate, transactionManager, context, 4, 2);
+    }
+
+    @Test
+    void constructor_InvalidPartitionCount_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ProductPartitionMigrator(jdbcTemplate, transactionManager, context, 1, 100));
+    }
+
+    @Test
+    void copyIndex_RewritesTableAndName() {
+        assertEquals("CREATE INDEX idx_products_user_created_id__p ON products_partitioned "
+                        + "USING btree (user_id, created_at, id)",
+                ProductPartitionMigrator.copyIndex("CREATE INDEX idx_products_user_created_id ON public.products "
+                        + "USING btree (user_id, created_at, id)"));
+        assertNull(ProductPartitionMigrator.copyIndex("CREATE UNIQUE INDEX uk_x ON public.products USING btree (name)"));
+    }
+
+    @Test
+    void syncFunction_UpsertsAllColumnsAndLogsDeletes() {
+        String function = ProductPartitionMigrator.syncFunction(columns);
+
+        assertTrue(function.contains("INSERT INTO products_partitioned (id, user_id, name, stock) "
+                + "VALUES (NEW.id, NEW.user_id, NEW.name, NEW.stock)"));
+        assertTrue(function.contains("ON CONFLICT (user_id, id) DO UPDATE SET name = EXCLUDED.name, "
+                + "stock = EXCLUDED.stock;"));
+        assertTrue(function.contains("INSERT INTO products_repartition_deletes (user_id, id) VALUES (OLD.user_id, OLD.id)"));
+    }
+
+    @Test
+    void migrate_AlreadyPartitioned_DoesNothing() {
+        when(jdbcTemplate.queryForObject(ProductPartitionMigrator.SQL_IS_PARTITIONED, Long.class)).thenReturn(1L);
+
+        migrator.migrate();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void migrate_FreshTable_PreparesBackfillsInBatchesThenSwaps() {
+        UUID first = new UUID(0, 2);
+        UUID second = new UUID(0, 3);
+        when(jdbcTemplate.queryForObject(ProductPartitionMigrator.SQL_IS_PARTITIONED, Long.class)).thenReturn(0L);
+        when(jdbcTemplate.queryForList(ProductPartitionMigrator.SQL_COLUMNS, String.class)).thenReturn(columns);
+        when(jdbcTemplate.queryForObject(ProductPartitionMigrator.SQL_TABLE_EXISTS, Long.class,
+                ProductPartitionMigrator.NEW_TABLE)).thenReturn(0L);
+        when(jdbcTemplate.queryForList(ProductPartitionMigrator.SQL_FOREIGN_KEYS)).thenReturn(List.of(
+                Map.of("name", "fk_products_category", "definition", "FOREIGN KEY (category_id) REFERENCES categories(id)")));
+        when(jdbcTemplate.queryForList(ProductPartitionMigrator.SQL_INDEXES, ProductPartitionMigrator.TABLE))
+                .thenReturn(List.of(Map.of("name", "idx_products_user_name_id",
+                        "definition", "CREATE INDEX idx_products_user_name_id ON public.products USING btree (user_id, name, id)")));
+        when(jdbcTemplate.queryForObject(eq(ProductPartitionMigrator.SQL_NEXT_BATCH_END), eq(UUID.class), any(), any()))
+                .thenReturn(first, second, null);
+        // Tipe eksplisit: any() polos memilih overload update(String, Object[], int[]), bukan varargs
+        when(jdbcTemplate.update(anyString(), any(UUID.class), any(UUID.class))).thenReturn(2, 1);
+
+        migrator.migrate();
+
+        var order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute(contains("PARTITION BY HASH (user_id)"));
+        order.verify(jdbcTemplate).execute("ALTER TABLE products_partitioned ADD PRIMARY KEY (user_id, id)");
+        order.verify(jdbcTemplate).execute(
+                "CREATE TABLE products_p3 PARTITION OF products_partitioned FOR VALUES WITH (MODULUS 4, REMAINDER 3)");
+        order.verify(jdbcTemplate).execute("ALTER TABLE products_partitioned ADD CONSTRAINT fk_products_category "
+                + "FOREIGN KEY (category_id) REFERENCES categories(id)");
+        order.verify(jdbcTemplate).execute(
+                "CREATE INDEX idx_products_user_name_id__p ON products_partitioned USING btree (user_id, name, id)");
+        order.verify(jdbcTemplate).execute(contains("CREATE TRIGGER products_repartition_sync"));
+        order.verify(jdbcTemplate).update(contains("ON CONFLICT (user_id, id) DO NOTHING"), eq(new UUID(0, 0)), eq(first));
+        order.verify(jdbcTemplate).update(contains("ON CONFLICT (user_id, id) DO NOTHING"), eq(first), eq(second));
+        order.verify(jdbcTemplate).execute("LOCK TABLE products IN ACCESS EXCLUSIVE MODE");
+        order.verify(jdbcTemplate).execute(contains("USING products_repartition_deletes"));
+        order.verify(jdbcTemplate).execute("ALTER TABLE products RENAME TO products_unpartitioned");
+        order.verify(jdbcTemplate).execute(
+                "ALTER INDEX IF EXISTS idx_products_user_name_id__p RENAME TO idx_products_user_name_id");
+        order.verify(jdbcTemplate).execute("ALTER TABLE products_partitioned RENAME TO products");
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void migrate_NewTableExists_ResumesBackfillWithoutPrepare() {
+        when(jdbcTemplate.queryForObject(ProductPartitionMigrator.SQL_IS_PARTITIONED, Long.class)).thenReturn(0L);
+        when(jdbcTemplate.queryForList(ProductPartitionMigrator.SQL_COLUMNS, String.class)).thenReturn(columns);
+        when(jdbcTemplate.queryForObject(ProductPartitionMigrator.SQL_TABLE_EXISTS, Long.class,
+                ProductPartitionMigrator.NEW_TABLE)).thenReturn(1L);
+
+        migrator.migrate();
+
+        verify(jdbcTemplate, never()).execute(contains("PARTITION BY HASH"));
+        verify(jdbcTemplate).execute("ALTER TABLE products_partitioned RENAME TO products");
+    }
+}
@@ -0,0 +1,56 @@
+package org.delcom.app.modules.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortCursorTest {
+
+    private final ItemSummaryRow row = new ItemSummaryRow(UUID.randomUUID(), "Kopi | Susu", "Minuman", 250000L, 4,
+            null, LocalDateTime.of(2025, 1, 1, 8, 0), LocalDateTime.of(2025, 2, 1, 9, 30));
+
+    @Test
+    void encodeDecode_RoundTripsEverySort() {
+        for (ItemSort sort : ItemSort.values()) {
+            SortCursor decoded = SortCursor.decode(SortCursor.of(sort, row).encode(), sort);
+
+            assertNotNull(decoded, sort.name());
+            assertEquals(row.getId(), decoded.getId());
+            assertEquals(sort.valueOf(row), decoded.getValue());
+        }
+    }
+
+    @Test
+    void decode_NameContainingSeparator_KeepsWholeValue() {
+        SortCursor decoded = SortCursor.decode(SortCursor.of(ItemSort.NAME, row).encode(), ItemSort.NAME);
+
+        assertEquals("Kopi | Susu", decoded.getValue());
+    }
+
+    @Test
+    void decode_AssetValue_IsPriceTimesStock() {
+        SortCursor decoded = SortCursor.decode(SortCursor.of(ItemSort.ASSET_VALUE, row).encode(), ItemSort.ASSET_VALUE);
+
+        assertEquals(1000000L, decoded.getValue());
+    }
+
+    @Test
+    void decode_OtherSortOrGarbage_ReturnsNull() {
+        String priceCursor = SortCursor.of(ItemSort.PRICE, row).encode();
+
+        assertNull(SortCursor.decode(priceCursor, ItemSort.STOCK));
+        assertNull(SortCursor.decode("%%%", ItemSort.PRICE));
+        assertNull(SortCursor.decode("", ItemSort.PRICE));
+        assertNull(SortCursor.decode(null, ItemSort.PRICE));
+    }
+
+    @Test
+    void itemSortFrom_UnknownParam_FallsBackToNewest() {
+        assertEquals(ItemSort.ASSET_VALUE, ItemSort.from("VALUE"));
+        assertEquals(ItemSort.NEWEST, ItemSort.from("harga"));
+        assertEquals(ItemSort.NEWEST, ItemSort.from(null));
+    }
+}
@@ -0,0 +1,133 @@
+package org.delcom.app.modules.inventory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    ItemService productService;
+
+    StockReservationService reservationService;
+
+    private UUID userId;
+    private UUID itemId;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = new StockReservationService(productService, new StockHolds(), 100);
+        userId = UUID.randomUUID();
+        itemId = UUID.randomUUID();
+    }
+
+    private void stubStock(long stock) {
+        when(productService.isOwnedBy(itemId, userId)).thenReturn(true);
+        when(productService.getCurrentStock(itemId, userId)).thenReturn(stock);
+    }
+
+    @Test
+    void reserve_HoldsStockUntilExpiry() {
+        stubStock(5);
+
+        StockReservation reservation = reservationService.reserve(itemId, userId, 3, Duration.ofSeconds(30));
+
+        assertNotNull(reservation);
+        assertEquals(3, reservationService.getHeldQuantity(itemId));
+        assertEquals(2L, reservationService.getAvailableStock(itemId, userId));
+
+        reservationService.expireDue(reservation.getExpiresAt().toEpochMilli() + 200);
+
+        assertEquals(0, reservationService.getHeldQuantity(itemId));
+        assertEquals(0, reservationService.getActiveCount());
+        assertEquals(5L, reservationService.getAvailableStock(itemId, userId));
+    }
+
+    @Test
+    void reserve_InsufficientAvailableStock_Throws() {
+        stubStock(5);
+        reservationService.reserve(itemId, userId, 4, Duration.ofSeconds(30));
+
+        assertThrows(IllegalStateException.class,
+                () -> reservationService.reserve(itemId, userId, 2, Duration.ofSeconds(30)));
+        assertEquals(4, reservationService.getHeldQuantity(itemId));
+    }
+
+    @Test
+    void reserve_ProductNotFound_ReturnsNull() {
+        // Dihapus setelah cek pemilik
+        when(productService.isOwnedBy(itemId, userId)).thenReturn(true);
+        when(productService.getCurrentStock(itemId, userId)).thenReturn(null);
+
+        assertNull(reservationService.reserve(itemId, userId, 1, Duration.ofSeconds(30)));
+        assertEquals(0, reservationService.getActiveCount());
+        assertEquals(0, reservationService.getHeldQuantity(itemId));
+    }
+
+    @Test
+    void reserve_OtherUsersProduct_NeverHoldsStock() {
+        StockHolds stockHolds = spy(new StockHolds());
+        reservationService = new StockReservationService(productService, stockHolds, 100);
+        when(productService.isOwnedBy(itemId, userId)).thenReturn(false);
+
+        assertNull(reservationService.reserve(itemId, userId, 1, Duration.ofSeconds(30)));
+        verify(stockHolds, never()).add(any(UUID.class), anyInt());
+        verify(productService, never()).getCurrentStock(any(UUID.class), any(UUID.class));
+    }
+
+    @Test
+    void confirm_DecrementsStockAndReleasesHold() {
+        stubStock(5);
+        StockReservation reservation = reservationService.reserve(itemId, userId, 2, Duration.ofSeconds(30));
+        when(productService.adjustStock(itemId, userId, -2, 2)).thenReturn(true);
+
+        assertTrue(reservationService.confirm(reservation.getId(), userId));
+
+        assertEquals(0, reservationService.getHeldQuantity(itemId));
+        // Timer sudah dibatalkan: expiry tidak melepas penahanan dua kali
+        reservationService.expireDue(reservation.getExpiresAt().toEpochMilli() + 200);
+        assertFalse(reservationService.confirm(reservation.getId(), userId));
+        verify(productService, times(1)).adjustStock(itemId, userId, -2, 2);
+    }
+
+    @Test
+    void confirm_AfterExpiry_ReturnsFalse() {
+        stubStock(5);
+        StockReservation reservation = reservationService.reserve(itemId, userId, 2, Duration.ofSeconds(1));
+
+        reservationService.expireDue(reservation.getExpiresAt().toEpochMilli() + 200);
+
+        assertFalse(reservationService.confirm(reservation.getId(), userId));
+        verify(productService, never()).adjustStock(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void confirm_OtherUser_ReturnsFalse() {
+        stubStock(5);
+        StockReservation reservation = reservationService.reserve(itemId, userId, 1, Duration.ofSeconds(30));
+
+        assertFalse(reservationService.confirm(reservation.getId(), UUID.randomUUID()));
+        assertEquals(1, reservationService.getHeldQuantity(itemId));
+    }
+
+    @Test
+    void release_FreesHoldImmediately() {
+        stubStock(5);
+        StockReservation reservation = reservationService.reserve(itemId, userId, 5, Duration.ofSeconds(30));
+
+        assertTrue(reservationService.release(reservation.getId(), userId));
+        assertFalse(reservationService.release(reservation.getId(), userId));
+
+        assertEquals(0, reservationService.getHeldQuantity(itemId));
+        assertNotNull(reservationService.reserve(itemId, userId, 5, Duration.ofSeconds(30)));
+    }
+}
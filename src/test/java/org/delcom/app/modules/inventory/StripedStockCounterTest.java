@@ -0,0 +1,78 @@
+package org.delcom.app.modules.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedStockCounterTest {
+
+    @Test
+    void tryAdd_RespectsZeroFloor() {
+        StripedStockCounter counter = new StripedStockCounter(3);
+
+        assertTrue(counter.tryAdd(-2));
+        assertFalse(counter.tryAdd(-2));
+        assertEquals(1, counter.get());
+        assertTrue(counter.tryAdd(5));
+        assertTrue(counter.tryAdd(-6));
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    void initialStock_SpreadAcrossStripes_SingleUnitsStillReachable() {
+        StripedStockCounter counter = new StripedStockCounter(37);
+
+        assertEquals(37, counter.get());
+        for (int i = 0; i < 37; i++) {
+            assertTrue(counter.tryAdd(-1));
+        }
+        assertFalse(counter.tryAdd(-1));
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    void release_ReturnsTakenStock_RejectsNegative() {
+        StripedStockCounter counter = new StripedStockCounter(2);
+
+        assertTrue(counter.tryAdd(-2));
+        counter.release(2);
+
+        assertEquals(2, counter.get());
+        assertThrows(IllegalArgumentException.class, () -> counter.release(-1));
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    void tryAdd_ConcurrentDecrements_NeverOversell() throws InterruptedException {
+        int stock = 1_000;
+        StripedStockCounter counter = new StripedStockCounter(stock);
+        AtomicInteger sold = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    if (counter.tryAdd(-1)) {
+                        sold.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // 8 x 500 percobaan > stok: tepat 1000 yang berhasil
+        assertEquals(stock, sold.get());
+        assertEquals(0, counter.get());
+    }
+}
@@ -0,0 +1,50 @@
+package org.delcom.app.modules.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantShardMoverTest {
+
+    private static final List<String> COLUMNS = List.of("id", "user_id", "name", "category_id", "price_minor");
+
+    @Test
+    void upsertSql_UsesPrimaryKeyOfTargetTable() {
+        String plain = TenantShardMover.upsertSql(COLUMNS, false);
+        String partitioned = TenantShardMover.upsertSql(COLUMNS, true);
+
+        assertEquals("INSERT INTO products (id, user_id, name, category_id, price_minor) VALUES (?, ?, ?, ?, ?) "
+                + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, category_id = EXCLUDED.category_id, "
+                + "price_minor = EXCLUDED.price_minor", plain);
+        assertTrue(partitioned.contains("ON CONFLICT (user_id, id) DO UPDATE"));
+    }
+
+    @Test
+    void toArgs_RemapsCategoryIdToTargetDictionary() {
+        UUID id = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("user_id", userId);
+        row.put("name", "Kopi");
+        row.put("category_id", 3);
+        row.put("price_minor", 1500000L);
+
+        Object[] args = TenantShardMover.toArgs(row, COLUMNS, Map.of(3, 41));
+
+        assertArrayEquals(new Object[] { id, userId, "Kopi", 41, 1500000L }, args);
+    }
+
+    @Test
+    void toArgs_UnknownCategory_Fails() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("category_id", 9);
+
+        assertThrows(IllegalStateException.class, () -> TenantShardMover.toArgs(row, COLUMNS, Map.of(3, 41)));
+    }
+}
@@ -0,0 +1,69 @@
+package org.delcom.app.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_NoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID key = UuidV7.next();
+            filter.add(key);
+            added.add(key);
+        }
+
+        added.forEach(key -> assertTrue(filter.mightContain(key)));
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UuidV7.next());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+        // Target 1%; beri ruang untuk variasi acak
+        assertTrue(falsePositives < probes * 0.02, "positif palsu: " + falsePositives);
+    }
+
+    @Test
+    void copy_IsIndependentOfSource() {
+        BloomFilter source = new BloomFilter(100, 0.01);
+        UUID first = UuidV7.next();
+        UUID second = UuidV7.next();
+        source.add(first);
+
+        BloomFilter copy = source.copy();
+        copy.add(second);
+
+        assertTrue(copy.mightContain(first));
+        assertTrue(copy.mightContain(second));
+        assertFalse(source.mightContain(second));
+    }
+
+    @Test
+    void sizing_FollowsExpectedInsertionsAndRate() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        // m = -n ln p / (ln 2)^2 ~ 9.6 bit per elemen, k ~ 7
+        assertEquals(9586, filter.getBitCount(), 5);
+        assertEquals(7, filter.getHashCount());
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1.0));
+    }
+}
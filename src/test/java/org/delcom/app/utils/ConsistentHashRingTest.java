@@ -0,0 +1,70 @@
+package org.delcom.app.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    @Test
+    void locate_IsDeterministicRegardlessOfNodeOrder() {
+        ConsistentHashRing a = new ConsistentHashRing(List.of("primary", "shard-a", "shard-b"), 64);
+        ConsistentHashRing b = new ConsistentHashRing(List.of("shard-b", "primary", "shard-a"), 64);
+
+        for (int i = 0; i < 1000; i++) {
+            UUID key = UuidV7.next();
+            assertEquals(a.locate(key), b.locate(key));
+        }
+    }
+
+    @Test
+    void locate_SpreadsKeysAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("primary", "shard-a", "shard-b"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        int keys = 30_000;
+        for (int i = 0; i < keys; i++) {
+            counts.merge(ring.locate(UuidV7.next()), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        // Rata-rata 10.000 per node; virtual node menjaga simpangan tetap kecil
+        counts.values().forEach(count -> assertTrue(count > 7_000 && count < 13_000, "tidak rata: " + counts));
+    }
+
+    @Test
+    void locate_AddingNodeOnlyMovesKeysToThatNode() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("primary", "shard-a"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("primary", "shard-a", "shard-b"), 128);
+        int keys = 10_000;
+        int moved = 0;
+        for (int i = 0; i < keys; i++) {
+            UUID key = UUID.randomUUID();
+            String from = before.locate(key);
+            String to = after.locate(key);
+            if (!from.equals(to)) {
+                assertEquals("shard-b", to);
+                moved++;
+            }
+        }
+        // Sekitar sepertiga, jauh dari hash % N yang memindahkan ~2/3
+        assertTrue(moved > keys / 5 && moved < keys / 2, "moved=" + moved);
+    }
+
+    @Test
+    void locate_WrapsAroundTheRing() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("only"), 1);
+
+        assertEquals("only", ring.locate(-1L));
+        assertEquals("only", ring.locate(0L));
+    }
+
+    @Test
+    void constructor_RejectsEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), 8));
+    }
+}
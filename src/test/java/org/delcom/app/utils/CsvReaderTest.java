@@ -0,0 +1,39 @@
+package org.delcom.app.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void next_ParsesPlainAndQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\n"));
+
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(List.of("x, y", "say \"hi\"", ""), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_QuotedNewline_TracksRecordStartLine() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("h\n\"line1\nline2\"\n\nlast"));
+
+        reader.next();
+        assertEquals(List.of("line1\nline2"), reader.next());
+        assertEquals(2, reader.getRecordLine());
+        assertEquals(List.of("last"), reader.next());
+        assertEquals(5, reader.getRecordLine());
+    }
+
+    @Test
+    void next_UnterminatedQuote_Throws() {
+        CsvReader reader = new CsvReader(new StringReader("\"open,field"));
+
+        assertThrows(IOException.class, reader::next);
+    }
+}
@@ -0,0 +1,43 @@
+package org.delcom.app.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void parseMinor_AcceptsUpToTwoDecimals() {
+        assertEquals(1250000L, Money.parseMinor("12500"));
+        assertEquals(1250050L, Money.parseMinor("12500.5"));
+        assertEquals(1250005L, Money.parseMinor("12500.05"));
+        assertEquals(50L, Money.parseMinor(".5"));
+        assertEquals(-100L, Money.parseMinor("-1"));
+    }
+
+    @Test
+    void parseMinor_InvalidText_Throws() {
+        assertThrows(NumberFormatException.class, () -> Money.parseMinor(""));
+        assertThrows(NumberFormatException.class, () -> Money.parseMinor("."));
+        assertThrows(NumberFormatException.class, () -> Money.parseMinor("1.005"));
+        assertThrows(NumberFormatException.class, () -> Money.parseMinor("1e3"));
+        assertThrows(NumberFormatException.class, () -> Money.parseMinor("99999999999999999999"));
+    }
+
+    @Test
+    void toMinorAndToMajor_RoundTrip() {
+        assertEquals(1250050L, Money.toMinor(new BigDecimal("12500.50")));
+        assertEquals(1L, Money.toMinor(new BigDecimal("0.005")));
+        assertEquals(new BigDecimal("12500.50"), Money.toMajor(1250050L));
+    }
+
+    @Test
+    void format_WritesPlainTwoDecimalText() {
+        assertEquals("12500.50", Money.format(1250050L));
+        assertEquals("0.05", Money.format(5L));
+        assertEquals("-1.00", Money.format(-100L));
+        assertEquals(1250050L, Money.parseMinor(Money.format(1250050L)));
+    }
+}
@@ -0,0 +1,63 @@
+package org.delcom.app.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixTrieTest {
+
+    @Test
+    void suggest_CaseInsensitiveInLexicographicOrder() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("Kopi Susu");
+        trie.add("kopi");
+        trie.add("Kipas Angin");
+        trie.add("Teh");
+
+        assertEquals(List.of("kopi", "Kopi Susu"), trie.suggest("KO", 10));
+        assertEquals(List.of("Kipas Angin", "kopi"), trie.suggest("k", 2));
+        assertEquals(4, trie.suggest("", 10).size());
+        assertTrue(trie.suggest("x", 10).isEmpty());
+    }
+
+    @Test
+    void add_DuplicateTerm_KeepsFirstFormAndCountsOccurrences() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("Minuman");
+        trie.add(" minuman ");
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of("Minuman"), trie.suggest("min", 5));
+
+        assertTrue(trie.remove("MINUMAN"));
+        assertEquals(List.of("Minuman"), trie.suggest("min", 5));
+        assertTrue(trie.remove("Minuman"));
+        assertTrue(trie.suggest("min", 5).isEmpty());
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void remove_PrunesOnlyUnusedBranch() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("roti");
+        trie.add("roti tawar");
+
+        trie.remove("roti tawar");
+
+        assertEquals(List.of("roti"), trie.suggest("ro", 5));
+        assertFalse(trie.remove("roti tawar"));
+        assertFalse(trie.remove("rot"));
+    }
+
+    @Test
+    void add_BlankOrNull_Ignored() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add(null);
+        trie.add("   ");
+
+        assertEquals(0, trie.size());
+        assertTrue(trie.suggest(null, 5).isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package org.delcom.app.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void advance_ExpiresTasksInOrderOfDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        List<String> expired = new ArrayList<>();
+
+        wheel.schedule("b", 50, expired::add);
+        wheel.schedule("a", 20, expired::add);
+
+        wheel.advance(19, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(20, expired::add);
+        assertEquals(List.of("a"), expired);
+
+        wheel.advance(100, expired::add);
+        assertEquals(List.of("a", "b"), expired);
+    }
+
+    @Test
+    void advance_CascadesFromOverflowWheels() {
+        // Level 1 hanya menjangkau 40ms; 1000ms harus lewat dua level overflow
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 0);
+        List<String> expired = new ArrayList<>();
+
+        wheel.schedule("far", 1000, expired::add);
+        wheel.schedule("mid", 150, expired::add);
+
+        wheel.advance(990, expired::add);
+        assertEquals(List.of("mid"), expired);
+
+        wheel.advance(1000, expired::add);
+        assertEquals(List.of("mid", "far"), expired);
+    }
+
+    @Test
+    void schedule_AlreadyDue_ExpiresImmediately() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 100);
+        List<String> expired = new ArrayList<>();
+
+        wheel.schedule("late", 95, expired::add);
+
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    void cancel_RemovesPendingTimeout() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        List<String> expired = new ArrayList<>();
+
+        TimingWheel.Timeout<String> first = wheel.schedule("x", 30, expired::add);
+        wheel.schedule("y", 30, expired::add);
+
+        assertTrue(first.cancel());
+        assertFalse(first.cancel());
+        wheel.advance(100, expired::add);
+
+        assertEquals(List.of("y"), expired);
+    }
+
+    @Test
+    void constructor_InvalidArguments_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(10, 0, 0));
+    }
+}
@@ -0,0 +1,44 @@
+package org.delcom.app.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserVersionsTest {
+
+    @Test
+    void increment_ChangesOnlyThatUsersStripe() {
+        UserVersions versions = new UserVersions(1024);
+        UUID budi = UUID.randomUUID();
+        versions.increment(budi);
+        // User lain di stripe berbeda: versinya tetap
+        UUID sari = UUID.randomUUID();
+        while (versions.version(sari) != 0) {
+            sari = UUID.randomUUID();
+        }
+
+        versions.increment(budi);
+
+        assertEquals(2, versions.version(budi));
+        assertEquals(0, versions.version(sari));
+    }
+
+    @Test
+    void incrementAll_ChangesEveryUser() {
+        UserVersions versions = new UserVersions(4);
+        UUID userId = UUID.randomUUID();
+        long before = versions.version(userId);
+
+        versions.incrementAll();
+
+        assertNotEquals(before, versions.version(userId));
+    }
+
+    @Test
+    void constructor_RejectsNonPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new UserVersions(1000));
+        assertThrows(IllegalArgumentException.class, () -> new UserVersions(0));
+    }
+}
@@ -0,0 +1,55 @@
+package org.delcom.app.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void next_HasVersion7AndRfcVariant() {
+        UUID id = UuidV7.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void next_SameMillisecond_IsStrictlyIncreasing() {
+        // Di depan state global agar counter mulai dari 0, apa pun urutan test
+        long now = UuidV7.timestampOf(UuidV7.next()) + 1_000;
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7.next(now));
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            // Urutan msb = urutan byte di Postgres (timestamp di bit atas selalu positif)
+            assertTrue(ids.get(i).getMostSignificantBits() > ids.get(i - 1).getMostSignificantBits());
+        }
+        // 10.000 id > 4096 slot counter: sisanya meminjam milidetik berikutnya
+        assertEquals(now, UuidV7.timestampOf(ids.get(0)));
+        assertEquals(now + 2, UuidV7.timestampOf(ids.get(ids.size() - 1)));
+    }
+
+    @Test
+    void next_ClockMovesBackwards_StaysMonotonic() {
+        long now = UuidV7.timestampOf(UuidV7.next()) + 1_000;
+        UUID first = UuidV7.next(now);
+        UUID second = UuidV7.next(now - 5_000);
+
+        assertTrue(second.getMostSignificantBits() > first.getMostSignificantBits());
+        assertEquals(now, UuidV7.timestampOf(second));
+    }
+
+    @Test
+    void fromState_PlacesTimestampCounterAndRandomBits() {
+        UUID id = UuidV7.fromState((0x0123456789ABL << 12) | 0x005, -1L);
+
+        assertEquals("01234567-89ab-7005-bfff-ffffffffffff", id.toString());
+    }
+}